@@ -1,7 +1,7 @@
 import {TabsContent} from "@/components/ui/tabs.jsx";
 import LendingRecord from "@/components/dashboard-page/LendingRecord.jsx";
 import { useEffect, useState, useCallback } from "react";
-import { getLendingHistory } from "@/service/dashboard-api";
+import { syncBorrowingData } from "@/service/sync-api";
 import { UnauthorizedError, getCookieAuthState } from "@/service/apiClient";
 import { useAuth } from "@/context/AuthContext";
 import { Loader2 } from "lucide-react";
@@ -31,8 +31,10 @@ export default function DashboardLendingRecord() {
       const cookieState = getCookieAuthState();
       console.log("Cookie state before fetching:", cookieState);
       
-      console.log(`Fetching lending history for user ID: ${user.id}`);
-      const records = await getLendingHistory(user.id, true); // true indicates user is the owner
+      console.log(`Syncing lending history for user ID: ${user.id}`);
+      // Only the records changed since the last refresh are downloaded
+      const { lendingRecords: synced } = await syncBorrowingData(user.id);
+      const records = synced.filter(record => record.owner?.id === user.id);
       console.log(`Received ${records.length} lending records`);
       
       // Check if records is an array
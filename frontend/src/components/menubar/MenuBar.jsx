@@ -2,7 +2,7 @@ import { Link, useLocation, useNavigate } from "react-router-dom";
 import { Button } from "@/components/ui/button.jsx";
 import { useEffect, useState, useCallback } from "react";
 import { useAuth } from "@/context/AuthContext";
-import apiClient from "@/service/apiClient"; // Import apiClient
+import apiClient, { BASE_URL, API_PREFIX } from "@/service/apiClient"; // Import apiClient
 import { BellIcon, User, Moon, Sun } from "lucide-react"; // Added Moon and Sun icons
 import {
   DropdownMenu, DropdownMenuContent, DropdownMenuItem, DropdownMenuLabel, DropdownMenuSeparator, DropdownMenuTrigger,
@@ -66,15 +66,50 @@ export default function MenuBar() {
     localStorage.setItem('readNotifications', JSON.stringify(notificationIds));
   }, []);
 
-  // Fetch notifications when user is authenticated
+  // Fetch notifications when user is authenticated, then again whenever the server reports a change
   useEffect(() => {
-    if (isAuthenticated && user) {
-      fetchNotifications();
+    if (!isAuthenticated || !user) return;
+    fetchNotifications();
 
-      // Set up polling for new notifications every 30 seconds
+    if (typeof EventSource === 'undefined') {
+      // No server-sent events: fall back to polling every 30 seconds
       const interval = setInterval(fetchNotifications, 30000);
       return () => clearInterval(interval);
     }
+
+    // The stream only carries changes made on the server instance it is connected to, so keep
+    // polling, less often, for changes made through other instances
+    const interval = setInterval(fetchNotifications, 60000);
+
+    // The browser reconnects by itself and the server replays what was missed since the last event
+    const source = new EventSource(`${BASE_URL}${API_PREFIX}/notifications/stream`, { withCredentials: true });
+    let refetchTimer = null;
+    let receivedEvent = false;
+    let reconnecting = false;
+    // Changes often come in bursts (approval, then lending record), so refetch once per burst
+    const refetchSoon = () => {
+      clearTimeout(refetchTimer);
+      refetchTimer = setTimeout(fetchNotifications, 500);
+    };
+    source.addEventListener('notification', () => {
+      receivedEvent = true;
+      refetchSoon();
+    });
+    // Sent when the server no longer has everything we missed
+    source.addEventListener('resync', refetchSoon);
+    source.onerror = () => {
+      reconnecting = true;
+    };
+    source.onopen = () => {
+      // Without an event ID to resume from, changes made while disconnected are not replayed
+      if (reconnecting && !receivedEvent) refetchSoon();
+      reconnecting = false;
+    };
+    return () => {
+      clearInterval(interval);
+      clearTimeout(refetchTimer);
+      source.close();
+    };
   }, [isAuthenticated, user]);
 
   // Function to fetch borrow request notifications
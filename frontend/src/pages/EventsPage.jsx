@@ -64,6 +64,9 @@ export default function EventsPage() {
   const [isSearchActive, setIsSearchActive] = useState(false);
   const [displayedEvents, setDisplayedEvents] = useState([]);
   const [isSearchTransitioning, setIsSearchTransitioning] = useState(false);
+  const [dateFilter, setDateFilter] = useState("all");
+  const [nextPage, setNextPage] = useState(null); // Next page of events to load, null when all are loaded
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
 
   // Function to fetch events and registrations
   const fetchEvents = async () => {
@@ -74,10 +77,12 @@ export default function EventsPage() {
       // Check if we have a user and user.email from auth context
       const userEmail = user?.email;
       
-      // Fetch all events unconditionally - handle the possibility of an empty array
+      // Fetch the first page of events unconditionally - handle the possibility of an empty array
       let eventData = [];
       try {
-        eventData = await getAllEvents();
+        const firstPage = await getAllEvents(0);
+        eventData = firstPage.events;
+        setNextPage(firstPage.hasNext ? 1 : null);
         console.log(`[EventsPage] Retrieved ${eventData.length} events`);
       } catch (eventError) {
         console.error("Error fetching events:", eventError);
@@ -103,8 +108,6 @@ export default function EventsPage() {
 
       // Ensure all state updates use arrays even if the API returns null/undefined
       setAllEvents(Array.isArray(eventData) ? eventData : []);
-      setFilteredEvents(Array.isArray(eventData) ? eventData : []);
-      setDisplayedEvents(Array.isArray(eventData) ? eventData : []);
 
       // Store the full registration data
       setUserRegistrations(Array.isArray(registrationData) ? registrationData : []);
@@ -122,15 +125,30 @@ export default function EventsPage() {
       
       // Ensure empty arrays
       setAllEvents([]);
-      setFilteredEvents([]);
-      setDisplayedEvents([]);
+      setNextPage(null);
       setUserRegistrations([]);
     } finally {
       setIsLoading(false);
     }
   };
 
-  // Fetch all events on component mount and when auth state changes
+  // Appends the next page of events to the ones already loaded
+  const loadMoreEvents = async () => {
+    if (nextPage === null || isLoadingMore) return;
+    setIsLoadingMore(true);
+    try {
+      const { events, hasNext } = await getAllEvents(nextPage);
+      setAllEvents(prev => {
+        const loadedIds = new Set(prev.map(event => event.eventId));
+        return [...prev, ...events.filter(event => !loadedIds.has(event.eventId))];
+      });
+      setNextPage(hasNext ? nextPage + 1 : null);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
+  // Fetch the first page of events on component mount and when auth state changes
   useEffect(() => {
     fetchEvents();
   }, [isAuthenticated, user]); // Re-fetch when auth state changes
@@ -142,10 +160,10 @@ export default function EventsPage() {
     }
   }, [filteredEvents, isSearchActive]);
 
-  // Filter events by date range (now filters 'allEvents')
-  const handleDateFilter = (filterValue) => {
-    if (filterValue === "all") {
-      setFilteredEvents(allEvents); // Reset to all fetched events
+  // Filter the loaded events by date range; re-applied when more events are loaded
+  useEffect(() => {
+    if (dateFilter === "all") {
+      setFilteredEvents(allEvents);
       return;
     }
 
@@ -154,14 +172,14 @@ export default function EventsPage() {
       const eventDate = event.dateTime ? new Date(event.dateTime) : null;
       if (!eventDate) return false;
 
-      if (filterValue === "this-week") {
+      if (dateFilter === "this-week") {
         const weekFromNow = new Date();
         weekFromNow.setDate(now.getDate() + 7);
         return eventDate >= now && eventDate <= weekFromNow;
-      } else if (filterValue === "this-month") {
+      } else if (dateFilter === "this-month") {
         const endOfMonth = new Date(now.getFullYear(), now.getMonth() + 1, 0);
         return eventDate >= now && eventDate <= endOfMonth;
-      } else if (filterValue === "next-month") {
+      } else if (dateFilter === "next-month") {
         const startOfNextMonth = new Date(now.getFullYear(), now.getMonth() + 1, 1);
         const endOfNextMonth = new Date(now.getFullYear(), now.getMonth() + 2, 0);
         return eventDate >= startOfNextMonth && eventDate <= endOfNextMonth;
@@ -170,6 +188,10 @@ export default function EventsPage() {
     });
 
     setFilteredEvents(filtered);
+  }, [allEvents, dateFilter]);
+
+  const handleDateFilter = (filterValue) => {
+    setDateFilter(filterValue);
   };
 
   // Handle search activity state with transition
@@ -295,6 +317,14 @@ export default function EventsPage() {
         </AnimatePresence>
       )}
 
+      {!isLoading && !error && !isSearchActive && nextPage !== null && (
+        <div className="flex justify-center mt-8">
+          <Button variant="outline" onClick={loadMoreEvents} disabled={isLoadingMore}>
+            {isLoadingMore ? <Loader2 className="h-4 w-4 animate-spin" /> : "Load more events"}
+          </Button>
+        </div>
+      )}
+
       <CreateEventDialog
         open={createDialogOpen}
         onOpenChange={setCreateDialogOpen}
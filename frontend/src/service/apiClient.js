@@ -3,8 +3,8 @@
 // and focuses on clean error handling and proper URL construction
 
 // Base URL for API requests - should be configured from environment in production
-const BASE_URL = 'http://localhost:8080';
-const API_PREFIX = '/api';
+export const BASE_URL = 'http://localhost:8080';
+export const API_PREFIX = '/api';
 const DEFAULT_TIMEOUT_MS = 8000; // 8 second timeout
 
 // Indicator for auth in progress
@@ -13,41 +13,46 @@ import apiClient from './apiClient'; // Import the centralized API client
 // === EVENT API FUNCTIONS ===
 
 /**
- * Fetches all events.
+ * Fetches one page of events, latest first.
  * Requires authentication (via HttpOnly cookie).
- * @returns {Promise<Array>} A promise that resolves to an array of event objects.
+ * @param {number} [page=0] - The page number (0-based).
+ * @returns {Promise<{events: Array, hasNext: boolean}>} A promise that resolves to the events of the
+ * page and whether another page follows.
  * @throws {UnauthorizedError} If the user is not authenticated.
  * @throws {ApiError} For other API-related errors.
  */
-export const getAllEvents = async () => {
+export const getAllEvents = async (page = 0) => {
   try {
     // Add a response type param to help with large or potentially invalid JSON responses
-    const events = await apiClient("/events", {
+    const response = await apiClient(`/events?page=${page}`, {
       method: "GET",
       skipPrefix: false, // Assuming /api/events
       responseType: 'text' // Get as text first to better handle parsing errors
     });
     
     // Try to safely parse the response
-    let parsedEvents = [];
-    if (typeof events === 'string') {
+    let parsed = {};
+    if (typeof response === 'string') {
       try {
-        parsedEvents = JSON.parse(events);
+        parsed = JSON.parse(response);
       } catch (parseError) {
         console.error("Error parsing events JSON:", parseError);
-        console.log("First 100 chars of response:", events.substring(0, 100) + "...");
+        console.log("First 100 chars of response:", response.substring(0, 100) + "...");
         throw new Error("Server returned invalid JSON. Please contact the administrator.");
       }
     } else {
       // Already parsed by apiClient
-      parsedEvents = events;
+      parsed = response;
     }
     
-    return Array.isArray(parsedEvents) ? parsedEvents : [];
+    return {
+      events: Array.isArray(parsed?.events) ? parsed.events : [],
+      hasNext: parsed?.hasNext === true,
+    };
   } catch (error) {
     console.error("Failed to fetch events:", error);
-    // Return empty array instead of throwing to prevent UI from breaking
-    return [];
+    // Return an empty page instead of throwing to prevent UI from breaking
+    return { events: [], hasNext: false };
   }
 };
 
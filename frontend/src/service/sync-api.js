@@ -0,0 +1,55 @@
+/**
+ * Sync API Module
+ *
+ * Keeps a local copy of the borrow requests and lending records of the logged-in user up to date
+ * with GET /api/sync. The first call downloads everything; later calls send the cursor returned by
+ * the previous one and only receive what was created, updated or deleted since.
+ */
+
+import apiClient from './apiClient';
+
+let store = null;
+
+function emptyStore(userId) {
+  return { userId, cursor: null, borrowRequests: new Map(), lendingRecords: new Map() };
+}
+
+/**
+ * Brings the local copy up to date and returns it.
+ * @param {number} userId - ID of the logged-in user; a different user starts a new copy
+ * @returns {Promise<{borrowRequests: Object[], lendingRecords: Object[]}>} Everything the user can see
+ */
+export async function syncBorrowingData(userId) {
+  if (!store || store.userId !== userId) {
+    store = emptyStore(userId);
+  }
+  const current = store;
+  const query = current.cursor !== null ? `?since=${current.cursor}` : '';
+  const changes = await apiClient(`/sync${query}`, {
+    method: 'GET',
+    requiresAuth: true,
+    skipPrefix: false
+  });
+
+  if (changes.reset) {
+    current.borrowRequests.clear();
+    current.lendingRecords.clear();
+  }
+  changes.borrowRequests.forEach(request => current.borrowRequests.set(request.id, request));
+  changes.lendingRecords.forEach(record => current.lendingRecords.set(record.id, record));
+  changes.deletedBorrowRequestIds.forEach(id => current.borrowRequests.delete(id));
+  changes.deletedLendingRecordIds.forEach(id => current.lendingRecords.delete(id));
+  current.cursor = changes.cursor;
+
+  return {
+    borrowRequests: Array.from(current.borrowRequests.values()),
+    lendingRecords: Array.from(current.lendingRecords.values())
+  };
+}
+
+/**
+ * Forgets the local copy, e.g. on logout.
+ */
+export function clearSyncedData() {
+  store = null;
+}
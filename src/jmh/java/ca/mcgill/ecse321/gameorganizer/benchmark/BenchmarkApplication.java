@@ -0,0 +1,130 @@
+package ca.mcgill.ecse321.gameorganizer.benchmark;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ca.mcgill.ecse321.gameorganizer.GameorganizerApplication;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+
+/**
+ * Boots the application on a private in-memory H2 database for benchmarks, and generates
+ * fixtures from a fixed seed so that every run measures the same data.
+ */
+public final class BenchmarkApplication {
+
+    /** Email of the account that benchmarks authenticate as */
+    public static final String USER_EMAIL = "bench.user@example.com";
+
+    public static final String[] CATEGORIES = {
+        "Strategy", "Party", "Family", "Cooperative", "Deck Building", "Abstract", "Trivia", "Wargame"
+    };
+
+    private static final String[] NAME_WORDS = {
+        "Catan", "Dominion", "Azul", "Carcassonne", "Pandemic", "Ticket", "Splendor", "Wingspan",
+        "Gloomhaven", "Codenames", "Root", "Everdell", "Patchwork", "Brass", "Agricola", "Scythe"
+    };
+
+    private static final long SEED = 42;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application with background jobs off, quiet logging and a fresh database.
+     *
+     * @param properties Properties to set on top of the benchmark defaults
+     * @return The running application
+     */
+    public static ConfigurableApplicationContext start(Map<String, Object> properties) {
+        // A fixed 512-bit key, long enough for HS512
+        byte[] secret = new byte[64];
+        new Random(SEED).nextBytes(secret);
+        System.setProperty("JWT_SECRET", Base64.getEncoder().encodeToString(secret));
+
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        defaults.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        defaults.put("spring.datasource.username", "sa");
+        defaults.put("spring.datasource.password", "");
+        defaults.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        defaults.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        defaults.put("spring.jpa.properties.hibernate.format_sql", "false");
+        defaults.put("server.port", "0");
+        defaults.put("management.server.port", "0");
+        defaults.put("email.outbox.enabled", "false");
+        defaults.put("lending.overdue-job.enabled", "false");
+        defaults.put("logging.level.root", "WARN");
+        defaults.put("logging.level.ca.mcgill.ecse321.gameorganizer", "WARN");
+        defaults.putAll(properties);
+        // Passed as command line arguments so they override application.properties
+        String[] args = defaults.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(GameorganizerApplication.class).run(args);
+    }
+
+    /**
+     * Saves the benchmark user and a catalog of games spread over game owners, with ratings.
+     *
+     * @param context The running application
+     * @param games Number of games to generate
+     * @return IDs of the generated games
+     */
+    public static List<Integer> seedCatalog(ConfigurableApplicationContext context, int games) {
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        GameRepository gameRepository = context.getBean(GameRepository.class);
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Random random = new Random(SEED);
+
+        return transactionTemplate.execute(status -> {
+            accountRepository.save(new GameOwner("Benchmark User", USER_EMAIL, "password123"));
+            List<GameOwner> owners = new ArrayList<>();
+            for (int i = 0; i < Math.max(1, games / 20); i++) {
+                owners.add(new GameOwner("Owner " + i, "owner" + i + "@example.com", "password123"));
+            }
+            accountRepository.saveAll(owners);
+
+            List<Game> catalog = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                int minPlayers = 1 + random.nextInt(4);
+                Game game = new Game(NAME_WORDS[random.nextInt(NAME_WORDS.length)] + " " + i,
+                        minPlayers, minPlayers + random.nextInt(5), "game" + i + ".jpg", new Date());
+                game.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                game.setOwner(owners.get(random.nextInt(owners.size())));
+                catalog.add(game);
+            }
+            List<Integer> ids = gameRepository.saveAll(catalog).stream().map(Game::getId).toList();
+            // Ratings go through the same atomic updates as submitted reviews
+            for (int id : ids) {
+                for (int r = random.nextInt(30); r > 0; r--) {
+                    gameRepository.addRating(id, 1 + random.nextInt(5));
+                }
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * Shared generator for benchmarks that pick fixtures at random.
+     *
+     * @return A generator with the fixture seed
+     */
+    public static Random random() {
+        return new Random(SEED);
+    }
+}
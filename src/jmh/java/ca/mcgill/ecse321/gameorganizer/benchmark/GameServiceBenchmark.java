@@ -0,0 +1,78 @@
+package ca.mcgill.ecse321.gameorganizer.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import ca.mcgill.ecse321.gameorganizer.dto.request.GameSearchCriteria;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.services.GameService;
+
+/**
+ * Game search and rating lookups against catalogs of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private GameService gameService;
+    private List<Integer> gameIds;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(Map.of());
+        gameService = context.getBean(GameService.class);
+        gameIds = BenchmarkApplication.seedCatalog(context, catalogSize);
+        random = BenchmarkApplication.random();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Game> searchByCategoryAndRating() {
+        GameSearchCriteria criteria = new GameSearchCriteria();
+        criteria.setCategory(BenchmarkApplication.CATEGORIES[random.nextInt(BenchmarkApplication.CATEGORIES.length)]);
+        criteria.setMinRating(3.0);
+        criteria.setSort("name");
+        criteria.setPage(0);
+        criteria.setSize(20);
+        return gameService.searchGames(criteria);
+    }
+
+    @Benchmark
+    public List<Game> searchByName() {
+        GameSearchCriteria criteria = new GameSearchCriteria();
+        criteria.setName("Catan");
+        criteria.setMinPlayers(2);
+        criteria.setPage(0);
+        criteria.setSize(20);
+        return gameService.searchGames(criteria);
+    }
+
+    @Benchmark
+    public double averageRating() {
+        return gameService.getAverageRatingForGame(gameIds.get(random.nextInt(gameIds.size())));
+    }
+}
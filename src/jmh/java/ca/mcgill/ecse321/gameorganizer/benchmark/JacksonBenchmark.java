@@ -0,0 +1,67 @@
+package ca.mcgill.ecse321.gameorganizer.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ca.mcgill.ecse321.gameorganizer.config.JacksonConfig;
+import ca.mcgill.ecse321.gameorganizer.dto.response.EventResponse;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.Event;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+
+/**
+ * Serializing event lists with the application's ObjectMapper configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int events;
+
+    private ObjectMapper objectMapper;
+    private List<EventResponse> responses;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        JacksonConfig config = new JacksonConfig();
+        objectMapper = config.objectMapper(config.jacksonBuilder());
+
+        Random random = BenchmarkApplication.random();
+        responses = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            Game game = new Game("Game " + i, 2, 4, "game" + i + ".jpg", new Date(0));
+            game.setId(i);
+            Account host = new Account("Host " + i, "host" + i + "@example.com", "password123");
+            host.setId(i);
+            Event event = new Event("Game night " + i, new Date(1_700_000_000_000L + i * 3_600_000L),
+                    "Room " + random.nextInt(100), "Bring snacks and a friend", 4 + random.nextInt(20), game, host);
+            event.setId(new UUID(i, i));
+            event.setCurrentNumberParticipants(random.nextInt(4));
+            responses.add(new EventResponse(event));
+        }
+    }
+
+    @Benchmark
+    public String serializeEvents() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(responses);
+    }
+}
@@ -0,0 +1,71 @@
+package ca.mcgill.ecse321.gameorganizer.benchmark;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.security.CustomUserDetailsService;
+import ca.mcgill.ecse321.gameorganizer.security.JwtAuthenticationFilter;
+import ca.mcgill.ecse321.gameorganizer.security.JwtUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Authenticating one request from its token cookie, as the filter does before every API call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(Map.of());
+        BenchmarkApplication.seedCatalog(context, 1);
+        filter = context.getBean(JwtAuthenticationFilter.class);
+        UserDetails userDetails =
+                context.getBean(CustomUserDetailsService.class).loadUserByUsername(BenchmarkApplication.USER_EMAIL);
+        Account account = context.getBean(AccountRepository.class).findByEmail(BenchmarkApplication.USER_EMAIL).orElseThrow();
+        token = context.getBean(JwtUtil.class).generateToken(userDetails, account);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticateRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/games");
+        request.setCookies(new Cookie("accessToken", token));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,73 @@
+package ca.mcgill.ecse321.gameorganizer.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.security.CustomUserDetailsService;
+import ca.mcgill.ecse321.gameorganizer.security.JwtUtil;
+import ca.mcgill.ecse321.gameorganizer.security.ValidatedToken;
+
+/**
+ * Issuing and reading tokens. With a verified-token cache size of 0 every read checks the
+ * signature, as for a token seen for the first time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    @Param({"0", "1024"})
+    private int verifiedCacheSize;
+
+    private ConfigurableApplicationContext context;
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private Account account;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start(Map.of("jwt.verified-cache-size", verifiedCacheSize));
+        BenchmarkApplication.seedCatalog(context, 1);
+        jwtUtil = context.getBean(JwtUtil.class);
+        userDetails = context.getBean(CustomUserDetailsService.class).loadUserByUsername(BenchmarkApplication.USER_EMAIL);
+        account = context.getBean(AccountRepository.class).findByEmail(BenchmarkApplication.USER_EMAIL).orElseThrow();
+        token = jwtUtil.generateToken(userDetails, account);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails, account);
+    }
+
+    @Benchmark
+    public ValidatedToken parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    /** Reads all claims of the token without the verified-token cache */
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+}
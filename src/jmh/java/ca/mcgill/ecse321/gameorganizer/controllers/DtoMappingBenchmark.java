@@ -0,0 +1,93 @@
+package ca.mcgill.ecse321.gameorganizer.controllers;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.LendingRecordResponseDto;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+
+/**
+ * Mapping lists of loaded entities to the response DTOs returned by the controllers.
+ * Lives in the controllers package to reach {@link LendingRecordController#convertToResponseDto}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final LendingRecordController controller = new LendingRecordController();
+    private List<LendingRecord> records;
+    private List<Game> games;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        GameOwner owner = new GameOwner("Owner", "owner@example.com", "password123");
+        owner.setId(1);
+        Account borrower = new Account("Borrower", "borrower@example.com", "password123");
+        borrower.setId(2);
+
+        records = new ArrayList<>(size);
+        games = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Game game = new Game("Game " + i, 2, 4, "game" + i + ".jpg", new Date(0));
+            game.setId(i);
+            game.setOwner(owner);
+            game.setCategory("Strategy");
+            games.add(game);
+
+            Date start = new Date(1_700_000_000_000L + i * DAY);
+            Date end = new Date(start.getTime() + 7 * DAY);
+            BorrowRequest request = new BorrowRequest(start, end, BorrowRequestStatus.APPROVED, start, game, null);
+            request.setId(i);
+            request.setRequester(borrower);
+            LendingRecord record = new LendingRecord(start, end, LendingStatus.ACTIVE, request, owner);
+            record.setId(i);
+            if (i % 4 == 0) {
+                record.recordDamage(true, "Scuffed box", 1);
+            }
+            records.add(record);
+        }
+    }
+
+    @Benchmark
+    public List<LendingRecordResponseDto> lendingRecords() {
+        List<LendingRecordResponseDto> dtos = new ArrayList<>(records.size());
+        for (LendingRecord record : records) {
+            dtos.add(controller.convertToResponseDto(record));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<GameResponseDto> games() {
+        List<GameResponseDto> dtos = new ArrayList<>(games.size());
+        for (Game game : games) {
+            dtos.add(new GameResponseDto(game));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,19 @@
+package ca.mcgill.ecse321.gameorganizer.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * What the seeder generated, for the virtual users to pick from.
+ *
+ * @param emails Emails of the accounts, all with the same password
+ * @param password Password of every account
+ * @param gameIds IDs of the games
+ * @param searchTerms Words that occur in game names
+ * @param burstEventIds IDs of empty events reserved for registration bursts
+ * @param counts Number of rows generated per entity, for the report
+ */
+public record Dataset(List<String> emails, String password, List<Integer> gameIds, List<String> searchTerms,
+                      List<UUID> burstEventIds, Map<String, Integer> counts) {
+}
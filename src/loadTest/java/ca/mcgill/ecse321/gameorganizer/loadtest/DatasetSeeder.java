@@ -0,0 +1,211 @@
+package ca.mcgill.ecse321.gameorganizer.loadtest;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.Event;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+import ca.mcgill.ecse321.gameorganizer.models.Registration;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
+
+/**
+ * Fills the database with a dataset shaped like production: accounts of which a tenth own games,
+ * a catalog with one copy per game and ratings, borrow requests in every state with lending
+ * records for the approved ones, and events partly filled with registrations.
+ * The same seed always generates the same dataset.
+ */
+public class DatasetSeeder {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private static final String[] CATEGORIES = {
+        "Strategy", "Party", "Family", "Cooperative", "Deck Building", "Abstract", "Trivia", "Wargame"
+    };
+
+    private static final String[] NAME_WORDS = {
+        "Catan", "Dominion", "Azul", "Carcassonne", "Pandemic", "Ticket", "Splendor", "Wingspan",
+        "Gloomhaven", "Codenames", "Root", "Everdell", "Patchwork", "Brass", "Agricola", "Scythe"
+    };
+
+    private static final String[] LOCATIONS = {
+        "Trottier 1100", "McConnell 204", "Library Cafe", "Student Lounge", "Rutherford 112"
+    };
+
+    private final ApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random;
+
+    public DatasetSeeder(ApplicationContext context, long seed) {
+        this.context = context;
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates and saves the dataset, one transaction per entity type.
+     *
+     * @param settings Sizes of the dataset
+     * @return What was generated
+     */
+    public Dataset seed(LoadTestSettings settings) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+
+        // Hashing is deliberately slow, so every account shares one hash
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<Account> accounts = new ArrayList<>(settings.accounts());
+        List<GameOwner> owners = new ArrayList<>();
+        for (int i = 0; i < settings.accounts(); i++) {
+            String email = "user" + i + "@loadtest.local";
+            Account account = i % 10 == 0
+                    ? new GameOwner("Owner " + i, email, passwordHash)
+                    : new Account("User " + i, email, passwordHash);
+            accounts.add(account);
+            if (account instanceof GameOwner owner) {
+                owners.add(owner);
+            }
+        }
+        inTransaction(() -> context.getBean(AccountRepository.class).saveAll(accounts));
+        counts.put("accounts", accounts.size());
+        counts.put("gameOwners", owners.size());
+
+        List<Game> games = new ArrayList<>(settings.games());
+        List<GameInstance> instances = new ArrayList<>(settings.games());
+        for (int i = 0; i < settings.games(); i++) {
+            GameOwner owner = owners.get(random.nextInt(owners.size()));
+            int minPlayers = 1 + random.nextInt(4);
+            Game game = new Game(NAME_WORDS[random.nextInt(NAME_WORDS.length)] + " " + i, minPlayers,
+                    minPlayers + random.nextInt(5), "game" + i + ".jpg", new Date(now - random.nextInt(365) * DAY));
+            game.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            game.setDescription("A " + game.getCategory().toLowerCase() + " game for game nights");
+            game.setOwner(owner);
+            games.add(game);
+            instances.add(new GameInstance(game, owner, "Good", "Shelf " + (i % 20), game.getName() + " copy"));
+        }
+        GameRepository gameRepository = context.getBean(GameRepository.class);
+        inTransaction(() -> {
+            gameRepository.saveAll(games);
+            context.getBean(GameInstanceRepository.class).saveAll(instances);
+        });
+        // Ratings go through the same atomic updates as submitted reviews
+        inTransaction(() -> {
+            for (Game game : games) {
+                for (int r = random.nextInt(30); r > 0; r--) {
+                    gameRepository.addRating(game.getId(), 1 + random.nextInt(5));
+                }
+            }
+        });
+        counts.put("games", games.size());
+        counts.put("gameInstances", instances.size());
+
+        // Roughly a third of the copies have been asked for; approved requests were lent out
+        List<BorrowRequest> requests = new ArrayList<>();
+        List<LendingRecord> records = new ArrayList<>();
+        for (GameInstance instance : instances) {
+            if (random.nextInt(3) != 0) {
+                continue;
+            }
+            Account requester = accounts.get(random.nextInt(accounts.size()));
+            if (requester == instance.getOwner()) {
+                continue;
+            }
+            Date start = new Date(now + (random.nextInt(60) - 30) * DAY);
+            Date end = new Date(start.getTime() + (1 + random.nextInt(14)) * DAY);
+            BorrowRequestStatus status = BorrowRequestStatus.values()[random.nextInt(BorrowRequestStatus.values().length)];
+            BorrowRequest request = new BorrowRequest(start, end, status, new Date(start.getTime() - DAY),
+                    instance.getGame(), instance);
+            request.setRequester(requester);
+            if (status != BorrowRequestStatus.PENDING) {
+                request.setResponder(instance.getOwner());
+            }
+            requests.add(request);
+            if (status == BorrowRequestStatus.APPROVED) {
+                LendingStatus lendingStatus = end.getTime() < now ? LendingStatus.CLOSED : LendingStatus.ACTIVE;
+                records.add(new LendingRecord(start, end, lendingStatus, request, instance.getOwner()));
+            }
+        }
+        inTransaction(() -> {
+            context.getBean(BorrowRequestRepository.class).saveAll(requests);
+            context.getBean(LendingRecordRepository.class).saveAll(records);
+        });
+        counts.put("borrowRequests", requests.size());
+        counts.put("lendingRecords", records.size());
+
+        List<Event> events = new ArrayList<>();
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < settings.events(); i++) {
+            Event event = newEvent("Game night " + i, now, 10 + random.nextInt(50), games, accounts);
+            // Up to half full, some already in the past
+            int attendees = random.nextInt(event.getMaxParticipants() / 2 + 1);
+            Set<Account> registered = new HashSet<>();
+            for (int a = 0; a < attendees; a++) {
+                Account attendee = accounts.get(random.nextInt(accounts.size()));
+                if (registered.add(attendee)) {
+                    Registration registration = new Registration(new Date(now - random.nextInt(30) * DAY));
+                    registration.setAttendee(attendee);
+                    registration.setEventRegisteredFor(event);
+                    registrations.add(registration);
+                }
+            }
+            event.setCurrentNumberParticipants(registered.size());
+            events.add(event);
+        }
+        // Empty events with fewer seats than users in a burst, so that every burst fills one up
+        List<Event> burstEvents = new ArrayList<>();
+        for (int i = 0; i < settings.burstEvents(); i++) {
+            burstEvents.add(newEvent("Launch party " + i, now + 7 * DAY, Math.max(1, settings.burstSize() / 2),
+                    games, accounts));
+        }
+        inTransaction(() -> {
+            EventRepository eventRepository = context.getBean(EventRepository.class);
+            eventRepository.saveAll(events);
+            eventRepository.saveAll(burstEvents);
+            context.getBean(RegistrationRepository.class).saveAll(registrations);
+        });
+        counts.put("events", events.size() + burstEvents.size());
+        counts.put("registrations", registrations.size());
+
+        Set<String> searchTerms = new HashSet<>(List.of(NAME_WORDS));
+        searchTerms.addAll(List.of(CATEGORIES));
+        return new Dataset(accounts.stream().map(Account::getEmail).toList(), PASSWORD,
+                games.stream().map(Game::getId).toList(), searchTerms.stream().sorted().toList(),
+                burstEvents.stream().map(Event::getId).toList(), counts);
+    }
+
+    private Event newEvent(String title, long now, int seats, List<Game> games, List<Account> accounts) {
+        Date dateTime = new Date(now + (random.nextInt(90) - 20) * DAY);
+        return new Event(title, dateTime, LOCATIONS[random.nextInt(LOCATIONS.length)],
+                "Open to everyone, no experience needed", seats,
+                games.get(random.nextInt(games.size())), accounts.get(random.nextInt(accounts.size())));
+    }
+
+    private void inTransaction(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> work.run());
+    }
+}
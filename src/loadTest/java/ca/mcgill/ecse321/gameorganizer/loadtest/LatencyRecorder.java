@@ -0,0 +1,115 @@
+package ca.mcgill.ecse321.gameorganizer.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency and outcome of every request, per endpoint. Latencies go into HdrHistograms in
+ * microseconds; requests are only recorded while recording is on, so warmup is left out.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+    private long startedAt;
+    private long stoppedAt;
+
+    /** Latencies and outcomes of one endpoint */
+    private static final class Endpoint {
+        // Three significant digits, resized as slower requests come in
+        final Histogram latencies = new ConcurrentHistogram(3);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LongAdder failures = new LongAdder();
+    }
+
+    public void start() {
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+        stoppedAt = System.nanoTime();
+    }
+
+    /**
+     * Records a request that got a response.
+     *
+     * @param endpoint Method and path template, e.g. "GET /api/games/{id}"
+     * @param startNanos When the request was sent
+     * @param status HTTP status of the response
+     */
+    public void record(String endpoint, long startNanos, int status) {
+        if (recording) {
+            Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+            stats.latencies.recordValue(Math.max(1, (System.nanoTime() - startNanos) / 1000));
+            stats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Records a request that failed without a response, e.g. a timeout or refused connection.
+     *
+     * @param endpoint Method and path template
+     */
+    public void recordFailure(String endpoint) {
+        if (recording) {
+            endpoints.computeIfAbsent(endpoint, e -> new Endpoint()).failures.increment();
+        }
+    }
+
+    /**
+     * Writes a summary table (throughput, latency percentiles in milliseconds and status codes per
+     * endpoint) followed by the full percentile distribution of each endpoint.
+     *
+     * @param file Where to write the report
+     * @param header Lines describing the run, written first
+     * @throws IOException if the file cannot be written
+     */
+    public void writeReport(Path file, String header) throws IOException {
+        double seconds = (stoppedAt - startedAt) / 1e9;
+        Map<String, Endpoint> sorted = new TreeMap<>(endpoints);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8)) {
+            out.println(header);
+            out.printf("%-40s %9s %9s %8s %8s %8s %8s %8s  %s%n", "endpoint", "requests", "req/s",
+                    "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+            for (Map.Entry<String, Endpoint> entry : sorted.entrySet()) {
+                Histogram h = entry.getValue().latencies;
+                long failures = entry.getValue().failures.sum();
+                Map<Integer, Long> statuses = new TreeMap<>();
+                entry.getValue().statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+                out.printf("%-40s %9d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f  %s%s%n", entry.getKey(),
+                        h.getTotalCount(), h.getTotalCount() / seconds,
+                        millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9), h.getMaxValue() / 1000.0,
+                        statuses, failures > 0 ? " failed=" + failures : "");
+            }
+            for (Map.Entry<String, Endpoint> entry : sorted.entrySet()) {
+                out.println();
+                out.println("# " + entry.getKey() + " (milliseconds)");
+                entry.getValue().latencies.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, buffer.toByteArray());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
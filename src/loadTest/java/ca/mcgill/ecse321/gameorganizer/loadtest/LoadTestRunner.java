@@ -0,0 +1,148 @@
+package ca.mcgill.ecse321.gameorganizer.loadtest;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ca.mcgill.ecse321.gameorganizer.GameorganizerApplication;
+
+/**
+ * Boots the application on the H2 test profile, seeds a dataset and drives a mixed workload
+ * against its REST API over HTTP, then writes latency percentiles and throughput per endpoint.
+ *
+ * Virtual users send catalog browsing, search, notification polling and login requests in the
+ * configured mix, each on its own virtual thread. Independently, every burst interval a burst of
+ * users registers for the same event at the same moment. Users wait for each response before
+ * sending the next request, so latencies under overload are understated rather than queued up.
+ *
+ * Run with ./gradlew loadTest; see {@link LoadTestSettings} for the settings.
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    // Secret of the test profile, also used by the integration tests
+    private static final String TEST_JWT_SECRET = "tG8qcqi6M2XZ1s73QTdIHHGhBEzZARBOlDvcxkp4iAoCPU5f8OeYXFmNOkjr9XgJ";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        System.setProperty("JWT_SECRET", TEST_JWT_SECRET);
+        System.setProperty("spring.profiles.active", "test");
+
+        try (ConfigurableApplicationContext context = start()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            log.info("Seeding dataset");
+            Dataset dataset = new DatasetSeeder(context, settings.seed()).seed(settings);
+            log.info("Seeded {}", dataset.counts());
+            run(settings, dataset, baseUrl, context.getBean(ObjectMapper.class));
+        }
+        System.exit(0);
+    }
+
+    // Command line arguments override the test profile where it does not match a running server
+    private static ConfigurableApplicationContext start() {
+        Map<String, String> overrides = Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                // The test profile leaves the security filter to MockMvc; a real server needs it registered
+                "spring.autoconfigure.exclude", "",
+                "spring.jpa.show-sql", "false",
+                "spring.jpa.properties.hibernate.format_sql", "false",
+                "logging.level.root", "WARN",
+                "logging.level.org.springframework", "WARN",
+                "logging.level.org.hibernate", "WARN",
+                "logging.level.ca.mcgill.ecse321.gameorganizer", "WARN",
+                "logging.level.ca.mcgill.ecse321.gameorganizer.loadtest", "INFO");
+        String[] args = overrides.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(GameorganizerApplication.class).profiles("test").run(args);
+    }
+
+    private static void run(LoadTestSettings settings, Dataset dataset, String baseUrl, ObjectMapper objectMapper)
+            throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        List<String> emails = dataset.emails();
+
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            users.add(new VirtualUser(baseUrl, emails.get(i % emails.size()), dataset, settings, recorder,
+                    objectMapper, settings.seed() + i));
+        }
+        // Burst users are other accounts, logged in up front so a burst is only registrations
+        List<VirtualUser> burstUsers = new ArrayList<>();
+        if (settings.burstIntervalSeconds() > 0) {
+            for (int i = 0; i < settings.burstSize(); i++) {
+                VirtualUser user = new VirtualUser(baseUrl, emails.get((settings.concurrency() + i) % emails.size()),
+                        dataset, settings, recorder, objectMapper, -1 - i);
+                user.login();
+                burstUsers.add(user);
+            }
+        }
+
+        ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+        ScheduledExecutorService bursts = Executors.newSingleThreadScheduledExecutor();
+        try {
+            users.forEach(threads::execute);
+            if (!burstUsers.isEmpty()) {
+                AtomicInteger nextEvent = new AtomicInteger();
+                bursts.scheduleAtFixedRate(() -> burst(burstUsers, dataset.burstEventIds(), nextEvent, threads),
+                        settings.burstIntervalSeconds(), settings.burstIntervalSeconds(), TimeUnit.SECONDS);
+            }
+
+            log.info("Warming up for {} s with {} virtual users", settings.warmupSeconds(), settings.concurrency());
+            Thread.sleep(settings.warmupSeconds() * 1000L);
+            recorder.start();
+            log.info("Recording for {} s", settings.durationSeconds());
+            Thread.sleep(settings.durationSeconds() * 1000L);
+            recorder.stop();
+        } finally {
+            bursts.shutdownNow();
+            users.forEach(VirtualUser::stop);
+            threads.shutdown();
+            threads.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        Path report = Path.of(settings.report());
+        recorder.writeReport(report, String.format("# Load test %s%n# settings: %s%n# dataset: %s%n",
+                Instant.now(), settings, dataset.counts()));
+        log.info("Report written to {}", report.toAbsolutePath());
+    }
+
+    // Every burst user registers for the next burst event as close to the same moment as possible
+    private static void burst(List<VirtualUser> burstUsers, List<UUID> eventIds, AtomicInteger nextEvent,
+                              ExecutorService threads) {
+        int index = nextEvent.getAndIncrement();
+        if (index >= eventIds.size()) {
+            return;
+        }
+        UUID eventId = eventIds.get(index);
+        CountDownLatch go = new CountDownLatch(1);
+        for (VirtualUser user : burstUsers) {
+            threads.execute(() -> {
+                try {
+                    go.await();
+                    user.register(eventId);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        go.countDown();
+    }
+}
@@ -0,0 +1,82 @@
+package ca.mcgill.ecse321.gameorganizer.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from loadtest.* system properties
+ * (./gradlew loadTest -Ploadtest.concurrency=64).
+ *
+ * @param concurrency Number of virtual users sending requests at the same time
+ * @param warmupSeconds How long to run before recording
+ * @param durationSeconds How long to record
+ * @param thinkTimeMillis Mean pause of a virtual user between requests
+ * @param accounts Number of accounts to seed, a tenth of them game owners
+ * @param games Number of games to seed, one copy each
+ * @param events Number of events to seed
+ * @param mix Relative weight of each workload
+ * @param burstIntervalSeconds Time between registration bursts, 0 for none
+ * @param burstSize Number of users registering for the same event in a burst
+ * @param seed Seed of the dataset and of the request mix
+ * @param report File the report is written to
+ */
+public record LoadTestSettings(int concurrency, int warmupSeconds, int durationSeconds, int thinkTimeMillis,
+                               int accounts, int games, int events, Map<Workload, Integer> mix,
+                               int burstIntervalSeconds, int burstSize, long seed, String report) {
+
+    /** The kinds of traffic a virtual user sends */
+    public enum Workload {
+        BROWSE, SEARCH, NOTIFICATIONS, LOGIN
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        LoadTestSettings settings = new LoadTestSettings(
+                intProperty("concurrency", 32),
+                intProperty("warmup-seconds", 15),
+                intProperty("duration-seconds", 60),
+                intProperty("think-time-ms", 50),
+                intProperty("accounts", 1000),
+                intProperty("games", 2000),
+                intProperty("events", 200),
+                parseMix(System.getProperty("loadtest.mix", "browse:45,search:25,notifications:20,login:10")),
+                intProperty("burst-interval-seconds", 10),
+                intProperty("burst-size", 100),
+                Long.getLong("loadtest.seed", 42),
+                System.getProperty("loadtest.report", "build/reports/loadtest/report.txt"));
+        if (settings.concurrency < 1 || settings.durationSeconds < 1 || settings.accounts < 10
+                || settings.games < 1 || settings.events < 1 || settings.burstSize < 1) {
+            throw new IllegalArgumentException("Invalid load test settings: " + settings);
+        }
+        return settings;
+    }
+
+    /**
+     * @return Number of events reserved for registration bursts, one per burst
+     */
+    public int burstEvents() {
+        return burstIntervalSeconds > 0 ? (warmupSeconds + durationSeconds) / burstIntervalSeconds + 1 : 0;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger("loadtest." + name, defaultValue);
+    }
+
+    // "browse:45,search:25" -> {BROWSE=45, SEARCH=25}
+    private static Map<Workload, Integer> parseMix(String mix) {
+        Map<Workload, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Invalid workload weight: " + part);
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight > 0) {
+                weights.put(Workload.valueOf(entry[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The workload mix is empty");
+        }
+        return weights;
+    }
+}
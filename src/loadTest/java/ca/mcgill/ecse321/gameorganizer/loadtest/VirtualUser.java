@@ -0,0 +1,191 @@
+package ca.mcgill.ecse321.gameorganizer.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ca.mcgill.ecse321.gameorganizer.loadtest.LoadTestSettings.Workload;
+
+/**
+ * One simulated user: logs in like the frontend does (token cookie), then keeps sending requests
+ * from the workload mix with a random think time in between, until stopped.
+ */
+public class VirtualUser implements Runnable {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final String email;
+    private final Dataset dataset;
+    private final LoadTestSettings settings;
+    private final LatencyRecorder recorder;
+    private final ObjectMapper objectMapper;
+    private final Random random;
+    private final HttpClient client;
+    private final Workload[] mix;
+
+    private volatile boolean running = true;
+    private Long notificationCursor;
+    private Long syncCursor;
+
+    public VirtualUser(String baseUrl, String email, Dataset dataset, LoadTestSettings settings,
+                       LatencyRecorder recorder, ObjectMapper objectMapper, long seed) {
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.dataset = dataset;
+        this.settings = settings;
+        this.recorder = recorder;
+        this.objectMapper = objectMapper;
+        this.random = new Random(seed);
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(TIMEOUT)
+                .build();
+        // One slot per unit of weight, so a uniform pick follows the mix
+        this.mix = settings.mix().entrySet().stream()
+                .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                .toArray(Workload[]::new);
+    }
+
+    @Override
+    public void run() {
+        login();
+        while (running) {
+            switch (mix[random.nextInt(mix.length)]) {
+                case BROWSE -> browse();
+                case SEARCH -> search();
+                case NOTIFICATIONS -> pollNotifications();
+                case LOGIN -> login();
+            }
+            if (!thinkTime()) {
+                return;
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * Registers for an event, as the whole burst does at the same moment.
+     *
+     * @param eventId The event of the burst
+     */
+    public void register(UUID eventId) {
+        send("POST /api/registrations", post("/api/registrations",
+                Map.of("eventId", eventId.toString(), "registrationDate", System.currentTimeMillis())));
+    }
+
+    /**
+     * Logs in, keeping the token cookie for the following requests.
+     */
+    public void login() {
+        send("POST /auth/login", post("/auth/login", Map.of("email", email, "password", dataset.password())));
+    }
+
+    private void browse() {
+        switch (random.nextInt(3)) {
+            case 0 -> send("GET /api/games/search?page", get("/api/games/search?sort=name&page="
+                    + random.nextInt(Math.max(1, dataset.gameIds().size() / 20)) + "&size=20"));
+            case 1 -> send("GET /api/games/{id}", get("/api/games/" + pick(dataset.gameIds())));
+            default -> send("GET /api/events/feed", get("/api/events/feed?size=20&page=" + random.nextInt(5)));
+        }
+    }
+
+    private void search() {
+        String term = pick(dataset.searchTerms());
+        switch (random.nextInt(3)) {
+            case 0 -> send("GET /api/search", get("/api/search?q=" + encode(term)));
+            case 1 -> send("GET /api/search/autocomplete",
+                    get("/api/search/autocomplete?q=" + encode(term.substring(0, Math.min(3, term.length())))));
+            default -> send("GET /api/games/search?name", get("/api/games/search?name=" + encode(term)
+                    + "&minRating=3&page=0&size=20"));
+        }
+    }
+
+    private void pollNotifications() {
+        JsonNode notifications = send("GET /api/notifications",
+                get("/api/notifications" + (notificationCursor != null ? "?since=" + notificationCursor : "")));
+        if (notifications != null && notifications.isArray() && !notifications.isEmpty()) {
+            notificationCursor = notifications.get(notifications.size() - 1).path("id").asLong();
+        }
+        JsonNode changes = send("GET /api/sync", get("/api/sync" + (syncCursor != null ? "?since=" + syncCursor : "")));
+        if (changes != null && changes.has("cursor")) {
+            syncCursor = changes.get("cursor").asLong();
+        }
+    }
+
+    // Sends a request and records it; returns the JSON body of a successful response, if any
+    private JsonNode send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, start, response.statusCode());
+            if (response.statusCode() / 100 != 2 || response.body().isEmpty()) {
+                return null;
+            }
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            recorder.recordFailure(endpoint);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write request body", e);
+        }
+    }
+
+    // Exponentially distributed pause around the configured mean; false if interrupted
+    private boolean thinkTime() {
+        if (settings.thinkTimeMillis() <= 0) {
+            return true;
+        }
+        long pause = (long) (-settings.thinkTimeMillis() * Math.log(1 - random.nextDouble()));
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
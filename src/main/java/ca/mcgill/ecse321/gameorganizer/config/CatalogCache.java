@@ -0,0 +1,42 @@
+package ca.mcgill.ecse321.gameorganizer.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Evicts single entries from the second-level cache after statements that bypass the entity
+ * lifecycle but change only one row, such as the rating updates in GameRepository.
+ */
+@Component
+public class CatalogCache {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CatalogCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evicts one game from the second-level cache, now and again once the current transaction
+     * completes, so that a read running alongside cannot cache the row as it was before the change.
+     *
+     * @param gameId The ID of the game
+     */
+    public void evictGame(int gameId) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Game.class, gameId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Game.class, gameId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ca.mcgill.ecse321.gameorganizer.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves ID sequences past rows written before their entity switched to sequence IDs.
+ * Lending records used to get identity-column IDs; the schema update creates their sequence
+ * starting at 1, which would hand out IDs that already exist. Runs once the schema is up to date
+ * and before anything is saved, and only changes a sequence that is behind its table.
+ * Only needed for PostgreSQL; other databases are left alone.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceAligner implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    /** Must match the allocation size of the sequence generators */
+    private static final int ALLOCATION_SIZE = 50;
+
+    /** Tables whose IDs came from an identity column, with the sequence that now generates them */
+    private static final String[][] SEQUENCES = {
+        { "lending_record", "lending_record_seq" }
+    };
+
+    private final DataSource dataSource;
+
+    public IdSequenceAligner(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (String[] sequence : SEQUENCES) {
+                    // The next block handed out by the pooled optimizer ends at the new value
+                    boolean moved = statement.execute("SELECT setval('" + sequence[1] + "', r.m + " + ALLOCATION_SIZE
+                            + ", false) FROM (SELECT COALESCE(MAX(id), 0) AS m FROM " + sequence[0] + ") r"
+                            + " WHERE r.m > 0 AND r.m >= (SELECT last_value FROM " + sequence[1] + ")")
+                            && statement.getResultSet().next();
+                    if (moved) {
+                        log.info("Moved sequence {} past the existing IDs of {}", sequence[1], sequence[0]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ca.mcgill.ecse321.gameorganizer.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background work shares the two pools Spring Boot configures instead of each service starting
+ * its own threads (spring.task.* in application.properties):
+ * <ul>
+ *   <li>periodic jobs are registered with the task scheduler by the services that own them,
+ *       through {@link org.springframework.scheduling.annotation.SchedulingConfigurer}, and only
+ *       when their interval turns them on;</li>
+ *   <li>one-off work (game deletions, email batches) runs on the application task executor,
+ *       injected as "applicationTaskExecutor".</li>
+ * </ul>
+ * Both pools are shut down with the application context. Jobs catch and log their own failures,
+ * as an exception escaping a fixed-delay task cancels its later runs.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /** Name of the shared executor bean for one-off background work */
+    public static final String TASK_EXECUTOR = "applicationTaskExecutor";
+}
@@ -0,0 +1,113 @@
+package ca.mcgill.ecse321.gameorganizer.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Hibernate second-level cache for the read-mostly catalog: games with their reviews, game
+ * instances, reviews and accounts (game owners included), plus the results of cacheable queries.
+ * Each region is a Caffeine cache behind JCache, bounded in size and time to live.
+ *
+ * Everything written through Hibernate keeps the cache consistent: saved and deleted entities
+ * update their entries, and bulk JPQL or native statements evict the regions they touch. The
+ * per-game rating updates declare {@link #GAME_RATING_SPACE} instead and evict their one game
+ * through {@link CatalogCache}. SQL run outside Hibernate is not seen, so the cache can be turned
+ * off per environment with catalog.cache.enabled. Hit and miss counts per region are published
+ * as hibernate.second.level.cache.requests metrics.
+ *
+ * The cache assumes a single application node. Regions live in the heap of each JVM and nothing
+ * is sent to other nodes, so with several nodes a game, instance, review or account changed on one
+ * node is served stale by the others for up to catalog.cache.ttl-seconds (600 by default). Run more
+ * than one node only with catalog.cache.enabled=false, or after moving to a clustered JCache
+ * provider.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String GAME_REGION = "game";
+    public static final String GAME_REVIEWS_REGION = "game.reviews";
+    public static final String GAME_INSTANCE_REGION = "game_instance";
+    public static final String REVIEW_REGION = "review";
+    public static final String ACCOUNT_REGION = "account";
+
+    /**
+     * Query space of the single-game rating statements. It matches no table, so those statements
+     * evict nothing by themselves; the caller evicts the game it changed.
+     */
+    public static final String GAME_RATING_SPACE = "game_rating";
+
+    private static final List<String> BOUNDED_REGIONS = List.of(GAME_REGION, GAME_REVIEWS_REGION,
+            GAME_INSTANCE_REGION, REVIEW_REGION, ACCOUNT_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    /**
+     * Adds the cache settings to the Hibernate configuration, or turns the cache off.
+     *
+     * @param enabled Whether to cache at all
+     * @param maxEntries Largest number of entries per region; 0 turns the cache off
+     * @param ttlSeconds How long an entry stays cached; 0 turns the cache off
+     * @return Customizer applied when the entity manager factory is built
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(
+            @Value("${catalog.cache.enabled:true}") boolean enabled,
+            @Value("${catalog.cache.max-entries:10000}") long maxEntries,
+            @Value("${catalog.cache.ttl-seconds:600}") long ttlSeconds) {
+        return properties -> {
+            if (!enabled || maxEntries <= 0 || ttlSeconds <= 0) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager(maxEntries, ttlSeconds));
+            // Saving or deleting a review evicts the cached review collection of its game
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            // Needed for the per-region hit and miss metrics
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static CacheManager cacheManager(long maxEntries, long ttlSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A manager of our own, so that application contexts sharing a class loader never share entries
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("gameorganizer-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        for (String region : BOUNDED_REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = configuration();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            cacheManager.createCache(region, configuration);
+        }
+        // Last change of each table; must outlive every cached query result, and holds one entry per table
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuration());
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already caches disassembled state, so entries need not be copied
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
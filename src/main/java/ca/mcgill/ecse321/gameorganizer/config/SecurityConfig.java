@@ -34,6 +34,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import ca.mcgill.ecse321.gameorganizer.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 @EnableWebSecurity
@@ -56,13 +57,18 @@ public class SecurityConfig {
             // Apply rules only to paths starting with /api or /auth or /users/me or /dev
             .securityMatcher("/api/**", "/auth/**", "/users/**", "/dev/**")
             .authorizeHttpRequests(authz -> authz
+                // Completion of a request that was authorized when it started (notification streams)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // --- Authentication & Account Creation ---
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/account").permitAll() // Account creation via API
                 .requestMatchers("/dev/**").permitAll() // Allow dev endpoints
 
                 // --- Public Read Operations (using /api prefix) ---
+                .requestMatchers(HttpMethod.GET, "/api/games/deletions/**").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/games/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/events/feed/export").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/events/**").permitAll()
                 // User games endpoints - allow public access
                 .requestMatchers(HttpMethod.GET, "/api/users/*/games/**").permitAll()
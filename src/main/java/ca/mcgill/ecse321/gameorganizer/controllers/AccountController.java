@@ -106,8 +106,8 @@ public class AccountController {
     /**
      * Upgrades an account to a GameOwner.
      * <p>
-     * This action promotes an existing account to a GameOwner by transferring all related associations
-     * to the new GameOwner account.
+     * This action promotes an existing account to a GameOwner in place; the account keeps its ID
+     * and all related associations.
      * <br>
      * Endpoint: <code>PUT /account/{email}</code>
      * </p>
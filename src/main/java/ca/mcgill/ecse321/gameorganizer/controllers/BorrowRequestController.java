@@ -1,9 +1,14 @@
 package ca.mcgill.ecse321.gameorganizer.controllers;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -147,25 +152,64 @@ public class BorrowRequestController {
     }
 
     /**
-     * Retrieve borrow requests filtered by status.
+     * Retrieves a page of borrow requests visible to the current user, optionally filtered
+     * by status, requester, game instance owner and game instance.
+     *
+     * @param status Status to filter by
+     * @param requesterId ID of the requester to filter by
+     * @param ownerId ID of the game instance owner to filter by
+     * @param gameInstanceId ID of the game instance to filter by
+     * @param page Page number (0-based)
+     * @param size Number of requests per page
+     * @param sort Field to sort by
+     * @param direction Sort direction ("asc" or "desc")
+     * @return The requests of the page together with paging information
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchBorrowRequests(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer requesterId,
+            @RequestParam(required = false) Integer ownerId,
+            @RequestParam(required = false) Integer gameInstanceId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "requestDate") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        try {
+            BorrowRequestStatus statusFilter = status != null ? parseStatus(status) : null;
+            Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+            Sort order = Sort.by(sortDirection, sort);
+            if (!"id".equals(sort)) {
+                // Break ties so that pages do not overlap
+                order = order.and(Sort.by(sortDirection, "id"));
+            }
+            Pageable pageable = PageRequest.of(page, size, order);
+            Page<BorrowRequestDto> requests = borrowRequestService.findBorrowRequests(
+                    statusFilter, requesterId, ownerId, gameInstanceId, pageable);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("requests", requests.getContent());
+            response.put("currentPage", requests.getNumber());
+            response.put("totalItems", requests.getTotalElements());
+            response.put("totalPages", requests.getTotalPages());
+            response.put("hasNext", requests.hasNext());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieve borrow requests filtered by status, visible to the current user.
      *
      * @param status The status to filter by (e.g., "PENDING", "APPROVED", etc.).
      * @return A list of borrow requests with the specified status.
      */
     @GetMapping("/status/{status}")
     public ResponseEntity<List<BorrowRequestDto>> getBorrowRequestsByStatus(@PathVariable String status) {
-        List<BorrowRequestDto> filteredRequests = borrowRequestService.getAllBorrowRequests().stream()
-                .filter(request -> request.getStatus().equalsIgnoreCase(status))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(filteredRequests);
+        return ResponseEntity.ok(borrowRequestService.getBorrowRequestsByStatus(parseStatus(status)));
     }
 
-    /**
-     * Retrieve all borrow requests for a particular requester.
-     *
-     * @param requesterId The ID of the user who initiated the borrow request.
-     * @return A list of borrow requests for the specified requester.
-     */
     /**
      * Retrieve all borrow requests for a particular requester, visible to the current user.
      *
@@ -173,39 +217,14 @@ public class BorrowRequestController {
      * @return A list of borrow requests for the specified requester that the current user is allowed to see.
      */
     @GetMapping("/requester/{requesterId}")
-    public ResponseEntity<List<BorrowRequestDto>> getBorrowRequestsByRequester(
-            @PathVariable int requesterId) { // Removed unused @RequestParam
-
-        // Log authentication information (optional, for debugging)
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth != null) {
-            System.out.println("Auth principal: " + auth.getPrincipal());
-            System.out.println("Auth authorities: " + auth.getAuthorities());
-            System.out.println("Auth name: " + auth.getName());
-        } else {
-            System.out.println("No authentication found in SecurityContextHolder");
-        }
-
-        System.out.println("Fetching borrow requests visible to current user, filtered for requesterId: " + requesterId);
-
+    public ResponseEntity<List<BorrowRequestDto>> getBorrowRequestsByRequester(@PathVariable int requesterId) {
         try {
-            // 1. Get all requests visible to the current user (service handles auth)
-            List<BorrowRequestDto> visibleRequests = borrowRequestService.getAllBorrowRequests();
-
-            // 2. Filter those requests by the specific requesterId from the path
-            List<BorrowRequestDto> filteredRequests = visibleRequests.stream()
-                    .filter(request -> request.getRequesterId() == requesterId) // Compare primitive int directly
-                    .collect(Collectors.toList());
-
-            System.out.println("Found " + filteredRequests.size() + " requests for requester " + requesterId + " visible to current user.");
-            return ResponseEntity.ok(filteredRequests);
+            return ResponseEntity.ok(borrowRequestService.getBorrowRequestsByRequester(requesterId));
         } catch (UnauthedException | ForbiddenException e) {
-             // Let GlobalExceptionHandler handle auth errors from getAllBorrowRequests
+             // Let GlobalExceptionHandler handle auth errors
              throw e;
         } catch (Exception e) {
             System.err.println("Error retrieving borrow requests for requester: " + e.getMessage());
-            e.printStackTrace();
-            // Let GlobalExceptionHandler handle other errors
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error retrieving borrow requests: " + e.getMessage());
         }
     }
@@ -287,4 +306,12 @@ public class BorrowRequestController {
                 "Error updating borrow request: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private BorrowRequestStatus parseStatus(String status) {
+        try {
+            return BorrowRequestStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status value: " + status);
+        }
+    }
+}
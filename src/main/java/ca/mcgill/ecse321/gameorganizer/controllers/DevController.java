@@ -14,6 +14,9 @@ import org.springframework.web.bind.annotation.RestController;
 
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.search.AutocompleteService;
+import ca.mcgill.ecse321.gameorganizer.search.SearchService;
+import ca.mcgill.ecse321.gameorganizer.services.GameService;
 import java.util.Optional;
 import java.util.UUID;
 import java.time.LocalDateTime;
@@ -34,6 +37,15 @@ public class DevController {
     
     @Autowired
     private Environment environment;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
     
     /**
      * Retrieves a password reset token for a specified email.
@@ -101,4 +113,44 @@ public class DevController {
             return ResponseEntity.internalServerError().body("Error: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Recomputes the stored rating aggregates of games from their reviews.
+     * Rebuilds a single game when gameId is given, otherwise every game.
+     *
+     * @param gameId Optional ID of the game to rebuild
+     * @return Success message or error
+     */
+    @PostMapping("/rebuild-game-ratings")
+    public ResponseEntity<String> rebuildGameRatings(@RequestParam(required = false) Integer gameId) {
+        try {
+            if (gameId != null) {
+                gameService.rebuildRatingAggregate(gameId);
+                return ResponseEntity.ok("Rating aggregate rebuilt for game " + gameId);
+            }
+            int updated = gameService.rebuildRatingAggregates();
+            return ResponseEntity.ok("Rating aggregates rebuilt for " + updated + " games");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the full-text search index and the autocomplete suggestions from the database.
+     *
+     * @return Success message or error
+     */
+    @PostMapping("/rebuild-search-index")
+    public ResponseEntity<String> rebuildSearchIndex() {
+        try {
+            int indexed = searchService.rebuild();
+            int suggested = autocompleteService.rebuild();
+            return ResponseEntity.ok("Search index rebuilt with " + indexed + " entities, autocomplete with "
+                    + suggested);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error: " + e.getMessage());
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package ca.mcgill.ecse321.gameorganizer.controllers;
 
 // Keep most imports, but change Date import if needed
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Date; // Changed from java.sql.Date
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import ca.mcgill.ecse321.gameorganizer.dto.request.CreateEventRequest;
+import ca.mcgill.ecse321.gameorganizer.dto.request.EventFeedFilterDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.EventResponse;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
@@ -30,15 +42,104 @@ public class EventController {
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Lists events, latest first, one page at a time.
+     *
+     * @param page The page number (0-based)
+     * @param size The page size, at most {@link EventService#MAX_PAGE_SIZE}
+     * @return The events of the page, the page number and whether another page follows
+     */
     @GetMapping
-    public ResponseEntity<List<EventResponse>> getAllEvents() {
-        log.info("Received request to get all events");
-        List<Event> events = eventService.getAllEvents();
-        List<EventResponse> eventResponses = events.stream()
+    public ResponseEntity<Map<String, Object>> getAllEvents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + EventService.MAX_PAGE_SIZE) int size) {
+        log.info("Received request to get page {} of all events", page);
+        Slice<Event> events = eventService.getAllEvents(page, size);
+        List<EventResponse> eventResponses = events.getContent().stream()
             .map(EventResponse::new)
             .collect(Collectors.toList());
         log.info("Returning {} events", eventResponses.size());
-        return ResponseEntity.ok(eventResponses);
+        Map<String, Object> response = new HashMap<>();
+        response.put("events", eventResponses);
+        response.put("currentPage", page);
+        response.put("hasNext", events.hasNext());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Returns one page of the event feed: upcoming, past or between two timestamps, optionally
+     * filtered by host, location and featured game. In keyset mode the response carries a
+     * nextCursor to pass back for the following page, which keeps deep pages fast.
+     *
+     * @param filter The window (UPCOMING, PAST or BETWEEN with from and to) and filters
+     * @param page The page number (0-based), ignored in keyset mode
+     * @param size The page size
+     * @param keyset Whether to use keyset pagination
+     * @param cursor Cursor returned with the previous page in keyset mode
+     * @return Page of events with paging metadata
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<Map<String, Object>> getEventFeed(
+            @ModelAttribute EventFeedFilterDto filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String cursor) {
+        log.info("Received request for the {} event feed", filter.getWindow());
+        Map<String, Object> response = new HashMap<>();
+        Slice<Event> events;
+        if (keyset || cursor != null) {
+            events = eventService.getEventFeedAfter(filter, cursor, size);
+            if (events.hasNext()) {
+                List<Event> content = events.getContent();
+                response.put("nextCursor", eventService.nextCursor(content.get(content.size() - 1)));
+            }
+        } else {
+            Page<Event> fullPage = eventService.getEventFeed(filter, page, size);
+            response.put("currentPage", page);
+            response.put("totalItems", fullPage.getTotalElements());
+            response.put("totalPages", fullPage.getTotalPages());
+            events = fullPage;
+        }
+        response.put("events", events.getContent().stream()
+            .map(EventResponse::new)
+            .collect(Collectors.toList()));
+        response.put("hasNext", events.hasNext());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streams every event of a feed window as one JSON array, for exports of large windows.
+     * Events are written as they are read, so the response is never held in memory.
+     * Only signed-in users can export, and windows of more than
+     * {@link EventService#MAX_EXPORT_SIZE} events are rejected.
+     *
+     * @param filter The window (UPCOMING, PAST or BETWEEN with from and to) and filters
+     * @return Streaming JSON array of events
+     */
+    @GetMapping(value = "/feed/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportEventFeed(@ModelAttribute EventFeedFilterDto filter) {
+        log.info("Received request to export the {} event feed", filter.getWindow());
+        // Reject an invalid or oversized window before the response starts
+        eventService.validateEventFeedExport(filter);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                eventService.exportEventFeed(filter, event -> {
+                    try {
+                        generator.writeObject(new EventResponse(event));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/{eventId}")
@@ -2,6 +2,7 @@ package ca.mcgill.ecse321.gameorganizer.controllers;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,9 @@ import org.springframework.web.server.ResponseStatusException;
 import ca.mcgill.ecse321.gameorganizer.dto.request.GameCreationDto;
 import ca.mcgill.ecse321.gameorganizer.dto.request.GameSearchCriteria;
 import ca.mcgill.ecse321.gameorganizer.dto.request.ReviewSubmissionDto; // Import
+import ca.mcgill.ecse321.gameorganizer.dto.response.AvailabilityWindowDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameAvailabilityDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameDeletionProgressDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.GameInstanceResponseDto; // Import
 import ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto; // Import
 import ca.mcgill.ecse321.gameorganizer.dto.response.ReviewResponseDto; // Import
@@ -86,9 +90,7 @@ public class GameController {
             games = service.getAllGames();
         }
 
-        List<GameResponseDto> gameResponseDtos = games.stream()
-                .map(GameResponseDto::new)
-                .collect(Collectors.toList());
+        List<GameResponseDto> gameResponseDtos = service.toGameResponseDtos(games);
 
         return ResponseEntity.ok(gameResponseDtos);
     }
@@ -102,7 +104,7 @@ public class GameController {
     @GetMapping("/{id}")
     public ResponseEntity<GameResponseDto> findGameById(@PathVariable int id) {
         Game game = service.getGameById(id);
-        return ResponseEntity.ok(new GameResponseDto(game));
+        return ResponseEntity.ok(service.toGameResponseDtos(List.of(game)).get(0));
     }
 
     /**
@@ -167,6 +169,41 @@ public class GameController {
         }
     }
 
+    /**
+     * Starts deleting a game and everything that depends on it in the background.
+     * Meant for games with a long history of events and loans.
+     *
+     * @param id ID of the game to delete
+     * @return 202 Accepted with the progress of the deletion
+     */
+    @PostMapping("/{id}/deletion")
+    public ResponseEntity<GameDeletionProgressDto> startGameDeletion(@PathVariable int id) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(service.startGameDeletion(id));
+        } catch (ForbiddenException | UnauthedException e) {
+             throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (ResourceNotFoundException e) {
+             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the progress of a background game deletion, for the user who started it.
+     *
+     * @param jobId ID returned when the deletion was started
+     * @return The progress of the deletion
+     */
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<GameDeletionProgressDto> getGameDeletionProgress(@PathVariable UUID jobId) {
+        try {
+            return ResponseEntity.ok(service.getGameDeletionProgress(jobId));
+        } catch (ForbiddenException | UnauthedException e) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (ResourceNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
     /**
      * Retrieves games that can be played with the specified number of players.
      *
@@ -176,21 +213,18 @@ public class GameController {
     @GetMapping("/players")
     public ResponseEntity<List<GameResponseDto>> getGamesByPlayerCount(@RequestParam int players) {
         List<Game> games = service.getGamesByPlayerRange(players, players);
-        List<GameResponseDto> gameResponseDtos = games.stream()
-                .map(GameResponseDto::new)
-                .collect(Collectors.toList());
+        List<GameResponseDto> gameResponseDtos = service.toGameResponseDtos(games);
         return ResponseEntity.ok(gameResponseDtos);
     }
 
     /**
-     * Advanced search endpoint for games with multiple criteria
+     * Advanced search endpoint for games with multiple criteria.
+     * Optional page and size parameters restrict the response to a single page.
      */
     @GetMapping("/search")
     public ResponseEntity<List<GameResponseDto>> searchGames(GameSearchCriteria criteria) {
         List<Game> games = service.searchGames(criteria);
-        List<GameResponseDto> gameResponseDtos = games.stream()
-                .map(GameResponseDto::new)
-                .collect(Collectors.toList());
+        List<GameResponseDto> gameResponseDtos = service.toGameResponseDtos(games);
         return ResponseEntity.ok(gameResponseDtos);
     }
 
@@ -204,9 +238,7 @@ public class GameController {
             throw new IllegalArgumentException("Account is not a game owner");
         }
         List<Game> games = service.getGamesByOwner((GameOwner) account);
-        List<GameResponseDto> gameResponseDtos = games.stream()
-                .map(GameResponseDto::new)
-                .collect(Collectors.toList());
+        List<GameResponseDto> gameResponseDtos = service.toGameResponseDtos(games);
         return ResponseEntity.ok(gameResponseDtos);
     }
 
@@ -304,6 +336,30 @@ public class GameController {
         }
     }
 
+    /**
+     * Check the availability of several games at once.
+     * Without dates, availability is computed for the current time.
+     *
+     * @param ids The IDs of the games to check
+     * @param startDate Optional start of the period (in milliseconds since epoch)
+     * @param endDate Optional end of the period (in milliseconds since epoch)
+     * @return Availability of each requested game
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<List<GameAvailabilityDto>> getGamesAvailability(
+            @RequestParam List<Integer> ids,
+            @RequestParam(required = false) Long startDate,
+            @RequestParam(required = false) Long endDate) {
+        try {
+            java.util.Date start = startDate != null ? new java.util.Date(startDate) : new java.util.Date();
+            java.util.Date end = endDate != null ? new java.util.Date(endDate) : start;
+            Map<Integer, GameAvailabilityDto> availability = service.getGameAvailability(ids, start, end);
+            return ResponseEntity.ok(ids.stream().distinct().map(availability::get).collect(Collectors.toList()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Check if a game is available for a specific date range
      * 
@@ -333,6 +389,28 @@ public class GameController {
         }
     }
 
+    /**
+     * Lists the periods during which a game instance can be borrowed
+     * 
+     * @param id The ID of the game
+     * @param instanceId The ID of the game instance
+     * @param days Number of days to look ahead (defaults to 30)
+     * @return Free windows in chronological order
+     */
+    @GetMapping("/{id}/instances/{instanceId}/free-windows")
+    public ResponseEntity<List<AvailabilityWindowDto>> getFreeWindows(
+            @PathVariable int id,
+            @PathVariable int instanceId,
+            @RequestParam(defaultValue = "30") int days) {
+        try {
+            return ResponseEntity.ok(service.getFreeWindows(instanceId, days));
+        } catch (ResourceNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Creates a new game instance (copy)
      * 
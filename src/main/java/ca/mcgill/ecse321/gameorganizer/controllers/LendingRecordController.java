@@ -4,8 +4,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 
@@ -15,6 +17,7 @@ import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.services.LendingRecordService;
 import ca.mcgill.ecse321.gameorganizer.services.AccountService;
+import ca.mcgill.ecse321.gameorganizer.services.ReviewEligibilityService;
 import ca.mcgill.ecse321.gameorganizer.dto.request.LendingHistoryFilterDto;
 import ca.mcgill.ecse321.gameorganizer.dto.request.UpdateLendingRecordStatusDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.LendingRecordResponseDto;
@@ -46,6 +49,9 @@ public class LendingRecordController {
 
     @Autowired
     private AccountService accountService;
+
+    @Autowired
+    private ReviewEligibilityService reviewEligibilityService;
     
     /**
      * Validates that the damage severity is within the acceptable range (0-3).
@@ -63,11 +69,16 @@ public class LendingRecordController {
 
     /**
      * Get all lending records with pagination support.
+     * Paging and sorting are done by the database. In keyset mode the response carries a
+     * nextCursor to pass back for the following page, which keeps deep pages fast.
      * 
-     * @param page The page number (0-based)
+     * @param page The page number (0-based), ignored in keyset mode
      * @param size The page size
      * @param sort The field to sort by
      * @param direction The sort direction (asc or desc)
+     * @param includeTotal Whether to count all records for totalItems and totalPages
+     * @param keyset Whether to use keyset pagination (sort by id, startDate or endDate)
+     * @param cursor Cursor returned with the previous page in keyset mode
      * @return Paginated list of lending records
      */
     @GetMapping
@@ -75,40 +86,38 @@ public class LendingRecordController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sort,
-            @RequestParam(defaultValue = "asc") String direction) {
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String cursor) {
         
-        // Create pageable object
         Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
-        
-        // Get paginated records
-        List<LendingRecord> allRecords = lendingRecordService.getAllLendingRecords();
-        
-        // Manual pagination (since service doesn't support pageable yet)
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), allRecords.size());
-        
-        // Check if start is valid
-        int adjustedPage = page;
-        if (start > allRecords.size()) {
-            start = 0;
-            end = Math.min(pageable.getPageSize(), allRecords.size());
-            adjustedPage = 0;
+        Map<String, Object> response = new HashMap<>();
+        Slice<LendingRecord> records;
+
+        if (keyset || cursor != null) {
+            records = lendingRecordService.getLendingRecordsAfter(cursor, size, sort, sortDirection);
+            if (records.hasNext()) {
+                List<LendingRecord> content = records.getContent();
+                response.put("nextCursor", lendingRecordService.nextCursor(content.get(content.size() - 1), sort));
+            }
+        } else {
+            Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+            if (includeTotal) {
+                Page<LendingRecord> fullPage = lendingRecordService.getLendingRecords(pageable);
+                response.put("totalItems", fullPage.getTotalElements());
+                response.put("totalPages", fullPage.getTotalPages());
+                records = fullPage;
+            } else {
+                records = lendingRecordService.getLendingRecordsSlice(pageable);
+            }
+            response.put("currentPage", page);
         }
-        
-        List<LendingRecord> paginatedRecords = allRecords.subList(start, end);
-        
-        // Convert to DTOs
-        List<LendingRecordResponseDto> recordDtos = paginatedRecords.stream()
+
+        response.put("records", records.getContent().stream()
                 .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
-        
-        // Create response with pagination metadata
-        Map<String, Object> response = new HashMap<>();
-        response.put("records", recordDtos);
-        response.put("currentPage", adjustedPage);
-        response.put("totalItems", allRecords.size());
-        response.put("totalPages", (int) Math.ceil((double) allRecords.size() / size));
+                .collect(Collectors.toList()));
+        response.put("hasNext", records.hasNext());
         
         return ResponseEntity.ok(response);
     }
@@ -178,11 +187,7 @@ public class LendingRecordController {
             }
             
             GameOwner owner = (GameOwner) accountService.getAccountById(ownerId);
-            List<LendingRecord> records = lendingRecordService.getLendingRecordsByOwner(owner);
-            
-            List<LendingRecordResponseDto> recordDtos = records.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
+            List<LendingRecordResponseDto> recordDtos = lendingRecordService.getLendingRecordDtosByOwner(owner, null);
             
             System.out.println("Found " + recordDtos.size() + " lending records for owner ID: " + ownerId);
             return ResponseEntity.ok(recordDtos);
@@ -210,17 +215,8 @@ public class LendingRecordController {
             @PathVariable String status) {
         try {
             GameOwner owner = (GameOwner) accountService.getAccountById(ownerId);
-            List<LendingRecord> allRecords = lendingRecordService.getLendingRecordsByOwner(owner);
-            
-            // Filter by status
             LendingStatus requestedStatus = LendingStatus.valueOf(status.toUpperCase());
-            List<LendingRecord> filteredRecords = allRecords.stream()
-                    .filter(record -> record.getStatus() == requestedStatus)
-                    .collect(Collectors.toList());
-            
-            List<LendingRecordResponseDto> recordDtos = filteredRecords.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
+            List<LendingRecordResponseDto> recordDtos = lendingRecordService.getLendingRecordDtosByOwner(owner, requestedStatus);
             
             return ResponseEntity.ok(recordDtos);
         } catch (IllegalArgumentException e) {
@@ -251,16 +247,8 @@ public class LendingRecordController {
             // Validate owner existence
             GameOwner owner = (GameOwner) accountService.getAccountById(ownerId);
 
-            List<LendingRecord> records = lendingRecordService.getLendingRecordsByDateRange(startDate, endDate);
-            
-            // Further filter by owner
-            List<LendingRecord> filteredRecords = records.stream()
-                    .filter(record -> record.getRecordOwner().getId() == owner.getId())
-                    .collect(Collectors.toList());
-            
-            List<LendingRecordResponseDto> recordDtos = filteredRecords.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
+            List<LendingRecordResponseDto> recordDtos =
+                    lendingRecordService.getLendingRecordDtosByOwnerAndDateRange(owner, startDate, endDate);
             
             return ResponseEntity.ok(recordDtos);
         } catch (IllegalArgumentException e) {
@@ -298,11 +286,7 @@ public class LendingRecordController {
             }
             
             Account borrower = accountService.getAccountById(borrowerId);
-            List<LendingRecord> records = lendingRecordService.getLendingRecordsByBorrower(borrower);
-            
-            List<LendingRecordResponseDto> recordDtos = records.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
+            List<LendingRecordResponseDto> recordDtos = lendingRecordService.getLendingRecordDtosByBorrower(borrower, null);
             
             System.out.println("Found " + recordDtos.size() + " lending records for borrower ID: " + borrowerId);
             return ResponseEntity.ok(recordDtos);
@@ -317,7 +301,8 @@ public class LendingRecordController {
     }
 
     /**
-     * Retrieves active lending records for a borrower.
+     * Retrieves the lending records of games a borrower still has, including overdue ones.
+     * Records the borrower already marked as returned are left out.
      * Supports Use Case 13: Return Borrowed Game (view active borrows)
      *
      * @param borrowerId The ID of the borrower
@@ -327,16 +312,8 @@ public class LendingRecordController {
     public ResponseEntity<List<LendingRecordResponseDto>> getActiveLendingRecordsByBorrower(@PathVariable int borrowerId) {
         try {
             Account borrower = accountService.getAccountById(borrowerId);
-            List<LendingRecord> allRecords = lendingRecordService.getLendingRecordsByBorrower(borrower);
-            
-            // Filter by active status
-            List<LendingRecord> activeRecords = allRecords.stream()
-                    .filter(record -> record.getStatus() == LendingStatus.ACTIVE)
-                    .collect(Collectors.toList());
-            
-            List<LendingRecordResponseDto> recordDtos = activeRecords.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
+            List<LendingRecordResponseDto> recordDtos =
+                    lendingRecordService.getBorrowedLendingRecordDtos(borrower);
             
             return ResponseEntity.ok(recordDtos);
         } catch (IllegalArgumentException e) {
@@ -355,10 +332,8 @@ public class LendingRecordController {
     @PostMapping("/{id}/mark-returned")
     public ResponseEntity<String> markGameAsReturned(@PathVariable int id) { // Removed userId parameter
         try {
-            // Service now uses authenticated user for audit/checks if needed
-            // Update the status to OVERDUE as a placeholder for "Pending Return Confirmation"
-            // Note: The service's updateStatus now requires a reason.
-            return lendingRecordService.updateStatus(id, LendingStatus.OVERDUE,
+            // The status is kept, so a returned game is never mistaken for an overdue one
+            return lendingRecordService.markReturned(id,
                     "Game marked as returned by borrower, awaiting owner confirmation");
         } catch (ForbiddenException | UnauthedException e) {
              // Re-throw auth exceptions for handler (e.g., GlobalExceptionHandler)
@@ -448,33 +423,21 @@ public class LendingRecordController {
             @RequestParam(defaultValue = "10") int size) {
         
         try {
-            // Get filtered records without pagination first
-            List<LendingRecord> filteredRecords = lendingRecordService.filterLendingRecords(filterDto);
-            
-            // Manual pagination
-            int start = page * size;
-            int end = Math.min(start + size, filteredRecords.size());
-            
-            // Check if start is valid
-            if (start > filteredRecords.size()) {
-                start = 0;
-                end = Math.min(size, filteredRecords.size());
-                page = 0; // Adjust currentPage to 0 when no records are available
-            }
-            
-            List<LendingRecord> paginatedRecords = filteredRecords.subList(start, end);
+            Page<LendingRecordResponseDto> recordPage = lendingRecordService.filterLendingRecordDtos(
+                    filterDto, PageRequest.of(page, size, Sort.by("id")));
             
-            // Convert records to DTOs
-            List<LendingRecordResponseDto> recordDtos = paginatedRecords.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
+            // Fall back to the first page when the requested one is past the end
+            if (page > 0 && (long) page * size > recordPage.getTotalElements()) {
+                recordPage = lendingRecordService.filterLendingRecordDtos(
+                        filterDto, PageRequest.of(0, size, Sort.by("id")));
+            }
             
             // Create response with pagination metadata
             Map<String, Object> response = new HashMap<>();
-            response.put("records", recordDtos);
-            response.put("currentPage", page);
-            response.put("totalItems", filteredRecords.size());
-            response.put("totalPages", (int) Math.ceil((double) filteredRecords.size() / size));
+            response.put("records", recordPage.getContent());
+            response.put("currentPage", recordPage.getNumber());
+            response.put("totalItems", (int) recordPage.getTotalElements());
+            response.put("totalPages", recordPage.getTotalPages());
             
             return ResponseEntity.ok(response);
             
@@ -591,11 +554,7 @@ public class LendingRecordController {
     @GetMapping("/overdue")
     public ResponseEntity<List<LendingRecordResponseDto>> getOverdueRecords() {
         try {
-            List<LendingRecord> overdueRecords = lendingRecordService.findOverdueRecords();
-            
-            List<LendingRecordResponseDto> recordDtos = overdueRecords.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
+            List<LendingRecordResponseDto> recordDtos = lendingRecordService.findOverdueRecordDtos(null);
             
             return ResponseEntity.ok(recordDtos);
         } catch (Exception e) {
@@ -613,17 +572,7 @@ public class LendingRecordController {
     public ResponseEntity<List<LendingRecordResponseDto>> getOverdueRecordsByOwner(@PathVariable int ownerId) {
         try {
             GameOwner owner = (GameOwner) accountService.getAccountById(ownerId);
-            List<LendingRecord> allRecords = lendingRecordService.getLendingRecordsByOwner(owner);
-            
-            // Filter to only include overdue records
-            List<LendingRecord> overdueRecords = allRecords.stream()
-                    .filter(record -> record.getEndDate().before(new Date()) && 
-                                     record.getStatus() == LendingStatus.ACTIVE)
-                    .collect(Collectors.toList());
-            
-            List<LendingRecordResponseDto> recordDtos = overdueRecords.stream()
-                    .map(this::convertToResponseDto)
-                    .collect(Collectors.toList());
+            List<LendingRecordResponseDto> recordDtos = lendingRecordService.findOverdueRecordDtos(owner);
             
             return ResponseEntity.ok(recordDtos);
         } catch (IllegalArgumentException e) {
@@ -721,15 +670,8 @@ public class LendingRecordController {
                 return ResponseEntity.ok(Map.of("canReview", false));
             }
             
-            // Get user's lending records
-            List<LendingRecord> userRecords = lendingRecordService.getLendingRecordsByBorrower(user);
-            
             // Check if user has a closed (returned) lending record for this game
-            boolean hasReturnedGame = userRecords.stream()
-                .anyMatch(record -> record.getRequest() != null 
-                    && record.getRequest().getRequestedGame() != null 
-                    && record.getRequest().getRequestedGame().getId() == gameId
-                    && record.getStatus() == LendingStatus.CLOSED);
+            boolean hasReturnedGame = reviewEligibilityService.canReview(user.getId(), gameId);
             
             return ResponseEntity.ok(Map.of("canReview", hasReturnedGame));
         } catch (Exception e) {
@@ -740,11 +682,12 @@ public class LendingRecordController {
 
     /**
      * Converts a LendingRecord entity to a LendingRecordResponseDto.
+     * Package-private for the DTO mapping benchmark.
      *
      * @param record The lending record entity
      * @return The corresponding response DTO
      */
-    private LendingRecordResponseDto convertToResponseDto(LendingRecord record) {
+    LendingRecordResponseDto convertToResponseDto(LendingRecord record) {
         // Create game info
         LendingRecordResponseDto.GameInfo gameInfo = new LendingRecordResponseDto.GameInfo(
                 record.getRequest().getRequestedGame().getId(),
@@ -765,8 +708,9 @@ public class LendingRecordController {
                 record.getRecordOwner().getEmail());
         
         // Check if the record has damage information
+        LendingRecordResponseDto dto;
         if (record.isDamaged()) {
-            return new LendingRecordResponseDto(
+            dto = new LendingRecordResponseDto(
                     record.getId(),
                     record.getStartDate(),
                     record.getEndDate(),
@@ -780,7 +724,7 @@ public class LendingRecordController {
                     record.getDamageSeverity(),
                     record.getDamageAssessmentDate());
         } else {
-            return new LendingRecordResponseDto(
+            dto = new LendingRecordResponseDto(
                     record.getId(),
                     record.getStartDate(),
                     record.getEndDate(),
@@ -790,6 +734,8 @@ public class LendingRecordController {
                     ownerInfo,
                     record.getDurationInDays());
         }
+        dto.setAwaitingReturnConfirmation(record.isAwaitingReturnConfirmation());
+        return dto;
     }
 }
 
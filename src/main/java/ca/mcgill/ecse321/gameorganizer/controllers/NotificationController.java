@@ -0,0 +1,54 @@
+package ca.mcgill.ecse321.gameorganizer.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.NotificationDto;
+import ca.mcgill.ecse321.gameorganizer.services.NotificationService;
+
+/**
+ * Controller for the notifications of the current user: changes to the borrow requests and
+ * lending records they are part of, pushed as they happen instead of polled for.
+ */
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    /**
+     * Opens a server-sent event stream of notifications. Browsers reconnect by themselves and send
+     * the cursor of the last event they received; what was missed since is replayed, or a resync
+     * event is sent if it is no longer known.
+     *
+     * @param lastEventId Cursor sent by a reconnecting browser
+     * @param since Cursor to replay from when opening a new stream, if known
+     * @return The event stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                             @RequestParam(required = false) Long since) {
+        return notificationService.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    /**
+     * Lists the recent notifications of the current user, oldest first.
+     *
+     * @param since Only return notifications after this cursor
+     * @return The notifications
+     */
+    @GetMapping
+    public ResponseEntity<List<NotificationDto>> getRecentNotifications(@RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(notificationService.getRecentNotifications(since));
+    }
+}
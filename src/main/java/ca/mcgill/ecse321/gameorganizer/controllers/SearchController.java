@@ -0,0 +1,69 @@
+package ca.mcgill.ecse321.gameorganizer.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.SearchResultDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.SuggestionDto;
+import ca.mcgill.ecse321.gameorganizer.search.AutocompleteService;
+import ca.mcgill.ecse321.gameorganizer.search.AutocompleteService.SuggestionType;
+import ca.mcgill.ecse321.gameorganizer.search.SearchService;
+import ca.mcgill.ecse321.gameorganizer.search.SearchService.EntityType;
+
+/**
+ * Controller for full-text search across games, events and users.
+ * Results come from the search index, ranked by relevance; suggestions for search boxes
+ * come from the in-memory autocomplete entries.
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+    private final AutocompleteService autocompleteService;
+
+    @Autowired
+    public SearchController(SearchService searchService, AutocompleteService autocompleteService) {
+        this.searchService = searchService;
+        this.autocompleteService = autocompleteService;
+    }
+
+    /**
+     * Searches games, events and users for the given words.
+     * Every word must match the start of a word in the name or title, the category,
+     * location or email, or the description.
+     *
+     * @param q The words to search for
+     * @param type Optional entity type to restrict the results to (GAME, EVENT or USER)
+     * @param limit The maximum number of results (1-100, default 20)
+     * @return The matching entities, best match first
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchResultDto>> search(@RequestParam String q,
+                                                        @RequestParam(required = false) EntityType type,
+                                                        @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(q, type, limit));
+    }
+
+    /**
+     * Suggests game names, game categories and account names for the text typed so far.
+     * Meant to be called on every keystroke.
+     *
+     * @param q The text typed so far
+     * @param type Optional kind of suggestion (GAME, CATEGORY or USER)
+     * @param limit The maximum number of suggestions (1-50, default 10)
+     * @return Suggestions whose name starts with the text, or has a word starting with it
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SuggestionDto>> autocomplete(@RequestParam String q,
+                                                            @RequestParam(required = false) SuggestionType type,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(q, type, limit));
+    }
+}
@@ -0,0 +1,34 @@
+package ca.mcgill.ecse321.gameorganizer.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.SyncResponseDto;
+import ca.mcgill.ecse321.gameorganizer.services.SyncService;
+
+/**
+ * Controller for delta sync of the borrow requests and lending records of the current user.
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    /**
+     * Returns the borrow requests and lending records changed or deleted since a cursor.
+     * Without a cursor, or with one too old to resume from, returns everything with reset set.
+     *
+     * @param since Cursor returned by the previous sync
+     * @return The changes and the cursor to continue from
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponseDto> sync(@RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(syncService.getChanges(since));
+    }
+}
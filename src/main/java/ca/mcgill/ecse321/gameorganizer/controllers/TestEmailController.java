@@ -11,7 +11,6 @@ import org.springframework.web.bind.annotation.RestController;
 
 import ca.mcgill.ecse321.gameorganizer.services.EmailService;
 import ca.mcgill.ecse321.gameorganizer.services.GmailApiService;
-import jakarta.mail.MessagingException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,13 +47,13 @@ public class TestEmailController {
             // Generate a fake token for testing
             String testToken = "test-token-" + System.currentTimeMillis();
             
-            // Send test email
+            // Queue test email; the outbox dispatcher delivers it in the background
             emailService.sendPasswordResetEmail(email, testToken, "Test User");
             
-            return ResponseEntity.ok("Test email sent successfully to " + email);
-        } catch (MessagingException e) {
+            return ResponseEntity.ok("Test email queued for " + email);
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
-                    .body("Failed to send test email: " + e.getMessage());
+                    .body("Failed to queue test email: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("An error occurred: " + e.getMessage());
@@ -80,19 +80,23 @@ public class UserSearchController {
      * @param searchTerms Map containing search parameters:
      *                   - "term": The search term to find in name or email
      *                   - "gameOwnerOnly": (optional) Whether to only return game owners
-     * @return List of UserSummaryDto objects for matching users
+     *                   - "page": (optional) The page number (0-based)
+     *                   - "size": (optional) The page size (1-100, default 50)
+     * @return List of UserSummaryDto objects for matching users, sorted by name
      */
     @PostMapping("/search")
     public ResponseEntity<List<UserSummaryDto>> searchUsers(@RequestBody Map<String, Object> searchTerms) {
         String searchTerm = (String) searchTerms.get("term");
         Boolean gameOwnerOnly = searchTerms.containsKey("gameOwnerOnly") ? 
                 (Boolean) searchTerms.get("gameOwnerOnly") : false;
+        int page = searchTerms.get("page") instanceof Number n ? n.intValue() : 0;
+        int size = searchTerms.get("size") instanceof Number n ? n.intValue() : UserSearchService.DEFAULT_SEARCH_RESULTS;
         
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(null);
         }
         
-        List<UserSummaryDto> users = userSearchService.searchUsers(searchTerm, gameOwnerOnly);
+        List<UserSummaryDto> users = userSearchService.searchUsers(searchTerm, gameOwnerOnly, page, size);
         return ResponseEntity.ok(users);
     }
     
@@ -102,18 +106,22 @@ public class UserSearchController {
      * 
      * @param term The search term to find in name or email
      * @param gameOwnerOnly Whether to only return game owners
-     * @return List of UserSummaryDto objects for matching users
+     * @param page The page number (0-based)
+     * @param size The page size (1-100)
+     * @return List of UserSummaryDto objects for matching users, sorted by name
      */
     @GetMapping("/search")
     public ResponseEntity<List<UserSummaryDto>> searchUsersGet(
             @RequestParam String term,
-            @RequestParam(required = false, defaultValue = "false") boolean gameOwnerOnly) {
+            @RequestParam(required = false, defaultValue = "false") boolean gameOwnerOnly,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + UserSearchService.DEFAULT_SEARCH_RESULTS) int size) {
         
         if (term == null || term.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(null);
         }
         
-        List<UserSummaryDto> users = userSearchService.searchUsers(term, gameOwnerOnly);
+        List<UserSummaryDto> users = userSearchService.searchUsers(term, gameOwnerOnly, page, size);
         return ResponseEntity.ok(users);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,35 @@
+package ca.mcgill.ecse321.gameorganizer.dto.request;
+
+import java.util.Date;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.Data;
+
+/**
+ * Criteria for the event feed: a date window and optional host, location and featured game filters.
+ * Upcoming events are listed soonest first, past events most recent first, and events
+ * between two timestamps in chronological order.
+ */
+@Data
+public class EventFeedFilterDto {
+
+    /**
+     * Date windows of the event feed.
+     * UPCOMING: Events from now on
+     * PAST: Events before now
+     * BETWEEN: Events from {@code from} (inclusive) to {@code to} (exclusive)
+     */
+    public enum Window {
+        UPCOMING, PAST, BETWEEN
+    }
+
+    private Window window = Window.UPCOMING;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date to;
+    private Integer hostId;
+    private String location;
+    private Integer gameId;
+}
@@ -10,6 +10,8 @@ public class GameSearchCriteria {
     private String ownerId;
     private String sort;
     private String order;
+    private Integer page;
+    private Integer size;
 
     // Default constructor
     public GameSearchCriteria() {}
@@ -41,4 +43,10 @@ public class GameSearchCriteria {
 
     public String getOrder() { return order; }
     public void setOrder(String order) { this.order = order; }
+
+    public Integer getPage() { return page; }
+    public void setPage(Integer page) { this.page = page; }
+
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
 } 
\ No newline at end of file
@@ -0,0 +1,27 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import java.util.Date;
+
+/**
+ * Data Transfer Object describing a period during which a game instance
+ * has no approved borrow request. Both bounds are inclusive.
+ */
+public class AvailabilityWindowDto {
+    private Date startDate;
+    private Date endDate;
+
+    // Default constructor for frameworks
+    public AvailabilityWindowDto() {
+    }
+
+    public AvailabilityWindowDto(Date startDate, Date endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public Date getStartDate() { return startDate; }
+    public void setStartDate(Date startDate) { this.startDate = startDate; }
+
+    public Date getEndDate() { return endDate; }
+    public void setEndDate(Date endDate) { this.endDate = endDate; }
+}
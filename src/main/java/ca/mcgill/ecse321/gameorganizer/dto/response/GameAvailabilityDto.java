@@ -0,0 +1,53 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+/**
+ * Data Transfer Object describing how many copies of a game can be borrowed
+ * during a point in time or date range.
+ * A copy counts as available when it is flagged available by its owner and
+ * has no approved borrow request overlapping the period.
+ */
+public class GameAvailabilityDto {
+    private int gameId;
+    private int totalInstances;
+    private int availableInstances;
+
+    // Default constructor for frameworks
+    public GameAvailabilityDto() {
+    }
+
+    /**
+     * Constructor used by the grouped availability query.
+     *
+     * @param gameId The ID of the game
+     * @param totalInstances Number of copies of the game
+     * @param availableInstances Number of copies free during the period
+     */
+    public GameAvailabilityDto(Integer gameId, Long totalInstances, Long availableInstances) {
+        this.gameId = gameId;
+        this.totalInstances = totalInstances.intValue();
+        this.availableInstances = availableInstances.intValue();
+    }
+
+    /**
+     * Creates the availability of a game that has no copies.
+     *
+     * @param gameId The ID of the game
+     * @return availability with zero copies
+     */
+    public static GameAvailabilityDto none(int gameId) {
+        GameAvailabilityDto dto = new GameAvailabilityDto();
+        dto.setGameId(gameId);
+        return dto;
+    }
+
+    public int getGameId() { return gameId; }
+    public void setGameId(int gameId) { this.gameId = gameId; }
+
+    public int getTotalInstances() { return totalInstances; }
+    public void setTotalInstances(int totalInstances) { this.totalInstances = totalInstances; }
+
+    public int getAvailableInstances() { return availableInstances; }
+    public void setAvailableInstances(int availableInstances) { this.availableInstances = availableInstances; }
+
+    public boolean isAvailable() { return availableInstances > 0; }
+}
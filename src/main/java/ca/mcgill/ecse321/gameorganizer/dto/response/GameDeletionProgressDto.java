@@ -0,0 +1,38 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import java.util.Date;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a game deleted in the background, chunk by chunk.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameDeletionProgressDto {
+
+    /** ID to poll the progress with */
+    private String jobId;
+
+    private int gameId;
+
+    /** RUNNING, COMPLETED or FAILED */
+    private String state;
+
+    /** What is being deleted: registrations, events, lendingRecords, borrowRequests, reviews, instances or game */
+    private String currentStep;
+
+    /** Rows deleted so far, per step */
+    private Map<String, Long> deleted;
+
+    /** Why the deletion stopped, if it failed */
+    private String error;
+
+    private Date startedAt;
+
+    private Date finishedAt;
+}
@@ -17,6 +17,10 @@ public class GameResponseDto {
     private Date dateAdded;
     private String category;
     private String description; // Add description field
+    private double averageRating;
+    private int ratingCount;
+    private boolean available;
+    private int availableInstances;
     private AccountDto owner;
 
     // Default constructor
@@ -36,11 +40,25 @@ public class GameResponseDto {
         this.dateAdded = game.getDateAdded();
         this.category = game.getCategory();
         this.description = game.getDescription(); // Map description from Game entity
+        this.averageRating = game.getAverageRating();
+        this.ratingCount = game.getRatingCount();
         if (game.getOwner() != null) {
             this.owner = new AccountDto(game.getOwner());
         }
     }
 
+    /**
+     * Constructs a GameResponseDto from a Game entity and its precomputed availability
+     *
+     * @param game The game entity to convert to DTO
+     * @param availability The availability of the game's copies
+     */
+    public GameResponseDto(Game game, GameAvailabilityDto availability) {
+        this(game);
+        this.available = availability.isAvailable();
+        this.availableInstances = availability.getAvailableInstances();
+    }
+
     // Getters and setters
 
     public int getId() { return id; }
@@ -67,6 +85,18 @@ public class GameResponseDto {
     public String getDescription() { return description; } // Add getter
     public void setDescription(String description) { this.description = description; } // Add setter
 
+    public double getAverageRating() { return averageRating; }
+    public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+
+    public int getRatingCount() { return ratingCount; }
+    public void setRatingCount(int ratingCount) { this.ratingCount = ratingCount; }
+
+    public boolean isAvailable() { return available; }
+    public void setAvailable(boolean available) { this.available = available; }
+
+    public int getAvailableInstances() { return availableInstances; }
+    public void setAvailableInstances(int availableInstances) { this.availableInstances = availableInstances; }
+
     public AccountDto getOwner() { return owner; }
     public void setOwner(AccountDto owner) { this.owner = owner; }
 
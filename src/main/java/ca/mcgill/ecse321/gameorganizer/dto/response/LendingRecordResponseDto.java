@@ -2,6 +2,8 @@ package ca.mcgill.ecse321.gameorganizer.dto.response;
 
 import java.util.Date;
 
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+
 /**
  * Comprehensive DTO for lending record responses that includes detailed information 
  * about the associated borrow request, game, and users.
@@ -22,6 +24,7 @@ public class LendingRecordResponseDto {
     private String damageNotes;
     private int damageSeverity;
     private Date damageAssessmentDate;
+    private boolean awaitingReturnConfirmation;
 
     /**
      * Default constructor required for Jackson deserialization
@@ -89,6 +92,52 @@ public class LendingRecordResponseDto {
         this.damageAssessmentDate = damageAssessmentDate;
     }
 
+    /**
+     * Constructs a LendingRecordResponseDto from the flat columns of a single joined query.
+     * Used by the JPQL constructor expressions in LendingRecordRepository, so that a list of
+     * records is loaded without fetching the request, game and accounts of each row separately.
+     * Damage details are only kept when the game was returned damaged, as for entity conversion.
+     *
+     * @param id The unique identifier of the lending record
+     * @param startDate The start date of the lending period
+     * @param endDate The end date of the lending period
+     * @param status The current status of the lending record
+     * @param gameId The ID of the lent game
+     * @param gameName The name of the lent game
+     * @param gameCategory The category of the lent game
+     * @param gameImageUrl The image of the lent game
+     * @param borrowerId The ID of the borrower
+     * @param borrowerName The name of the borrower
+     * @param borrowerEmail The email of the borrower
+     * @param ownerId The ID of the owner
+     * @param ownerName The name of the owner
+     * @param ownerEmail The email of the owner
+     * @param isDamaged Flag indicating if the game was returned damaged
+     * @param damageNotes Notes describing any damage
+     * @param damageSeverity The severity of the damage (0-3)
+     * @param damageAssessmentDate The date when damage was assessed
+     * @param awaitingReturnConfirmation Whether the borrower reported the game returned and the owner has yet to confirm it
+     */
+    public LendingRecordResponseDto(int id, Date startDate, Date endDate, LendingStatus status,
+                                  int gameId, String gameName, String gameCategory, String gameImageUrl,
+                                  int borrowerId, String borrowerName, String borrowerEmail,
+                                  int ownerId, String ownerName, String ownerEmail,
+                                  boolean isDamaged, String damageNotes, int damageSeverity, Date damageAssessmentDate,
+                                  boolean awaitingReturnConfirmation) {
+        this(id, startDate, endDate, status.toString(),
+                new GameInfo(gameId, gameName, gameCategory, gameImageUrl),
+                new UserInfo(borrowerId, borrowerName, borrowerEmail),
+                new UserInfo(ownerId, ownerName, ownerEmail),
+                (endDate.getTime() - startDate.getTime()) / (1000 * 60 * 60 * 24));
+        if (isDamaged) {
+            this.isDamaged = true;
+            this.damageNotes = damageNotes;
+            this.damageSeverity = damageSeverity;
+            this.damageAssessmentDate = damageAssessmentDate;
+        }
+        this.awaitingReturnConfirmation = awaitingReturnConfirmation;
+    }
+
     // Getters
     public int getId() { return id; }
     public Date getStartDate() { return startDate; }
@@ -102,6 +151,11 @@ public class LendingRecordResponseDto {
     public String getDamageNotes() { return damageNotes; }
     public int getDamageSeverity() { return damageSeverity; }
     public Date getDamageAssessmentDate() { return damageAssessmentDate; }
+    public boolean isAwaitingReturnConfirmation() { return awaitingReturnConfirmation; }
+
+    public void setAwaitingReturnConfirmation(boolean awaitingReturnConfirmation) {
+        this.awaitingReturnConfirmation = awaitingReturnConfirmation;
+    }
     
     /**
      * Gets a human-readable label for the damage severity.
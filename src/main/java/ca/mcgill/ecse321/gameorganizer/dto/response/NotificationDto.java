@@ -0,0 +1,35 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change to a borrow request or lending record, pushed to the accounts involved.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDto {
+
+    /** Cursor of the notification; later notifications have larger IDs */
+    private long id;
+
+    /** BORROW_REQUEST_CREATED, BORROW_REQUEST_UPDATED, LENDING_RECORD_UPDATED or LENDING_RECORD_DELETED */
+    private String type;
+
+    private Integer borrowRequestId;
+
+    private Integer lendingRecordId;
+
+    private Integer gameId;
+
+    private String gameName;
+
+    /** Status of the request or record after the change */
+    private String status;
+
+    private Date createdAt;
+}
@@ -0,0 +1,45 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import java.util.Date;
+
+/**
+ * Data Transfer Object describing an approved borrow request that reserves
+ * a game instance for a date range.
+ */
+public class ReservationDto {
+    private int borrowRequestId;
+    private int gameInstanceId;
+    private Date startDate;
+    private Date endDate;
+
+    // Default constructor for frameworks
+    public ReservationDto() {
+    }
+
+    /**
+     * Constructor used by the reservation queries.
+     *
+     * @param borrowRequestId The ID of the approved borrow request
+     * @param gameInstanceId The ID of the reserved game instance
+     * @param startDate Start of the reservation (inclusive)
+     * @param endDate End of the reservation (inclusive)
+     */
+    public ReservationDto(Integer borrowRequestId, Integer gameInstanceId, Date startDate, Date endDate) {
+        this.borrowRequestId = borrowRequestId;
+        this.gameInstanceId = gameInstanceId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public int getBorrowRequestId() { return borrowRequestId; }
+    public void setBorrowRequestId(int borrowRequestId) { this.borrowRequestId = borrowRequestId; }
+
+    public int getGameInstanceId() { return gameInstanceId; }
+    public void setGameInstanceId(int gameInstanceId) { this.gameInstanceId = gameInstanceId; }
+
+    public Date getStartDate() { return startDate; }
+    public void setStartDate(Date startDate) { this.startDate = startDate; }
+
+    public Date getEndDate() { return endDate; }
+    public void setEndDate(Date endDate) { this.endDate = endDate; }
+}
@@ -0,0 +1,30 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One result of a full-text search: what was found and enough to display it.
+ * Read from the search index alone, without loading the entity.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDto {
+
+    /** Kind of entity: GAME, EVENT or USER */
+    private String type;
+
+    /** ID of the entity; a UUID for events */
+    private String id;
+
+    /** Game name, event title or account name */
+    private String title;
+
+    /** Game category or event location, if any */
+    private String subtitle;
+
+    /** Relevance score; only meaningful for ordering results of the same search */
+    private float score;
+}
@@ -0,0 +1,24 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One autocomplete suggestion: a game name, a game category or an account name
+ * starting with the typed text.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDto {
+
+    /** Kind of suggestion: GAME, CATEGORY or USER */
+    private String type;
+
+    /** ID of the game or account; null for categories */
+    private String id;
+
+    /** Text to show and complete to */
+    private String text;
+}
@@ -0,0 +1,37 @@
+package ca.mcgill.ecse321.gameorganizer.dto.response;
+
+import java.util.List;
+
+import ca.mcgill.ecse321.gameorganizer.dto.request.BorrowRequestDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Changes to the borrow requests and lending records of a user since a sync cursor.
+ * Clients replace their copies with the returned rows, then drop the deleted IDs. When reset is
+ * set, the rows are everything the user can see and the client should drop every other copy.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDto {
+
+    /** Cursor to send as since on the next sync */
+    private long cursor;
+
+    /** Whether this is a full sync rather than the changes since the given cursor */
+    private boolean reset;
+
+    /** Borrow requests created or updated since the cursor */
+    private List<BorrowRequestDto> borrowRequests;
+
+    /** Lending records created or updated since the cursor */
+    private List<LendingRecordResponseDto> lendingRecords;
+
+    /** IDs of the borrow requests deleted since the cursor */
+    private List<Integer> deletedBorrowRequestIds;
+
+    /** IDs of the lending records deleted since the cursor */
+    private List<Integer> deletedLendingRecordIds;
+}
@@ -1,13 +1,20 @@
 package ca.mcgill.ecse321.gameorganizer.models;
 
 import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -16,13 +23,21 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
+import ca.mcgill.ecse321.gameorganizer.config.SecondLevelCacheConfig;
+import ca.mcgill.ecse321.gameorganizer.search.SearchIndexListener;
+
 /**
  * Represents a user account in the game organization system.
  * This is the base class for all types of user accounts.
+ * Accounts are kept in the second-level cache of the node that loaded them, which is only
+ * coherent while a single node serves the application (see SecondLevelCacheConfig).
  *
  * @author @dyune
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ACCOUNT_REGION)
+@EntityListeners(SearchIndexListener.class)
 @Inheritance(strategy = InheritanceType.JOINED)
 @Getter
 @Setter
@@ -32,7 +47,8 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 50)
     private int id;
 
     @Column(nullable = false)
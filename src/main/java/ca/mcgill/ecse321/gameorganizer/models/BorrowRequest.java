@@ -14,13 +14,21 @@ import java.util.Date;
  * @author @rayanBaida
  */
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_borrow_request_requester", columnList = "requester_id, status"),
+    @Index(name = "idx_borrow_request_requester_game", columnList = "requester_id, requested_game_id"),
+    @Index(name = "idx_borrow_request_game_instance", columnList = "game_instance_id, status"),
+    @Index(name = "idx_borrow_request_status", columnList = "status"),
+    @Index(name = "idx_borrow_request_change_version", columnList = "change_version")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class BorrowRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "borrow_request_seq")
+    @SequenceGenerator(name = "borrow_request_seq", sequenceName = "borrow_request_seq", allocationSize = 50)
     private int id;
 
     private Date startDate;
@@ -46,6 +54,9 @@ public class BorrowRequest {
     @ManyToOne(optional = true) // Allow responder to be null initially
     private GameOwner responder;
 
+    /** Change version of the last save, for delta sync; null for requests not saved since it was added */
+    private Long changeVersion;
+
     // Methods
 
     /**
@@ -67,6 +78,12 @@ public class BorrowRequest {
         gameInstance = aGameInstance;
     }
 
+    @PrePersist
+    @PreUpdate
+    void stampChangeVersion() {
+        changeVersion = ChangeVersions.next();
+    }
+
     /**
      * Gets the game associated with this borrow request.
      *
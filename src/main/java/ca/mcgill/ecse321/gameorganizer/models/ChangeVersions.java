@@ -0,0 +1,40 @@
+package ca.mcgill.ecse321.gameorganizer.models;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out change versions for delta sync: increasing numbers that follow the clock in
+ * microseconds, stamped on borrow requests and lending records whenever they are saved and on
+ * the tombstones of deleted ones. A client that synced up to a version only needs the rows
+ * stamped after it.
+ *
+ * Versions are only ordered within one instance; across instances they are as far apart as their
+ * clocks (see SyncService).
+ */
+public final class ChangeVersions {
+
+    private static final AtomicLong last = new AtomicLong();
+
+    private ChangeVersions() {
+    }
+
+    /**
+     * Returns a version greater than every version handed out before by this instance.
+     *
+     * @return The next change version
+     */
+    public static long next() {
+        long now = at(System.currentTimeMillis());
+        return last.updateAndGet(previous -> Math.max(previous + 1, now));
+    }
+
+    /**
+     * Returns the change version corresponding to a point in time.
+     *
+     * @param epochMillis The time, in milliseconds since the epoch
+     * @return The change version stamped at that time
+     */
+    public static long at(long epochMillis) {
+        return epochMillis * 1000;
+    }
+}
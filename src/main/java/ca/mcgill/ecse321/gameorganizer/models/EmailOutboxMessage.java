@@ -0,0 +1,89 @@
+package ca.mcgill.ecse321.gameorganizer.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * An email waiting in the outbox, or one that was already delivered.
+ * Messages are written in the same transaction as the change that triggers them and
+ * delivered in the background, so a slow mail server never holds up a request.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+@NoArgsConstructor
+@Getter
+@Setter
+public class EmailOutboxMessage {
+
+    /**
+     * Enumeration of possible delivery states.
+     * PENDING: Waiting for its first or next delivery attempt
+     * SENT: Accepted by the mail server
+     * FAILED: Given up on after the maximum number of attempts
+     */
+    public enum DeliveryStatus {
+        PENDING, SENT, FAILED
+    }
+
+    /** Unique identifier for the message */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_message_seq")
+    @SequenceGenerator(name = "email_outbox_message_seq", sequenceName = "email_outbox_message_seq", allocationSize = 50)
+    private int id;
+
+    /** Email address of the recipient */
+    @Column(nullable = false)
+    private String recipient;
+
+    /** Subject line of the email */
+    @Column(nullable = false)
+    private String subject;
+
+    /** HTML content of the email */
+    @Column(nullable = false, length = 20000)
+    private String htmlBody;
+
+    /** Current delivery state */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeliveryStatus status;
+
+    /** Number of delivery attempts started so far */
+    private int attempts;
+
+    /** When the message was queued */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    /** Earliest time of the next delivery attempt; also the lease of an attempt in progress */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date nextAttemptAt;
+
+    /** When the mail server accepted the message */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date sentAt;
+
+    /** Error of the last failed attempt */
+    @Column(length = 1000)
+    private String lastError;
+
+    /**
+     * Creates a message that is due for delivery immediately.
+     *
+     * @param recipient Email address of the recipient
+     * @param subject Subject line
+     * @param htmlBody HTML content
+     */
+    public EmailOutboxMessage(String recipient, String subject, String htmlBody) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.htmlBody = htmlBody;
+        this.status = DeliveryStatus.PENDING;
+        this.createdAt = new Date();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
@@ -13,6 +13,8 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
+import ca.mcgill.ecse321.gameorganizer.search.SearchIndexListener;
+
 /**
  * Represents a gaming event in the system.
  * Events are organized gatherings where users can meet to play games.
@@ -21,6 +23,8 @@ import com.fasterxml.jackson.annotation.ObjectIdGenerators;
  * @author @Yessine-glitch
  */
 @Entity
+@EntityListeners(SearchIndexListener.class)
+@Table(indexes = @Index(name = "idx_event_date_time", columnList = "date_time, id"))
 @Getter
 @Setter
 @NoArgsConstructor
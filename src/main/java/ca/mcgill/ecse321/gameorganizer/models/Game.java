@@ -7,15 +7,28 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo; // Import CascadeType
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import ca.mcgill.ecse321.gameorganizer.config.SecondLevelCacheConfig;
+import ca.mcgill.ecse321.gameorganizer.search.SearchIndexListener;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType; // Import FetchType
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType; // Import OneToMany
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -24,10 +37,16 @@ import lombok.Setter;
  * Represents a board game in the system.
  * Games can be owned by users and borrowed by others through borrow requests.
  * Each game has information about player counts, an image, and when it was added to the system.
+ * Games are cached per node in the second-level cache; other nodes would not see a change until
+ * their entry expires, so this relies on running a single node (see SecondLevelCacheConfig).
  *
  * @author @PlazmaMamba
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.GAME_REGION)
+@EntityListeners(SearchIndexListener.class)
+@Table(indexes = @Index(name = "idx_game_average_rating", columnList = "average_rating"))
 @NoArgsConstructor
 @Getter
 @Setter
@@ -37,7 +56,8 @@ public class Game {
 
     /** Unique identifier for the game */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_seq")
+    @SequenceGenerator(name = "game_seq", sequenceName = "game_seq", allocationSize = 50)
     private int id;
 
     /** Name of the game */
@@ -69,9 +89,43 @@ public class Game {
 
     /** Reviews associated with this game */
     @OneToMany(mappedBy = "gameReviewed", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.GAME_REVIEWS_REGION)
     @JsonIgnoreProperties("gameReviewed")
     private Set<Review> reviews;
 
+    /*
+     * The rating aggregate is only written by the atomic updates in GameRepository. The columns are
+     * left out of entity inserts and updates, so saving a game loaded before a review was counted
+     * cannot write stale values back over it.
+     */
+
+    /** Number of reviews counted in the rating aggregate */
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Setter(AccessLevel.NONE)
+    private int ratingCount;
+
+    /** Sum of all review ratings counted in the rating aggregate */
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Setter(AccessLevel.NONE)
+    private long ratingSum;
+
+    /** Average review rating, maintained alongside ratingCount and ratingSum (0 when unrated) */
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Setter(AccessLevel.NONE)
+    private double averageRating;
+
+    /**
+     * Set once a deletion of the game has started, by GameRepository.markDeleting only.
+     * No new rows may reference the game from then on; see GameRepository.lockAgainstDeletion.
+     */
+    @Column(nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("false")
+    @Setter(AccessLevel.NONE)
+    private boolean deleting;
+
 
     /**
      * Creates a new game with the specified details.
@@ -2,20 +2,34 @@ package ca.mcgill.ecse321.gameorganizer.models;
 
 import java.util.Date;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import ca.mcgill.ecse321.gameorganizer.config.SecondLevelCacheConfig;
+
 /**
  * Represents a physical copy of a game that can be borrowed.
  * Each game can have multiple instances owned by different users.
+ * Cached in this node's second-level cache only; see SecondLevelCacheConfig for the single-node
+ * assumption.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.GAME_INSTANCE_REGION)
+@Table(indexes = @Index(name = "idx_game_instance_owner", columnList = "owner_id"))
 @NoArgsConstructor
 @Getter
 @Setter
@@ -23,7 +37,8 @@ public class GameInstance {
 
     /** Unique identifier for the game instance */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_instance_seq")
+    @SequenceGenerator(name = "game_instance_seq", sequenceName = "game_instance_seq", allocationSize = 50)
     private int id;
 
     /** The game this instance is a copy of */
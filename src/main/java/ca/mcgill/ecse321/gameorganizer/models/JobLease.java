@@ -0,0 +1,46 @@
+package ca.mcgill.ecse321.gameorganizer.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * A lease on a background job that must not run on more than one node at a time.
+ * A node runs the job only while it holds an unexpired lease, renewing it as it goes;
+ * a node that dies mid-run loses the lease when it expires.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Setter
+public class JobLease {
+
+    /** Name of the job */
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    /** Identifies the node holding the lease */
+    @Column(length = 100)
+    private String holder;
+
+    /** When the lease expires */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date leaseUntil;
+
+    /**
+     * Creates a lease held by a node.
+     *
+     * @param aName Name of the job
+     * @param aHolder Identifies the node holding the lease
+     * @param aLeaseUntil When the lease expires
+     */
+    public JobLease(String aName, String aHolder, Date aLeaseUntil) {
+        name = aName;
+        holder = aHolder;
+        leaseUntil = aLeaseUntil;
+    }
+}
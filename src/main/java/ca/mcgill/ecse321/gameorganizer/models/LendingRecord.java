@@ -2,6 +2,7 @@ package ca.mcgill.ecse321.gameorganizer.models;
 
 import jakarta.persistence.*;
 import lombok.Getter;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
@@ -14,6 +15,12 @@ import java.util.Date;
  * @author @YoussGm3o8
  */
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_lending_record_start_date", columnList = "start_date, id"),
+    @Index(name = "idx_lending_record_end_date", columnList = "end_date, id"),
+    @Index(name = "idx_lending_record_status_end_date", columnList = "status, end_date, id"),
+    @Index(name = "idx_lending_record_change_version", columnList = "change_version")
+})
 @NoArgsConstructor
 @Getter
 @Setter
@@ -24,6 +31,8 @@ public class LendingRecord {
      * ACTIVE: The lending is currently ongoing
      * OVERDUE: The lending period has expired but the game hasn't been returned
      * CLOSED: The lending transaction has been completed
+     * A game the borrower reports as returned keeps its status until the owner confirms the
+     * return; see {@link LendingRecord#awaitingReturnConfirmation}.
      */
     public enum LendingStatus {
         ACTIVE, OVERDUE, CLOSED
@@ -31,7 +40,8 @@ public class LendingRecord {
 
     /** Unique identifier for the lending record */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lending_record_seq")
+    @SequenceGenerator(name = "lending_record_seq", sequenceName = "lending_record_seq", allocationSize = 50)
     private int id;
 
     /** The date when the lending period begins */
@@ -57,6 +67,11 @@ public class LendingRecord {
     
     /** Flag indicating if the game was returned with damage */
     private boolean isDamaged = false;
+
+    /** Set when the borrower reports the game returned, until the owner confirms it and closes the record */
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean awaitingReturnConfirmation = false;
     
     /** Notes describing any damage to the game when returned */
     @Column(length = 1000)
@@ -87,6 +102,9 @@ public class LendingRecord {
     @Column(length = 500)
     private String closingReason;
 
+    /** Change version of the last save, for delta sync; null for records not saved since it was added */
+    private Long changeVersion;
+
     /**
      * Creates a new lending record with the specified details.
      *
@@ -116,6 +134,12 @@ public class LendingRecord {
         statusChangeReason = "Initial record creation";
     }
 
+    @PrePersist
+    @PreUpdate
+    void stampChangeVersion() {
+        changeVersion = ChangeVersions.next();
+    }
+
     /**
      * Calculates the duration of the lending period in days.
      *
@@ -150,6 +174,7 @@ public class LendingRecord {
         this.endDate = new Date();
         this.closedBy = userId;
         this.closingReason = reason;
+        this.awaitingReturnConfirmation = false;
         this.lastModifiedDate = new Date();
         this.lastModifiedBy = userId;
         this.statusChangeReason = "Record closed: " + reason;
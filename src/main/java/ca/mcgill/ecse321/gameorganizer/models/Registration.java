@@ -14,14 +14,20 @@ import java.util.Date;
  * @author @Shine111111
  */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Registration.ATTENDEE_EVENT_CONSTRAINT,
+        columnNames = {"attendee_id", "event_registered_for_id"}))
 @NoArgsConstructor
 @Getter
 @Setter
 public class Registration {
 
+    /** Unique key allowing one registration per attendee and event */
+    public static final String ATTENDEE_EVENT_CONSTRAINT = "uk_registration_attendee_event";
+
     /** Unique identifier for the registration */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registration_seq")
+    @SequenceGenerator(name = "registration_seq", sequenceName = "registration_seq", allocationSize = 50)
     private int id;
 
     /** The date when the registration was created */
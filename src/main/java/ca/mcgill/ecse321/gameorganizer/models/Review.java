@@ -1,6 +1,8 @@
 package ca.mcgill.ecse321.gameorganizer.models;
 
 import java.util.Date;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import jakarta.persistence.*;
@@ -8,14 +10,20 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import ca.mcgill.ecse321.gameorganizer.config.SecondLevelCacheConfig;
+
 /**
  * Represents a review for a game in the system.
  * Reviews contain ratings, comments, and track who made the review and when.
  * Reviews are associated with specific games and can persist even if the game is deleted.
+ * Like games, reviews are held in a per-node second-level cache that assumes a single node
+ * (see SecondLevelCacheConfig).
  * 
  * @author @jiwoong0815
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.REVIEW_REGION)
 @NoArgsConstructor
 @Getter
 @Setter
@@ -23,7 +31,8 @@ public class Review {
 
     /** Unique identifier for the review */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "review_seq")
+    @SequenceGenerator(name = "review_seq", sequenceName = "review_seq", allocationSize = 50)
     private int id;
 
     /** Numerical rating given to the game (typically 1-5) */
@@ -0,0 +1,96 @@
+package ca.mcgill.ecse321.gameorganizer.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Records that a borrow request or lending record was deleted, so that delta sync can tell the
+ * clients holding it. Keeps the requester and owner of the deleted row, since only they saw it.
+ */
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_sync_tombstone_change_version", columnList = "change_version")
+})
+@Getter
+@NoArgsConstructor
+public class SyncTombstone {
+
+    /**
+     * Kinds of rows that leave a tombstone when deleted.
+     */
+    public enum EntityType {
+        BORROW_REQUEST, LENDING_RECORD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_tombstone_seq")
+    @SequenceGenerator(name = "sync_tombstone_seq", sequenceName = "sync_tombstone_seq", allocationSize = 50)
+    private int id;
+
+    @Enumerated(EnumType.STRING)
+    private EntityType entityType;
+
+    /** ID of the deleted row */
+    private int entityId;
+
+    /** ID of the account that requested the game */
+    private Integer requesterId;
+
+    /** ID of the owner of the game instance */
+    private Integer ownerId;
+
+    private long changeVersion;
+
+    private Date deletedAt;
+
+    /**
+     * Creates a tombstone for a deleted row. Takes the type by name so that queries can build
+     * tombstones directly.
+     *
+     * @param entityType Name of the kind of row
+     * @param entityId ID of the row
+     * @param requesterId ID of the account that requested the game, if any
+     * @param ownerId ID of the owner of the game instance, if any
+     */
+    public SyncTombstone(String entityType, int entityId, Integer requesterId, Integer ownerId) {
+        this.entityType = EntityType.valueOf(entityType);
+        this.entityId = entityId;
+        this.requesterId = requesterId;
+        this.ownerId = ownerId;
+    }
+
+    /**
+     * Creates the tombstone of a borrow request about to be deleted.
+     *
+     * @param request The borrow request
+     * @return The tombstone
+     */
+    public static SyncTombstone of(BorrowRequest request) {
+        GameInstance instance = request.getGameInstance();
+        return new SyncTombstone(EntityType.BORROW_REQUEST.name(), request.getId(),
+                request.getRequester() != null ? request.getRequester().getId() : null,
+                instance != null && instance.getOwner() != null ? instance.getOwner().getId() : null);
+    }
+
+    /**
+     * Creates the tombstone of a lending record about to be deleted.
+     *
+     * @param record The lending record
+     * @return The tombstone
+     */
+    public static SyncTombstone of(LendingRecord record) {
+        BorrowRequest request = record.getRequest();
+        return new SyncTombstone(EntityType.LENDING_RECORD.name(), record.getId(),
+                request != null && request.getRequester() != null ? request.getRequester().getId() : null,
+                record.getRecordOwner() != null ? record.getRecordOwner().getId() : null);
+    }
+
+    @PrePersist
+    void stamp() {
+        changeVersion = ChangeVersions.next();
+        deletedAt = new Date();
+    }
+}
@@ -1,11 +1,18 @@
 package ca.mcgill.ecse321.gameorganizer.repositories;
 
+import ca.mcgill.ecse321.gameorganizer.dto.response.UserSummaryDto;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -46,6 +53,47 @@ public interface AccountRepository extends JpaRepository<Account, Integer> {
     @Query("SELECT a FROM Account a WHERE LOWER(a.email) LIKE LOWER(CONCAT('%', :emailPattern, '%'))")
     List<Account> findByEmailContainingIgnoreCase(@Param("emailPattern") String emailPattern);
 
+    /**
+     * Finds accounts whose name or email matches the given LIKE pattern, as summaries.
+     * Matches on both fields come back once, sorted by name; the GameOwner restriction and the
+     * paging are applied by the database, so a short pattern never loads the whole table.
+     *
+     * @param pattern Lower-case LIKE pattern, with backslash as the escape character
+     * @param gameOwnerOnly Whether to only return game owners
+     * @param pageable The page of results to return
+     * @return Summaries of the matching accounts
+     */
+    @Query("SELECT new ca.mcgill.ecse321.gameorganizer.dto.response.UserSummaryDto("
+            + "a.id, a.name, a.email, CASE WHEN TYPE(a) = GameOwner THEN true ELSE false END) "
+            + "FROM Account a "
+            + "WHERE (LOWER(a.name) LIKE :pattern ESCAPE '\\' OR LOWER(a.email) LIKE :pattern ESCAPE '\\') "
+            + "AND (:gameOwnerOnly = false OR TYPE(a) = GameOwner) "
+            + "ORDER BY a.name, a.id")
+    List<UserSummaryDto> searchSummaries(@Param("pattern") String pattern,
+                                         @Param("gameOwnerOnly") boolean gameOwnerOnly,
+                                         Pageable pageable);
+
+    /**
+     * Turns an account into a game owner in place by adding its game_owner row.
+     * The account keeps its ID, so nothing that references it changes; the cost does not depend
+     * on how many registrations, requests or reviews the account has. Accounts that are already
+     * game owners are left alone. The persistence context is cleared so that the account is
+     * loaded again as a GameOwner.
+     * The tables written are declared as query spaces; without them Hibernate cannot tell what a
+     * native statement touches and empties the whole second-level cache.
+     *
+     * @param id The ID of the account to promote
+     * @return 1 if the account was promoted, 0 if it does not exist or already is a game owner
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "game_owner"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account")
+    })
+    @Query(value = "INSERT INTO game_owner (id) SELECT a.id FROM account a WHERE a.id = :id "
+            + "AND NOT EXISTS (SELECT 1 FROM game_owner g WHERE g.id = a.id)", nativeQuery = true)
+    int promoteToGameOwner(@Param("id") int id);
+
     /**
      * Finds an account by its password reset token.
      *
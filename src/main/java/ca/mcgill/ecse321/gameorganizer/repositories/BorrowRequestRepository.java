@@ -1,19 +1,28 @@
 package ca.mcgill.ecse321.gameorganizer.repositories;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional; // Import added
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import ca.mcgill.ecse321.gameorganizer.dto.response.ReservationDto;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.models.SyncTombstone;
 
 /**
  * Repository interface for managing BorrowRequest entities.
@@ -23,8 +32,21 @@ import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
  * @author @rayanBaida
  */
 @Repository
-public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, Integer> {
-    
+public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, Integer>, JpaSpecificationExecutor<BorrowRequest> {
+
+    /**
+     * Finds a page of borrow requests matching a specification, built from
+     * {@link BorrowRequestSpecifications}. The requester, game and instance are fetched
+     * in the same statement since every listing maps them into its DTOs.
+     *
+     * @param spec The filters and visibility rules to apply
+     * @param pageable Page, size and sort to apply
+     * @return Page of matching borrow requests
+     */
+    @Override
+    @EntityGraph(attributePaths = {"requester", "requestedGame", "gameInstance"})
+    Page<BorrowRequest> findAll(Specification<BorrowRequest> spec, Pageable pageable);
+
     /**
      * Finds a borrow request by its unique identifier.
      *
@@ -41,24 +63,6 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, In
      */
     List<BorrowRequest> findBorrowRequestsByRequesterName(String username);
 
-    /**
-     * Finds all approved borrow requests that overlap with a given date range for a specific game.
-     * This is used to check if a game is available for a new borrow request.
-     *
-     * @param gameId The ID of the game to check
-     * @param startDate The start date of the period to check
-     * @param endDate The end date of the period to check
-     * @return List of overlapping approved borrow requests
-     */
-    @Query("SELECT br FROM BorrowRequest br " +
-           "WHERE br.requestedGame.id = :gameId " +
-           "AND br.status = 'APPROVED' " +
-           "AND br.startDate < :endDate " +
-           "AND br.endDate > :startDate")
-    List<BorrowRequest> findOverlappingApprovedRequests(@Param("gameId") int gameId, 
-                                                        @Param("startDate") Date startDate, 
-                                                        @Param("endDate") Date endDate);
-                                                        
     /**
      * Finds all borrow requests for games owned by a specific owner and with a specific status.
      * Used by game owners to view pending requests for their games.
@@ -96,21 +100,6 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, In
      */
     List<BorrowRequest> findByRequestedGame(Game game);
 
-    /**
-     * Find borrow requests with approved status for a specific game
-     * that overlap with a given period.
-     * Used to check availability for new or updated requests.
-     */
-    @Query("SELECT br FROM BorrowRequest br " +
-           "WHERE br.requestedGame.id = :gameId " +
-           "AND br.status = 'APPROVED' " +
-           "AND ((br.startDate <= :endDate) AND (br.endDate >= :startDate))")
-    List<BorrowRequest> findOverlappingApprovedRequestsForGame(
-        @Param("gameId") int gameId,
-        @Param("startDate") Date startDate,
-        @Param("endDate") Date endDate);
-
-
     List<BorrowRequest> findBorrowRequestsByRequesterEmail(String email);
 
     /**
@@ -123,17 +112,107 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, In
     List<BorrowRequest> findBorrowRequestsByGameInstanceId(@Param("gameInstanceId") int gameInstanceId);
 
     /**
-     * Find borrow requests with approved status for a specific game instance
-     * that overlap with a given period.
-     * Used to check availability for new or updated requests.
+     * Finds the approved reservations of every game instance that end on or after the given date.
+     * Used to warm the in-memory reservation calendar.
+     *
+     * @param from The earliest end date to include
+     * @return List of approved reservations
      */
-    @Query("SELECT br FROM BorrowRequest br " +
-           "WHERE br.gameInstance.id = :gameInstanceId " +
+    @Query("SELECT new ca.mcgill.ecse321.gameorganizer.dto.response.ReservationDto(br.id, gi.id, br.startDate, br.endDate) " +
+           "FROM BorrowRequest br JOIN br.gameInstance gi " +
+           "WHERE br.status = 'APPROVED' " +
+           "AND br.endDate >= :from")
+    List<ReservationDto> findApprovedReservationsEndingFrom(@Param("from") Date from);
+
+    /**
+     * Finds the approved reservations of a game instance that end on or after the given date.
+     * Used when the reservation calendar cannot answer a query from memory.
+     *
+     * @param gameInstanceId The ID of the game instance
+     * @param from The earliest end date to include
+     * @return List of approved reservations for the instance
+     */
+    @Query("SELECT new ca.mcgill.ecse321.gameorganizer.dto.response.ReservationDto(br.id, gi.id, br.startDate, br.endDate) " +
+           "FROM BorrowRequest br JOIN br.gameInstance gi " +
+           "WHERE gi.id = :gameInstanceId " +
            "AND br.status = 'APPROVED' " +
-           "AND ((br.startDate <= :endDate) AND (br.endDate >= :startDate))")
-    List<BorrowRequest> findOverlappingApprovedRequestsForGameInstance(
+           "AND br.endDate >= :from")
+    List<ReservationDto> findApprovedReservationsForInstanceEndingFrom(
         @Param("gameInstanceId") int gameInstanceId,
-        @Param("startDate") Date startDate,
-        @Param("endDate") Date endDate);
+        @Param("from") Date from);
+
+    /**
+     * Checks whether a game instance has an approved borrow request overlapping a period
+     * (inclusive bounds), ignoring one request.
+     * This is the authoritative conflict check; run it while holding the instance lock
+     * from {@link GameInstanceRepository#lockById(int)}.
+     *
+     * @param gameInstanceId The ID of the game instance
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @param excludeRequestId ID of a borrow request to ignore, or -1 to consider all of them
+     * @return true if an approved request overlaps the period
+     */
+    @Query("SELECT COUNT(br) > 0 FROM BorrowRequest br " +
+           "WHERE br.gameInstance.id = :gameInstanceId " +
+           "AND br.status = 'APPROVED' " +
+           "AND br.startDate <= :endDate AND br.endDate >= :startDate " +
+           "AND br.id <> :excludeRequestId")
+    boolean existsApprovedOverlapping(@Param("gameInstanceId") int gameInstanceId,
+                                      @Param("startDate") Date startDate,
+                                      @Param("endDate") Date endDate,
+                                      @Param("excludeRequestId") int excludeRequestId);
+
+    /**
+     * Selects the IDs of the borrow requests for a game or one of its copies, given as :gameId.
+     */
+    String IDS_BY_GAME = "SELECT br.id FROM BorrowRequest br WHERE br.requestedGame.id = :gameId " +
+            "OR br.gameInstance.id IN (SELECT gi.id FROM GameInstance gi WHERE gi.game.id = :gameId)";
 
+    /**
+     * Finds the IDs of borrow requests for the given game or one of its copies, one chunk at a time.
+     *
+     * @param gameId The ID of the game
+     * @param pageable The chunk to return
+     * @return IDs of the borrow requests
+     */
+    @Query(IDS_BY_GAME + " ORDER BY br.id")
+    List<Integer> findIdsByGameId(@Param("gameId") int gameId, Pageable pageable);
+
+    /**
+     * Deletes all borrow requests for the given game or one of its copies in a single statement.
+     * Their lending records must have been deleted first.
+     *
+     * @param gameId The ID of the game
+     * @return Number of borrow requests deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM BorrowRequest b WHERE b.id IN (" + IDS_BY_GAME + ")")
+    int deleteByGameId(@Param("gameId") int gameId);
+
+    /**
+     * Builds the tombstone of each borrow request, with its requester and the owner of its game instance.
+     */
+    String TOMBSTONE_SELECT = "SELECT new ca.mcgill.ecse321.gameorganizer.models.SyncTombstone(" +
+            "'BORROW_REQUEST', br.id, r.id, o.id) " +
+            "FROM BorrowRequest br LEFT JOIN br.requester r LEFT JOIN br.gameInstance gi LEFT JOIN gi.owner o ";
+
+    /**
+     * Builds the tombstones of borrow requests that are about to be deleted.
+     *
+     * @param ids The IDs of the borrow requests
+     * @return Unsaved tombstones, one per borrow request found
+     */
+    @Query(TOMBSTONE_SELECT + "WHERE br.id IN :ids")
+    List<SyncTombstone> findTombstonesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Builds the tombstones of the borrow requests for a game or one of its copies, before they
+     * are deleted with {@link #deleteByGameId(int)}.
+     *
+     * @param gameId The ID of the game
+     * @return Unsaved tombstones, one per borrow request
+     */
+    @Query(TOMBSTONE_SELECT + "WHERE br.id IN (" + IDS_BY_GAME + ")")
+    List<SyncTombstone> findTombstonesByGameId(@Param("gameId") int gameId);
 }
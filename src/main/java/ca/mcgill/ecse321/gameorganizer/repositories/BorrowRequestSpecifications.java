@@ -0,0 +1,88 @@
+package ca.mcgill.ecse321.gameorganizer.repositories;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+/**
+ * Reusable JPA Specifications for querying BorrowRequest entities.
+ * Each filter, including who may see a request, maps onto a predicate so that listings
+ * are answered by one indexed SQL statement instead of loading every request and
+ * filtering in memory.
+ */
+public final class BorrowRequestSpecifications {
+
+    private BorrowRequestSpecifications() {
+    }
+
+    /**
+     * Matches requests the given account may see: those it made and those for game
+     * instances it owns.
+     *
+     * @param accountId the ID of the account viewing the requests
+     * @return specification matching the visible requests
+     */
+    public static Specification<BorrowRequest> visibleTo(int accountId) {
+        return (root, query, cb) -> {
+            Join<BorrowRequest, GameInstance> instance = root.join("gameInstance", JoinType.LEFT);
+            return cb.or(
+                    cb.equal(root.get("requester").<Integer>get("id"), accountId),
+                    cb.equal(instance.get("owner").<Integer>get("id"), accountId));
+        };
+    }
+
+    /**
+     * Matches requests made by the given account.
+     *
+     * @param requesterId the ID of the requester
+     * @return specification matching the requester filter
+     */
+    public static Specification<BorrowRequest> requestedBy(int requesterId) {
+        return (root, query, cb) -> cb.equal(root.get("requester").<Integer>get("id"), requesterId);
+    }
+
+    /**
+     * Matches requests for game instances owned by the given owner.
+     *
+     * @param ownerId the ID of the game instance owner
+     * @return specification matching the owner filter
+     */
+    public static Specification<BorrowRequest> instanceOwnedBy(int ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("gameInstance").get("owner").<Integer>get("id"), ownerId);
+    }
+
+    /**
+     * Matches requests for the given game instance.
+     *
+     * @param gameInstanceId the ID of the game instance
+     * @return specification matching the game instance filter
+     */
+    public static Specification<BorrowRequest> forGameInstance(int gameInstanceId) {
+        return (root, query, cb) -> cb.equal(root.get("gameInstance").<Integer>get("id"), gameInstanceId);
+    }
+
+    /**
+     * Matches requests with the given status.
+     *
+     * @param status the status to match
+     * @return specification matching the status filter
+     */
+    public static Specification<BorrowRequest> hasStatus(BorrowRequestStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Matches requests saved after the given change version. Requests not saved since change
+     * versions were introduced never match.
+     *
+     * @param version the change version the client synced up to
+     * @return specification matching the changed requests
+     */
+    public static Specification<BorrowRequest> changedAfter(long version) {
+        return (root, query, cb) -> cb.greaterThan(root.<Long>get("changeVersion"), version);
+    }
+}
@@ -0,0 +1,105 @@
+package ca.mcgill.ecse321.gameorganizer.repositories;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ca.mcgill.ecse321.gameorganizer.models.EmailOutboxMessage;
+import ca.mcgill.ecse321.gameorganizer.models.EmailOutboxMessage.DeliveryStatus;
+
+/**
+ * Repository interface for the email outbox.
+ * Delivery state changes are single conditional updates so that several dispatchers,
+ * possibly on different application instances, never deliver the same message twice.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Integer> {
+
+    /**
+     * Finds pending messages whose next attempt is due, oldest first.
+     *
+     * @param now The current time
+     * @param pageable Limits how many messages are returned
+     * @return Due messages
+     */
+    @Query("SELECT m FROM EmailOutboxMessage m " +
+           "WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now " +
+           "ORDER BY m.nextAttemptAt, m.id")
+    List<EmailOutboxMessage> findDue(@Param("now") Date now, Pageable pageable);
+
+    /**
+     * Claims a due message for one delivery attempt by moving its next attempt to the end
+     * of a lease. Fails if another dispatcher claimed it first.
+     *
+     * @param id The ID of the message
+     * @param now The current time
+     * @param leaseUntil When the attempt is considered lost and the message is due again
+     * @return 1 if the message was claimed, 0 otherwise
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmailOutboxMessage m SET m.attempts = m.attempts + 1, m.nextAttemptAt = :leaseUntil " +
+           "WHERE m.id = :id AND m.status = 'PENDING' AND m.nextAttemptAt <= :now")
+    int claim(@Param("id") int id, @Param("now") Date now, @Param("leaseUntil") Date leaseUntil);
+
+    /**
+     * Marks messages as delivered.
+     *
+     * @param ids The IDs of the delivered messages
+     * @param sentAt When the mail server accepted them
+     * @return number of messages updated
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'SENT', m.sentAt = :sentAt, m.lastError = NULL " +
+           "WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Integer> ids, @Param("sentAt") Date sentAt);
+
+    /**
+     * Schedules another delivery attempt for a message.
+     *
+     * @param id The ID of the message
+     * @param nextAttemptAt When to try again
+     * @param error Why the last attempt failed
+     * @return number of messages updated
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.nextAttemptAt = :nextAttemptAt, m.lastError = :error " +
+           "WHERE m.id = :id AND m.status = 'PENDING'")
+    int scheduleRetry(@Param("id") int id, @Param("nextAttemptAt") Date nextAttemptAt, @Param("error") String error);
+
+    /**
+     * Gives up on a message.
+     *
+     * @param id The ID of the message
+     * @param error Why the last attempt failed
+     * @return number of messages updated
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'FAILED', m.lastError = :error " +
+           "WHERE m.id = :id AND m.status = 'PENDING'")
+    int markFailed(@Param("id") int id, @Param("error") String error);
+
+    /**
+     * Deletes delivered messages sent before the given time.
+     *
+     * @param before Messages sent before this time are deleted
+     * @return number of messages deleted
+     */
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = 'SENT' AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") Date before);
+
+    /**
+     * Counts the messages in a delivery state.
+     *
+     * @param status The delivery state
+     * @return number of messages in that state
+     */
+    long countByStatus(DeliveryStatus status);
+}
@@ -5,7 +5,16 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import ca.mcgill.ecse321.gameorganizer.models.Event;
@@ -17,7 +26,7 @@ import ca.mcgill.ecse321.gameorganizer.models.Event;
  * @author @Yessine-glitch
  */
 @Repository
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event> {
     /**
      * Finds an event by its unique identifier.
      *
@@ -57,4 +66,87 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
     List<Event> findEventByHostEmail(String hostEmail); // Add method to find by host email
 
     void deleteAllByFeaturedGameId(int gameId); // Delete all events associated with a specific game ID
+
+    /**
+     * Finds a page of events matching a specification, fetching the featured game and host in
+     * the same query since every event response includes them.
+     *
+     * @param spec the filters to apply
+     * @param pageable pagination and sorting information
+     * @return page of matching events
+     */
+    @Override
+    @EntityGraph(attributePaths = {"featuredGame", "host"})
+    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
+
+    /**
+     * Retrieves a page of all events without counting them, fetching the featured game and host
+     * in the same query.
+     *
+     * @param pageable pagination and sorting information
+     * @return slice of events, indicating whether a next page exists
+     */
+    @EntityGraph(attributePaths = {"featuredGame", "host"})
+    Slice<Event> findAllBy(Pageable pageable);
+
+    /**
+     * Takes one seat of an event if any is left, as a single conditional update.
+     * Concurrent registrations are serialized by the row lock of this update alone, so the
+     * participant count can never exceed the maximum.
+     * Clears the persistence context so that a loaded copy of the event with a stale count
+     * is never written back over the new value.
+     *
+     * @param eventId the UUID of the event
+     * @return 1 if a seat was taken, 0 if the event is full or does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.currentNumberParticipants = e.currentNumberParticipants + 1 " +
+           "WHERE e.id = :eventId AND e.currentNumberParticipants < e.maxParticipants")
+    int reserveSeat(@Param("eventId") UUID eventId);
+
+    /**
+     * Gives back one seat of an event, never going below zero.
+     * Clears the persistence context for the same reason as {@link #reserveSeat(UUID)}.
+     *
+     * @param eventId the UUID of the event
+     * @return 1 if a seat was released, 0 if the count was already zero or the event does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.currentNumberParticipants = e.currentNumberParticipants - 1 " +
+           "WHERE e.id = :eventId AND e.currentNumberParticipants > 0")
+    int releaseSeat(@Param("eventId") UUID eventId);
+
+    /**
+     * Finds the IDs of events featuring the given game, one chunk at a time.
+     *
+     * @param gameId The ID of the featured game
+     * @param pageable The chunk to return, or unpaged for all of them
+     * @return IDs of the events
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.featuredGame.id = :gameId ORDER BY e.id")
+    List<UUID> findIdsByFeaturedGameId(@Param("gameId") int gameId, Pageable pageable);
+
+    /**
+     * Unlinks copies of the given game from events featuring another game, so that the copies
+     * can be deleted.
+     *
+     * @param gameId The ID of the game whose copies are unlinked
+     * @return Number of events updated
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.gameInstance = NULL " +
+           "WHERE e.gameInstance.id IN (SELECT gi.id FROM GameInstance gi WHERE gi.game.id = :gameId) " +
+           "AND e.featuredGame.id <> :gameId")
+    int unlinkInstancesOfGame(@Param("gameId") int gameId);
+
+    /**
+     * Deletes all events featuring the given game in a single statement.
+     * Their registrations must have been deleted first.
+     *
+     * @param gameId The ID of the featured game
+     * @return Number of events deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Event e WHERE e.featuredGame.id = :gameId")
+    int deleteByFeaturedGameId(@Param("gameId") int gameId);
 }
@@ -0,0 +1,94 @@
+package ca.mcgill.ecse321.gameorganizer.repositories;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import ca.mcgill.ecse321.gameorganizer.models.Event;
+import jakarta.persistence.criteria.Path;
+
+/**
+ * Reusable JPA Specifications for querying Event entities.
+ * Date windows and the host, location and featured game filters map onto predicates, so
+ * that the event feed is answered by the database using the index on the event date.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    /**
+     * Matches events taking place at or after the given time.
+     *
+     * @param from the start of the window (inclusive)
+     * @return specification matching events from that time on
+     */
+    public static Specification<Event> startingFrom(Date from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Date>get("dateTime"), from);
+    }
+
+    /**
+     * Matches events taking place before the given time.
+     *
+     * @param to the end of the window (exclusive)
+     * @return specification matching events before that time
+     */
+    public static Specification<Event> startingBefore(Date to) {
+        return (root, query, cb) -> cb.lessThan(root.<Date>get("dateTime"), to);
+    }
+
+    /**
+     * Matches events hosted by the given account.
+     *
+     * @param hostId the ID of the host
+     * @return specification matching the host filter
+     */
+    public static Specification<Event> hostedBy(int hostId) {
+        return (root, query, cb) -> cb.equal(root.get("host").<Integer>get("id"), hostId);
+    }
+
+    /**
+     * Matches events featuring the given game.
+     *
+     * @param gameId the ID of the featured game
+     * @return specification matching the game filter
+     */
+    public static Specification<Event> featuringGame(int gameId) {
+        return (root, query, cb) -> cb.equal(root.get("featuredGame").<Integer>get("id"), gameId);
+    }
+
+    /**
+     * Matches events whose location contains the given text, ignoring case.
+     *
+     * @param text the text to look for in the location
+     * @return specification matching the location filter
+     */
+    public static Specification<Event> locationContains(String text) {
+        String pattern = "%" + text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.<String>get("location")), pattern, '\\');
+    }
+
+    /**
+     * Matches events that come after the given position in a listing sorted by date,
+     * with the ID breaking ties between events at the same time.
+     *
+     * @param lastDateTime the date of the last event of the previous page
+     * @param lastId the ID of the last event of the previous page
+     * @param ascending true if the listing is sorted in ascending order
+     * @return specification matching the events of the next page
+     */
+    public static Specification<Event> afterDateTime(Date lastDateTime, UUID lastId, boolean ascending) {
+        return (root, query, cb) -> {
+            Path<Date> date = root.get("dateTime");
+            Path<UUID> id = root.get("id");
+            return cb.or(
+                    ascending ? cb.greaterThan(date, lastDateTime) : cb.lessThan(date, lastDateTime),
+                    cb.and(cb.equal(date, lastDateTime),
+                            ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId)));
+        };
+    }
+}
@@ -1,13 +1,26 @@
 package ca.mcgill.ecse321.gameorganizer.repositories;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameAvailabilityDto;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository for managing GameInstance entities.
@@ -23,13 +36,27 @@ public interface GameInstanceRepository extends JpaRepository<GameInstance, Inte
      * @return The instance with the given ID, or null if not found
      */
     GameInstance findGameInstanceById(int id);
+
+    /**
+     * Locks a game instance row until the current transaction ends.
+     * Serializes the writes that reserve the instance, so two overlapping borrow requests
+     * cannot both pass the conflict check.
+     *
+     * @param id The ID of the instance
+     * @return The locked instance, or empty if not found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT gi FROM GameInstance gi WHERE gi.id = :id")
+    Optional<GameInstance> lockById(@Param("id") int id);
     
     /**
      * Find all instances of a specific game.
+     * Results are kept in the query cache until an instance changes.
      * 
      * @param game The game to find instances for
      * @return List of instances for the given game
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<GameInstance> findByGame(Game game);
     
     /**
@@ -65,4 +92,48 @@ public interface GameInstanceRepository extends JpaRepository<GameInstance, Inte
      * @return List of instances owned by the given user ID
      */
     List<GameInstance> findByOwnerId(int ownerId);
-} 
\ No newline at end of file
+
+    /**
+     * Computes, in one grouped query, how many copies of each given game exist and how many
+     * of them are free during a period. A copy is free when it is flagged available and has
+     * no approved borrow request overlapping the period (inclusive bounds).
+     * Games without any copies are absent from the result.
+     *
+     * @param gameIds The IDs of the games to check
+     * @param startDate The start of the period (equal to endDate for a point in time)
+     * @param endDate The end of the period
+     * @return One availability entry per game that has at least one copy
+     */
+    @Query("SELECT new ca.mcgill.ecse321.gameorganizer.dto.response.GameAvailabilityDto(" +
+           "gi.game.id, COUNT(DISTINCT gi.id), " +
+           "COUNT(DISTINCT CASE WHEN gi.available = true AND br.id IS NULL THEN gi.id END)) " +
+           "FROM GameInstance gi " +
+           "LEFT JOIN BorrowRequest br ON br.gameInstance = gi " +
+           "AND br.status = 'APPROVED' AND br.startDate <= :endDate AND br.endDate >= :startDate " +
+           "WHERE gi.game.id IN :gameIds " +
+           "GROUP BY gi.game.id")
+    List<GameAvailabilityDto> findAvailabilityByGameIds(@Param("gameIds") Collection<Integer> gameIds,
+                                                        @Param("startDate") Date startDate,
+                                                        @Param("endDate") Date endDate);
+
+    /**
+     * Finds the IDs of the copies of the given game, one chunk at a time.
+     *
+     * @param gameId The ID of the game
+     * @param pageable The chunk to return, or unpaged for all of them
+     * @return IDs of the copies
+     */
+    @Query("SELECT gi.id FROM GameInstance gi WHERE gi.game.id = :gameId ORDER BY gi.id")
+    List<Integer> findIdsByGameId(@Param("gameId") int gameId, Pageable pageable);
+
+    /**
+     * Deletes all copies of the given game in a single statement.
+     * Borrow requests and events using them must have been deleted or unlinked first.
+     *
+     * @param gameId The ID of the game
+     * @return Number of copies deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM GameInstance gi WHERE gi.game.id = :gameId")
+    int deleteByGameId(@Param("gameId") int gameId);
+}
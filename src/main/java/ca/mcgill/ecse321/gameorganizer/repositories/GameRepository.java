@@ -1,10 +1,20 @@
 package ca.mcgill.ecse321.gameorganizer.repositories;
 
+import ca.mcgill.ecse321.gameorganizer.config.CatalogCache;
+import ca.mcgill.ecse321.gameorganizer.config.SecondLevelCacheConfig;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.hibernate.jpa.HibernateHints;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import java.util.Date;
 import java.util.List;
@@ -13,18 +23,62 @@ import java.util.Optional;
 /**
  * Repository interface for managing Game entities.
  * Provides CRUD operations and custom queries for games.
+ * Dynamic multi-criteria searches are expressed with {@link GameSpecifications}.
  *
  * @author @PlazmaMamba
  */
 @Repository
-public interface GameRepository extends JpaRepository<Game, Integer> {
+public interface GameRepository extends JpaRepository<Game, Integer>, JpaSpecificationExecutor<Game> {
     /**
      * Finds a game by its unique identifier.
+     * Looks the game up by ID rather than by query, so it is served from the second-level cache.
      *
      * @param id the ID of the game to find
      * @return the game if found, null otherwise
      */
-    Game findGameById(int id);
+    default Game findGameById(int id) {
+        return findById(id).orElse(null);
+    }
+
+    /**
+     * Marks a game as being deleted. The update waits for the transactions that hold the game
+     * through {@link #lockAgainstDeletion(int)}, so the rows they add are committed before the
+     * deletion starts, and every later attempt to add a row for the game is rejected.
+     *
+     * @param id the ID of the game
+     * @return number of games marked
+     */
+    @Modifying
+    @Query("UPDATE Game g SET g.deleting = true WHERE g.id = :id")
+    int markDeleting(@Param("id") int id);
+
+    /**
+     * Reads whether a game is being deleted, holding a shared lock on its row until the end of
+     * the transaction. Transactions adding rows for the same game do not wait for each other,
+     * only {@link #markDeleting(int)} waits for them.
+     *
+     * @param id the ID of the game
+     * @return whether the game is being deleted, or null if it does not exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT g.deleting FROM Game g WHERE g.id = :id")
+    Boolean findDeletingForShare(@Param("id") int id);
+
+    /**
+     * Makes sure a game is not being deleted before a row referencing it (a copy, an event, a
+     * review, a borrow request, a registration or a lending record) is saved in the current
+     * transaction. The game row stays share-locked until the transaction ends, so a deletion
+     * starting meanwhile waits for the new row and deletes it with the others instead of failing
+     * on it.
+     *
+     * @param id the ID of the game
+     * @throws IllegalArgumentException if the game does not exist or is being deleted
+     */
+    default void lockAgainstDeletion(int id) {
+        if (!Boolean.FALSE.equals(findDeletingForShare(id))) {
+            throw new IllegalArgumentException("Game with ID " + id + " does not exist or is being deleted");
+        }
+    }
 
     List<Game> findByName(String name);
 
@@ -35,6 +89,7 @@ public interface GameRepository extends JpaRepository<Game, Integer> {
     List<Game> findByDateAddedBefore(Date date);
     List<Game> findByDateAddedAfter(Date date);
     List<Game> findByDateAddedBetween(Date startDate, Date endDate);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Game> findByOwner(GameOwner owner);
     List<Game> findByOwnerAndNameContaining(GameOwner owner, String namePart);
 
@@ -60,9 +115,102 @@ public interface GameRepository extends JpaRepository<Game, Integer> {
            "WHERE br.status = 'APPROVED' AND br.startDate <= ?1 AND br.endDate >= ?1)")
     List<Game> findUnavailableGames(Date currentDate);
 
-    @Query("SELECT g FROM Game g WHERE " +
-           "(SELECT COALESCE(AVG(r.rating), 0) FROM Review r WHERE r.gameReviewed = g) >= ?1")
+    /**
+     * Finds all games whose stored average rating is at or above the given value.
+     *
+     * @param minRating the minimum average rating
+     * @return list of games meeting the rating criteria
+     */
     List<Game> findByAverageRatingGreaterThanEqual(double minRating);
 
+    /**
+     * Finds all games in a category. Results are kept in the query cache until a game changes.
+     *
+     * @param category the exact category
+     * @return list of games in the category
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Game> findByCategory(String category);
+
+    /**
+     * Adds a single review rating to a game's rating aggregate.
+     * Performed as one atomic update so concurrent reviews cannot lose increments.
+     * Games already loaded in the persistence context keep their previous aggregate;
+     * reload them to read the updated one.
+     * The per-game rating statements declare only {@link SecondLevelCacheConfig#GAME_RATING_SPACE}
+     * as their query space, so they leave the rest of the second-level cache alone; callers evict
+     * the one game they changed with {@link CatalogCache#evictGame(int)}.
+     *
+     * @param gameId the ID of the reviewed game
+     * @param rating the rating being added
+     * @return number of games updated
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SecondLevelCacheConfig.GAME_RATING_SPACE))
+    @Query(value = "UPDATE game SET rating_count = rating_count + 1, " +
+           "rating_sum = rating_sum + :rating, " +
+           "average_rating = (rating_sum + :rating) / (rating_count + 1.0) " +
+           "WHERE id = :gameId", nativeQuery = true)
+    int addRating(@Param("gameId") int gameId, @Param("rating") int rating);
+
+    /**
+     * Replaces one rating with another in a game's rating aggregate.
+     *
+     * @param gameId the ID of the reviewed game
+     * @param delta the difference between the new and the old rating
+     * @return number of games updated
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SecondLevelCacheConfig.GAME_RATING_SPACE))
+    @Query(value = "UPDATE game SET rating_sum = rating_sum + :delta, " +
+           "average_rating = (rating_sum + :delta) / (rating_count * 1.0) " +
+           "WHERE id = :gameId AND rating_count > 0", nativeQuery = true)
+    int changeRating(@Param("gameId") int gameId, @Param("delta") int delta);
+
+    /**
+     * Removes a single review rating from a game's rating aggregate.
+     *
+     * @param gameId the ID of the reviewed game
+     * @param rating the rating being removed
+     * @return number of games updated
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SecondLevelCacheConfig.GAME_RATING_SPACE))
+    @Query(value = "UPDATE game SET rating_count = rating_count - 1, " +
+           "rating_sum = rating_sum - :rating, " +
+           "average_rating = CASE WHEN rating_count > 1 " +
+           "THEN (rating_sum - :rating) / (rating_count - 1.0) ELSE 0.0 END " +
+           "WHERE id = :gameId AND rating_count > 0", nativeQuery = true)
+    int removeRating(@Param("gameId") int gameId, @Param("rating") int rating);
+
+    /**
+     * Recomputes the rating aggregate of every game from its reviews.
+     * Every game may change, so the statement evicts the whole game region of the second-level
+     * cache, and nothing else.
+     *
+     * @return number of games updated
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Game g SET " +
+           "g.ratingCount = (SELECT COUNT(r) FROM Review r WHERE r.gameReviewed = g), " +
+           "g.ratingSum = (SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.gameReviewed = g), " +
+           "g.averageRating = (SELECT COALESCE(AVG(r.rating), 0.0) FROM Review r WHERE r.gameReviewed = g)")
+    int rebuildRatingAggregates();
+
+    /**
+     * Recomputes the rating aggregate of a single game from its reviews. Like the incremental
+     * updates, the statement only declares {@link SecondLevelCacheConfig#GAME_RATING_SPACE};
+     * callers evict the game with {@link CatalogCache#evictGame(int)}.
+     *
+     * @param gameId the ID of the game to rebuild
+     * @return number of games updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SecondLevelCacheConfig.GAME_RATING_SPACE))
+    @Query(value = "UPDATE game SET " +
+           "rating_count = (SELECT COUNT(*) FROM review r WHERE r.game_reviewed_id = game.id), " +
+           "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM review r WHERE r.game_reviewed_id = game.id), " +
+           "average_rating = (SELECT COALESCE(AVG(r.rating * 1.0), 0.0) FROM review r WHERE r.game_reviewed_id = game.id) " +
+           "WHERE id = :gameId", nativeQuery = true)
+    int rebuildRatingAggregate(@Param("gameId") int gameId);
 }
@@ -0,0 +1,116 @@
+package ca.mcgill.ecse321.gameorganizer.repositories;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Reusable JPA Specifications for querying Game entities.
+ * Each factory method maps a single search filter onto a predicate so that
+ * callers can combine them into one SQL statement instead of filtering in memory.
+ */
+public final class GameSpecifications {
+
+    private GameSpecifications() {
+    }
+
+    /**
+     * Matches games whose name contains the given text (case insensitive).
+     *
+     * @param namePart the text to search for in game names
+     * @return specification matching the name filter
+     */
+    public static Specification<Game> nameContainsIgnoreCase(String namePart) {
+        String pattern = "%" + namePart.toLowerCase() + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.<String>get("name")), pattern);
+    }
+
+    /**
+     * Matches games that require at least the given number of players.
+     *
+     * @param minPlayers the lower bound for the game's minimum player count
+     * @return specification matching the minimum player filter
+     */
+    public static Specification<Game> minPlayersAtLeast(int minPlayers) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Integer>get("minPlayers"), minPlayers);
+    }
+
+    /**
+     * Matches games that allow at most the given number of players.
+     *
+     * @param maxPlayers the upper bound for the game's maximum player count
+     * @return specification matching the maximum player filter
+     */
+    public static Specification<Game> maxPlayersAtMost(int maxPlayers) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<Integer>get("maxPlayers"), maxPlayers);
+    }
+
+    /**
+     * Matches games in the given category (case insensitive).
+     *
+     * @param category the category to match
+     * @return specification matching the category filter
+     */
+    public static Specification<Game> categoryEqualsIgnoreCase(String category) {
+        String lowered = category.toLowerCase();
+        return (root, query, cb) -> cb.equal(cb.lower(root.<String>get("category")), lowered);
+    }
+
+    /**
+     * Matches games owned by the game owner with the given ID.
+     *
+     * @param ownerId the ID of the owner
+     * @return specification matching the owner filter
+     */
+    public static Specification<Game> ownedBy(int ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    /**
+     * Matches games whose stored average review rating is at least the given value.
+     * Games without reviews have a rating of 0.
+     *
+     * @param minRating the minimum average rating
+     * @return specification matching the rating filter
+     */
+    public static Specification<Game> averageRatingAtLeast(double minRating) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Double>get("averageRating"), minRating);
+    }
+
+    /**
+     * Matches games based on whether at least one copy can be borrowed at the given date.
+     * A copy is free when it is flagged available and has no approved borrow request covering
+     * the date, matching {@link GameInstanceRepository#findAvailabilityByGameIds}.
+     *
+     * @param available true to match available games, false to match games with no free copy
+     * @param date the date to check availability at
+     * @return specification matching the availability filter
+     */
+    public static Specification<Game> availableAt(boolean available, Date date) {
+        return (root, query, cb) -> {
+            Subquery<Integer> freeCopies = query.subquery(Integer.class);
+            Root<GameInstance> instance = freeCopies.from(GameInstance.class);
+
+            Subquery<Integer> borrowed = freeCopies.subquery(Integer.class);
+            Root<BorrowRequest> br = borrowed.from(BorrowRequest.class);
+            borrowed.select(br.<Integer>get("id")).where(
+                    cb.equal(br.get("gameInstance"), instance),
+                    cb.equal(br.get("status"), BorrowRequestStatus.APPROVED),
+                    cb.lessThanOrEqualTo(br.<Date>get("startDate"), date),
+                    cb.greaterThanOrEqualTo(br.<Date>get("endDate"), date));
+
+            freeCopies.select(instance.<Integer>get("id")).where(
+                    cb.equal(instance.get("game"), root),
+                    cb.isTrue(instance.<Boolean>get("available")),
+                    cb.not(cb.exists(borrowed)));
+            return available ? cb.exists(freeCopies) : cb.not(cb.exists(freeCopies));
+        };
+    }
+}
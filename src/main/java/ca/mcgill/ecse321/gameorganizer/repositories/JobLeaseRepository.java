@@ -0,0 +1,45 @@
+package ca.mcgill.ecse321.gameorganizer.repositories;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ca.mcgill.ecse321.gameorganizer.models.JobLease;
+
+/**
+ * Repository interface for the leases that keep background jobs to one node at a time.
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes the lease on a job if it expired, or extends it if the holder already has it.
+     * Fails if another node holds an unexpired lease, or if the job has no lease row yet.
+     *
+     * @param name Name of the job
+     * @param holder Identifies the node taking the lease
+     * @param now The current time
+     * @param leaseUntil When the lease expires
+     * @return 1 if the holder now has the lease, 0 otherwise
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JobLease l SET l.holder = :holder, l.leaseUntil = :leaseUntil " +
+           "WHERE l.name = :name AND (l.holder = :holder OR l.leaseUntil IS NULL OR l.leaseUntil <= :now)")
+    int acquire(@Param("name") String name, @Param("holder") String holder,
+                @Param("now") Date now, @Param("leaseUntil") Date leaseUntil);
+
+    /**
+     * Gives up the lease on a job so that another node may take it right away.
+     *
+     * @param name Name of the job
+     * @param holder Identifies the node giving up the lease
+     * @return 1 if the holder had the lease, 0 otherwise
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JobLease l SET l.leaseUntil = NULL WHERE l.name = :name AND l.holder = :holder")
+    int release(@Param("name") String name, @Param("holder") String holder);
+}
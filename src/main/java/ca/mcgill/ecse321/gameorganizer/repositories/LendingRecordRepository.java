@@ -1,18 +1,25 @@
 package ca.mcgill.ecse321.gameorganizer.repositories;
 
+import ca.mcgill.ecse321.gameorganizer.dto.response.LendingRecordResponseDto;
 import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
 import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.SyncTombstone;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 import java.util.Date;
@@ -24,7 +31,20 @@ import java.util.Date;
  * @author @YoussGm3o8
  */
 @Repository
-public interface LendingRecordRepository extends JpaRepository<LendingRecord, Integer> {
+public interface LendingRecordRepository extends JpaRepository<LendingRecord, Integer>, JpaSpecificationExecutor<LendingRecord> {
+
+    /**
+     * Selects a LendingRecordResponseDto per lending record, joining the request, the requested game,
+     * the borrower and the owner so that a whole list is read with a single query.
+     */
+    String RESPONSE_DTO_SELECT = "SELECT new ca.mcgill.ecse321.gameorganizer.dto.response.LendingRecordResponseDto(" +
+           "lr.id, lr.startDate, lr.endDate, lr.status, " +
+           "g.id, g.name, g.category, g.image, " +
+           "b.id, b.name, b.email, " +
+           "o.id, o.name, o.email, " +
+           "lr.isDamaged, lr.damageNotes, lr.damageSeverity, lr.damageAssessmentDate, " +
+           "lr.awaitingReturnConfirmation) " +
+           "FROM LendingRecord lr JOIN lr.request r JOIN r.requestedGame g JOIN r.requester b JOIN lr.recordOwner o ";
     
     /**
      * Finds a lending record by its unique identifier.
@@ -34,6 +54,32 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
      */
     Optional<LendingRecord> findLendingRecordById(int id);
 
+    /**
+     * Associations read when a listed lending record is converted to a response DTO.
+     * Fetching them with the records keeps a page at a single query instead of one per row.
+     */
+    String[] LISTING_FETCH_PATHS = {"request", "request.requestedGame", "request.requester", "recordOwner"};
+
+    /**
+     * Retrieves a page of lending records, fetching the request, game, borrower and owner with them.
+     *
+     * @param pageable pagination and sorting information
+     * @return page of lending records
+     */
+    @Override
+    @EntityGraph(attributePaths = {"request", "request.requestedGame", "request.requester", "recordOwner"})
+    Page<LendingRecord> findAll(Pageable pageable);
+
+    /**
+     * Retrieves a page of lending records without counting the total number of records.
+     * The request, game, borrower and owner are fetched with the records.
+     *
+     * @param pageable pagination and sorting information
+     * @return slice of lending records, indicating whether a next page exists
+     */
+    @EntityGraph(attributePaths = {"request", "request.requestedGame", "request.requester", "recordOwner"})
+    Slice<LendingRecord> findAllBy(Pageable pageable);
+
     /**
      * Retrieves all lending records with a specific status.
      *
@@ -86,6 +132,57 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
      */
     List<LendingRecord> findByEndDateBeforeAndStatus(Date date, LendingStatus status);
 
+    /**
+     * Finds overdue lending records, whether already marked OVERDUE or still active past their end date.
+     *
+     * @param date the date to compare against the end dates of active records
+     * @return list of overdue lending records, ordered by ID
+     */
+    @Query("SELECT lr FROM LendingRecord lr WHERE " + OVERDUE_CONDITION + "ORDER BY lr.id")
+    List<LendingRecord> findOverdue(@Param("date") Date date);
+
+    /**
+     * Finds the IDs of active lending records whose end date has passed, one chunk at a time.
+     * Records whose game the borrower already reported returned are left out.
+     * Marking a chunk OVERDUE removes it from the results, so the first chunk is always requested.
+     *
+     * @param date the date to compare against end dates
+     * @param pageable the chunk to return
+     * @return IDs of the expired active records, ordered by ID
+     */
+    @Query("SELECT lr.id FROM LendingRecord lr WHERE lr.status = 'ACTIVE' AND lr.endDate < :date " +
+           "AND lr.awaitingReturnConfirmation = false ORDER BY lr.id")
+    List<Integer> findIdsOfExpiredActive(@Param("date") Date date, Pageable pageable);
+
+    /**
+     * Marks expired active lending records OVERDUE in a single statement.
+     * Records that were changed in the meantime and are no longer active and expired, or whose
+     * game was reported returned since, are left alone.
+     *
+     * @param ids the IDs of the records
+     * @param date the current date, also recorded as the modification date
+     * @param reason the status change reason to record
+     * @param version the change version to stamp, since bulk updates bypass entity callbacks
+     * @return number of records marked overdue
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LendingRecord lr SET lr.status = :overdue, lr.lastModifiedDate = :date, " +
+           "lr.statusChangeReason = :reason, lr.changeVersion = :version " +
+           "WHERE lr.id IN :ids AND lr.status = 'ACTIVE' AND lr.endDate < :date " +
+           "AND lr.awaitingReturnConfirmation = false")
+    int markOverdue(@Param("ids") Collection<Integer> ids, @Param("date") Date date,
+                    @Param("reason") String reason, @Param("version") long version,
+                    @Param("overdue") LendingStatus overdue);
+
+    /**
+     * Finds lending records by ID as response DTOs.
+     *
+     * @param ids the IDs of the records
+     * @return response DTOs of the records found, ordered by ID
+     */
+    @Query(RESPONSE_DTO_SELECT + "WHERE lr.id IN :ids ORDER BY lr.id")
+    List<LendingRecordResponseDto> findResponseDtosByIdIn(@Param("ids") Collection<Integer> ids);
+
     /**
      * Finds all lending records associated with a specific borrower.
      * Changed from findByRequest_Borrower to findByRequest_Requester to match BorrowRequest model
@@ -162,4 +259,186 @@ public interface LendingRecordRepository extends JpaRepository<LendingRecord, In
             Pageable pageable);
 
     List<LendingRecord> findByRequestRequesterEmail(String email);
+
+    /**
+     * Checks whether an account borrowed a game in a lending record with a specific status.
+     * Stops at the first matching record, so the cost does not grow with the borrowing history.
+     *
+     * @param requesterId the ID of the borrower account
+     * @param gameId the ID of the borrowed game
+     * @param status the status of the lending record
+     * @return true if such a lending record exists
+     */
+    boolean existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(int requesterId, int gameId, LendingStatus status);
+
+    /**
+     * Finds the lending records of a game owner as response DTOs, optionally restricted to one status.
+     *
+     * @param ownerId the ID of the game owner
+     * @param status optional status filter
+     * @return response DTOs of the owner's lending records, ordered by ID
+     */
+    @Query(RESPONSE_DTO_SELECT +
+           "WHERE o.id = :ownerId AND (:status IS NULL OR lr.status = :status) ORDER BY lr.id")
+    List<LendingRecordResponseDto> findResponseDtosByOwner(
+            @Param("ownerId") int ownerId,
+            @Param("status") LendingStatus status);
+
+    /**
+     * Finds the lending records of a game owner starting within a date range as response DTOs.
+     *
+     * @param ownerId the ID of the game owner
+     * @param startDate the beginning of the date range
+     * @param endDate the end of the date range
+     * @return response DTOs of the matching lending records, ordered by ID
+     */
+    @Query(RESPONSE_DTO_SELECT +
+           "WHERE o.id = :ownerId AND lr.startDate BETWEEN :startDate AND :endDate ORDER BY lr.id")
+    List<LendingRecordResponseDto> findResponseDtosByOwnerAndStartDateBetween(
+            @Param("ownerId") int ownerId,
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate);
+
+    /**
+     * Finds the lending records of a borrower as response DTOs, optionally restricted to one status.
+     *
+     * @param borrowerId the ID of the borrower account
+     * @param status optional status filter
+     * @return response DTOs of the borrower's lending records, ordered by ID
+     */
+    @Query(RESPONSE_DTO_SELECT +
+           "WHERE b.id = :borrowerId AND (:status IS NULL OR lr.status = :status) ORDER BY lr.id")
+    List<LendingRecordResponseDto> findResponseDtosByBorrower(
+            @Param("borrowerId") int borrowerId,
+            @Param("status") LendingStatus status);
+
+    /**
+     * Finds the lending records of games a borrower still has, overdue or not, as response DTOs.
+     * Records whose game the borrower reported returned are left out.
+     *
+     * @param borrowerId the ID of the borrower account
+     * @return response DTOs of the borrower's open lending records, ordered by ID
+     */
+    @Query(RESPONSE_DTO_SELECT +
+           "WHERE b.id = :borrowerId AND lr.status IN ('ACTIVE', 'OVERDUE') " +
+           "AND lr.awaitingReturnConfirmation = false ORDER BY lr.id")
+    List<LendingRecordResponseDto> findBorrowedResponseDtosByBorrower(@Param("borrowerId") int borrowerId);
+
+    /**
+     * Overdue lending records: those marked OVERDUE, plus active ones that ended since the
+     * overdue job last ran. Both are range scans of the (status, end_date) index. Records whose
+     * game was reported returned are not overdue, even while the owner has not confirmed it.
+     */
+    String OVERDUE_CONDITION = "(lr.status = 'OVERDUE' OR (lr.status = 'ACTIVE' AND lr.endDate < :date)) " +
+           "AND lr.awaitingReturnConfirmation = false ";
+
+    /**
+     * Finds overdue lending records as response DTOs.
+     *
+     * @param date the date to compare against the end dates of active records
+     * @param ownerId optional ID of a game owner to restrict the results to
+     * @return response DTOs of the overdue lending records, ordered by ID
+     */
+    @Query(RESPONSE_DTO_SELECT +
+           "WHERE " + OVERDUE_CONDITION +
+           "AND (:ownerId IS NULL OR o.id = :ownerId) ORDER BY lr.id")
+    List<LendingRecordResponseDto> findOverdueResponseDtos(
+            @Param("date") Date date,
+            @Param("ownerId") Integer ownerId);
+
+    /**
+     * Response DTO version of the paginated advanced filter method.
+     * The page is read with one joined query, plus a count query over the lending records.
+     *
+     * @param fromDate optional start date range
+     * @param toDate optional end date range
+     * @param status optional status filter
+     * @param borrowerId optional borrower ID filter
+     * @param gameId optional game ID filter
+     * @param pageable pagination information
+     * @return page of response DTOs matching all provided criteria
+     */
+    @Query(value = RESPONSE_DTO_SELECT + "WHERE " +
+           "(:fromDate IS NULL OR lr.startDate >= :fromDate) AND " +
+           "(:toDate IS NULL OR lr.endDate <= :toDate) AND " +
+           "(:status IS NULL OR lr.status = :status) AND " +
+           "(:borrowerId IS NULL OR b.id = :borrowerId) AND " +
+           "(:gameId IS NULL OR g.id = :gameId)",
+           countQuery = "SELECT COUNT(lr) FROM LendingRecord lr WHERE " +
+           "(:fromDate IS NULL OR lr.startDate >= :fromDate) AND " +
+           "(:toDate IS NULL OR lr.endDate <= :toDate) AND " +
+           "(:status IS NULL OR lr.status = :status) AND " +
+           "(:borrowerId IS NULL OR lr.request.requester.id = :borrowerId) AND " +
+           "(:gameId IS NULL OR lr.request.requestedGame.id = :gameId)")
+    Page<LendingRecordResponseDto> filterResponseDtos(
+            @Param("fromDate") Date fromDate,
+            @Param("toDate") Date toDate,
+            @Param("status") LendingStatus status,
+            @Param("borrowerId") Integer borrowerId,
+            @Param("gameId") Integer gameId,
+            Pageable pageable);
+
+    /**
+     * Finds the IDs of lending records for borrow requests of the given game or one of its
+     * copies, one chunk at a time.
+     *
+     * @param gameId The ID of the game
+     * @param pageable The chunk to return
+     * @return IDs of the lending records
+     */
+    @Query("SELECT lr.id FROM LendingRecord lr WHERE lr.request.id IN (" + BorrowRequestRepository.IDS_BY_GAME + ") " +
+           "ORDER BY lr.id")
+    List<Integer> findIdsByGameId(@Param("gameId") int gameId, Pageable pageable);
+
+    /**
+     * Deletes all lending records for borrow requests of the given game or one of its copies
+     * in a single statement.
+     *
+     * @param gameId The ID of the game
+     * @return Number of lending records deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM LendingRecord lr WHERE lr.request.id IN (" + BorrowRequestRepository.IDS_BY_GAME + ")")
+    int deleteByGameId(@Param("gameId") int gameId);
+
+    /**
+     * Finds the lending records saved after a change version as response DTOs.
+     * Records not saved since change versions were introduced are only returned for a full sync.
+     *
+     * @param since change version the client synced up to, or null for all records
+     * @param accountId ID of the account whose records (as borrower or owner) to return, or null for all
+     * @return response DTOs of the changed records, ordered by ID
+     */
+    @Query(RESPONSE_DTO_SELECT +
+           "WHERE (:since IS NULL OR lr.changeVersion > :since) " +
+           "AND (:accountId IS NULL OR b.id = :accountId OR o.id = :accountId) ORDER BY lr.id")
+    List<LendingRecordResponseDto> findResponseDtosChangedAfter(
+            @Param("since") Long since,
+            @Param("accountId") Integer accountId);
+
+    /**
+     * Builds the tombstone of each lending record, with its borrower and owner.
+     */
+    String TOMBSTONE_SELECT = "SELECT new ca.mcgill.ecse321.gameorganizer.models.SyncTombstone(" +
+           "'LENDING_RECORD', lr.id, b.id, o.id) " +
+           "FROM LendingRecord lr LEFT JOIN lr.request r LEFT JOIN r.requester b LEFT JOIN lr.recordOwner o ";
+
+    /**
+     * Builds the tombstones of lending records that are about to be deleted.
+     *
+     * @param ids The IDs of the lending records
+     * @return Unsaved tombstones, one per lending record found
+     */
+    @Query(TOMBSTONE_SELECT + "WHERE lr.id IN :ids")
+    List<SyncTombstone> findTombstonesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Builds the tombstones of the lending records for borrow requests of a game or one of its
+     * copies, before they are deleted with {@link #deleteByGameId(int)}.
+     *
+     * @param gameId The ID of the game
+     * @return Unsaved tombstones, one per lending record
+     */
+    @Query(TOMBSTONE_SELECT + "WHERE r.id IN (" + BorrowRequestRepository.IDS_BY_GAME + ")")
+    List<SyncTombstone> findTombstonesByGameId(@Param("gameId") int gameId);
 }
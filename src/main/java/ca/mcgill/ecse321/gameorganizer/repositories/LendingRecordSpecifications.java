@@ -0,0 +1,53 @@
+package ca.mcgill.ecse321.gameorganizer.repositories;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
+import jakarta.persistence.criteria.Path;
+
+/**
+ * Reusable JPA Specifications for seeking through LendingRecord entities.
+ * Keyset (seek) predicates continue a sorted listing after the last row of the previous
+ * page, so deep pages cost the same as the first one instead of scanning skipped rows.
+ */
+public final class LendingRecordSpecifications {
+
+    private LendingRecordSpecifications() {
+    }
+
+    /**
+     * Matches records that come after the given ID in a listing sorted by ID.
+     *
+     * @param lastId the ID of the last record of the previous page
+     * @param ascending true if the listing is sorted in ascending order
+     * @return specification matching the records of the next page
+     */
+    public static Specification<LendingRecord> afterId(int lastId, boolean ascending) {
+        return (root, query, cb) -> ascending
+                ? cb.greaterThan(root.<Integer>get("id"), lastId)
+                : cb.lessThan(root.<Integer>get("id"), lastId);
+    }
+
+    /**
+     * Matches records that come after the given position in a listing sorted by a date
+     * property, with the ID breaking ties between equal dates.
+     *
+     * @param property the date property the listing is sorted by
+     * @param lastValue the date of the last record of the previous page
+     * @param lastId the ID of the last record of the previous page
+     * @param ascending true if the listing is sorted in ascending order
+     * @return specification matching the records of the next page
+     */
+    public static Specification<LendingRecord> afterDate(String property, Date lastValue, int lastId, boolean ascending) {
+        return (root, query, cb) -> {
+            Path<Date> date = root.get(property);
+            Path<Integer> id = root.get("id");
+            return cb.or(
+                    ascending ? cb.greaterThan(date, lastValue) : cb.lessThan(date, lastValue),
+                    cb.and(cb.equal(date, lastValue),
+                            ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId)));
+        };
+    }
+}
@@ -4,7 +4,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import ca.mcgill.ecse321.gameorganizer.models.Account;
@@ -65,4 +69,24 @@ public interface RegistrationRepository extends JpaRepository<Registration, Inte
      */
     void deleteAllByEventRegisteredForId(UUID eventId);
 
+    /**
+     * Finds the IDs of registrations for events featuring the given game, one chunk at a time.
+     *
+     * @param gameId The ID of the featured game
+     * @param pageable The chunk to return
+     * @return IDs of the registrations
+     */
+    @Query("SELECT r.id FROM Registration r WHERE r.eventRegisteredFor.featuredGame.id = :gameId ORDER BY r.id")
+    List<Integer> findIdsByFeaturedGameId(@Param("gameId") int gameId, Pageable pageable);
+
+    /**
+     * Deletes all registrations for events featuring the given game in a single statement.
+     *
+     * @param gameId The ID of the featured game
+     * @return Number of registrations deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Registration r WHERE r.eventRegisteredFor.id IN " +
+           "(SELECT e.id FROM Event e WHERE e.featuredGame.id = :gameId)")
+    int deleteByFeaturedGameId(@Param("gameId") int gameId);
 }
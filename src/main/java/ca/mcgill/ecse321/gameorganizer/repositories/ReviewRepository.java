@@ -3,7 +3,9 @@ package ca.mcgill.ecse321.gameorganizer.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -88,4 +90,24 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
     List<Review> findReviewsByReviewerName(String username);
 
     List<Review> findReviewsByReviewerEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Finds the IDs of the reviews of the given game, one chunk at a time.
+     *
+     * @param gameId The ID of the reviewed game
+     * @param pageable The chunk to return
+     * @return IDs of the reviews
+     */
+    @Query("SELECT r.id FROM Review r WHERE r.gameReviewed.id = :gameId ORDER BY r.id")
+    List<Integer> findIdsByGameId(@Param("gameId") int gameId, Pageable pageable);
+
+    /**
+     * Deletes all reviews of the given game in a single statement.
+     *
+     * @param gameId The ID of the reviewed game
+     * @return Number of reviews deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Review r WHERE r.gameReviewed.id = :gameId")
+    int deleteByGameId(@Param("gameId") int gameId);
+}
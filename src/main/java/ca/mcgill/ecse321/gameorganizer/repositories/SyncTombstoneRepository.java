@@ -0,0 +1,42 @@
+package ca.mcgill.ecse321.gameorganizer.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import ca.mcgill.ecse321.gameorganizer.models.SyncTombstone;
+
+/**
+ * Repository interface for the tombstones of deleted borrow requests and lending records.
+ */
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Integer> {
+
+    /**
+     * Finds the tombstones written after a change version, oldest first.
+     *
+     * @param since Change version the client synced up to
+     * @param accountId ID of the account whose rows (as requester or owner) to return, or null for all
+     * @return The tombstones
+     */
+    @Query("SELECT t FROM SyncTombstone t WHERE t.changeVersion > :since " +
+           "AND (:accountId IS NULL OR t.requesterId = :accountId OR t.ownerId = :accountId) " +
+           "ORDER BY t.changeVersion")
+    List<SyncTombstone> findChangedAfter(@Param("since") long since, @Param("accountId") Integer accountId);
+
+    /**
+     * Deletes the tombstones written before a change version.
+     *
+     * @param version The oldest change version to keep
+     * @return Number of tombstones deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.changeVersion < :version")
+    int deleteOlderThan(@Param("version") long version);
+}
@@ -0,0 +1,32 @@
+package ca.mcgill.ecse321.gameorganizer.search;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory index changes until the surrounding transaction commits, so that a
+ * rolled back save or delete never shows up in search results.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the change after the current transaction commits, or right away outside a transaction.
+     *
+     * @param change the index change to apply
+     */
+    static void run(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package ca.mcgill.ecse321.gameorganizer.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.SuggestionDto;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+
+/**
+ * Prefix suggestions for search boxes, answered from memory.
+ *
+ * Game names, game categories and account names are kept in a sorted map, under their
+ * normalized text (lower case, without accents or punctuation) and under every word they contain,
+ * so that "ride" suggests "Ticket to Ride". A lookup is a range scan of the keys starting with the
+ * typed text that keeps only the best suggestions seen so far in a heap of the requested size, so
+ * the ranking covers every match while memory stays bounded. Short prefixes match the most keys, so
+ * the best {@link #MAX_LIMIT} suggestions of prefixes of up to {@value #SHORT_PREFIX_LENGTH}
+ * characters are kept once scanned and dropped when an entry under that prefix changes; longer
+ * prefixes match few enough keys to be scanned on each lookup. Entries follow entity changes through
+ * {@link SearchIndexListener}.
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+
+    /**
+     * Kinds of suggestions.
+     */
+    public enum SuggestionType {
+        GAME, CATEGORY, USER
+    }
+
+    /** Largest number of suggestions a lookup can return */
+    public static final int MAX_LIMIT = 50;
+
+    /** Prefixes up to this length keep their best suggestions between lookups */
+    private static final int SHORT_PREFIX_LENGTH = 3;
+
+    /** Words of a name beyond this number are not suggested on their own */
+    private static final int MAX_WORDS = 8;
+
+    /** Entities read from the database per query while rebuilding */
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    /** Separates the text of a key from the entry it belongs to; removed from all text */
+    private static final char SEPARATOR = '\u0000';
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** Names matching from their first word come first, then shorter names */
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparing((Entry e) -> !e.wholeName())
+            .thenComparingInt(e -> e.text().length())
+            .thenComparing(e -> e.text().toLowerCase(Locale.ROOT));
+
+    private final GameRepository gameRepository;
+    private final AccountRepository accountRepository;
+    private final boolean rebuildOnStartup;
+
+    // Replaced as a whole by rebuild; changed in place under the lock of this service
+    private volatile Index index = new Index();
+
+    @Autowired
+    public AutocompleteService(GameRepository gameRepository,
+                               AccountRepository accountRepository,
+                               @Value("${search.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.gameRepository = gameRepository;
+        this.accountRepository = accountRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /**
+     * Loads the suggestions once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Suggests game names, categories and account names starting with the given text,
+     * or containing a word starting with it.
+     *
+     * @param prefix The text typed so far
+     * @param type The kind of suggestion wanted, or null for all kinds
+     * @param limit Maximum number of suggestions
+     * @return Suggestions, best first
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    public List<SuggestionDto> suggest(String prefix, SuggestionType type, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        Index current = index;
+        List<Entry> best = normalized.length() <= SHORT_PREFIX_LENGTH
+                ? current.bestForShortPrefix(normalized, type)
+                : current.best(normalized, type, limit);
+        return best.stream()
+                .limit(limit)
+                .map(e -> new SuggestionDto(e.type().name(),
+                        e.type() == SuggestionType.CATEGORY ? null : e.id(), e.text()))
+                .toList();
+    }
+
+    /**
+     * Adds or replaces the suggestions of a game or account. Inside a transaction the
+     * change is applied once the transaction commits.
+     *
+     * @param entity The saved entity; other types are ignored
+     */
+    public void index(Object entity) {
+        if (entity instanceof Game game) {
+            String id = String.valueOf(game.getId());
+            String name = game.getName();
+            String category = game.getCategory();
+            AfterCommit.run(() -> apply(i -> i.putGame(id, name, category)));
+        } else if (entity instanceof Account account) {
+            String id = String.valueOf(account.getId());
+            String name = account.getName();
+            AfterCommit.run(() -> apply(i -> i.put(SuggestionType.USER, id, name, null)));
+        }
+    }
+
+    /**
+     * Removes the suggestions of a game or account. Inside a transaction the change is
+     * applied once the transaction commits.
+     *
+     * @param entity The deleted entity; other types are ignored
+     */
+    public void remove(Object entity) {
+        if (entity instanceof Game game) {
+            String key = Index.key(SuggestionType.GAME, String.valueOf(game.getId()));
+            AfterCommit.run(() -> apply(i -> i.remove(key)));
+        } else if (entity instanceof Account account) {
+            String key = Index.key(SuggestionType.USER, String.valueOf(account.getId()));
+            AfterCommit.run(() -> apply(i -> i.remove(key)));
+        }
+    }
+
+    /**
+     * Reloads all suggestions from the database. Lookups keep using the previous suggestions
+     * until the new ones are complete.
+     *
+     * @return Number of games and accounts loaded
+     */
+    public synchronized int rebuild() {
+        long start = System.currentTimeMillis();
+        Index rebuilt = new Index();
+        int loaded = loadAll(gameRepository::findAll,
+                game -> rebuilt.putGame(String.valueOf(game.getId()), game.getName(), game.getCategory()));
+        loaded += loadAll(accountRepository::findAll,
+                account -> rebuilt.put(SuggestionType.USER, String.valueOf(account.getId()), account.getName(), null));
+        index = rebuilt;
+        log.info("Autocomplete loaded {} entities in {} ms", loaded, System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    private static <T> int loadAll(Function<Pageable, Page<T>> findPage, Consumer<T> load) {
+        int loaded = 0;
+        Page<T> page = findPage.apply(PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+        while (true) {
+            for (T entity : page) {
+                load.accept(entity);
+                loaded++;
+            }
+            if (!page.hasNext()) {
+                return loaded;
+            }
+            page = findPage.apply(page.nextPageable());
+        }
+    }
+
+    // Synchronized with rebuild so that a change committed during a rebuild is applied after it
+    private synchronized void apply(Consumer<Index> change) {
+        change.accept(index);
+    }
+
+    /**
+     * Lower-cases the text, strips accents and replaces punctuation and runs of spaces
+     * with a single space.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * A suggestion stored under one of its keys.
+     *
+     * @param wholeName true for the key made of the whole name, false for the keys of later words
+     */
+    private record Entry(SuggestionType type, String id, String text, boolean wholeName) {
+
+        String key() {
+            return Index.key(type, id);
+        }
+    }
+
+    /**
+     * What is stored for an indexed game or account, to remove it again.
+     */
+    private record Indexed(List<String> keys, String category) {
+    }
+
+    /**
+     * The suggestions. Lookups read the sorted keys without locking; changes hold the
+     * lock of the service.
+     */
+    private static final class Index {
+
+        final ConcurrentSkipListMap<String, Entry> keys = new ConcurrentSkipListMap<>();
+        final Map<String, Indexed> entities = new HashMap<>();
+        final Map<String, Integer> gamesPerCategory = new HashMap<>();
+
+        // Best suggestions of the short prefixes looked up since they last changed, by prefix and type
+        final Map<String, List<Entry>> shortPrefixes = new ConcurrentHashMap<>();
+
+        // Bumped after every change; a short prefix scanned across a change is not kept
+        volatile long version;
+
+        static String key(SuggestionType type, String id) {
+            return type.name() + ":" + id;
+        }
+
+        static String shortPrefixKey(String prefix, SuggestionType type) {
+            return prefix + SEPARATOR + (type == null ? "" : type.name());
+        }
+
+        /**
+         * Ranks the entries under the keys starting with a prefix, keeping the best entry of
+         * each of the limit best entities.
+         */
+        List<Entry> best(String prefix, SuggestionType type, int limit) {
+            NavigableMap<String, Entry> range = keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            // The best entry of each entity among the limit best entities, worst on top
+            PriorityQueue<Entry> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            Map<String, Entry> bestByEntity = new HashMap<>();
+            for (Entry entry : range.values()) {
+                if (type != null && entry.type() != type) {
+                    continue;
+                }
+                Entry current = bestByEntity.get(entry.key());
+                if (current != null) {
+                    if (RANKING.compare(entry, current) >= 0) {
+                        continue;
+                    }
+                    best.remove(current);
+                } else if (best.size() == limit && RANKING.compare(entry, best.peek()) >= 0) {
+                    continue;
+                }
+                best.add(entry);
+                bestByEntity.put(entry.key(), entry);
+                if (best.size() > limit) {
+                    bestByEntity.remove(best.poll().key());
+                }
+            }
+            return best.stream().sorted(RANKING).toList();
+        }
+
+        /**
+         * Returns the {@link #MAX_LIMIT} best suggestions of a short prefix, scanning its keys
+         * only the first time after a change.
+         */
+        List<Entry> bestForShortPrefix(String prefix, SuggestionType type) {
+            String key = shortPrefixKey(prefix, type);
+            List<Entry> cached = shortPrefixes.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            long versionBeforeScan = version;
+            List<Entry> best = best(prefix, type, MAX_LIMIT);
+            shortPrefixes.put(key, best);
+            if (version != versionBeforeScan) {
+                // The scan may have missed the change
+                shortPrefixes.remove(key);
+            }
+            return best;
+        }
+
+        // Called holding the lock of the service, after the keys changed
+        private void changed(String key) {
+            version++;
+            for (int length = 1; length <= Math.min(SHORT_PREFIX_LENGTH, key.length()); length++) {
+                String prefix = key.substring(0, length);
+                shortPrefixes.remove(shortPrefixKey(prefix, null));
+                for (SuggestionType type : SuggestionType.values()) {
+                    shortPrefixes.remove(shortPrefixKey(prefix, type));
+                }
+            }
+        }
+
+        void putGame(String id, String name, String category) {
+            String normalizedCategory = normalize(category);
+            put(SuggestionType.GAME, id, name, normalizedCategory.isEmpty() ? null : normalizedCategory);
+            if (!normalizedCategory.isEmpty()
+                    && gamesPerCategory.merge(normalizedCategory, 1, Integer::sum) == 1) {
+                // First game of this category
+                put(SuggestionType.CATEGORY, normalizedCategory, category.trim(), null);
+            }
+        }
+
+        void put(SuggestionType type, String id, String text, String category) {
+            String entityKey = key(type, id);
+            remove(entityKey);
+            String normalized = normalize(text);
+            List<String> added = new ArrayList<>();
+            int wordStart = normalized.isEmpty() ? -1 : 0;
+            for (int word = 0; word < MAX_WORDS && wordStart >= 0; word++) {
+                String key = normalized.substring(wordStart) + SEPARATOR + entityKey;
+                keys.put(key, new Entry(type, id, text, wordStart == 0));
+                changed(key);
+                added.add(key);
+                int space = normalized.indexOf(' ', wordStart);
+                wordStart = space < 0 ? -1 : space + 1;
+            }
+            entities.put(entityKey, new Indexed(added, category));
+        }
+
+        void remove(String entityKey) {
+            Indexed indexed = entities.remove(entityKey);
+            if (indexed == null) {
+                return;
+            }
+            for (String key : indexed.keys()) {
+                keys.remove(key);
+                changed(key);
+            }
+            if (indexed.category() != null
+                    && gamesPerCategory.merge(indexed.category(), -1, Integer::sum) == 0) {
+                // Last game of this category
+                gamesPerCategory.remove(indexed.category());
+                remove(key(SuggestionType.CATEGORY, indexed.category()));
+            }
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package ca.mcgill.ecse321.gameorganizer.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.SearchResultDto;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.Event;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link SearchService} backed by an embedded, in-memory Lucene index.
+ * The index is built from the database when the application starts and then kept up to date
+ * entity by entity; searches never touch the database.
+ *
+ * The index belongs to one application node: it only follows the changes made through this node.
+ * It is rebuilt from the database every rebuild interval, which bounds how long changes made on
+ * other nodes or directly in the database stay invisible to its searches.
+ *
+ * Each entity is indexed with up to three weighted text fields:
+ * - title: game name, event title or account name
+ * - secondary: game category or event location
+ * - body: game or event description
+ * Account emails are not indexed, so a search cannot be used to find out which emails are registered.
+ */
+@Service
+public class LuceneSearchService implements SearchService, SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneSearchService.class);
+
+    /** Largest number of results a search can return */
+    public static final int MAX_LIMIT = 100;
+
+    /** Words of a query beyond this number are ignored */
+    private static final int MAX_QUERY_TERMS = 8;
+
+    /** Entities read from the database per query while rebuilding */
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String SUBTITLE = "subtitle";
+    private static final String SECONDARY = "secondary";
+    private static final String BODY = "body";
+
+    private static final String[] FIELDS = { TITLE, SECONDARY, BODY };
+    private static final float[] FIELD_BOOSTS = { 3f, 1.5f, 1f };
+
+    private final GameRepository gameRepository;
+    private final EventRepository eventRepository;
+    private final AccountRepository accountRepository;
+    private final boolean rebuildOnStartup;
+    private final long rebuildMinutes;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    @Autowired
+    public LuceneSearchService(GameRepository gameRepository,
+                               EventRepository eventRepository,
+                               AccountRepository accountRepository,
+                               @Value("${search.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                               @Value("${search.rebuild-minutes:60}") long rebuildMinutes) {
+        if (rebuildMinutes < 0) {
+            throw new IllegalArgumentException("Invalid search index rebuild interval");
+        }
+        this.gameRepository = gameRepository;
+        this.eventRepository = eventRepository;
+        this.accountRepository = accountRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildMinutes = rebuildMinutes;
+        try {
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the search index", e);
+        }
+    }
+
+    /**
+     * Builds the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the index every rebuild interval on the shared scheduler.
+     * A rebuild interval of 0 turns this off.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (rebuildMinutes > 0) {
+            Duration interval = Duration.ofMinutes(rebuildMinutes);
+            registrar.addFixedDelayTask(new FixedDelayTask(this::scheduledRebuild, interval, interval));
+        }
+    }
+
+    // A failed rebuild must not cancel the following ones
+    private void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Scheduled search index rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    @Override
+    public List<SearchResultDto> search(String text, EntityType type, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<String> terms = analyze(text == null ? "" : text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        // Every word must match a field, exactly (ranked higher) or as a prefix
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+            for (int i = 0; i < FIELDS.length; i++) {
+                anyField.add(new BoostQuery(new TermQuery(new Term(FIELDS[i], term)), 2 * FIELD_BOOSTS[i]),
+                        BooleanClause.Occur.SHOULD);
+                anyField.add(new BoostQuery(new PrefixQuery(new Term(FIELDS[i], term)), FIELD_BOOSTS[i]),
+                        BooleanClause.Occur.SHOULD);
+            }
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        if (type != null) {
+            query.add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER);
+        }
+        return search(query.build(), limit);
+    }
+
+    // Entity state is captured right away; the index only changes once the transaction commits
+    @Override
+    public void index(Object entity) {
+        Document document = toDocument(entity);
+        if (document != null) {
+            String key = document.get(KEY);
+            AfterCommit.run(() -> apply(w -> w.updateDocument(new Term(KEY, key), document)));
+        }
+    }
+
+    @Override
+    public void remove(Object entity) {
+        Document document = toDocument(entity);
+        if (document != null) {
+            String key = document.get(KEY);
+            AfterCommit.run(() -> apply(w -> w.deleteDocuments(new Term(KEY, key))));
+        }
+    }
+
+    @Override
+    public void remove(EntityType type, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Term[] keys = ids.stream().map(id -> new Term(KEY, type.name() + ":" + id)).toArray(Term[]::new);
+        AfterCommit.run(() -> apply(w -> w.deleteDocuments(keys)));
+    }
+
+    @Override
+    public synchronized int rebuild() {
+        long start = System.currentTimeMillis();
+        int indexed = 0;
+        try {
+            writer.deleteAll();
+            indexed += indexAll(gameRepository::findAll);
+            indexed += indexAll(eventRepository::findAll);
+            indexed += indexAll(accountRepository::findAll);
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rebuild the search index", e);
+        }
+        log.info("Search index rebuilt with {} entities in {} ms", indexed, System.currentTimeMillis() - start);
+        return indexed;
+    }
+
+    private <T> int indexAll(Function<Pageable, Page<T>> findPage) throws IOException {
+        int indexed = 0;
+        Page<T> page = findPage.apply(PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+        while (true) {
+            for (T entity : page) {
+                Document document = toDocument(entity);
+                if (document != null) {
+                    writer.updateDocument(new Term(KEY, document.get(KEY)), document);
+                    indexed++;
+                }
+            }
+            if (!page.hasNext()) {
+                return indexed;
+            }
+            page = findPage.apply(page.nextPageable());
+        }
+    }
+
+    private List<SearchResultDto> search(Query query, int limit) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit);
+                List<SearchResultDto> results = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc hit : topDocs.scoreDocs) {
+                    Document document = searcher.storedFields().document(hit.doc);
+                    results.add(new SearchResultDto(document.get(TYPE), document.get(ID),
+                            document.get(TITLE), document.get(SUBTITLE), hit.score));
+                }
+                return results;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed", e);
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    // Synchronized with rebuild so that a change committed during a rebuild is applied after it
+    private synchronized void apply(IndexChange change) {
+        try {
+            change.apply(writer);
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            // The index is derived data; a rebuild repairs it
+            log.error("Could not update the search index: {}", e.getMessage(), e);
+        }
+    }
+
+    private static Document toDocument(Object entity) {
+        if (entity instanceof Game game) {
+            return document(EntityType.GAME, String.valueOf(game.getId()),
+                    game.getName(), game.getCategory(), game.getCategory(), game.getDescription());
+        }
+        if (entity instanceof Event event) {
+            if (event.getId() == null) {
+                return null;
+            }
+            return document(EntityType.EVENT, event.getId().toString(),
+                    event.getTitle(), event.getLocation(), event.getLocation(), event.getDescription());
+        }
+        if (entity instanceof Account account) {
+            return document(EntityType.USER, String.valueOf(account.getId()),
+                    account.getName(), null, null, null);
+        }
+        return null;
+    }
+
+    private static Document document(EntityType type, String id, String title, String subtitle,
+                                     String secondary, String body) {
+        Document document = new Document();
+        document.add(new StringField(KEY, type.name() + ":" + id, Field.Store.YES));
+        document.add(new StringField(TYPE, type.name(), Field.Store.YES));
+        document.add(new StoredField(ID, id));
+        addText(document, TITLE, title, Field.Store.YES);
+        if (subtitle != null) {
+            document.add(new StoredField(SUBTITLE, subtitle));
+        }
+        addText(document, SECONDARY, secondary, Field.Store.NO);
+        addText(document, BODY, body, Field.Store.NO);
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value, Field.Store store) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, store));
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexChange {
+        void apply(IndexWriter writer) throws IOException;
+    }
+}
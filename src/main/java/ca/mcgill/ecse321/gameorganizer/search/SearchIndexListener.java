@@ -0,0 +1,49 @@
+package ca.mcgill.ecse321.gameorganizer.search;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that keeps the search index and the autocomplete suggestions in step
+ * with saved and deleted games, events and accounts. Created by Hibernate through Spring; does
+ * nothing where the services are not available, such as repository slice tests.
+ * Bulk JPQL updates and deletes bypass entity listeners; callers that use them must update
+ * the index themselves or rebuild it.
+ */
+public class SearchIndexListener {
+
+    @Autowired
+    private ObjectProvider<SearchService> searchService;
+
+    @Autowired
+    private ObjectProvider<AutocompleteService> autocompleteService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        SearchService search = searchService == null ? null : searchService.getIfAvailable();
+        if (search != null) {
+            search.index(entity);
+        }
+        AutocompleteService autocomplete = autocompleteService == null ? null : autocompleteService.getIfAvailable();
+        if (autocomplete != null) {
+            autocomplete.index(entity);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        SearchService search = searchService == null ? null : searchService.getIfAvailable();
+        if (search != null) {
+            search.remove(entity);
+        }
+        AutocompleteService autocomplete = autocompleteService == null ? null : autocompleteService.getIfAvailable();
+        if (autocomplete != null) {
+            autocomplete.remove(entity);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ca.mcgill.ecse321.gameorganizer.search;
+
+import java.util.Collection;
+import java.util.List;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.SearchResultDto;
+
+/**
+ * Full-text search over games, events and user accounts.
+ * Text is split into words and every word of a query must match a word of a result, either
+ * exactly or as a prefix; results are ranked by relevance with names and titles weighing the most.
+ * The index follows entity changes through {@link SearchIndexListener} and can be rebuilt from
+ * the database at any time.
+ */
+public interface SearchService {
+
+    /**
+     * Kinds of entities that can be searched.
+     */
+    enum EntityType {
+        GAME, EVENT, USER
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param text The words to search for; the last one may be incomplete
+     * @param type The kind of entity to search, or null for all kinds
+     * @param limit Maximum number of results
+     * @return Matching entities, most relevant first
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    List<SearchResultDto> search(String text, EntityType type, int limit);
+
+    /**
+     * Adds or replaces the index entry of a game, event or account. Inside a transaction the
+     * change is applied once the transaction commits.
+     *
+     * @param entity The saved entity; other types are ignored
+     */
+    void index(Object entity);
+
+    /**
+     * Removes the index entry of a game, event or account. Inside a transaction the change is
+     * applied once the transaction commits.
+     *
+     * @param entity The deleted entity; other types are ignored
+     */
+    void remove(Object entity);
+
+    /**
+     * Removes the index entries of entities deleted without loading them, such as by bulk
+     * deletes. Inside a transaction the change is applied once the transaction commits.
+     *
+     * @param type The kind of the deleted entities
+     * @param ids The IDs of the deleted entities
+     */
+    void remove(EntityType type, Collection<String> ids);
+
+    /**
+     * Rebuilds the whole index from the database.
+     *
+     * @return Number of entities indexed
+     */
+    int rebuild();
+}
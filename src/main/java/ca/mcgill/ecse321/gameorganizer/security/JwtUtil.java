@@ -2,15 +2,17 @@ package ca.mcgill.ecse321.gameorganizer.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.SignatureException;
-import io.jsonwebtoken.UnsupportedJwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 // Removed Value import as secret is read from env var
 import org.springframework.stereotype.Component;
 
@@ -38,8 +40,18 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long expiration;
 
+    // Number of recently verified tokens remembered so hot tokens skip signature checks
+    @Value("${jwt.verified-cache-size:1024}")
+    private int verifiedCacheSize;
+
     private Key key;
 
+    // Parsers are immutable and thread-safe, so one is built per key and shared
+    private JwtParser parser;
+
+    // Verified token -> its claims; concurrent, so lookups from many requests do not contend
+    private Cache<String, ValidatedToken> verifiedTokens = Caffeine.newBuilder().maximumSize(0).build();
+
     // IMPORTANT: Ensure the jwt.secret in application.properties is a Base64 encoded string
     // representing at least 64 secure random bytes (512 bits) for HS512 algorithm.
     // Generate a new one if the current key is too short.
@@ -108,7 +120,7 @@ public class JwtUtil {
                 }
             }
             
-            key = new SecretKeySpec(secretBytes, algorithm.getJcaName());
+            setSigningKey(new SecretKeySpec(secretBytes, algorithm.getJcaName()));
             logger.info("JWT signing key initialized successfully with algorithm: {}", algorithm.getJcaName());
         } catch (Exception e) {
             logger.error("Failed to initialize JWT key: {}", e.getMessage(), e);
@@ -116,6 +128,88 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Sets the key used to sign and verify tokens, rebuilding the shared parser and
+     * forgetting previously verified tokens.
+     *
+     * @param signingKey The HMAC key
+     */
+    protected void setSigningKey(Key signingKey) {
+        this.key = signingKey;
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verifiedTokens = Caffeine.newBuilder().maximumSize(verifiedCacheSize).build();
+    }
+
+    /**
+     * Verifies a token once and returns its claims. Tokens verified recently are served
+     * from a bounded concurrent cache keyed by the token, skipping signature verification.
+     * An expired token with a valid signature is returned so callers can decide how to treat it;
+     * check {@link ValidatedToken#isExpired()}.
+     *
+     * @param token The JWT, optionally prefixed with "Bearer "
+     * @return The validated token, or null if the token is missing, malformed or wrongly signed
+     */
+    public ValidatedToken parseToken(String token) {
+        if (token == null || parser == null) {
+            return null;
+        }
+        if (token.startsWith("Bearer ")) {
+            token = token.substring(7);
+        }
+
+        ValidatedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        try {
+            ValidatedToken validated = toValidatedToken(parser.parseClaimsJws(token).getBody());
+            if (!validated.isExpired()) {
+                verifiedTokens.put(token, validated);
+            }
+            return validated;
+        } catch (ExpiredJwtException e) {
+            // Signature was verified before the expiration check
+            logger.debug("JWT token is expired: {}", e.getMessage());
+            return toValidatedToken(e.getClaims());
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("JWT token rejected: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Issues a fresh token for the same user, keeping the user ID of the token being refreshed.
+     *
+     * @param current The validated token being refreshed
+     * @param userDetails The user's current details, providing the roles
+     * @return A new signed token
+     */
+    public String refreshToken(ValidatedToken current, UserDetails userDetails) {
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(userDetails.getUsername())
+                .claim("roles", roles)
+                .claim("userId", current.userId())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + expiration))
+                .signWith(key)
+                .compact();
+    }
+
+    private ValidatedToken toValidatedToken(Claims claims) {
+        List<?> rawRoles = claims.get("roles", List.class);
+        List<String> roles = rawRoles == null
+                ? List.of()
+                : rawRoles.stream().map(String::valueOf).collect(Collectors.toUnmodifiableList());
+        Number userId = claims.get("userId", Number.class);
+        return new ValidatedToken(claims.getSubject(), claims.getExpiration(), roles,
+                userId != null ? userId.intValue() : null, claims);
+    }
+
     // Modify generateToken to accept UserDetails and Account
     public String generateToken(UserDetails userDetails, Account account) {
         logger.debug("Generating token for username: {}", userDetails.getUsername());
@@ -173,7 +267,8 @@ public class JwtUtil {
         logger.debug("Extracting username from token: {}...", token.substring(0, Math.min(token.length(), 20)));
         
         try {
-            String username = extractClaim(token, Claims::getSubject);
+            ValidatedToken validated = parseToken(token);
+            String username = validated != null ? validated.subject() : null;
             logger.debug("Extracted username: {}", username);
             return username;
         } catch (Exception e) {
@@ -190,7 +285,8 @@ public class JwtUtil {
         }
         
         try {
-            Date expiration = extractClaim(token, Claims::getExpiration);
+            ValidatedToken validated = parseToken(token);
+            Date expiration = validated != null ? validated.expiration() : null;
             logger.debug("Extracted expiration: {}", expiration);
             return expiration;
         } catch (Exception e) {
@@ -199,8 +295,13 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Resolves a claim that {@link ValidatedToken} does not extract, from the same verified
+     * and cached token as {@link #parseToken(String)}.
+     */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        ValidatedToken validated = parseToken(token);
+        final Claims claims = validated != null ? validated.claims() : null;
         if (claims != null) { // Check if claims extraction was successful
             try {
                 T result = claimsResolver.apply(claims);
@@ -215,52 +316,6 @@ public class JwtUtil {
         return null; // Return null if claims are null (parsing failed)
     }
 
-    private Claims extractAllClaims(String token) {
-        if (token == null) {
-            logger.warn("Token is null in extractAllClaims");
-            return null;
-        }
-        
-        // Remove "Bearer " prefix if present
-        if (token.startsWith("Bearer ")) {
-            logger.debug("Removing 'Bearer ' prefix from token");
-            token = token.substring(7);
-        }
-        
-        try {
-            logger.debug("Parsing JWT token");
-            Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-            
-            logger.debug("Successfully parsed JWT claims: subject={}, issued={}, expiration={}", 
-                claims.getSubject(), claims.getIssuedAt(), claims.getExpiration());
-            return claims;
-        } catch (ExpiredJwtException e) {
-            // Log expired as warn, but return claims. Validation logic handles the expiration check.
-            logger.warn("JWT token is expired: {}", e.getMessage());
-            logger.debug("Expired token details - subject: {}, issued: {}, expiration: {}", 
-                e.getClaims().getSubject(), e.getClaims().getIssuedAt(), e.getClaims().getExpiration());
-            return e.getClaims(); // Return claims even if expired, for potential use
-        } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
-        } catch (MalformedJwtException e) {
-            logger.error("JWT token is malformed: {}", e.getMessage());
-            // Log a portion of the token to help diagnose issues
-            logger.debug("Malformed token: {}...", token.substring(0, Math.min(token.length(), 40)));
-        } catch (SignatureException e) {
-            logger.error("JWT signature validation failed: {}", e.getMessage());
-            logger.debug("Token with invalid signature: {}...", token.substring(0, Math.min(token.length(), 40)));
-        } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty or null: {}", e.getMessage());
-        } catch (Exception e) { // Catch any other unexpected exceptions
-            logger.error("An unexpected error occurred during JWT parsing: {}", e.getMessage(), e); // Log stack trace too
-        }
-        return null; // Return null if any parsing error other than expired occurs
-    }
-
     public boolean isTokenExpired(String token) {
         if (token == null) {
             logger.warn("Token is null in isTokenExpired");
@@ -306,26 +361,21 @@ public class JwtUtil {
             token = token.substring(7);
         }
         
-        final String extractedUsername = extractUsername(token);
+        ValidatedToken validated = parseToken(token);
 
-        // Check if username could be extracted (parsing might have failed)
-        if (extractedUsername == null) {
+        // Check if the token could be verified (parsing might have failed)
+        if (validated == null || validated.subject() == null) {
             logger.warn("Token validation failed: Could not extract username from token (check logs for parsing errors).");
             return false;
         }
 
-        boolean isUsernameMatch = extractedUsername.equals(username);
-        if (!isUsernameMatch) {
-            logger.warn("Token validation failed: Username mismatch. Token Subject='{}', Expected Username='{}'", extractedUsername, username);
+        if (!validated.subject().equals(username)) {
+            logger.warn("Token validation failed: Username mismatch. Token Subject='{}', Expected Username='{}'", validated.subject(), username);
             return false;
-        } else {
-            logger.debug("Username match verified: {}", username);
         }
 
-        // isTokenExpired now handles null expiration date and logs if expired
-        boolean isExpired = isTokenExpired(token);
-        if (isExpired) {
-            // No need to log again here, isTokenExpired already logged it.
+        if (validated.isExpired()) {
+            logger.warn("Token is expired. Expiration: {}", validated.expiration());
             return false;
         }
 
@@ -0,0 +1,131 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded cache of authenticated principals keyed by email, so that a request carrying a
+ * valid token does not need a database round trip to rebuild the user's roles.
+ * Entries expire after a fixed time to live and the least recently used entry is evicted
+ * once the cache is full. Services that change an account's password, roles or existence
+ * must call {@link #invalidate(String)}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // Held only for map updates; a lock rather than a monitor so that waiting never pins a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private final LinkedHashMap<String, Entry> entries;
+
+    // Guarded by lock. Bumped on every invalidation; a load that raced with one is not cached
+    private long invalidations;
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached principal for an email, loading and caching it when absent or expired.
+     * The loader runs outside the cache lock so a slow lookup does not block other requests.
+     *
+     * @param email The email of the account
+     * @param loader Loads the principal when it is not cached
+     * @return The principal for the email
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            return loader.apply(email);
+        }
+        long now = System.currentTimeMillis();
+        long invalidationsBeforeLoad;
+        lock.lock();
+        try {
+            Entry entry = entries.get(email);
+            if (entry != null && entry.expiresAt() > now) {
+                return entry.principal();
+            }
+            invalidationsBeforeLoad = invalidations;
+        } finally {
+            lock.unlock();
+        }
+        UserDetails principal = loader.apply(email);
+        lock.lock();
+        try {
+            if (invalidations == invalidationsBeforeLoad) {
+                entries.put(email, new Entry(principal, now + ttlMillis));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return principal;
+    }
+
+    /**
+     * Removes the cached principal for an email. When called inside a transaction the entry is
+     * removed again after commit, so a request that reloaded it before the commit does not keep
+     * stale roles or credentials.
+     *
+     * @param email The email of the account that changed
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes every cached principal.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            invalidations++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(String email) {
+        lock.lock();
+        try {
+            invalidations++;
+            entries.remove(email);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,34 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import java.util.Date;
+import java.util.List;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Result of verifying a JWT once: the signature has been checked and the claims the
+ * application needs are already extracted, so callers never parse the token again.
+ *
+ * @param subject The email of the authenticated user
+ * @param expiration When the token expires
+ * @param roles Roles granted when the token was issued
+ * @param userId ID of the account, or null if the token was issued without one
+ * @param claims All verified claims, for the ones not extracted above
+ */
+public record ValidatedToken(String subject, Date expiration, List<String> roles, Integer userId, Claims claims) {
+
+    /**
+     * @return true if the token's expiration time has passed
+     */
+    public boolean isExpired() {
+        return expiration == null || expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    /**
+     * @param millis Time window in milliseconds
+     * @return true if the token expires within the given time from now
+     */
+    public boolean expiresWithin(long millis) {
+        return expiration != null && expiration.getTime() - System.currentTimeMillis() < millis;
+    }
+}
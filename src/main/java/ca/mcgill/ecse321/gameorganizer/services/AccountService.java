@@ -6,6 +6,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity; // Import Logger
 import org.springframework.security.authentication.AnonymousAuthenticationToken; // Import LoggerFactory
 import org.springframework.security.core.Authentication; // Import User
@@ -22,6 +23,9 @@ import org.slf4j.Logger; // Import Logger
 import org.slf4j.LoggerFactory; // Import LoggerFactory
 import org.springframework.security.crypto.password.PasswordEncoder; // Import PasswordEncoder
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.security.access.prepost.PreAuthorize; // Import PreAuthorize
 
 import ca.mcgill.ecse321.gameorganizer.dto.response.AccountResponse;
@@ -31,15 +35,12 @@ import ca.mcgill.ecse321.gameorganizer.dto.request.UpdateAccountRequest;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException; // Import ForbiddenException
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
-import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 import ca.mcgill.ecse321.gameorganizer.models.Event;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.models.Registration;
-import ca.mcgill.ecse321.gameorganizer.models.Review;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
-import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
-import ca.mcgill.ecse321.gameorganizer.repositories.ReviewRepository;
+import ca.mcgill.ecse321.gameorganizer.security.PrincipalCache;
 
 /**
  * Service class that handles business logic for account management operations.
@@ -54,9 +55,8 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final RegistrationRepository registrationRepository;
-    private final ReviewRepository reviewRepository;
-    private final BorrowRequestRepository borrowRequestRepository;
     private final PasswordEncoder passwordEncoder; // Added PasswordEncoder
+    private final PrincipalCache principalCache;
 
     // UserContext removed
 
@@ -64,14 +64,12 @@ public class AccountService {
     public AccountService(
             AccountRepository accountRepository,
             RegistrationRepository registrationRepository,
-            ReviewRepository reviewRepository,
-            BorrowRequestRepository borrowRequestRepository,
-            PasswordEncoder passwordEncoder) { // Inject PasswordEncoder
+            PasswordEncoder passwordEncoder, // Inject PasswordEncoder
+            PrincipalCache principalCache) {
         this.accountRepository = accountRepository;
         this.registrationRepository = registrationRepository;
-        this.reviewRepository = reviewRepository;
-        this.borrowRequestRepository = borrowRequestRepository;
         this.passwordEncoder = passwordEncoder; // Assign injected encoder
+        this.principalCache = principalCache;
     }
 
     /**
@@ -240,6 +238,7 @@ public class AccountService {
             account.setPassword(passwordEncoder.encode(newPassword)); // Encode the new password before saving
         }
         accountRepository.save(account);
+        principalCache.invalidate(email);
         return ResponseEntity.ok("Account updated successfully");
     }
 
@@ -258,6 +257,7 @@ public class AccountService {
                     () -> new IllegalArgumentException("Account with email " + email + " does not exist")
             );
             accountRepository.delete(accountToDelete);
+            principalCache.invalidate(email);
             return ResponseEntity.ok("Account with email " + email + " has been deleted");
         } catch (IllegalArgumentException e) {
             // Consider logging the exception e
@@ -269,12 +269,12 @@ public class AccountService {
     }
 
     /**
-     * Upgrades an Account to a GameOwner, preserving associations to other objects that refer to the previous account
-     * by transferring them to the new GameOwner. Transactional ensures that exceptions do not cause partial commits.
+     * Upgrades an Account to a GameOwner in place. Only the game owner row is added for the
+     * existing account, so its ID and every registration, borrow request and review that refers
+     * to it stay as they are.
      *
      * @param email email of the account trying to be promoted
      * @return ResponseEntity denoting the result of the operation
-     * @note If there is any issue during runtime, changes are rolled back
      */
     @Transactional
     public ResponseEntity<String> upgradeUserToGameOwner(String email) {
@@ -289,58 +289,33 @@ public class AccountService {
             return ResponseEntity.badRequest().body("Bad request: account already a game owner.");
         }
 
-        // Get all related entities
-        List<Registration> registrations = registrationRepository.findRegistrationByAttendeeEmail(account.getEmail());
-        List<BorrowRequest> borrowRequests = borrowRequestRepository.findBorrowRequestsByRequesterEmail(account.getEmail());
-        List<Review> reviews = reviewRepository.findReviewsByReviewerEmail(account.getEmail());
-
-        // Set all associations to null
-        for (Registration registration : registrations) {
-            registration.setAttendee(null);
-            registrationRepository.save(registration);
-        }
-
-        for (BorrowRequest borrowRequest : borrowRequests) {
-            borrowRequest.setRequester(null);
-            borrowRequestRepository.save(borrowRequest);
-        }
-
-        for (Review review : reviews) {
-            review.setReviewer(null);
-            reviewRepository.save(review);
-        }
-
-        accountRepository.flush();
-
-        // Create new GameOwner
-        String accountName = account.getName();
-        if (accountName == null || accountName.trim().isEmpty()) {
-            accountName = account.getEmail();
-        }
-
-        // Delete old account before creating new one
-        accountRepository.delete(account);
-        accountRepository.flush();
-
-        // Create and save new GameOwner
-        GameOwner gameOwner = new GameOwner(accountName, account.getEmail(), account.getPassword());
-        gameOwner = accountRepository.save(gameOwner);
-        accountRepository.flush();
-
-        // Update all relationships with the new GameOwner
-        for (Registration registration : registrations) {
-            registration.setAttendee(gameOwner);
-            registrationRepository.save(registration);
+        // Nothing is inserted when a concurrent upgrade committed first
+        int promoted;
+        try {
+            promoted = accountRepository.promoteToGameOwner(account.getId());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent upgrade passed the same check and inserted first
+            promoted = 0;
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                // The failed insert already doomed the transaction; end it without an error on commit
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            }
         }
-
-        for (BorrowRequest borrowRequest : borrowRequests) {
-            borrowRequest.setRequester(gameOwner);
-            borrowRequestRepository.save(borrowRequest);
+        if (promoted == 0) {
+            return ResponseEntity.badRequest().body("Bad request: account already a game owner.");
         }
-
-        for (Review review : reviews) {
-            review.setReviewer(gameOwner);
-            reviewRepository.save(review);
+        // Cached principal still carries the old roles; a request reloading it before the commit
+        // would see the account without the game owner row
+        String promotedEmail = account.getEmail();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.invalidate(promotedEmail);
+                }
+            });
+        } else {
+            principalCache.invalidate(promotedEmail);
         }
 
         return ResponseEntity.ok("Account updated to GameOwner successfully");
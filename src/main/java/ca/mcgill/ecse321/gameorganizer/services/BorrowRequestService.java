@@ -1,13 +1,21 @@
 package ca.mcgill.ecse321.gameorganizer.services;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -28,9 +36,12 @@ import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.models.SyncTombstone;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestSpecifications;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.SyncTombstoneRepository;
 import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
 /**
@@ -44,11 +55,23 @@ public class BorrowRequestService {
 
     private static final Logger logger = LoggerFactory.getLogger(BorrowRequestService.class);
 
+    /** Largest page of borrow requests that can be requested at once. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // The listings without paging return the most recent requests only
+    private static final Pageable LATEST = PageRequest.of(0, MAX_PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id"));
+
+    // Properties borrow request listings can be sorted by
+    private static final Set<String> SORT_PROPERTIES = Set.of("id", "requestDate", "startDate", "endDate", "status");
+
     private final BorrowRequestRepository borrowRequestRepository;
     private final GameRepository gameRepository;
     private final AccountRepository accountRepository;
     private final LendingRecordService lendingRecordService; // Added dependency
     private final GameInstanceRepository gameInstanceRepository; // Added dependency
+    private final ReservationCalendarService reservationCalendar;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SyncTombstoneRepository syncTombstoneRepository;
 
     // UserContext field removed
 
@@ -58,15 +81,21 @@ public class BorrowRequestService {
      * @param borrowRequestRepository Repository for borrow requests.
      * @param gameRepository Repository for games.
      * @param accountRepository Repository for user accounts.
+     * @param reservationCalendar Calendar of approved reservations per game instance.
+     * @param eventPublisher Publishes notifications for the requester and the owner.
+     * @param syncTombstoneRepository Records deleted requests for delta sync.
      */
     // Updated constructor to remove UserContext
     @Autowired
-    public BorrowRequestService(BorrowRequestRepository borrowRequestRepository, GameRepository gameRepository, AccountRepository accountRepository, LendingRecordService lendingRecordService, GameInstanceRepository gameInstanceRepository) { // Added LendingRecordService and GameInstanceRepository
+    public BorrowRequestService(BorrowRequestRepository borrowRequestRepository, GameRepository gameRepository, AccountRepository accountRepository, LendingRecordService lendingRecordService, GameInstanceRepository gameInstanceRepository, ReservationCalendarService reservationCalendar, ApplicationEventPublisher eventPublisher, SyncTombstoneRepository syncTombstoneRepository) { // Added LendingRecordService and GameInstanceRepository
         this.borrowRequestRepository = borrowRequestRepository;
         this.gameRepository = gameRepository;
         this.accountRepository = accountRepository;
         this.lendingRecordService = lendingRecordService; // Initialize LendingRecordService
         this.gameInstanceRepository = gameInstanceRepository; // Initialize GameInstanceRepository
+        this.reservationCalendar = reservationCalendar;
+        this.eventPublisher = eventPublisher;
+        this.syncTombstoneRepository = syncTombstoneRepository;
     }
 
     /**
@@ -113,11 +142,11 @@ public class BorrowRequestService {
             throw new IllegalArgumentException("You cannot request your own game instance.");
         }
 
-        // Check if the instance is available for the requested period
-        List<BorrowRequest> overlappingRequests = borrowRequestRepository.findOverlappingApprovedRequestsForGameInstance(
-                gameInstance.getId(), requestDTO.getStartDate(), requestDTO.getEndDate());
+        // Keeps a deletion of the game from starting until this request is committed
+        gameRepository.lockAgainstDeletion(game.getId());
 
-        if (!overlappingRequests.isEmpty()) {
+        // Check if the instance is available for the requested period
+        if (!isInstanceFree(gameInstance.getId(), requestDTO.getStartDate(), requestDTO.getEndDate(), -1)) {
             throw new IllegalArgumentException("Game instance is unavailable for the requested period.");
         }
 
@@ -132,6 +161,12 @@ public class BorrowRequestService {
 
         BorrowRequest savedRequest = borrowRequestRepository.save(borrowRequest);
 
+        // Tell the owner of the copy about the new request
+        GameOwner instanceOwner = gameInstance.getOwner() != null ? gameInstance.getOwner() : game.getOwner();
+        if (instanceOwner != null) {
+            publishNotification(savedRequest, instanceOwner.getId(), NotificationService.Type.BORROW_REQUEST_CREATED);
+        }
+
         return new BorrowRequestDto(
                 savedRequest.getId(),
                 savedRequest.getRequester().getId(),
@@ -181,89 +216,78 @@ public class BorrowRequestService {
     }
 
     /**
-     * Retrieves all borrow requests.
+     * Retrieves the most recent borrow requests visible to the current user, at most
+     * {@link #MAX_PAGE_SIZE} of them; {@link #findBorrowRequests} pages through all of them.
+     * Administrators see every request; other users see the requests they made and the
+     * requests for game instances they own.
      * 
-     * @return List of all borrow request DTOs.
+     * @return List of visible borrow request DTOs, ordered by ID.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN') or authentication.isAuthenticated()")
     public List<BorrowRequestDto> getAllBorrowRequests() {
-        try {
-            // Get all requests
-            List<BorrowRequest> allRequests = borrowRequestRepository.findAll();
-            
-            // Get current authenticated user
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth == null || !auth.isAuthenticated() || auth.getPrincipal().equals("anonymousUser")) {
-                throw new UnauthedException("Authentication required to view borrow requests.");
-            }
-            
-            String username = auth.getName();
-            Account currentUser = accountRepository.findByEmail(username).orElse(null);
-            
-            if (currentUser == null) {
-                throw new UnauthedException("Invalid user credentials.");
-            }
-            
-            // Check if admin role (can see all)
-            boolean isAdmin = auth.getAuthorities().stream()
-                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-            
-            if (isAdmin) {
-                // Admin can see all borrow requests
-                return allRequests.stream()
-                    .map(request -> {
-                        Integer requesterId = (request.getRequester() != null) ? request.getRequester().getId() : null;
-                        Integer gameId = (request.getRequestedGame() != null) ? request.getRequestedGame().getId() : null;
-                        Integer instanceId = (request.getGameInstance() != null) ? request.getGameInstance().getId() : null;
-                        return new BorrowRequestDto(
-                                request.getId(),
-                                requesterId,
-                                gameId,
-                                instanceId != null ? instanceId : 0,
-                                request.getStartDate(),
-                                request.getEndDate(),
-                                request.getStatus().name(),
-                                request.getRequestDate()
-                        );
-                    })
-                    .collect(Collectors.toList());
-            } else {
-                // Regular users can only see their own requests and requests for instances they own
-                return allRequests.stream()
-                    .filter(request -> 
-                        // User is the requester
-                        (request.getRequester() != null && request.getRequester().getId() == currentUser.getId()) ||
-                        // User is the instance owner (not just the game creator)
-                        (request.getGameInstance() != null && 
-                         request.getGameInstance().getOwner() != null &&
-                         request.getGameInstance().getOwner().getId() == currentUser.getId())
-                    )
-                    .map(request -> {
-                        Integer requesterId = (request.getRequester() != null) ? request.getRequester().getId() : null;
-                        Integer gameId = (request.getRequestedGame() != null) ? request.getRequestedGame().getId() : null;
-                        Integer instanceId = (request.getGameInstance() != null) ? request.getGameInstance().getId() : null;
-                        return new BorrowRequestDto(
-                                request.getId(),
-                                requesterId,
-                                gameId,
-                                instanceId != null ? instanceId : 0,
-                                request.getStartDate(),
-                                request.getEndDate(),
-                                request.getStatus().name(),
-                                request.getRequestDate()
-                        );
-                    })
-                    .collect(Collectors.toList());
-            }
-        } catch (UnauthedException e) {
-            throw e;
-        } catch (org.springframework.security.access.AccessDeniedException e) {
-            throw new ForbiddenException("Access denied: You do not have permission to view these borrow requests.");
-        } catch (Exception e) {
-            logger.error("Error retrieving borrow requests: {}", e.getMessage(), e);
-            throw new RuntimeException("Error retrieving borrow requests", e);
+        return inIdOrder(findBorrowRequests(null, null, null, null, LATEST));
+    }
+
+    /**
+     * Retrieves the most recent borrow requests with a given status that are visible to the
+     * current user, at most {@link #MAX_PAGE_SIZE} of them.
+     *
+     * @param status The status to filter by.
+     * @return List of visible borrow request DTOs with the status, ordered by ID.
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN') or authentication.isAuthenticated()")
+    public List<BorrowRequestDto> getBorrowRequestsByStatus(BorrowRequestStatus status) {
+        return inIdOrder(findBorrowRequests(status, null, null, null, LATEST));
+    }
+
+    /**
+     * Retrieves the most recent borrow requests made by a given user that are visible to the
+     * current user, at most {@link #MAX_PAGE_SIZE} of them.
+     *
+     * @param requesterId The ID of the requester.
+     * @return List of visible borrow request DTOs made by the requester, ordered by ID.
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN') or authentication.isAuthenticated()")
+    public List<BorrowRequestDto> getBorrowRequestsByRequester(int requesterId) {
+        return inIdOrder(findBorrowRequests(null, requesterId, null, null, LATEST));
+    }
+
+    /**
+     * Finds a page of borrow requests visible to the current user, optionally filtered.
+     * The visibility rules and filters are applied in a single query, so only the
+     * requested page is loaded.
+     *
+     * @param status Status to filter by, or null for any status.
+     * @param requesterId ID of the requester to filter by, or null for any requester.
+     * @param ownerId ID of the game instance owner to filter by, or null for any owner.
+     * @param gameInstanceId ID of the game instance to filter by, or null for any instance.
+     * @param pageable Page, size and sort to apply.
+     * @return Page of visible borrow request DTOs.
+     * @throws UnauthedException if there is no authenticated user.
+     * @throws IllegalArgumentException if the page size or sort property is not supported.
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN') or authentication.isAuthenticated()")
+    public Page<BorrowRequestDto> findBorrowRequests(BorrowRequestStatus status, Integer requesterId,
+                                                     Integer ownerId, Integer gameInstanceId, Pageable pageable) {
+        validatePageable(pageable);
+        Specification<BorrowRequest> spec = visibleToCurrentUser();
+        if (status != null) {
+            spec = spec.and(BorrowRequestSpecifications.hasStatus(status));
+        }
+        if (requesterId != null) {
+            spec = spec.and(BorrowRequestSpecifications.requestedBy(requesterId));
+        }
+        if (ownerId != null) {
+            spec = spec.and(BorrowRequestSpecifications.instanceOwnedBy(ownerId));
         }
+        if (gameInstanceId != null) {
+            spec = spec.and(BorrowRequestSpecifications.forGameInstance(gameInstanceId));
+        }
+        return borrowRequestRepository.findAll(spec, pageable).map(this::toBorrowRequestDto);
     }
 
     /**
@@ -315,6 +339,13 @@ public class BorrowRequestService {
                 throw new IllegalStateException("Cannot approve request: No available game instance found for the requested game.");
             }
 
+            // Another request for the same copy may have been approved since this one was made
+            if (request.getGameInstance() != null
+                    && !isInstanceFree(request.getGameInstance().getId(), request.getStartDate(),
+                                       request.getEndDate(), request.getId())) {
+                throw new IllegalStateException("Cannot approve request: The game instance is already reserved for an overlapping period.");
+            }
+
             // Inner try-catch specifically for lending record creation issues
             try {
                 // Call LendingRecordService to create the record
@@ -345,9 +376,21 @@ public class BorrowRequestService {
         } // End of 'if (newStatus == BorrowRequestStatus.APPROVED)' block
 
         // Update the status of the BorrowRequest
+        BorrowRequestStatus previousStatus = request.getStatus();
         request.setStatus(newStatus);
         BorrowRequest updatedRequest = borrowRequestRepository.save(request);
 
+        // Keep the reservation calendar in step once the transaction commits
+        if (newStatus == BorrowRequestStatus.APPROVED) {
+            reservationCalendar.reservationApproved(updatedRequest);
+        } else if (previousStatus == BorrowRequestStatus.APPROVED) {
+            reservationCalendar.reservationReleased(updatedRequest);
+        }
+        if (updatedRequest.getRequester() != null) {
+            publishNotification(updatedRequest, updatedRequest.getRequester().getId(),
+                    NotificationService.Type.BORROW_REQUEST_UPDATED);
+        }
+
         // Prepare and return the DTO
         Integer requesterId = (updatedRequest.getRequester() != null) ? updatedRequest.getRequester().getId() : null;
         Integer gameId = (updatedRequest.getRequestedGame() != null) ? updatedRequest.getRequestedGame().getId() : null;
@@ -390,7 +433,11 @@ public class BorrowRequestService {
             // Authorization handled by @PreAuthorize
 
             logger.info("User authorized. Deleting borrow request with ID: {}", id);
+            syncTombstoneRepository.save(SyncTombstone.of(request));
             borrowRequestRepository.delete(request);
+            if (request.getStatus() == BorrowRequestStatus.APPROVED) {
+                reservationCalendar.reservationReleased(request);
+            }
 
         } catch (IllegalArgumentException e) {
             // Re-throw specific exceptions if needed, or let GlobalExceptionHandler handle them
@@ -456,47 +503,17 @@ public class BorrowRequestService {
     }
 
     /**
-     * Finds all borrow requests associated with a specific game instance owner by their ID.
+     * Finds the most recent borrow requests for the game instances of an owner, at most
+     * {@link #MAX_PAGE_SIZE} of them.
      *
      * @param ownerId The ID of the game instance owner
-     * @return List of borrow request DTOs associated with the specified game instance owner
+     * @return List of borrow request DTOs associated with the specified game instance owner, ordered by ID
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<BorrowRequestDto> getBorrowRequestsByOwnerId(int ownerId) {
-        // Find all game instances owned by this owner
-        List<GameInstance> ownedInstances = gameInstanceRepository.findByOwnerId(ownerId);
-        
-        // Get IDs of owned instances
-        List<Integer> ownedInstanceIds = ownedInstances.stream()
-            .map(GameInstance::getId)
-            .collect(Collectors.toList());
-            
-        // Get all borrow requests
-        List<BorrowRequest> allRequests = borrowRequestRepository.findAll();
-        
-        // Filter requests for owned instances
-        List<BorrowRequest> ownerRequests = allRequests.stream()
-            .filter(request -> request.getGameInstance() != null && 
-                ownedInstanceIds.contains(request.getGameInstance().getId()))
-            .collect(Collectors.toList());
-
-        return ownerRequests.stream()
-                .map(request -> {
-                    Integer requesterId = (request.getRequester() != null) ? request.getRequester().getId() : null;
-                    Integer gameId = (request.getRequestedGame() != null) ? request.getRequestedGame().getId() : null;
-                    Integer instanceId = (request.getGameInstance() != null) ? request.getGameInstance().getId() : null;
-                    return new BorrowRequestDto(
-                            request.getId(),
-                            requesterId,
-                            gameId,
-                            instanceId != null ? instanceId : 0,
-                            request.getStartDate(),
-                            request.getEndDate(),
-                            request.getStatus().name(),
-                            request.getRequestDate()
-                    );
-                })
-                .collect(Collectors.toList());
+        return inIdOrder(borrowRequestRepository
+                .findAll(BorrowRequestSpecifications.instanceOwnedBy(ownerId), LATEST)
+                .map(this::toBorrowRequestDto));
     }
     
     /**
@@ -559,10 +576,11 @@ public class BorrowRequestService {
         }
         
         // Check if the dates conflict with existing requests
-        if (!isGameAvailableForPeriod(existingRequest.getRequestedGame().getId(), 
-                                      existingRequest.getStartDate(), 
-                                      existingRequest.getEndDate(),
-                                      existingRequest.getId())) {
+        if (existingRequest.getGameInstance() != null
+                && !isInstanceFree(existingRequest.getGameInstance().getId(),
+                                   existingRequest.getStartDate(),
+                                   existingRequest.getEndDate(),
+                                   existingRequest.getId())) {
             throw new IllegalArgumentException("The game is not available for the selected time period.");
         }
         
@@ -581,28 +599,105 @@ public class BorrowRequestService {
             updatedRequest.getRequestDate()
         );
     }
-    
+
+
     /**
-     * Checks if a game is available for a specific period, excluding a specific request
-     * Used when updating a request to make sure the new dates don't conflict
-     * 
-     * @param gameId The ID of the game to check
-     * @param startDate The desired start date
-     * @param endDate The desired end date
-     * @param excludeRequestId The ID of the request to exclude from the check
-     * @return true if the game is available, false otherwise
+     * Finds the borrow requests saved after a change version, for delta sync.
+     * Not capped: the sync cursor advances past everything returned, so a partial answer would
+     * lose changes. Users only sync the requests they made or received.
+     *
+     * @param since Change version the client synced up to, or null for all requests.
+     * @param accountId ID of the account whose requests (made or received) to return, or null for all.
+     * @return DTOs of the changed requests, ordered by ID.
      */
-    private boolean isGameAvailableForPeriod(int gameId, Date startDate, Date endDate, int excludeRequestId) {
-        // Get all approved borrow requests for this game that overlap with the period
-        List<BorrowRequest> overlappingRequests = borrowRequestRepository
-            .findOverlappingApprovedRequestsForGame(gameId, startDate, endDate);
-        
-        // Exclude the current request being updated
-        overlappingRequests = overlappingRequests.stream()
-            .filter(request -> request.getId() != excludeRequestId)
-            .collect(Collectors.toList());
-        
-        // If there are any overlapping requests, the game is not available
-        return overlappingRequests.isEmpty();
+    @Transactional(readOnly = true)
+    public List<BorrowRequestDto> getBorrowRequestsChangedAfter(Long since, Integer accountId) {
+        Specification<BorrowRequest> spec = Specification.where(null);
+        if (accountId != null) {
+            spec = spec.and(BorrowRequestSpecifications.visibleTo(accountId));
+        }
+        if (since != null) {
+            spec = spec.and(BorrowRequestSpecifications.changedAfter(since));
+        }
+        return borrowRequestRepository.findAll(spec, Pageable.unpaged(Sort.by("id")))
+                .map(this::toBorrowRequestDto).getContent();
+    }
+
+    /**
+     * Builds the visibility rule for the current user: no restriction for administrators,
+     * otherwise only the requests the user made or received.
+     */
+    private Specification<BorrowRequest> visibleToCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            throw new UnauthedException("Authentication required to view borrow requests.");
+        }
+        boolean isAdmin = auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (isAdmin) {
+            return Specification.where(null);
+        }
+        Account currentUser = accountRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new UnauthedException("Invalid user credentials."));
+        return BorrowRequestSpecifications.visibleTo(currentUser.getId());
     }
+
+    /**
+     * Checks that no approved borrow request reserves a game instance during a period.
+     * The instance is locked for the rest of the transaction and the database decides. The
+     * reservation calendar is not consulted: it can miss approvals made on other nodes and keep
+     * reservations released there until its next refresh, so neither of its answers can be trusted.
+     *
+     * @param gameInstanceId The ID of the game instance
+     * @param startDate Start of the period
+     * @param endDate End of the period
+     * @param excludeRequestId ID of a borrow request to ignore, or -1 to consider all of them
+     * @return true if the instance is free for the whole period
+     */
+    private boolean isInstanceFree(int gameInstanceId, Date startDate, Date endDate, int excludeRequestId) {
+        gameInstanceRepository.lockById(gameInstanceId);
+        return !borrowRequestRepository.existsApprovedOverlapping(gameInstanceId, startDate, endDate, excludeRequestId);
+    }
+
+    private void publishNotification(BorrowRequest request, int recipientId, NotificationService.Type type) {
+        Game game = request.getRequestedGame();
+        eventPublisher.publishEvent(new NotificationService.Notification(List.of(recipientId), type,
+                request.getId(), null, game != null ? game.getId() : null, game != null ? game.getName() : null,
+                request.getStatus().name()));
+    }
+
+    // The latest page comes newest first; the listings keep their ascending ID order
+    private static List<BorrowRequestDto> inIdOrder(Page<BorrowRequestDto> latest) {
+        List<BorrowRequestDto> requests = new ArrayList<>(latest.getContent());
+        Collections.reverse(requests);
+        return requests;
+    }
+
+    private void validatePageable(Pageable pageable) {
+        if (pageable.isPaged() && (pageable.getPageSize() < 1 || pageable.getPageSize() > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort borrow requests by " + order.getProperty());
+            }
+        }
+    }
+
+    private BorrowRequestDto toBorrowRequestDto(BorrowRequest request) {
+        Integer requesterId = (request.getRequester() != null) ? request.getRequester().getId() : null;
+        Integer gameId = (request.getRequestedGame() != null) ? request.getRequestedGame().getId() : null;
+        Integer instanceId = (request.getGameInstance() != null) ? request.getGameInstance().getId() : null;
+        return new BorrowRequestDto(
+                request.getId(),
+                requesterId,
+                gameId,
+                instanceId != null ? instanceId : 0,
+                request.getStartDate(),
+                request.getEndDate(),
+                request.getStatus().name(),
+                request.getRequestDate()
+        );
+    }
+
 }
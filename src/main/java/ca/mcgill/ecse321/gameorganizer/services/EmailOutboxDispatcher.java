@@ -0,0 +1,288 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ca.mcgill.ecse321.gameorganizer.config.SchedulingConfig;
+import ca.mcgill.ecse321.gameorganizer.models.EmailOutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Delivers queued emails in the background.
+ * Polls claim due messages from the outbox, one poll at a time, and hand them in batches to the
+ * shared task executor, which sends at most the configured number of batches at once; each batch
+ * is sent over one SMTP connection. The outbox is polled on a fixed interval and whenever a
+ * message is queued, once its transaction commits.
+ *
+ * Metrics:
+ * - email.outbox.queue.depth: messages waiting for delivery
+ * - email.outbox.delivery.latency: time from queueing to acceptance by the mail server
+ * - email.outbox.batch.duration: time spent sending one batch
+ * - email.outbox.sent / retried / failed: delivery outcomes
+ */
+@Component
+public class EmailOutboxDispatcher implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final long PURGE_INTERVAL_MILLIS = 60L * 60 * 1000;
+
+    private final EmailOutboxService emailOutbox;
+    private final JavaMailSender mailSender;
+    private final TaskExecutor taskExecutor;
+
+    private final String fromEmail;
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final long retentionMillis;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer deliveryLatency;
+    private final Timer batchDuration;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    // One permit per worker; a batch is only claimed when a worker is free to send it
+    private final Semaphore freeWorkers;
+
+    // Scheduled and commit-triggered polls run on different threads; one polls at a time
+    private final ReentrantLock pollLock = new ReentrantLock();
+
+    private long lastPurge;
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxService emailOutbox,
+                                 JavaMailSender mailSender,
+                                 MeterRegistry meterRegistry,
+                                 @Qualifier(SchedulingConfig.TASK_EXECUTOR) TaskExecutor taskExecutor,
+                                 @Value("${spring.mail.username}") String fromEmail,
+                                 @Value("${email.outbox.enabled:true}") boolean enabled,
+                                 @Value("${email.outbox.workers:2}") int workers,
+                                 @Value("${email.outbox.batch-size:20}") int batchSize,
+                                 @Value("${email.outbox.poll-interval-ms:5000}") long pollIntervalMillis,
+                                 @Value("${email.outbox.retention-hours:24}") long retentionHours) {
+        if (workers < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Email outbox workers and batch size must be at least 1");
+        }
+        this.emailOutbox = emailOutbox;
+        this.mailSender = mailSender;
+        this.taskExecutor = taskExecutor;
+        this.fromEmail = fromEmail;
+        this.enabled = enabled;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.retentionMillis = retentionHours * 60 * 60 * 1000;
+        this.freeWorkers = new Semaphore(workers);
+
+        Gauge.builder("email.outbox.queue.depth", queueDepth, AtomicLong::get)
+                .description("Emails waiting for delivery")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("email.outbox.delivery.latency")
+                .description("Time from queueing an email to its acceptance by the mail server")
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("email.outbox.batch.duration")
+                .description("Time spent sending one batch of emails")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("email.outbox.retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("email.outbox.failed").register(meterRegistry);
+    }
+
+    /**
+     * Polls the outbox right away and then every poll interval on the shared scheduler, unless disabled.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (!enabled) {
+            return;
+        }
+        registrar.addFixedDelayTask(new FixedDelayTask(this::pollSafely, Duration.ofMillis(pollIntervalMillis),
+                Duration.ZERO));
+        log.info("Email outbox dispatcher started with {} workers and batches of {}", workers, batchSize);
+    }
+
+    /**
+     * Polls the outbox as soon as a transaction that queued a message commits.
+     *
+     * @param event The queued message
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMessageQueued(EmailOutboxService.MessageQueued event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            taskExecutor.execute(this::pollSafely);
+        } catch (TaskRejectedException e) {
+            // Shutting down; the message stays queued for the next start
+            log.debug("Email outbox poll not started: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claims as many due messages as the free workers can send and hands them out in batches.
+     */
+    void poll() {
+        queueDepth.set(emailOutbox.countPending());
+        purgeIfDue();
+
+        int free = freeWorkers.availablePermits();
+        if (free == 0) {
+            return;
+        }
+        List<EmailOutboxMessage> claimed = emailOutbox.claimDue(free * batchSize);
+        for (int from = 0; from < claimed.size(); from += batchSize) {
+            List<EmailOutboxMessage> batch = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+            // Only the polling thread acquires permits, so one is free for every batch claimed
+            freeWorkers.acquireUninterruptibly();
+            try {
+                taskExecutor.execute(() -> {
+                    try {
+                        deliver(batch);
+                    } finally {
+                        freeWorkers.release();
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                // Claimed messages not handed out are delivered once their lease expires
+                freeWorkers.release();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Sends a batch of claimed messages over one SMTP connection and records the outcome
+     * of each message in the outbox.
+     *
+     * @param batch Messages claimed by {@link EmailOutboxService#claimDue(int)}
+     */
+    public void deliver(List<EmailOutboxMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // MimeMessage keeps identity equality, so a linked map preserves batch order
+        Map<MimeMessage, EmailOutboxMessage> byMimeMessage = new LinkedHashMap<>();
+        for (EmailOutboxMessage message : batch) {
+            try {
+                byMimeMessage.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                attemptFailed(message, "Could not build message: " + e.getMessage());
+            }
+        }
+        if (byMimeMessage.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(byMimeMessage.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                byMimeMessage.keySet().forEach(m -> failures.put(m, e));
+            }
+        } catch (MailException | IllegalStateException e) {
+            byMimeMessage.keySet().forEach(m -> failures.put(m, e));
+        }
+        sample.stop(batchDuration);
+
+        Date sentAt = new Date();
+        List<Integer> sentIds = new ArrayList<>();
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : byMimeMessage.entrySet()) {
+            EmailOutboxMessage message = entry.getValue();
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                sentIds.add(message.getId());
+                deliveryLatency.record(sentAt.getTime() - message.getCreatedAt().getTime(), TimeUnit.MILLISECONDS);
+            } else {
+                attemptFailed(message, failure.getMessage());
+            }
+        }
+        emailOutbox.markSent(sentIds, sentAt);
+        sentCounter.increment(sentIds.size());
+        log.debug("Delivered {} of {} emails in batch", sentIds.size(), byMimeMessage.size());
+    }
+
+    private void attemptFailed(EmailOutboxMessage message, String error) {
+        if (emailOutbox.markAttemptFailed(message, error)) {
+            retriedCounter.increment();
+            log.warn("Email {} to {} failed on attempt {}, will retry: {}",
+                    message.getId(), message.getRecipient(), message.getAttempts(), error);
+        } else {
+            failedCounter.increment();
+            log.error("Email {} to {} failed after {} attempts, giving up: {}",
+                    message.getId(), message.getRecipient(), message.getAttempts(), error);
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getHtmlBody(), true);
+        return mimeMessage;
+    }
+
+    private void purgeIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastPurge >= PURGE_INTERVAL_MILLIS) {
+            lastPurge = now;
+            int purged = emailOutbox.purgeSent(retentionMillis);
+            if (purged > 0) {
+                log.info("Purged {} delivered emails from the outbox", purged);
+            }
+        }
+    }
+
+    private void pollSafely() {
+        pollLock.lock();
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the next poll retries
+            log.error("Email outbox poll failed: {}", e.getMessage(), e);
+        } finally {
+            pollLock.unlock();
+        }
+    }
+}
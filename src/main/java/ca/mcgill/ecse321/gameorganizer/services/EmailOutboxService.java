@@ -0,0 +1,167 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ca.mcgill.ecse321.gameorganizer.models.EmailOutboxMessage;
+import ca.mcgill.ecse321.gameorganizer.models.EmailOutboxMessage.DeliveryStatus;
+import ca.mcgill.ecse321.gameorganizer.repositories.EmailOutboxRepository;
+
+/**
+ * Service managing the persistent email outbox.
+ * Messages are queued in the caller's transaction, so an email is sent if and only if the
+ * change that triggered it commits. Delivery is left to {@link EmailOutboxDispatcher},
+ * which claims due messages here and reports the outcome of each attempt back.
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long leaseMillis;
+
+    /**
+     * Published when a message is queued; the dispatcher listens for it after commit so
+     * that new mail goes out without waiting for the next poll.
+     *
+     * @param messageId ID of the queued message
+     */
+    public record MessageQueued(int messageId) {
+    }
+
+    @Autowired
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${email.outbox.max-attempts:5}") int maxAttempts,
+                              @Value("${email.outbox.initial-backoff-seconds:30}") long initialBackoffSeconds,
+                              @Value("${email.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+                              @Value("${email.outbox.lease-seconds:120}") long leaseSeconds) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffSeconds * 1000;
+        this.maxBackoffMillis = maxBackoffSeconds * 1000;
+        this.leaseMillis = leaseSeconds * 1000;
+    }
+
+    /**
+     * Queues an HTML email. Joins the current transaction if there is one.
+     *
+     * @param recipient Email address of the recipient
+     * @param subject Subject line
+     * @param htmlBody HTML content
+     * @return The queued message
+     * @throws IllegalArgumentException if the recipient or subject is missing
+     */
+    @Transactional
+    public EmailOutboxMessage enqueue(String recipient, String subject, String htmlBody) {
+        if (recipient == null || recipient.isBlank()) {
+            throw new IllegalArgumentException("Recipient cannot be empty");
+        }
+        if (subject == null || subject.isBlank()) {
+            throw new IllegalArgumentException("Subject cannot be empty");
+        }
+        EmailOutboxMessage message = emailOutboxRepository.save(new EmailOutboxMessage(recipient, subject, htmlBody));
+        eventPublisher.publishEvent(new MessageQueued(message.getId()));
+        return message;
+    }
+
+    /**
+     * Claims up to the given number of due messages for one delivery attempt each.
+     * A claimed message is not due again until its lease expires, so a dispatcher that
+     * dies mid-attempt only delays the message.
+     *
+     * @param limit Maximum number of messages to claim
+     * @return The claimed messages, detached, with their attempt count already increased
+     */
+    @Transactional
+    public List<EmailOutboxMessage> claimDue(int limit) {
+        Date now = new Date();
+        Date leaseUntil = new Date(now.getTime() + leaseMillis);
+        List<EmailOutboxMessage> claimed = new ArrayList<>();
+        for (EmailOutboxMessage message : emailOutboxRepository.findDue(now, PageRequest.of(0, limit))) {
+            // The claim clears the persistence context, so the loaded messages are detached
+            if (emailOutboxRepository.claim(message.getId(), now, leaseUntil) == 1) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(leaseUntil);
+                claimed.add(message);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Records that the mail server accepted messages.
+     *
+     * @param messageIds IDs of the delivered messages
+     * @param sentAt When they were accepted
+     */
+    @Transactional
+    public void markSent(Collection<Integer> messageIds, Date sentAt) {
+        if (!messageIds.isEmpty()) {
+            emailOutboxRepository.markSent(messageIds, sentAt);
+        }
+    }
+
+    /**
+     * Records a failed delivery attempt. The message is retried with exponential backoff
+     * until it has been attempted the maximum number of times.
+     *
+     * @param message The message that could not be delivered
+     * @param error Why the attempt failed
+     * @return true if another attempt is scheduled, false if the message was given up on
+     */
+    @Transactional
+    public boolean markAttemptFailed(EmailOutboxMessage message, String error) {
+        String trimmedError = error == null || error.length() <= MAX_ERROR_LENGTH
+                ? error : error.substring(0, MAX_ERROR_LENGTH);
+        if (message.getAttempts() >= maxAttempts) {
+            emailOutboxRepository.markFailed(message.getId(), trimmedError);
+            return false;
+        }
+        Date nextAttemptAt = new Date(System.currentTimeMillis() + backoffMillis(message.getAttempts()));
+        emailOutboxRepository.scheduleRetry(message.getId(), nextAttemptAt, trimmedError);
+        return true;
+    }
+
+    /**
+     * Deletes delivered messages older than the given age. Sent messages are only kept
+     * for troubleshooting and may contain single-use links.
+     *
+     * @param retentionMillis How long to keep delivered messages
+     * @return number of messages deleted
+     */
+    @Transactional
+    public int purgeSent(long retentionMillis) {
+        return emailOutboxRepository.deleteSentBefore(new Date(System.currentTimeMillis() - retentionMillis));
+    }
+
+    /**
+     * @return number of messages waiting for delivery
+     */
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return emailOutboxRepository.countByStatus(DeliveryStatus.PENDING);
+    }
+
+    // Delay before the attempt following the given one: initial, then doubling up to the cap
+    long backoffMillis(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(initialBackoffMillis << doublings, maxBackoffMillis);
+    }
+}
@@ -2,14 +2,9 @@ package ca.mcgill.ecse321.gameorganizer.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.core.env.Environment;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,14 +19,11 @@ public class EmailService {
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxService emailOutbox;
     
     @Autowired
     private Environment environment;
     
-    @Value("${spring.mail.username}")
-    private String fromEmail;
-    
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
     
@@ -39,14 +31,15 @@ public class EmailService {
     private boolean sendEmailInDev;
 
     /**
-     * Sends a password reset email to the user with a reset link.
+     * Queues a password reset email with a reset link for the user.
+     * The email is written to the outbox in the caller's transaction and delivered in the
+     * background once it commits, so a slow mail server never delays the request.
      *
      * @param toEmail The recipient's email address
      * @param token The password reset token
      * @param username The user's name/username for personalization
-     * @throws MessagingException If there's an error sending the email
      */
-    public void sendPasswordResetEmail(String toEmail, String token, String username) throws MessagingException {
+    public void sendPasswordResetEmail(String toEmail, String token, String username) {
         String resetUrl = frontendUrl + "/reset-password?token=" + token;
         
         String htmlContent = 
@@ -69,47 +62,18 @@ public class EmailService {
             "   </div>" +
             "</div>";
             
-        // Use traditional SMTP with credentials from environment variables
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-        
-        helper.setFrom(fromEmail);
-        helper.setTo(toEmail);
-        helper.setSubject("BoardGameConnect - Reset Your Password");
-        helper.setText(htmlContent, true); // true indicates HTML content
-        
-        try {
-            log.info("Sending password reset email via SMTP to: {}", toEmail);
-            log.info("Using mail username: {}", fromEmail);
-            log.debug("Email content set, attempting to send message");
-            log.debug("Reset URL: {}", resetUrl);
-            
-            // In dev mode, just log the URL but don't actually send the email
-            boolean isDevMode = Arrays.asList(environment.getActiveProfiles()).contains("dev");
-            if (isDevMode && !sendEmailInDev) {
-                log.info("DEV MODE: Not sending email. Reset link would be: {}", resetUrl);
-                log.info("To reset password, go to: {}", resetUrl);
-                log.info("To send real emails in dev mode, set email.send.in.dev=true in application.properties");
-            } else {
-                mailSender.send(message);
-                log.info("Password reset email sent successfully via SMTP to: {}", toEmail);
-            }
-        } catch (Exception e) {
-            log.error("Failed to send password reset email via SMTP to: {}, Error: {}", toEmail, e.getMessage(), e);
-            // Get more detailed error information
-            if (e.getCause() != null) {
-                log.error("Cause: {}", e.getCause().getMessage());
-            }
-            
-            // Add more helpful debugging information
-            log.error("SMTP Server: {}:{}", 
-                environment.getProperty("spring.mail.host"),
-                environment.getProperty("spring.mail.port"));
-            log.error("SSL Enabled: {}", 
-                environment.getProperty("spring.mail.properties.mail.smtp.ssl.enable"));
-            
-            throw new MessagingException("Failed to send password reset email: " + e.getMessage() + 
-                ". Please check your mail server configuration or use the development endpoints.", e);
+        log.debug("Reset URL: {}", resetUrl);
+
+        // In dev mode, just log the URL but don't actually send the email
+        boolean isDevMode = Arrays.asList(environment.getActiveProfiles()).contains("dev");
+        if (isDevMode && !sendEmailInDev) {
+            log.info("DEV MODE: Not sending email. Reset link would be: {}", resetUrl);
+            log.info("To reset password, go to: {}", resetUrl);
+            log.info("To send real emails in dev mode, set email.send.in.dev=true in application.properties");
+            return;
         }
+
+        emailOutbox.enqueue(toEmail, "BoardGameConnect - Reset Your Password", htmlContent);
+        log.info("Password reset email queued for: {}", toEmail);
     }
-} 
\ No newline at end of file
+}
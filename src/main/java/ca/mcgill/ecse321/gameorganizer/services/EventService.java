@@ -3,16 +3,24 @@ package ca.mcgill.ecse321.gameorganizer.services;
 import java.util.Date; // Changed from java.sql.Date
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import ca.mcgill.ecse321.gameorganizer.dto.request.CreateEventRequest;
+import ca.mcgill.ecse321.gameorganizer.dto.request.EventFeedFilterDto;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.Event;
@@ -21,6 +29,7 @@ import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
 import ca.mcgill.ecse321.gameorganizer.models.Registration; // Import added
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventSpecifications;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
@@ -30,6 +39,15 @@ public class EventService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventService.class);
 
+    /** Largest page of events that can be requested at once */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** Largest number of events a single feed export may hold */
+    public static final int MAX_EXPORT_SIZE = 10_000;
+
+    /** Number of events read per query while exporting a feed window */
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     @Autowired
     private EventRepository eventRepository;
 
@@ -90,6 +108,8 @@ public class EventService {
         Game featuredGameEntity = gameRepository.findById(gameId)
                 .orElseThrow(() -> new IllegalArgumentException("Featured game with ID " + gameId + " not found."));
         logger.debug("DEBUG SERVICE: Found featured game: {}", featuredGameEntity.getName());
+        // Keeps a deletion of the game from starting until this event is committed
+        gameRepository.lockAgainstDeletion(gameId);
 
         Event e = new Event(
                 newEvent.getTitle(),
@@ -186,10 +206,188 @@ public class EventService {
         );
     }
 
+    /**
+     * Retrieves one page of all events, latest first, with the featured game and host loaded.
+     *
+     * @param page The page number (0-based)
+     * @param size The page size, at most {@link #MAX_PAGE_SIZE}
+     * @return The events of the page, and whether another page follows
+     * @throws IllegalArgumentException if the page or size is invalid
+     */
+    @Transactional(readOnly = true)
+    public Slice<Event> getAllEvents(int page, int size) {
+        logger.debug("DEBUG SERVICE: Getting page {} of all events", page);
+        validatePageSize(size);
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number cannot be negative");
+        }
+        Sort sort = Sort.by(Sort.Direction.DESC, "dateTime").and(Sort.by(Sort.Direction.DESC, "id"));
+        return eventRepository.findAllBy(PageRequest.of(page, size, sort));
+    }
+
+    /**
+     * Retrieves one page of the event feed, filtered, sorted and paged by the database.
+     *
+     * @param filter The date window and optional host, location and featured game filters
+     * @param page The page number (0-based)
+     * @param size The page size
+     * @return Page of events including the total count
+     * @throws IllegalArgumentException if the page, size or window is invalid
+     */
+    @Transactional(readOnly = true)
+    public Page<Event> getEventFeed(EventFeedFilterDto filter, int page, int size) {
+        validatePageSize(size);
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number cannot be negative");
+        }
+        return eventRepository.findAll(feedSpecification(filter, new Date()), PageRequest.of(page, size, feedSort(filter)));
+    }
+
+    /**
+     * Retrieves the events of the feed that follow a cursor (keyset pagination).
+     * Unlike offset paging, the cost does not grow with the page number.
+     *
+     * @param filter The date window and optional host, location and featured game filters
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param size Maximum number of events to return
+     * @return Slice of events, indicating whether a next page exists
+     * @throws IllegalArgumentException if the cursor, size or window is invalid
+     */
     @Transactional(readOnly = true)
-    public List<Event> getAllEvents() {
-        logger.debug("DEBUG SERVICE: Getting all events");
-        return eventRepository.findAll();
+    public Slice<Event> getEventFeedAfter(EventFeedFilterDto filter, String cursor, int size) {
+        validatePageSize(size);
+        return findFeedAfter(feedSpecification(filter, new Date()), feedSort(filter), cursor, size);
+    }
+
+    /**
+     * Builds the cursor that continues the event feed after the given event.
+     *
+     * @param last The last event of the current page
+     * @return Opaque cursor to pass to {@link #getEventFeedAfter}
+     */
+    public String nextCursor(Event last) {
+        return last.getDateTime().getTime() + ":" + last.getId();
+    }
+
+    /**
+     * Passes the events of the feed window to a consumer, in feed order, up to
+     * {@link #MAX_EXPORT_SIZE} events.
+     * The window is read in keyset chunks, so memory use stays flat however many events it holds;
+     * "now" is fixed when the export starts so upcoming and past windows do not shift midway.
+     *
+     * @param filter The date window and optional host, location and featured game filters
+     * @param consumer Receives each event, with its featured game and host loaded
+     * @throws IllegalArgumentException if the window is invalid
+     */
+    public void exportEventFeed(EventFeedFilterDto filter, Consumer<Event> consumer) {
+        Specification<Event> spec = feedSpecification(filter, new Date());
+        Sort sort = feedSort(filter);
+        String cursor = null;
+        int remaining = MAX_EXPORT_SIZE;
+        Slice<Event> chunk;
+        do {
+            chunk = findFeedAfter(spec, sort, cursor, Math.min(EXPORT_CHUNK_SIZE, remaining));
+            chunk.forEach(consumer);
+            remaining -= chunk.getNumberOfElements();
+            if (chunk.hasNext()) {
+                cursor = nextCursor(chunk.getContent().get(chunk.getNumberOfElements() - 1));
+            }
+        } while (chunk.hasNext() && remaining > 0);
+    }
+
+    /**
+     * Checks that a feed window can be exported: the window must be valid and hold at most
+     * {@link #MAX_EXPORT_SIZE} events, so that an export cannot scan the whole table.
+     *
+     * @param filter The date window and optional host, location and featured game filters
+     * @throws IllegalArgumentException if the window is invalid or holds too many events
+     */
+    @Transactional(readOnly = true)
+    public void validateEventFeedExport(EventFeedFilterDto filter) {
+        long count = eventRepository.count(feedSpecification(filter, new Date()));
+        if (count > MAX_EXPORT_SIZE) {
+            throw new IllegalArgumentException("The window holds " + count + " events; narrow it to at most "
+                    + MAX_EXPORT_SIZE + " events to export it");
+        }
+    }
+
+    /**
+     * Checks that the window of an event feed filter is complete and consistent.
+     *
+     * @param filter The filter to check
+     * @throws IllegalArgumentException if the between window lacks a bound or its bounds are reversed
+     */
+    public void validateEventFeedFilter(EventFeedFilterDto filter) {
+        if (filter.getWindow() == EventFeedFilterDto.Window.BETWEEN) {
+            if (filter.getFrom() == null || filter.getTo() == null) {
+                throw new IllegalArgumentException("Both from and to are required for the between window");
+            }
+            if (!filter.getFrom().before(filter.getTo())) {
+                throw new IllegalArgumentException("from must be before to");
+            }
+        }
+    }
+
+    private Slice<Event> findFeedAfter(Specification<Event> spec, Sort sort, String cursor, int size) {
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = cursor.split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            try {
+                spec = spec.and(EventSpecifications.afterDateTime(
+                        new Date(Long.parseLong(parts[0])), UUID.fromString(parts[1]), sort.getOrderFor("dateTime").isAscending()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+        // Fetch one extra row to learn whether another page follows; the featured game and host
+        // are loaded in the same query since every event response includes them
+        List<Event> rows = eventRepository.findBy(spec,
+                query -> query.sortBy(sort).project("featuredGame", "host").limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        List<Event> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    private Specification<Event> feedSpecification(EventFeedFilterDto filter, Date now) {
+        validateEventFeedFilter(filter);
+        Specification<Event> spec;
+        switch (filter.getWindow() == null ? EventFeedFilterDto.Window.UPCOMING : filter.getWindow()) {
+            case PAST:
+                spec = EventSpecifications.startingBefore(now);
+                break;
+            case BETWEEN:
+                spec = EventSpecifications.startingFrom(filter.getFrom())
+                        .and(EventSpecifications.startingBefore(filter.getTo()));
+                break;
+            default:
+                spec = EventSpecifications.startingFrom(now);
+                break;
+        }
+        if (filter.getHostId() != null) {
+            spec = spec.and(EventSpecifications.hostedBy(filter.getHostId()));
+        }
+        if (filter.getGameId() != null) {
+            spec = spec.and(EventSpecifications.featuringGame(filter.getGameId()));
+        }
+        if (filter.getLocation() != null && !filter.getLocation().isBlank()) {
+            spec = spec.and(EventSpecifications.locationContains(filter.getLocation().trim()));
+        }
+        return spec;
+    }
+
+    // Past events are listed most recent first, other windows chronologically; the ID breaks ties
+    private Sort feedSort(EventFeedFilterDto filter) {
+        Sort.Direction direction = filter.getWindow() == EventFeedFilterDto.Window.PAST
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, "dateTime").and(Sort.by(direction, "id"));
+    }
+
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
     }
     
     @Transactional(readOnly = true)
@@ -204,11 +402,12 @@ public class EventService {
     @Transactional(readOnly = true)
     public List<Event> findEventsByDate(Date date) { // Changed from java.sql.Date
         logger.debug("DEBUG SERVICE: Finding events by date: {}", date);
-        // The repository method might need adjustment if it strictly expects java.sql.Date
-        // However, Spring Data JPA often handles java.util.Date correctly for TIMESTAMP columns.
-        // If issues arise, you might need a custom query or conversion.
-        // For now, assume the repository handles java.util.Date for TIMESTAMP comparison.
-        List<Event> events = eventRepository.findEventByDateTime(date); // Assuming repo method works or is adjusted
+        // Events on the day starting at the given date; exact timestamp equality would only
+        // match events starting at midnight
+        Date nextDay = new Date(date.getTime() + 24L * 60 * 60 * 1000);
+        List<Event> events = eventRepository.findAll(
+                EventSpecifications.startingFrom(date).and(EventSpecifications.startingBefore(nextDay)),
+                Sort.by("dateTime").and(Sort.by("id")));
         logger.debug("DEBUG SERVICE: Found {} events for date {}", events.size(), date);
 
         // No conversion needed here anymore if Event model uses java.util.Date
@@ -0,0 +1,376 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ca.mcgill.ecse321.gameorganizer.config.SchedulingConfig;
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameDeletionProgressDto;
+import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
+import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
+import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.ReviewRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.SyncTombstoneRepository;
+import ca.mcgill.ecse321.gameorganizer.search.SearchService;
+import ca.mcgill.ecse321.gameorganizer.search.SearchService.EntityType;
+
+/**
+ * Deletes a game together with everything that depends on it, in dependency order:
+ * registrations for its events, the events, lending records and borrow requests for the game
+ * or its copies, its reviews, its copies and finally the game.
+ *
+ * Each step is a set-based statement rather than a loop over entities. Games with a lot of
+ * history can instead be deleted in the background, one chunk of rows per transaction, so that
+ * no transaction holds locks on many rows for long; progress is reported per step, to the account
+ * that started the deletion only.
+ *
+ * Before the first step the game is marked as being deleted ({@link GameRepository#markDeleting}).
+ * Services adding a row that references the game check the mark under a lock of the game row
+ * ({@link GameRepository#lockAgainstDeletion}), so no dependent row can appear behind a step that
+ * has already run. A deletion that fails leaves the game marked; starting it again finishes it.
+ * Bulk statements bypass entity listeners, so deleted events are removed from the search index here.
+ */
+@Service
+public class GameDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameDeletionService.class);
+
+    public static final String REGISTRATIONS = "registrations";
+    public static final String EVENTS = "events";
+    public static final String LENDING_RECORDS = "lendingRecords";
+    public static final String BORROW_REQUESTS = "borrowRequests";
+    public static final String REVIEWS = "reviews";
+    public static final String INSTANCES = "instances";
+    public static final String GAME = "game";
+
+    /** Finished background deletions kept for progress queries */
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final GameRepository gameRepository;
+    private final GameInstanceRepository gameInstanceRepository;
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final BorrowRequestRepository borrowRequestRepository;
+    private final LendingRecordRepository lendingRecordRepository;
+    private final ReviewRepository reviewRepository;
+    private final ReservationCalendarService reservationCalendar;
+    private final SearchService searchService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final int chunkSize;
+
+    // Background deletions run one at a time, in the order they were started; guarded by jobs
+    private final Queue<Job> pending = new ArrayDeque<>();
+    private boolean draining;
+
+    private final Map<UUID, Job> jobs = new LinkedHashMap<>();
+    private final Map<Integer, Job> runningByGame = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GameDeletionService(GameRepository gameRepository,
+                               GameInstanceRepository gameInstanceRepository,
+                               EventRepository eventRepository,
+                               RegistrationRepository registrationRepository,
+                               BorrowRequestRepository borrowRequestRepository,
+                               LendingRecordRepository lendingRecordRepository,
+                               ReviewRepository reviewRepository,
+                               ReservationCalendarService reservationCalendar,
+                               SearchService searchService,
+                               SyncTombstoneRepository syncTombstoneRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier(SchedulingConfig.TASK_EXECUTOR) TaskExecutor taskExecutor,
+                               @Value("${game.deletion.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Game deletion chunk size must be at least 1");
+        }
+        this.gameRepository = gameRepository;
+        this.gameInstanceRepository = gameInstanceRepository;
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.borrowRequestRepository = borrowRequestRepository;
+        this.lendingRecordRepository = lendingRecordRepository;
+        this.reviewRepository = reviewRepository;
+        this.reservationCalendar = reservationCalendar;
+        this.searchService = searchService;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Deletes everything that depends on a game, with one statement per table, inside the
+     * caller's transaction. The game itself is left for the caller to delete.
+     *
+     * @param gameId The ID of the game
+     * @return Number of rows deleted per step, in the order of the steps
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<String, Integer> deleteDependents(int gameId) {
+        // Holds the game row until the transaction ends, so no dependent row can be added meanwhile
+        gameRepository.markDeleting(gameId);
+        Map<String, Integer> deleted = new LinkedHashMap<>();
+        deleted.put(REGISTRATIONS, registrationRepository.deleteByFeaturedGameId(gameId));
+
+        List<UUID> eventIds = eventRepository.findIdsByFeaturedGameId(gameId, Pageable.unpaged());
+        eventRepository.unlinkInstancesOfGame(gameId);
+        deleted.put(EVENTS, eventRepository.deleteByFeaturedGameId(gameId));
+        removeEventsFromSearch(eventIds);
+
+        // Clients syncing borrow requests and lending records learn about the deletions from tombstones
+        syncTombstoneRepository.saveAll(lendingRecordRepository.findTombstonesByGameId(gameId));
+        deleted.put(LENDING_RECORDS, lendingRecordRepository.deleteByGameId(gameId));
+        syncTombstoneRepository.saveAll(borrowRequestRepository.findTombstonesByGameId(gameId));
+        deleted.put(BORROW_REQUESTS, borrowRequestRepository.deleteByGameId(gameId));
+        deleted.put(REVIEWS, reviewRepository.deleteByGameId(gameId));
+
+        List<Integer> instanceIds = gameInstanceRepository.findIdsByGameId(gameId, Pageable.unpaged());
+        deleted.put(INSTANCES, gameInstanceRepository.deleteByGameId(gameId));
+        reservationCalendar.instancesRemoved(instanceIds);
+        return deleted;
+    }
+
+    /**
+     * Starts deleting a game in the background, chunk by chunk. If the game is already being
+     * deleted, returns the progress of that deletion instead.
+     * The game is marked as being deleted before this returns, so that no new rows reference it.
+     * Callers are responsible for checking that the game exists and may be deleted.
+     *
+     * @param gameId The ID of the game
+     * @param requestedBy Email of the account starting the deletion, the only one allowed to follow it
+     * @return The progress of the deletion
+     */
+    public GameDeletionProgressDto startDeletion(int gameId, String requestedBy) {
+        // Committed before the first chunk; waits for transactions adding rows for the game
+        transactionTemplate.executeWithoutResult(status -> gameRepository.markDeleting(gameId));
+        synchronized (jobs) {
+            Job running = runningByGame.get(gameId);
+            if (running != null) {
+                return running.toDto();
+            }
+            Job job = new Job(gameId, requestedBy);
+            jobs.put(job.id, job);
+            runningByGame.put(gameId, job);
+            forgetFinishedJobs();
+            pending.add(job);
+            if (!draining) {
+                // A deletion cut short by a shutdown leaves the game in place; starting it again finishes it
+                draining = true;
+                try {
+                    taskExecutor.execute(this::runPending);
+                } catch (TaskRejectedException e) {
+                    draining = false;
+                    pending.remove(job);
+                    runningByGame.remove(gameId, job);
+                    job.finish("Background deletions are not accepted right now");
+                    throw e;
+                }
+            }
+            return job.toDto();
+        }
+    }
+
+    /**
+     * Gets the progress of a background deletion.
+     *
+     * @param jobId The ID returned when the deletion was started
+     * @param requester Email of the account asking
+     * @return The progress of the deletion
+     * @throws ResourceNotFoundException if there is no such deletion
+     * @throws ForbiddenException if the deletion was started by another account
+     */
+    public GameDeletionProgressDto getProgress(UUID jobId, String requester) {
+        Job job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("No game deletion with ID " + jobId);
+        }
+        if (!job.requestedBy.equals(requester)) {
+            throw new ForbiddenException("Only the owner of the game can follow its deletion");
+        }
+        return job.toDto();
+    }
+
+    // Runs the started deletions one after the other, then gives the executor thread back
+    private void runPending() {
+        while (true) {
+            Job job;
+            synchronized (jobs) {
+                job = pending.poll();
+                if (job == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            run(job);
+        }
+    }
+
+    private void run(Job job) {
+        int gameId = job.gameId;
+        log.info("Deleting game {} in chunks of {}", gameId, chunkSize);
+        try {
+            deleteInChunks(job, REGISTRATIONS,
+                    chunk -> registrationRepository.findIdsByFeaturedGameId(gameId, chunk),
+                    registrationRepository::deleteAllByIdInBatch);
+            transactionTemplate.executeWithoutResult(status -> eventRepository.unlinkInstancesOfGame(gameId));
+            deleteInChunks(job, EVENTS,
+                    chunk -> eventRepository.findIdsByFeaturedGameId(gameId, chunk),
+                    ids -> {
+                        eventRepository.deleteAllByIdInBatch(ids);
+                        removeEventsFromSearch(ids);
+                    });
+            deleteInChunks(job, LENDING_RECORDS,
+                    chunk -> lendingRecordRepository.findIdsByGameId(gameId, chunk),
+                    ids -> {
+                        syncTombstoneRepository.saveAll(lendingRecordRepository.findTombstonesByIdIn(ids));
+                        lendingRecordRepository.deleteAllByIdInBatch(ids);
+                    });
+            deleteInChunks(job, BORROW_REQUESTS,
+                    chunk -> borrowRequestRepository.findIdsByGameId(gameId, chunk),
+                    ids -> {
+                        syncTombstoneRepository.saveAll(borrowRequestRepository.findTombstonesByIdIn(ids));
+                        borrowRequestRepository.deleteAllByIdInBatch(ids);
+                    });
+            deleteInChunks(job, REVIEWS,
+                    chunk -> reviewRepository.findIdsByGameId(gameId, chunk),
+                    reviewRepository::deleteAllByIdInBatch);
+            deleteInChunks(job, INSTANCES,
+                    chunk -> gameInstanceRepository.findIdsByGameId(gameId, chunk),
+                    ids -> {
+                        gameInstanceRepository.deleteAllByIdInBatch(ids);
+                        reservationCalendar.instancesRemoved(ids);
+                    });
+
+            job.step(GAME);
+            transactionTemplate.executeWithoutResult(status -> {
+                // Rows added while the chunks were deleted go together with the game
+                deleteDependents(gameId).forEach(job::add);
+                gameRepository.findById(gameId).ifPresent(game -> {
+                    gameRepository.delete(game);
+                    job.add(GAME, 1);
+                });
+            });
+            job.finish(null);
+            log.info("Deleted game {}: {}", gameId, job.deleted);
+        } catch (RuntimeException e) {
+            log.error("Deleting game {} failed during {}: {}", gameId, job.currentStep, e.getMessage(), e);
+            job.finish(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            runningByGame.remove(gameId, job);
+        }
+    }
+
+    // Deletes the rows of one step, a chunk per transaction, until none are left
+    private <K> void deleteInChunks(Job job, String step, Function<Pageable, List<K>> nextChunk,
+                                    Consumer<List<K>> delete) {
+        job.step(step);
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<K> ids = nextChunk.apply(chunk);
+                if (!ids.isEmpty()) {
+                    delete.accept(ids);
+                }
+                return ids.size();
+            });
+            job.add(step, deleted);
+        } while (deleted == chunkSize);
+    }
+
+    private void removeEventsFromSearch(List<UUID> eventIds) {
+        searchService.remove(EntityType.EVENT, eventIds.stream().map(UUID::toString).toList());
+    }
+
+    // Called holding the jobs lock
+    private void forgetFinishedJobs() {
+        long finished = jobs.values().stream().filter(job -> job.state != State.RUNNING).count();
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (finished > MAX_FINISHED_JOBS && iterator.hasNext()) {
+            if (iterator.next().state != State.RUNNING) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+
+    private enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * A background deletion. Updated by the deletion thread, read by progress queries.
+     */
+    private static final class Job {
+
+        final UUID id = UUID.randomUUID();
+        final int gameId;
+        final String requestedBy;
+        final Date startedAt = new Date();
+        final Map<String, Long> deleted = new ConcurrentHashMap<>();
+        volatile State state = State.RUNNING;
+        volatile String currentStep;
+        volatile String error;
+        volatile Date finishedAt;
+
+        Job(int gameId, String requestedBy) {
+            this.gameId = gameId;
+            this.requestedBy = requestedBy;
+        }
+
+        void step(String step) {
+            currentStep = step;
+        }
+
+        void add(String step, long count) {
+            deleted.merge(step, count, Long::sum);
+        }
+
+        void finish(String failure) {
+            error = failure;
+            finishedAt = new Date();
+            state = failure == null ? State.COMPLETED : State.FAILED;
+        }
+
+        GameDeletionProgressDto toDto() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (String step : List.of(REGISTRATIONS, EVENTS, LENDING_RECORDS, BORROW_REQUESTS, REVIEWS, INSTANCES, GAME)) {
+                counts.put(step, deleted.getOrDefault(step, 0L));
+            }
+            return new GameDeletionProgressDto(id.toString(), gameId, state.name(), currentStep, counts,
+                    error, startedAt, finishedAt);
+        }
+    }
+}
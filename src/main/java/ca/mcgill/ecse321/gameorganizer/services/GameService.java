@@ -1,15 +1,26 @@
 package ca.mcgill.ecse321.gameorganizer.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger; // Added Logger import
 import org.slf4j.LoggerFactory; // Added LoggerFactory import
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -17,9 +28,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Import PreAuthorize
 
+import ca.mcgill.ecse321.gameorganizer.config.CatalogCache;
 import ca.mcgill.ecse321.gameorganizer.dto.request.GameCreationDto;
 import ca.mcgill.ecse321.gameorganizer.dto.request.GameSearchCriteria;
 import ca.mcgill.ecse321.gameorganizer.dto.request.ReviewSubmissionDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.AvailabilityWindowDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameAvailabilityDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameDeletionProgressDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.GameInstanceResponseDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.ReviewResponseDto;
@@ -27,18 +42,16 @@ import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException; // Import
 import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
-import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest; // Import added
-import ca.mcgill.ecse321.gameorganizer.models.Event;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
-import ca.mcgill.ecse321.gameorganizer.models.LendingRecord; // Import added
 import ca.mcgill.ecse321.gameorganizer.models.Review;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository; // Import added
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameSpecifications;
 import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository; // Import added
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.ReviewRepository;
@@ -56,6 +69,9 @@ public class GameService {
 
     private static final Logger logger = LoggerFactory.getLogger(GameService.class); // Added logger
 
+    /** Page size used by searchGames when only a page number is requested */
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+
     private GameRepository gameRepository;
     private ReviewRepository reviewRepository;
     private AccountRepository accountRepository;
@@ -64,9 +80,13 @@ public class GameService {
     private GameInstanceRepository gameInstanceRepository;
     private BorrowRequestRepository borrowRequestRepository;
     private LendingRecordRepository lendingRecordRepository;
+    private ReservationCalendarService reservationCalendar;
+    private ReviewEligibilityService reviewEligibilityService;
+    private GameDeletionService gameDeletionService;
+    private CatalogCache catalogCache;
 
     @Autowired
-    public GameService(GameRepository gameRepository, ReviewRepository reviewRepository, AccountRepository accountRepository, RegistrationRepository registrationRepository, EventRepository eventRepository, GameInstanceRepository gameInstanceRepository, LendingRecordRepository lendingRecordRepository, BorrowRequestRepository borrowRequestRepository) {
+    public GameService(GameRepository gameRepository, ReviewRepository reviewRepository, AccountRepository accountRepository, RegistrationRepository registrationRepository, EventRepository eventRepository, GameInstanceRepository gameInstanceRepository, LendingRecordRepository lendingRecordRepository, BorrowRequestRepository borrowRequestRepository, ReservationCalendarService reservationCalendar, ReviewEligibilityService reviewEligibilityService, GameDeletionService gameDeletionService, CatalogCache catalogCache) {
 
         this.gameRepository = gameRepository;
         this.reviewRepository = reviewRepository;
@@ -76,6 +96,10 @@ public class GameService {
         this.gameInstanceRepository = gameInstanceRepository;
         this.lendingRecordRepository = lendingRecordRepository;
         this.borrowRequestRepository = borrowRequestRepository;
+        this.reservationCalendar = reservationCalendar;
+        this.reviewEligibilityService = reviewEligibilityService;
+        this.gameDeletionService = gameDeletionService;
+        this.catalogCache = catalogCache;
 
     }
 
@@ -121,23 +145,21 @@ public class GameService {
             Account reviewer = accountRepository.findByEmail(reviewerEmail)
                     .orElseThrow(() -> new UnauthedException("Authenticated reviewer account not found in database."));
 
-            // Verify that the user has borrowed this game before
-            List<LendingRecord> userLendingRecords = lendingRecordRepository.findByRequest_Requester(reviewer);
-            boolean hasBorrowedGame = userLendingRecords.stream()
-                .anyMatch(record -> record.getRequest() != null 
-                    && record.getRequest().getRequestedGame() != null 
-                    && record.getRequest().getRequestedGame().getId() == gameId
-                    && record.getStatus() == LendingRecord.LendingStatus.CLOSED);
-                    
-            if (!hasBorrowedGame) {
+            // Verify that the user has borrowed and returned this game before
+            if (!reviewEligibilityService.canReview(reviewer.getId(), gameId)) {
                 throw new ForbiddenException("You can only review games that you have borrowed and returned");
             }
 
+            // Keeps a deletion of the game from starting until this review is committed
+            gameRepository.lockAgainstDeletion(gameId);
+
             Review review = new Review(rating, comment, new Date());
             review.setReviewer(reviewer);
             review.setGameReviewed(reviewedGame);
 
             reviewRepository.save(review);
+            gameRepository.addRating(gameId, rating);
+            catalogCache.evictGame(gameId);
             return new ReviewResponseDto(review);
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -408,7 +430,9 @@ public class GameService {
     }
 
     /**
-     * Deletes a game and its associated events and registrations.
+     * Deletes a game and everything that depends on it: its events and their registrations,
+     * lending records and borrow requests, reviews and copies.
+     * Each kind of dependent row is removed with a single statement; see {@link GameDeletionService}.
      *
      * @param id The ID of the game to delete.
      * @return ResponseEntity indicating success or failure.
@@ -428,60 +452,10 @@ public class GameService {
 
             // Authorization handled by @PreAuthorize
 
-            // --- Cascade Delete Logic from origin/dev-Yessine-D3 ---
-            logger.info("Deleting game {}. Finding associated events...", id);
-            List<Event> events = eventRepository.findEventByFeaturedGameId(id);
-            logger.info("Found {} associated events for game {}.", events.size(), id);
-
-            // Step 2: For each event, delete all registrations
-            for (Event event : events) {
-                logger.info("Deleting registrations for event {}...", event.getId());
-                registrationRepository.deleteAllByEventRegisteredForId(event.getId()); // Delete all registrations associated with the event
-                logger.info("Deleted registrations for event {}.", event.getId());
-            }
-
-            // Step 3: Delete all associated events
-            if (!events.isEmpty()) {
-                logger.info("Deleting {} associated events for game {}...", events.size(), id);
-                eventRepository.deleteAll(events);
-                logger.info("Deleted associated events for game {}.", id);
-            }
-            // --- End Cascade Delete Logic ---
-
-            // Step 4: Delete associated LendingRecords and BorrowRequests
-            logger.info("Finding associated borrow requests for game {}...", id);
-            List<BorrowRequest> borrowRequestsToDelete = borrowRequestRepository.findByRequestedGame(gameToDelete);
-            if (!borrowRequestsToDelete.isEmpty()) {
-                logger.info("Found {} associated borrow requests. Checking for linked lending records...", borrowRequestsToDelete.size(), id);
-                // Delete associated LendingRecords first
-                for (BorrowRequest br : borrowRequestsToDelete) {
-                    Optional<LendingRecord> lendingRecordOpt = lendingRecordRepository.findByRequest(br);
-                    if (lendingRecordOpt.isPresent()) {
-                        logger.info("Deleting lending record {} linked to borrow request {}...", lendingRecordOpt.get().getId(), br.getId());
-                        lendingRecordRepository.delete(lendingRecordOpt.get());
-                        logger.info("Deleted lending record {}.", lendingRecordOpt.get().getId());
-                    }
-                }
-                // Now delete the BorrowRequests
-                logger.info("Deleting {} associated borrow requests for game {}...", borrowRequestsToDelete.size(), id);
-                borrowRequestRepository.deleteAll(borrowRequestsToDelete);
-                logger.info("Deleted associated borrow requests for game {}.", id);
-            } else {
-                logger.info("No associated borrow requests found for game {}.", id);
-            }
-
-            // Step 5: Delete associated GameInstances
-            logger.info("Finding associated game instances for game {}...", id);
-            List<GameInstance> instancesToDelete = gameInstanceRepository.findByGame(gameToDelete);
-            if (!instancesToDelete.isEmpty()) {
-                logger.info("Deleting {} associated game instances for game {}...", instancesToDelete.size(), id);
-                gameInstanceRepository.deleteAll(instancesToDelete);
-                logger.info("Deleted associated game instances for game {}.", id);
-            } else {
-                logger.info("No associated game instances found for game {}.", id);
-            }
+            // Dependent rows go first, one set-based statement per table
+            Map<String, Integer> deleted = gameDeletionService.deleteDependents(id);
+            logger.info("Deleted dependents of game {}: {}", id, deleted);
 
-            // Step 6: Delete the game itself
             logger.info("Deleting game {}...", id);
             gameRepository.delete(gameToDelete);
             logger.info("Successfully deleted game {}.", id);
@@ -500,6 +474,36 @@ public class GameService {
         }
     }
 
+    /**
+     * Starts deleting a game and everything that depends on it in the background, a chunk of
+     * rows per transaction. Meant for games with a long history, whose deletion in a single
+     * transaction would hold many locks for a long time.
+     *
+     * @param id The ID of the game to delete
+     * @return The progress of the deletion, to poll with {@link #getGameDeletionProgress}
+     * @throws ResourceNotFoundException If the game with the specified ID does not exist
+     */
+    @PreAuthorize("@gameService.hasAccessToGame(#id, authentication.principal.username)")
+    public GameDeletionProgressDto startGameDeletion(int id) {
+        if (!gameRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Game with ID " + id + " does not exist");
+        }
+        return gameDeletionService.startDeletion(id, SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    /**
+     * Retrieves the progress of a background game deletion started by the authenticated user.
+     *
+     * @param jobId The ID returned when the deletion was started
+     * @return The progress of the deletion
+     * @throws ResourceNotFoundException If there is no such deletion
+     * @throws ForbiddenException If the deletion was started by another user
+     */
+    @PreAuthorize("isAuthenticated()")
+    public GameDeletionProgressDto getGameDeletionProgress(UUID jobId) {
+        return gameDeletionService.getProgress(jobId, SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
     /**
      * Retrieves all games in the system.
      *
@@ -658,7 +662,8 @@ public class GameService {
                 ? instanceData.get("name").toString()
                 : null; // Optional name for this copy
             
-            // 4. Create the game instance
+            // 4. Create the game instance, keeping a deletion of the game from starting until it is committed
+            gameRepository.lockAgainstDeletion(gameId);
             GameInstance instance = new GameInstance(game, instanceOwner, condition, location, instanceName);
             instance = gameInstanceRepository.save(instance);
             
@@ -771,10 +776,15 @@ public class GameService {
             }
 
             // Update review details.
+            int previousRating = review.getRating();
             review.setRating(reviewDto.getRating());
             review.setComment(reviewDto.getComment());
             // (Add any other field updates as necessary)
             reviewRepository.save(review);
+            if (review.getGameReviewed() != null && previousRating != review.getRating()) {
+                gameRepository.changeRating(review.getGameReviewed().getId(), review.getRating() - previousRating);
+                catalogCache.evictGame(review.getGameReviewed().getId());
+            }
             return new ReviewResponseDto(review);
 
         } catch (IllegalArgumentException | ResourceNotFoundException | ForbiddenException | UnauthedException e) {
@@ -808,6 +818,10 @@ public class GameService {
             }
 
             reviewRepository.delete(review);
+            if (review.getGameReviewed() != null) {
+                gameRepository.removeRating(review.getGameReviewed().getId(), review.getRating());
+                catalogCache.evictGame(review.getGameReviewed().getId());
+            }
             return ResponseEntity.ok("Review deleted successfully");
 
         } catch (ResourceNotFoundException | ForbiddenException | UnauthedException e) {
@@ -820,84 +834,94 @@ public class GameService {
     }
 
     /**
-     * Advanced search for games based on multiple criteria
+     * Advanced search for games based on multiple criteria.
+     * Filters and sort order are translated into a single query; when the criteria
+     * carry a page or size, only that page is loaded.
+     *
+     * @param criteria the search criteria
+     * @return List of games matching the criteria
+     * @throws IllegalArgumentException if the owner filter refers to an unknown account
      */
     @Transactional
     public List<Game> searchGames(GameSearchCriteria criteria) {
-        List<Game> games = getAllGames();
+        Sort sort = buildSearchSort(criteria);
+        if (criteria.getPage() != null || criteria.getSize() != null) {
+            int page = criteria.getPage() != null ? criteria.getPage() : 0;
+            int size = criteria.getSize() != null ? criteria.getSize() : DEFAULT_SEARCH_PAGE_SIZE;
+            return searchGames(criteria, PageRequest.of(page, size, sort)).getContent();
+        }
+        return gameRepository.findAll(buildSearchSpecification(criteria), sort);
+    }
+
+    /**
+     * Paginated advanced search for games based on multiple criteria.
+     * Ordering comes from the given pageable.
+     *
+     * @param criteria the search criteria
+     * @param pageable pagination and sorting information
+     * @return Page of games matching the criteria
+     * @throws IllegalArgumentException if the owner filter refers to an unknown account
+     */
+    @Transactional
+    public Page<Game> searchGames(GameSearchCriteria criteria, Pageable pageable) {
+        return gameRepository.findAll(buildSearchSpecification(criteria), pageable);
+    }
+
+    /**
+     * Builds the combined specification for every filter present in the criteria.
+     */
+    private Specification<Game> buildSearchSpecification(GameSearchCriteria criteria) {
+        List<Specification<Game>> specs = new ArrayList<>();
 
-        // Apply filters based on criteria
         if (criteria.getName() != null && !criteria.getName().trim().isEmpty()) {
-            games = games.stream()
-                    .filter(game -> game.getName().toLowerCase().contains(criteria.getName().toLowerCase()))
-                    .collect(Collectors.toList());
+            specs.add(GameSpecifications.nameContainsIgnoreCase(criteria.getName()));
         }
-
         if (criteria.getMinPlayers() != null) {
-            games = games.stream()
-                    .filter(game -> game.getMinPlayers() >= criteria.getMinPlayers())
-                    .collect(Collectors.toList());
+            specs.add(GameSpecifications.minPlayersAtLeast(criteria.getMinPlayers()));
         }
-
         if (criteria.getMaxPlayers() != null) {
-            games = games.stream()
-                    .filter(game -> game.getMaxPlayers() <= criteria.getMaxPlayers())
-                    .collect(Collectors.toList());
+            specs.add(GameSpecifications.maxPlayersAtMost(criteria.getMaxPlayers()));
         }
-
         if (criteria.getCategory() != null && !criteria.getCategory().trim().isEmpty()) {
-            games = games.stream()
-                    .filter(game -> game.getCategory().equalsIgnoreCase(criteria.getCategory()))
-                    .collect(Collectors.toList());
+            specs.add(GameSpecifications.categoryEqualsIgnoreCase(criteria.getCategory()));
         }
-
         if (criteria.getMinRating() != null) {
-            games = games.stream()
-                    .filter(game -> getAverageRatingForGame(game.getId()) >= criteria.getMinRating())
-                    .collect(Collectors.toList());
+            specs.add(GameSpecifications.averageRatingAtLeast(criteria.getMinRating()));
         }
-
         if (criteria.getAvailable() != null) {
-            games = games.stream()
-                    .filter(game -> isGameAvailable(game.getId()) == criteria.getAvailable())
-                    .collect(Collectors.toList());
+            specs.add(GameSpecifications.availableAt(criteria.getAvailable(), new Date()));
         }
-
         if (criteria.getOwnerId() != null && !criteria.getOwnerId().trim().isEmpty()) {
             Account owner = accountRepository.findByEmail(criteria.getOwnerId())
                     .orElseThrow(() -> new IllegalArgumentException("Owner not found"));
             if (owner instanceof GameOwner) {
-                games = games.stream()
-                        .filter(game -> game.getOwner() != null && game.getOwner().getId() == owner.getId())
-                        .collect(Collectors.toList());
+                specs.add(GameSpecifications.ownedBy(owner.getId()));
             }
         }
+        return Specification.allOf(specs);
+    }
 
-        // Apply sorting if specified
-        if (criteria.getSort() != null && !criteria.getSort().trim().isEmpty()) {
-            boolean ascending = "asc".equalsIgnoreCase(criteria.getOrder());
-            games = games.stream()
-                    .sorted((g1, g2) -> {
-                int comparison = 0;
-                switch (criteria.getSort().toLowerCase()) {
-                    case "name":
-                        comparison = g1.getName().compareTo(g2.getName());
-                        break;
-                    case "rating":
-                        comparison = Double.compare(getAverageRatingForGame(g1.getId()), getAverageRatingForGame(g2.getId()));
-                        break;
-                    case "date":
-                        comparison = g1.getDateAdded().compareTo(g2.getDateAdded());
-                        break;
-                    default:
-                        return 0;
-                }
-                return ascending ? comparison : -comparison;
-                    })
-                    .collect(Collectors.toList());
+    /**
+     * Maps the sort field of the criteria onto a column sort.
+     * Unknown fields leave the results unsorted.
+     */
+    private Sort buildSearchSort(GameSearchCriteria criteria) {
+        if (criteria.getSort() == null || criteria.getSort().trim().isEmpty()) {
+            return Sort.unsorted();
+        }
+        Sort.Direction direction = "asc".equalsIgnoreCase(criteria.getOrder())
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+        switch (criteria.getSort().trim().toLowerCase()) {
+            case "name":
+                return Sort.by(direction, "name").and(Sort.by("id"));
+            case "rating":
+                return Sort.by(direction, "averageRating").and(Sort.by("id"));
+            case "date":
+                return Sort.by(direction, "dateAdded").and(Sort.by("id"));
+            default:
+                return Sort.unsorted();
         }
-
-        return games;
     }
 
     /**
@@ -1008,48 +1032,139 @@ public class GameService {
     }
 
     /**
-     * Get the average rating for a game
+     * Get the average rating for a game.
+     * Reads the rating aggregate maintained by submitReview, updateReview and deleteReview.
      */
     @Transactional
     public double getAverageRatingForGame(int gameId) {
-        Game game = getGameById(gameId);
-        List<Review> reviews = reviewRepository.findByGameReviewed(game);
-        if (reviews.isEmpty()) {
-            return 0.0;
+        return getGameById(gameId).getAverageRating();
+    }
+
+    /**
+     * Recomputes the stored rating aggregate of every game from its reviews.
+     * Used to repair aggregates after reviews were written outside this service.
+     *
+     * @return number of games whose aggregate was rebuilt
+     */
+    @Transactional
+    public int rebuildRatingAggregates() {
+        int updated = gameRepository.rebuildRatingAggregates();
+        logger.info("Rebuilt rating aggregates for {} games.", updated);
+        return updated;
+    }
+
+    /**
+     * Recomputes the stored rating aggregate of a single game from its reviews.
+     *
+     * @param gameId The ID of the game to rebuild
+     * @throws IllegalArgumentException if no game is found with the given ID
+     */
+    @Transactional
+    public void rebuildRatingAggregate(int gameId) {
+        if (gameRepository.rebuildRatingAggregate(gameId) == 0) {
+            throw new IllegalArgumentException("Game with ID " + gameId + " does not exist");
         }
-        return reviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
+        catalogCache.evictGame(gameId);
     }
 
     /**
-     * Check if a game is currently available
+     * Computes the current availability of several games with a single query.
+     *
+     * @param gameIds The IDs of the games to check
+     * @return Map from game ID to availability, containing every requested ID
      */
-    private boolean isGameAvailable(int gameId) {
-        Game game = getGameById(gameId);
-        Date currentDate = new Date();
-        return gameRepository.findAvailableGames(currentDate).contains(game);
+    @Transactional
+    public Map<Integer, GameAvailabilityDto> getGameAvailability(Collection<Integer> gameIds) {
+        Date now = new Date();
+        return getGameAvailability(gameIds, now, now);
+    }
+
+    /**
+     * Computes the availability of several games during a date range with a single query.
+     * Games without copies are reported with zero available instances.
+     *
+     * @param gameIds The IDs of the games to check
+     * @param startDate The start of the period
+     * @param endDate The end of the period
+     * @return Map from game ID to availability, containing every requested ID
+     * @throws IllegalArgumentException if the dates are missing or the range is inverted
+     */
+    @Transactional
+    public Map<Integer, GameAvailabilityDto> getGameAvailability(Collection<Integer> gameIds, Date startDate, Date endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start and end dates cannot be null");
+        }
+        if (endDate.before(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        Map<Integer, GameAvailabilityDto> availability = new HashMap<>();
+        if (gameIds == null || gameIds.isEmpty()) {
+            return availability;
+        }
+        Set<Integer> distinctIds = new HashSet<>(gameIds);
+        for (GameAvailabilityDto dto : gameInstanceRepository.findAvailabilityByGameIds(distinctIds, startDate, endDate)) {
+            availability.put(dto.getGameId(), dto);
+        }
+        for (Integer gameId : distinctIds) {
+            availability.computeIfAbsent(gameId, GameAvailabilityDto::none);
+        }
+        return availability;
+    }
+
+    /**
+     * Converts games to response DTOs, resolving the availability of all of them with one query.
+     *
+     * @param games The games to convert
+     * @return List of game response DTOs in the same order
+     */
+    @Transactional
+    public List<GameResponseDto> toGameResponseDtos(List<Game> games) {
+        Map<Integer, GameAvailabilityDto> availability = getGameAvailability(
+                games.stream().map(Game::getId).collect(Collectors.toList()));
+        return games.stream()
+                .map(game -> new GameResponseDto(game, availability.get(game.getId())))
+                .collect(Collectors.toList());
     }
 
     /**
-     * Check if a game is available for a specific date range
+     * Check if a game is available for a specific date range.
+     * A game is available when at least one of its copies is flagged available and has no
+     * approved borrow request overlapping the period, as recorded by the reservation calendar.
+     * This is an advisory answer; creating and approving a borrow request check the database again.
      * @param gameId The ID of the game to check
      * @param startDate The start date of the borrowing period
      * @param endDate The end date of the borrowing period
      * @return true if the game is available for the specified period, false otherwise
+     * @throws IllegalArgumentException if the end date is before the start date
      */
     @Transactional
     public boolean isGameAvailableForPeriod(int gameId, Date startDate, Date endDate) {
-        // Get the game
+        if (startDate == null || endDate == null || endDate.before(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date.");
+        }
         Game game = getGameById(gameId);
-        
-        // Find any approved requests that overlap with the requested period
-        List<BorrowRequest> overlappingRequests = borrowRequestRepository
-            .findOverlappingApprovedRequests(gameId, startDate, endDate);
-        
-        // No overlapping approved requests means the game is available for this period
-        return overlappingRequests.isEmpty();
+
+        return gameInstanceRepository.findByGame(game).stream()
+            .anyMatch(instance -> instance.isAvailable()
+                && reservationCalendar.isFree(instance.getId(), startDate, endDate));
+    }
+
+    /**
+     * Lists the periods in the next given number of days during which a game instance can be borrowed.
+     * An instance flagged unavailable by its owner has no free windows.
+     *
+     * @param instanceId The ID of the game instance
+     * @param days Number of days to look ahead, starting now
+     * @return Free windows in chronological order
+     * @throws ResourceNotFoundException if the instance doesn't exist
+     * @throws IllegalArgumentException if days is out of range
+     */
+    @Transactional
+    public List<AvailabilityWindowDto> getFreeWindows(int instanceId, int days) {
+        GameInstance instance = gameInstanceRepository.findById(instanceId)
+            .orElseThrow(() -> new ResourceNotFoundException("Game instance with ID " + instanceId + " not found"));
+        List<AvailabilityWindowDto> windows = reservationCalendar.findFreeWindows(instanceId, days);
+        return instance.isAvailable() ? windows : Collections.emptyList();
     }
 
     /**
@@ -1144,6 +1259,7 @@ public class GameService {
         
         // Delete the instance
         gameInstanceRepository.delete(instance);
+        reservationCalendar.instancesRemoved(List.of(instanceId));
         logger.info("Successfully deleted game instance {}.", instanceId);
     }
 
@@ -1,14 +1,22 @@
 package ca.mcgill.ecse321.gameorganizer.services;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -18,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.access.prepost.PreAuthorize; // Import PreAuthorize
 
 import ca.mcgill.ecse321.gameorganizer.dto.request.LendingHistoryFilterDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.LendingRecordResponseDto;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException; // Import ForbiddenException
 import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
@@ -28,10 +37,14 @@ import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
 import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
 import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+import ca.mcgill.ecse321.gameorganizer.models.SyncTombstone;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordSpecifications;
+import ca.mcgill.ecse321.gameorganizer.repositories.SyncTombstoneRepository;
 
 /**
  * Service class that handles business logic for lending record operations.
@@ -43,18 +56,35 @@ import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
 public class LendingRecordService {
     
     private static final Logger log = LoggerFactory.getLogger(LendingRecordService.class);
+
+    /** Largest page of lending records that can be requested at once */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** Properties lending records can be sorted by */
+    private static final Set<String> SORT_PROPERTIES = Set.of("id", "startDate", "endDate", "status", "lastModifiedDate");
+
+    /** Properties supported by keyset pagination; each is indexed together with the ID */
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "startDate", "endDate");
     @Autowired
     private LendingRecordRepository lendingRecordRepository;
     private final BorrowRequestRepository borrowRequestRepository;
     private final AccountRepository accountRepository; // Inject AccountRepository
+    private final GameRepository gameRepository;
     @Autowired
     private GameInstanceRepository gameInstanceRepository; // Add GameInstanceRepository
+    private final ReviewEligibilityService reviewEligibilityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SyncTombstoneRepository syncTombstoneRepository;
 
     @Autowired
-    public LendingRecordService(LendingRecordRepository lendingRecordRepository, BorrowRequestRepository borrowRequestRepository, AccountRepository accountRepository) {
+    public LendingRecordService(LendingRecordRepository lendingRecordRepository, BorrowRequestRepository borrowRequestRepository, AccountRepository accountRepository, GameRepository gameRepository, ReviewEligibilityService reviewEligibilityService, ApplicationEventPublisher eventPublisher, SyncTombstoneRepository syncTombstoneRepository) {
         this.lendingRecordRepository = lendingRecordRepository;
         this.borrowRequestRepository = borrowRequestRepository;
         this.accountRepository = accountRepository;
+        this.gameRepository = gameRepository;
+        this.reviewEligibilityService = reviewEligibilityService;
+        this.eventPublisher = eventPublisher;
+        this.syncTombstoneRepository = syncTombstoneRepository;
     }
 
     /**
@@ -67,6 +97,39 @@ public class LendingRecordService {
     private ResponseEntity<String> createErrorResponse(HttpStatus status, String message) {
         return ResponseEntity.status(status).body(message);
     }
+
+    /**
+     * Drops the cached review eligibility of a record's borrower after its status changed.
+     *
+     * @param record The lending record that changed
+     */
+    private void invalidateReviewEligibility(LendingRecord record) {
+        if (record.getRequest() != null && record.getRequest().getRequester() != null) {
+            reviewEligibilityService.invalidate(record.getRequest().getRequester().getId());
+        }
+    }
+
+    /**
+     * Notifies the borrower and the owner of a record that it changed, once the transaction commits.
+     *
+     * @param record The lending record that changed
+     * @param type Kind of change
+     */
+    private void notifyParticipants(LendingRecord record, NotificationService.Type type) {
+        BorrowRequest request = record.getRequest();
+        Game game = request != null ? request.getRequestedGame() : null;
+        List<Integer> recipientIds = new ArrayList<>(2);
+        if (request != null && request.getRequester() != null) {
+            recipientIds.add(request.getRequester().getId());
+        }
+        if (record.getRecordOwner() != null) {
+            recipientIds.add(record.getRecordOwner().getId());
+        }
+        eventPublisher.publishEvent(new NotificationService.Notification(recipientIds, type,
+                request != null ? request.getId() : null, record.getId(),
+                game != null ? game.getId() : null, game != null ? game.getName() : null,
+                record.getStatus() != null ? record.getStatus().name() : null));
+    }
     
     /**
      * Creates a new lending record for a game loan.
@@ -108,7 +171,8 @@ public class LendingRecordService {
                 throw new IllegalArgumentException("Start date cannot be in the past");
             }
 
-            // Create and save new lending record
+            // Create and save new lending record, keeping a deletion of the game from starting until it is committed
+            gameRepository.lockAgainstDeletion(request.getRequestedGame().getId());
             LendingRecord record = new LendingRecord(startDate, endDate, LendingStatus.ACTIVE, request, owner);
             lendingRecordRepository.save(record);
             
@@ -220,6 +284,135 @@ public class LendingRecordService {
         return lendingRecordRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of lending records, sorted and paged by the database.
+     *
+     * @param pageable The page and sort to fetch
+     * @return Page of lending records including the total count
+     * @throws IllegalArgumentException if the page size or a sort property is invalid
+     */
+    @Transactional
+    public Page<LendingRecord> getLendingRecords(Pageable pageable) {
+        validatePageable(pageable);
+        return lendingRecordRepository.findAll(withIdTieBreaker(pageable));
+    }
+
+    /**
+     * Retrieves one page of lending records without counting all records,
+     * which saves a full table count on large tables.
+     *
+     * @param pageable The page and sort to fetch
+     * @return Slice of lending records, indicating whether a next page exists
+     * @throws IllegalArgumentException if the page size or a sort property is invalid
+     */
+    @Transactional
+    public Slice<LendingRecord> getLendingRecordsSlice(Pageable pageable) {
+        validatePageable(pageable);
+        return lendingRecordRepository.findAllBy(withIdTieBreaker(pageable));
+    }
+
+    /**
+     * Retrieves the lending records that follow a cursor in a sorted listing (keyset pagination).
+     * Unlike offset paging, the cost does not grow with the page number.
+     * Only ID, startDate and endDate can be used as the sort property.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param size Maximum number of records to return
+     * @param sortProperty Property the listing is sorted by
+     * @param direction Sort direction
+     * @return Slice of lending records, indicating whether a next page exists
+     * @throws IllegalArgumentException if the cursor, size or sort property is invalid
+     */
+    @Transactional
+    public Slice<LendingRecord> getLendingRecordsAfter(String cursor, int size, String sortProperty, Sort.Direction direction) {
+        if (!KEYSET_SORT_PROPERTIES.contains(sortProperty)) {
+            throw new IllegalArgumentException("Keyset pagination supports sorting by " + KEYSET_SORT_PROPERTIES);
+        }
+        validatePageSize(size);
+        boolean ascending = direction.isAscending();
+        Sort sort = "id".equals(sortProperty)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortProperty).and(Sort.by(direction, "id"));
+
+        Specification<LendingRecord> spec = Specification.where(null);
+        if (cursor != null && !cursor.isEmpty()) {
+            long[] position = parseCursor(cursor);
+            int lastId = (int) position[1];
+            spec = "id".equals(sortProperty)
+                    ? LendingRecordSpecifications.afterId(lastId, ascending)
+                    : LendingRecordSpecifications.afterDate(sortProperty, new Date(position[0]), lastId, ascending);
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        List<LendingRecord> rows = lendingRecordRepository.findBy(spec, query -> query
+                .project(LendingRecordRepository.LISTING_FETCH_PATHS)
+                .sortBy(sort)
+                .limit(size + 1)
+                .all());
+        boolean hasNext = rows.size() > size;
+        List<LendingRecord> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    /**
+     * Builds the cursor that continues a keyset listing after the given record.
+     *
+     * @param last The last record of the current page
+     * @param sortProperty Property the listing is sorted by
+     * @return Opaque cursor to pass to {@link #getLendingRecordsAfter}
+     */
+    public String nextCursor(LendingRecord last, String sortProperty) {
+        long value;
+        if ("startDate".equals(sortProperty)) {
+            value = last.getStartDate().getTime();
+        } else if ("endDate".equals(sortProperty)) {
+            value = last.getEndDate().getTime();
+        } else {
+            value = last.getId();
+        }
+        return value + ":" + last.getId();
+    }
+
+    private long[] parseCursor(String cursor) {
+        String[] parts = cursor.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new long[] { Long.parseLong(parts[0]), Long.parseLong(parts[1]) };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private void validatePageable(Pageable pageable) {
+        validatePageSize(pageable.getPageSize());
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort lending records by " + order.getProperty());
+            }
+        }
+    }
+
+    /**
+     * Appends the ID to the sort unless it is already sorted by it, so that records sharing a
+     * date keep a stable order and do not move between pages.
+     */
+    private Pageable withIdTieBreaker(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor("id") != null) {
+            return pageable;
+        }
+        Sort.Direction direction = sort.stream().findFirst().map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.and(Sort.by(direction, "id")));
+    }
+
+    private void validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
     /**
      * Retrieves all lending records associated with a specific game owner.
      *
@@ -318,6 +511,125 @@ public class LendingRecordService {
         );
     }
 
+    /**
+     * Retrieves the lending records of a game owner as response DTOs, read with a single joined query.
+     *
+     * @param owner The GameOwner whose records to retrieve
+     * @param status Optional status to restrict the records to
+     * @return List of response DTOs for the owner's records
+     * @throws IllegalArgumentException if owner is null
+     */
+    @Transactional(readOnly = true)
+    public List<LendingRecordResponseDto> getLendingRecordDtosByOwner(GameOwner owner, LendingStatus status) {
+        if (owner == null) {
+            throw new IllegalArgumentException("Owner cannot be null");
+        }
+        return lendingRecordRepository.findResponseDtosByOwner(owner.getId(), status);
+    }
+
+    /**
+     * Retrieves the lending records of a game owner starting within a date range as response DTOs.
+     *
+     * @param owner The GameOwner whose records to retrieve
+     * @param startDate The start date of the range (inclusive)
+     * @param endDate The end date of the range (inclusive)
+     * @return List of response DTOs for the matching records
+     * @throws IllegalArgumentException if the owner or either date is null
+     */
+    @Transactional(readOnly = true)
+    public List<LendingRecordResponseDto> getLendingRecordDtosByOwnerAndDateRange(GameOwner owner, Date startDate, Date endDate) {
+        if (owner == null) {
+            throw new IllegalArgumentException("Owner cannot be null");
+        }
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Date range parameters cannot be null");
+        }
+        return lendingRecordRepository.findResponseDtosByOwnerAndStartDateBetween(owner.getId(), startDate, endDate);
+    }
+
+    /**
+     * Retrieves the lending records of a borrower as response DTOs, read with a single joined query.
+     *
+     * @param borrower The Account of the borrower
+     * @param status Optional status to restrict the records to
+     * @return List of response DTOs for the borrower's records
+     * @throws IllegalArgumentException if borrower is null
+     */
+    @Transactional(readOnly = true)
+    public List<LendingRecordResponseDto> getLendingRecordDtosByBorrower(Account borrower, LendingStatus status) {
+        if (borrower == null) {
+            throw new IllegalArgumentException("Borrower cannot be null");
+        }
+        return lendingRecordRepository.findResponseDtosByBorrower(borrower.getId(), status);
+    }
+
+    /**
+     * Retrieves the lending records of games a borrower still has, active or overdue, as response
+     * DTOs. Records of games the borrower reported returned are left out.
+     *
+     * @param borrower The borrower whose records to retrieve
+     * @return List of response DTOs for the borrower's open records
+     * @throws IllegalArgumentException if borrower is null
+     */
+    @Transactional(readOnly = true)
+    public List<LendingRecordResponseDto> getBorrowedLendingRecordDtos(Account borrower) {
+        if (borrower == null) {
+            throw new IllegalArgumentException("Borrower cannot be null");
+        }
+        return lendingRecordRepository.findBorrowedResponseDtosByBorrower(borrower.getId());
+    }
+
+    /**
+     * Finds overdue lending records as response DTOs, read with a single joined query.
+     *
+     * @param owner Optional GameOwner to restrict the records to
+     * @return List of response DTOs for the overdue records
+     */
+    @Transactional(readOnly = true)
+    public List<LendingRecordResponseDto> findOverdueRecordDtos(GameOwner owner) {
+        return lendingRecordRepository.findOverdueResponseDtos(new Date(), owner == null ? null : owner.getId());
+    }
+
+    /**
+     * Retrieves the lending records saved after a change version as response DTOs, for delta sync.
+     *
+     * @param since Change version the client synced up to, or null for all records
+     * @param accountId ID of the account whose records (as borrower or owner) to return, or null for all
+     * @return List of response DTOs for the changed records, ordered by ID
+     */
+    @Transactional(readOnly = true)
+    public List<LendingRecordResponseDto> getLendingRecordDtosChangedAfter(Long since, Integer accountId) {
+        return lendingRecordRepository.findResponseDtosChangedAfter(since, accountId);
+    }
+
+    /**
+     * Applies multiple filters to lending records and returns one page of response DTOs.
+     * The page is read with a single joined query.
+     *
+     * @param filterDto The DTO containing filter criteria
+     * @param pageable The pagination information
+     * @return Page of response DTOs for the filtered records
+     */
+    @Transactional(readOnly = true)
+    public Page<LendingRecordResponseDto> filterLendingRecordDtos(LendingHistoryFilterDto filterDto, Pageable pageable) {
+        LendingStatus status = null;
+        if (filterDto.getStatus() != null && !filterDto.getStatus().isEmpty()) {
+            try {
+                status = LendingStatus.valueOf(filterDto.getStatus().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Invalid status is ignored
+            }
+        }
+        return lendingRecordRepository.filterResponseDtos(
+            filterDto.getFromDate(),
+            filterDto.getToDate(),
+            status,
+            filterDto.getBorrowerId(),
+            filterDto.getGameId(),
+            pageable
+        );
+    }
+
     /**
      * Updates the status of a lending record with comprehensive validation of state transitions.
      * Prevents invalid transitions and automatically handles overdue detection.
@@ -367,6 +679,8 @@ public class LendingRecordService {
             record.setLastModifiedBy(currentUserId); // Use ID from authenticated user
             record.setStatusChangeReason("System automated change: Record is overdue");
             lendingRecordRepository.save(record);
+            invalidateReviewEligibility(record);
+            notifyParticipants(record, NotificationService.Type.LENDING_RECORD_UPDATED);
             return ResponseEntity.ok("Record is overdue - status automatically set to OVERDUE instead of ACTIVE");
         }
         
@@ -380,6 +694,8 @@ public class LendingRecordService {
         try {
             log.debug("Attempting final save for record ID: {}", record.getId());
             lendingRecordRepository.save(record);
+            invalidateReviewEligibility(record);
+            notifyParticipants(record, NotificationService.Type.LENDING_RECORD_UPDATED);
             log.info("Successfully saved updated record ID: {}", record.getId());
         } catch (Exception e) {
             log.error("Error saving record ID: {} during status update", record.getId(), e);
@@ -403,6 +719,51 @@ public class LendingRecordService {
         }
     }
     
+    /**
+     * Records that the borrower returned the game of a lending record. The record keeps its status,
+     * ACTIVE or OVERDUE, and is flagged as awaiting confirmation until the owner closes it; it is no
+     * longer reported as overdue meanwhile.
+     *
+     * @param id The ID of the record
+     * @param reason The reason recorded for the change
+     * @return ResponseEntity with the result of the operation
+     */
+    @Transactional
+    @PreAuthorize("@lendingRecordService.isOwnerOrBorrower(#id, authentication.principal.username)")
+    public ResponseEntity<String> markReturned(int id, String reason) {
+        try {
+            LendingRecord record = getLendingRecordById(id); // Throws ResourceNotFoundException if not found
+            if (record.getStatus() == LendingStatus.CLOSED) {
+                throw new IllegalStateException(
+                    String.format("Cannot mark the game of a closed lending record (ID: %d) as returned", id));
+            }
+            if (record.isAwaitingReturnConfirmation()) {
+                return ResponseEntity.ok("Game already marked as returned");
+            }
+
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            Account currentUser = accountRepository.findByEmail(authentication.getName())
+                    .orElseThrow(() -> new UnauthedException("Authenticated user not found in database."));
+
+            record.setAwaitingReturnConfirmation(true);
+            record.setLastModifiedDate(new Date());
+            record.setLastModifiedBy(currentUser.getId());
+            record.setStatusChangeReason(reason);
+            lendingRecordRepository.save(record);
+            notifyParticipants(record, NotificationService.Type.LENDING_RECORD_UPDATED);
+            return ResponseEntity.ok("Game marked as returned, awaiting owner confirmation");
+
+        } catch (ResourceNotFoundException e) {
+            return createErrorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            return createErrorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (org.springframework.security.access.AccessDeniedException e) {
+             throw new ForbiddenException("Access denied: Only the game owner or borrower can mark the game as returned.");
+        } catch (UnauthedException e) {
+             return createErrorResponse(HttpStatus.UNAUTHORIZED, e.getMessage());
+        }
+    }
+
     /**
      * Updates the status of a lending record without audit information.
      * This is a backward-compatible method for existing code.
@@ -481,6 +842,8 @@ public class LendingRecordService {
             record.recordClosing(currentUserId, reason != null ? reason : "Game returned in good condition");
             
             lendingRecordRepository.save(record);
+            invalidateReviewEligibility(record);
+            notifyParticipants(record, NotificationService.Type.LENDING_RECORD_UPDATED);
             
             // Mark the corresponding game instance as available again
             BorrowRequest request = record.getRequest();
@@ -582,6 +945,8 @@ public class LendingRecordService {
             record.recordClosing(currentUserId, reason != null ? reason : "Game returned with notes");
             
             lendingRecordRepository.save(record);
+            invalidateReviewEligibility(record);
+            notifyParticipants(record, NotificationService.Type.LENDING_RECORD_UPDATED);
             
             // Mark the corresponding game instance as available again
             BorrowRequest request = record.getRequest();
@@ -642,13 +1007,14 @@ public class LendingRecordService {
     }
     
     /**
-     * Finds overdue lending records.
+     * Finds overdue lending records: those marked OVERDUE and active ones past their end date
+     * that {@link OverdueLendingRecordJob} has not marked yet.
      *
      * @return list of overdue lending records
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<LendingRecord> findOverdueRecords() {
-        return lendingRecordRepository.findByEndDateBeforeAndStatus(new Date(), LendingStatus.ACTIVE);
+        return lendingRecordRepository.findOverdue(new Date());
     }
     
     /**
@@ -730,7 +1096,10 @@ public class LendingRecordService {
                 throw new IllegalStateException("Cannot delete an active lending record");
             }
 
+            syncTombstoneRepository.save(SyncTombstone.of(record));
             lendingRecordRepository.delete(record);
+            invalidateReviewEligibility(record);
+            notifyParticipants(record, NotificationService.Type.LENDING_RECORD_DELETED);
             return ResponseEntity.ok("Lending record deleted successfully");
         } catch (ResourceNotFoundException e) {
             return createErrorResponse(HttpStatus.NOT_FOUND, e.getMessage());
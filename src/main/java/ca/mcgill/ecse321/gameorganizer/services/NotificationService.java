@@ -0,0 +1,413 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.NotificationDto;
+import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes borrow request and lending record changes to the accounts involved, as server-sent events.
+ * Services publish a {@link Notification} in their transaction; once it commits, the notification
+ * gets the next cursor and is fanned out to every open stream of each recipient.
+ *
+ * Each stream is served by its own virtual thread, which waits on the stream's queue and sends a
+ * heartbeat comment when idle, so an idle connection costs no platform thread. The most recent
+ * notifications of each account are kept in memory; a client that reconnects with the cursor it
+ * last saw (the Last-Event-ID header) gets what it missed replayed. If some of that was dropped,
+ * or the server restarted in between, it gets a resync event and should reload instead.
+ *
+ * Notifications only reach streams open on the instance whose transaction published them, so
+ * with several instances clients must keep polling alongside the stream.
+ */
+@Service
+public class NotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+
+    /** SSE name of the event carrying a notification */
+    public static final String NOTIFICATION_EVENT = "notification";
+
+    /** SSE name of the event telling the client that notifications were missed */
+    public static final String RESYNC_EVENT = "resync";
+
+    // Room in each stream's queue beyond a full replay; a client this far behind is disconnected
+    private static final int QUEUE_SLACK = 64;
+
+    // Queued in place of a notification when the client must reload
+    private static final NotificationDto RESYNC = new NotificationDto();
+
+    /** Kinds of change an account is notified of */
+    public enum Type {
+        BORROW_REQUEST_CREATED,
+        BORROW_REQUEST_UPDATED,
+        LENDING_RECORD_UPDATED,
+        LENDING_RECORD_DELETED
+    }
+
+    /**
+     * Published by the services that change borrow requests and lending records; delivered
+     * after the transaction commits.
+     *
+     * @param recipientIds IDs of the accounts to notify
+     * @param type Kind of change
+     * @param borrowRequestId ID of the borrow request, if any
+     * @param lendingRecordId ID of the lending record, if any
+     * @param gameId ID of the game concerned, if known
+     * @param gameName Name of the game concerned, if known
+     * @param status Status of the request or record after the change
+     */
+    public record Notification(Collection<Integer> recipientIds, Type type, Integer borrowRequestId,
+                               Integer lendingRecordId, Integer gameId, String gameName, String status) {
+    }
+
+    private final AccountRepository accountRepository;
+
+    private final int replaySize;
+    private final int maxAccounts;
+    private final int maxStreamsPerAccount;
+    private final long streamTimeoutMillis;
+    private final long heartbeatMillis;
+
+    // A lock rather than a monitor, so that a stream's virtual thread waiting for it does not pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private final LinkedHashMap<Integer, Entry> entries;
+
+    // Guarded by lock. Cursors start from the clock so they keep growing across restarts
+    private long lastId = System.currentTimeMillis() * 1000;
+    // Notifications up to this cursor may be lost for accounts without an entry
+    private long forgottenUpTo = lastId;
+
+    @Autowired
+    public NotificationService(AccountRepository accountRepository,
+                               @Value("${notifications.replay-size:50}") int replaySize,
+                               @Value("${notifications.max-accounts:10000}") int maxAccounts,
+                               @Value("${notifications.max-streams-per-account:5}") int maxStreamsPerAccount,
+                               @Value("${notifications.stream-timeout-minutes:30}") long streamTimeoutMinutes,
+                               @Value("${notifications.heartbeat-seconds:25}") long heartbeatSeconds) {
+        if (replaySize < 0 || maxStreamsPerAccount < 1 || heartbeatSeconds < 1) {
+            throw new IllegalArgumentException("Invalid notification stream settings");
+        }
+        this.accountRepository = accountRepository;
+        this.replaySize = replaySize;
+        this.maxAccounts = maxAccounts;
+        this.maxStreamsPerAccount = maxStreamsPerAccount;
+        this.streamTimeoutMillis = streamTimeoutMinutes * 60 * 1000;
+        this.heartbeatMillis = heartbeatSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                // Accounts with open streams are kept, however many there are
+                if (size() <= NotificationService.this.maxAccounts || !eldest.getValue().streams.isEmpty()) {
+                    return false;
+                }
+                forgottenUpTo = Math.max(forgottenUpTo, eldest.getValue().newestId());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Delivers a notification to its recipients once the transaction that published it commits.
+     *
+     * @param notification The notification
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotification(Notification notification) {
+        Date now = new Date();
+        lock.lock();
+        try {
+            for (Integer recipientId : notification.recipientIds()) {
+                if (recipientId == null) {
+                    continue;
+                }
+                NotificationDto dto = new NotificationDto(++lastId, notification.type().name(),
+                        notification.borrowRequestId(), notification.lendingRecordId(), notification.gameId(),
+                        notification.gameName(), notification.status(), now);
+                Entry entry = entry(recipientId);
+                entry.recent.addLast(dto);
+                if (entry.recent.size() > replaySize) {
+                    entry.missingUpTo = entry.recent.removeFirst().getId();
+                }
+                for (Stream stream : new ArrayList<>(entry.streams)) {
+                    stream.offer(dto);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a notification stream for the current user.
+     *
+     * @param lastEventId Cursor of the last notification the client saw, or null for none
+     * @return The stream
+     * @throws UnauthedException if there is no authenticated user
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(currentAccountId(), lastEventId);
+    }
+
+    /**
+     * Opens a notification stream for an account. When the account already has the maximum number
+     * of streams open, its oldest one is closed.
+     *
+     * @param accountId ID of the account
+     * @param lastEventId Cursor of the last notification the client saw, or null for none
+     * @return The stream
+     */
+    public SseEmitter subscribe(int accountId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Stream stream = new Stream(accountId, emitter);
+        Stream oldest = null;
+        lock.lock();
+        try {
+            Entry entry = entry(accountId);
+            // Replayed under the same lock as delivery, so nothing is sent twice or skipped
+            if (lastEventId != null) {
+                if (lastEventId < entry.missingUpTo) {
+                    stream.offer(RESYNC);
+                }
+                for (NotificationDto dto : entry.recent) {
+                    if (dto.getId() > lastEventId) {
+                        stream.offer(dto);
+                    }
+                }
+            }
+            entry.streams.add(stream);
+            if (entry.streams.size() > maxStreamsPerAccount) {
+                oldest = entry.streams.get(0);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (oldest != null) {
+            oldest.close();
+        }
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(e -> stream.close());
+        stream.start();
+        return emitter;
+    }
+
+    /**
+     * Lists the notifications of the current user that are still kept, oldest first.
+     *
+     * @param since Only return notifications after this cursor, or null for all
+     * @return The notifications
+     * @throws UnauthedException if there is no authenticated user
+     */
+    public List<NotificationDto> getRecentNotifications(Long since) {
+        return getRecentNotifications(currentAccountId(), since);
+    }
+
+    /**
+     * Lists the notifications of an account that are still kept, oldest first.
+     *
+     * @param accountId ID of the account
+     * @param since Only return notifications after this cursor, or null for all
+     * @return The notifications
+     */
+    public List<NotificationDto> getRecentNotifications(int accountId, Long since) {
+        List<NotificationDto> recent = new ArrayList<>();
+        lock.lock();
+        try {
+            Entry entry = entries.get(accountId);
+            if (entry != null) {
+                for (NotificationDto dto : entry.recent) {
+                    if (since == null || dto.getId() > since) {
+                        recent.add(dto);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return recent;
+    }
+
+    /**
+     * Counts the streams open for an account.
+     *
+     * @param accountId ID of the account
+     * @return Number of open streams
+     */
+    public int getOpenStreamCount(int accountId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(accountId);
+            return entry == null ? 0 : entry.streams.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes every open stream, so that clients reconnect to another instance.
+     */
+    @PreDestroy
+    public void closeAll() {
+        List<Stream> open = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Entry entry : entries.values()) {
+                open.addAll(entry.streams);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Stream stream : open) {
+            stream.close();
+        }
+    }
+
+    private int currentAccountId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            throw new UnauthedException("User must be authenticated to receive notifications.");
+        }
+        return accountRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new UnauthedException("Authenticated user not found in database."))
+                .getId();
+    }
+
+    // Must hold lock
+    private Entry entry(int accountId) {
+        Entry entry = entries.get(accountId);
+        if (entry == null) {
+            entry = new Entry(forgottenUpTo);
+            entries.put(accountId, entry);
+        }
+        return entry;
+    }
+
+    // Guarded by lock
+    private static final class Entry {
+        private final ArrayDeque<NotificationDto> recent = new ArrayDeque<>();
+        private final List<Stream> streams = new ArrayList<>(1);
+        // Notifications up to this cursor may have been dropped
+        private long missingUpTo;
+
+        private Entry(long missingUpTo) {
+            this.missingUpTo = missingUpTo;
+        }
+
+        private long newestId() {
+            return recent.isEmpty() ? missingUpTo : recent.getLast().getId();
+        }
+    }
+
+    /**
+     * One open connection: a queue of notifications and the virtual thread that sends them.
+     */
+    private final class Stream implements Runnable {
+
+        private final int accountId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<NotificationDto> queue = new LinkedBlockingQueue<>(replaySize + 1 + QUEUE_SLACK);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final Thread thread;
+
+        private Stream(int accountId, SseEmitter emitter) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+            this.thread = Thread.ofVirtual().name("notification-stream-" + accountId).unstarted(this);
+        }
+
+        private void start() {
+            if (!closed.get()) {
+                thread.start();
+            }
+        }
+
+        private void offer(NotificationDto dto) {
+            if (!queue.offer(dto)) {
+                // The client stopped reading; it replays from its cursor when it reconnects
+                log.debug("Closing a notification stream of account {} that fell behind", accountId);
+                close();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                // Sends the response headers, so the client knows the stream is open
+                emitter.send(SseEmitter.event().comment("connected"));
+                while (!closed.get()) {
+                    NotificationDto next = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else if (next == RESYNC) {
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(next.getId()))
+                                .name(NOTIFICATION_EVENT)
+                                .data(next, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the stream timed out
+                log.debug("Notification stream of account {} ended: {}", accountId, e.getMessage());
+            } catch (InterruptedException e) {
+                // Closed while waiting
+            } finally {
+                close();
+            }
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            lock.lock();
+            try {
+                Entry entry = entries.get(accountId);
+                if (entry != null) {
+                    entry.streams.remove(this);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (Thread.currentThread() != thread) {
+                thread.interrupt();
+            }
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.LendingRecordResponseDto;
+import ca.mcgill.ecse321.gameorganizer.models.ChangeVersions;
+import ca.mcgill.ecse321.gameorganizer.models.JobLease;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+import ca.mcgill.ecse321.gameorganizer.repositories.JobLeaseRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+
+/**
+ * Marks active lending records whose end date has passed as OVERDUE. Records whose game the
+ * borrower already reported returned stay ACTIVE while they await the owner's confirmation.
+ * Runs on a fixed interval, one chunk of records per transaction, each chunk marked with a single
+ * set-based update. Running it again changes nothing that is already marked, and a database lease
+ * keeps it to one node at a time; the lease is renewed before every chunk, so a node that stops
+ * mid-run only delays the job until the lease expires.
+ */
+@Component
+public class OverdueLendingRecordJob implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueLendingRecordJob.class);
+
+    public static final String LEASE_NAME = "lending-record-overdue";
+    public static final String STATUS_CHANGE_REASON = "System automated change: Record is overdue";
+
+    private final LendingRecordRepository lendingRecordRepository;
+    private final JobLeaseRepository jobLeaseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration interval;
+    private final int chunkSize;
+    private final long leaseMillis;
+
+    // Identifies this node as the lease holder
+    private final String holder = UUID.randomUUID().toString();
+
+    /** Outcome of one chunk: expired records found, and how many of them were marked */
+    private record Chunk(int found, int marked) {
+    }
+
+    @Autowired
+    public OverdueLendingRecordJob(LendingRecordRepository lendingRecordRepository,
+                                   JobLeaseRepository jobLeaseRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${lending.overdue-job.enabled:true}") boolean enabled,
+                                   @Value("${lending.overdue-job.interval-minutes:15}") long intervalMinutes,
+                                   @Value("${lending.overdue-job.chunk-size:500}") int chunkSize,
+                                   @Value("${lending.overdue-job.lease-seconds:300}") long leaseSeconds) {
+        if (intervalMinutes < 1 || chunkSize < 1 || leaseSeconds < 1) {
+            throw new IllegalArgumentException("Overdue job interval, chunk size and lease must be positive");
+        }
+        this.lendingRecordRepository = lendingRecordRepository;
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = Duration.ofMinutes(intervalMinutes);
+        this.chunkSize = chunkSize;
+        this.leaseMillis = leaseSeconds * 1000;
+    }
+
+    /**
+     * Runs the job right away and then every interval on the shared scheduler, unless disabled.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (enabled) {
+            registrar.addFixedDelayTask(new FixedDelayTask(this::runSafely, interval, Duration.ZERO));
+        }
+    }
+
+    /**
+     * Marks every active lending record that ended before now and was not reported returned as
+     * OVERDUE, unless another node holds the lease.
+     *
+     * @return Number of records marked, or -1 if another node is running the job
+     */
+    public int runOnce() {
+        Date now = new Date();
+        if (!acquireLease()) {
+            log.debug("Overdue job skipped: another node holds the lease");
+            return -1;
+        }
+        int marked = 0;
+        try {
+            while (true) {
+                Chunk chunk = transactionTemplate.execute(status -> markChunk(now));
+                marked += chunk.marked();
+                if (chunk.found() < chunkSize) {
+                    break;
+                }
+                if (!acquireLease()) {
+                    log.warn("Overdue job lost its lease after marking {} records", marked);
+                    return marked;
+                }
+            }
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.release(LEASE_NAME, holder));
+        }
+        if (marked > 0) {
+            log.info("Marked {} lending records overdue", marked);
+        }
+        return marked;
+    }
+
+    private Chunk markChunk(Date now) {
+        List<Integer> ids = lendingRecordRepository.findIdsOfExpiredActive(now, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return new Chunk(0, 0);
+        }
+        int marked = lendingRecordRepository.markOverdue(ids, now, STATUS_CHANGE_REASON,
+                ChangeVersions.next(), LendingStatus.OVERDUE);
+        for (LendingRecordResponseDto record : lendingRecordRepository.findResponseDtosByIdIn(ids)) {
+            if (!LendingStatus.OVERDUE.name().equals(record.getStatus())) {
+                continue; // Changed by someone else before the update
+            }
+            List<Integer> recipientIds = new ArrayList<>(2);
+            recipientIds.add(record.getBorrower().getId());
+            recipientIds.add(record.getOwner().getId());
+            eventPublisher.publishEvent(new NotificationService.Notification(recipientIds,
+                    NotificationService.Type.LENDING_RECORD_UPDATED, null, record.getId(),
+                    record.getGame().getId(), record.getGame().getName(), record.getStatus()));
+        }
+        return new Chunk(ids.size(), marked);
+    }
+
+    // Takes or renews the lease; creates it the first time the job runs anywhere
+    private boolean acquireLease() {
+        Date now = new Date();
+        Date leaseUntil = new Date(now.getTime() + leaseMillis);
+        Integer acquired = transactionTemplate.execute(
+                status -> jobLeaseRepository.acquire(LEASE_NAME, holder, now, leaseUntil));
+        if (acquired != null && acquired == 1) {
+            return true;
+        }
+        if (jobLeaseRepository.existsById(LEASE_NAME)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> jobLeaseRepository.saveAndFlush(new JobLease(LEASE_NAME, holder, leaseUntil)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lease first
+            return false;
+        }
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the next run picks up where this one stopped
+            log.error("Overdue job failed: {}", e.getMessage(), e);
+        }
+    }
+}
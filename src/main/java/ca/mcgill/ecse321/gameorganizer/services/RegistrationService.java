@@ -3,11 +3,14 @@ package ca.mcgill.ecse321.gameorganizer.services;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -23,6 +26,7 @@ import ca.mcgill.ecse321.gameorganizer.models.Event;
 import ca.mcgill.ecse321.gameorganizer.models.Registration;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
 
 /**
@@ -38,12 +42,14 @@ public class RegistrationService {
     private final RegistrationRepository registrationRepository;
     private final AccountRepository accountRepository;
     private final EventRepository eventRepository; // Add EventRepository field
+    private final GameRepository gameRepository;
 
     @Autowired
-    public RegistrationService(RegistrationRepository registrationRepository, AccountRepository accountRepository, EventRepository eventRepository) { // Inject EventRepository
+    public RegistrationService(RegistrationRepository registrationRepository, AccountRepository accountRepository, EventRepository eventRepository, GameRepository gameRepository) { // Inject EventRepository
         this.registrationRepository = registrationRepository;
         this.accountRepository = accountRepository;
         this.eventRepository = eventRepository; // Assign injected repository
+        this.gameRepository = gameRepository;
     }
 
     /**
@@ -74,13 +80,29 @@ public class RegistrationService {
             if (registrationRepository.existsByAttendeeAndEventRegisteredFor(attendee, eventRegisteredFor)) {
                 throw new IllegalArgumentException("Registration already exists for this account and event.");
             }
-            if (eventRegisteredFor.getCurrentNumberParticipants() >= eventRegisteredFor.getMaxParticipants()) {
+            // Keeps a deletion of the featured game, which deletes its events, from starting until this is committed
+            if (eventRegisteredFor.getFeaturedGame() != null) {
+                gameRepository.lockAgainstDeletion(eventRegisteredFor.getFeaturedGame().getId());
+            }
+            // Take the seat atomically in the database; a count read in Java could oversell
+            if (eventRepository.reserveSeat(eventRegisteredFor.getId()) == 0) {
                 throw new IllegalArgumentException("Event is already at full capacity.");
             }
             registration.setAttendee(attendee); // Set attendee from context
-            eventRegisteredFor.setCurrentNumberParticipants(eventRegisteredFor.getCurrentNumberParticipants() + 1);
             registration.setEventRegisteredFor(eventRegisteredFor);
-            return registrationRepository.save(registration);
+            Registration saved;
+            try {
+                saved = registrationRepository.saveAndFlush(registration);
+            } catch (DataIntegrityViolationException e) {
+                if (!violates(e, Registration.ATTENDEE_EVENT_CONSTRAINT)) {
+                    throw e;
+                }
+                // A concurrent request by the same attendee registered first; the seat is rolled back
+                throw new IllegalArgumentException("Registration already exists for this account and event.");
+            }
+            // Reflect the seat in the returned copy; it is detached, so this is never written back
+            eventRegisteredFor.setCurrentNumberParticipants(eventRegisteredFor.getCurrentNumberParticipants() + 1);
+            return saved;
             
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -187,13 +209,12 @@ public class RegistrationService {
 
             // Authorization handled by @PreAuthorize
             
-            // Decrement participant count before deleting
+            // Give the seat back atomically before deleting
             Event event = registration.getEventRegisteredFor();
             if (event != null) {
-                int currentCount = event.getCurrentNumberParticipants();
-                if (currentCount > 0) { // Prevent going below zero
-                    event.setCurrentNumberParticipants(currentCount - 1);
-                    eventRepository.save(event); // Save the updated event
+                if (eventRepository.releaseSeat(event.getId()) == 1) {
+                    // Keep the loaded copy in step; it is detached, so this is never written back
+                    event.setCurrentNumberParticipants(Math.max(event.getCurrentNumberParticipants() - 1, 0));
                 } else {
                     // Log a warning if count is already zero
                     log.warn("Attempted to decrement participant count for event {} which was already zero.", event.getId());
@@ -238,4 +259,15 @@ public class RegistrationService {
             return false; // Deny on error
         }
     }
-}
\ No newline at end of file
+
+    // Databases report constraint names in their own case, some with a schema prefix or index suffix
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                return name != null && name.toLowerCase(Locale.ROOT).contains(constraint);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,418 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.AvailabilityWindowDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.ReservationDto;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
+
+/**
+ * In-memory reservation calendar answering availability questions for game instances.
+ * Keeps one interval index of approved borrow requests per game instance, warmed from the
+ * database once the application is ready and updated after each committed status change.
+ * Until warm-up completes, and for periods starting before the warm-up date, queries fall
+ * back to the database.
+ *
+ * A calendar only sees the changes committed through this node, so it only answers availability
+ * queries shown to users: writes that reserve an instance check the period against the database
+ * while holding the instance lock (see BorrowRequestService). The calendars are rebuilt from the
+ * database every refresh interval, which picks up changes made on other nodes or directly in the
+ * database and drops reservations that have ended.
+ * All date ranges are inclusive, matching the overlap rule used by the availability queries.
+ */
+@Service
+public class ReservationCalendarService implements SchedulingConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationCalendarService.class);
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /** Longest period, in days, that free windows can be listed for. */
+    public static final int MAX_WINDOW_DAYS = 365;
+
+    private final BorrowRequestRepository borrowRequestRepository;
+
+    private final long refreshMinutes;
+
+    private final Map<Integer, IntervalIndex> calendars = new ConcurrentHashMap<>();
+
+    // Earliest start date the in-memory calendars can answer for; Long.MAX_VALUE while cold
+    private volatile long coveredFrom = Long.MAX_VALUE;
+
+    // Changes applied while warming up, replayed over the loaded calendars
+    private List<Runnable> changesDuringWarmUp;
+
+    @Autowired
+    public ReservationCalendarService(BorrowRequestRepository borrowRequestRepository,
+                                      @Value("${reservations.calendar.refresh-minutes:5}") long refreshMinutes) {
+        if (refreshMinutes < 0) {
+            throw new IllegalArgumentException("Invalid reservation calendar refresh interval");
+        }
+        this.borrowRequestRepository = borrowRequestRepository;
+        this.refreshMinutes = refreshMinutes;
+    }
+
+    /**
+     * Loads every approved reservation that has not ended yet into memory.
+     * Runs once the application is ready, then every refresh interval, and can be called again
+     * to rebuild the calendars.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Date from = new Date();
+        synchronized (this) {
+            if (changesDuringWarmUp != null) {
+                return; // Another warm-up is loading the calendars
+            }
+            changesDuringWarmUp = new ArrayList<>();
+        }
+        try {
+            List<ReservationDto> reservations;
+            try {
+                reservations = borrowRequestRepository.findApprovedReservationsEndingFrom(from);
+            } catch (RuntimeException e) {
+                logger.error("Failed to warm reservation calendar, falling back to database: {}", e.getMessage(), e);
+                return;
+            }
+
+            Map<Integer, List<ReservationDto>> byInstance = new HashMap<>();
+            for (ReservationDto reservation : reservations) {
+                byInstance.computeIfAbsent(reservation.getGameInstanceId(), k -> new ArrayList<>()).add(reservation);
+            }
+            synchronized (this) {
+                calendars.clear();
+                byInstance.forEach((instanceId, list) -> calendars.put(instanceId, IntervalIndex.of(list)));
+                changesDuringWarmUp.forEach(Runnable::run);
+                coveredFrom = from.getTime();
+            }
+            logger.debug("Reservation calendar warmed with {} reservations across {} game instances.",
+                    reservations.size(), byInstance.size());
+        } finally {
+            // Whatever happened, the next warm-up must not think this one is still loading
+            synchronized (this) {
+                changesDuringWarmUp = null;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the calendars every refresh interval on the shared scheduler.
+     * A refresh interval of 0 turns this off.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (refreshMinutes > 0) {
+            Duration interval = Duration.ofMinutes(refreshMinutes);
+            registrar.addFixedDelayTask(new FixedDelayTask(this::refreshSafely, interval, interval));
+        }
+    }
+
+    // A failed refresh must not cancel the following ones
+    private void refreshSafely() {
+        try {
+            warmUp();
+        } catch (RuntimeException e) {
+            logger.error("Scheduled reservation calendar refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks whether a game instance has no approved borrow request overlapping a period.
+     *
+     * @param gameInstanceId The ID of the game instance
+     * @param startDate Start of the period (inclusive)
+     * @param endDate End of the period (inclusive)
+     * @return true if the instance is free for the whole period
+     */
+    public boolean isFree(int gameInstanceId, Date startDate, Date endDate) {
+        return isFree(gameInstanceId, startDate, endDate, -1);
+    }
+
+    /**
+     * Checks whether a game instance has no approved borrow request overlapping a period,
+     * ignoring one borrow request.
+     *
+     * @param gameInstanceId The ID of the game instance
+     * @param startDate Start of the period (inclusive)
+     * @param endDate End of the period (inclusive)
+     * @param excludeRequestId ID of a borrow request to ignore, or -1 to consider all of them
+     * @return true if the instance is free for the whole period
+     */
+    public boolean isFree(int gameInstanceId, Date startDate, Date endDate, int excludeRequestId) {
+        if (startDate == null || endDate == null || endDate.before(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date.");
+        }
+        return !calendarFor(gameInstanceId, startDate.getTime())
+                .overlaps(startDate.getTime(), endDate.getTime(), excludeRequestId);
+    }
+
+    /**
+     * Lists the periods in the next given number of days during which a game instance
+     * has no approved borrow request.
+     *
+     * @param gameInstanceId The ID of the game instance
+     * @param days Number of days to look ahead, starting now
+     * @return Free windows in chronological order
+     * @throws IllegalArgumentException if days is not between 1 and {@link #MAX_WINDOW_DAYS}
+     */
+    public List<AvailabilityWindowDto> findFreeWindows(int gameInstanceId, int days) {
+        if (days < 1 || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Days must be between 1 and " + MAX_WINDOW_DAYS + ".");
+        }
+        long from = System.currentTimeMillis();
+        long to = from + days * DAY_MILLIS;
+        return calendarFor(gameInstanceId, from).freeWindows(from, to);
+    }
+
+    /**
+     * Records that a borrow request was approved. Applied once the current transaction commits.
+     *
+     * @param request The approved borrow request
+     */
+    public void reservationApproved(BorrowRequest request) {
+        if (request.getGameInstance() == null || request.getStartDate() == null || request.getEndDate() == null) {
+            return;
+        }
+        ReservationDto reservation = new ReservationDto(request.getId(), request.getGameInstance().getId(),
+                request.getStartDate(), request.getEndDate());
+        afterCommit(() -> calendars.compute(reservation.getGameInstanceId(),
+                (id, index) -> (index == null ? IntervalIndex.EMPTY : index)
+                        .endingFrom(System.currentTimeMillis())
+                        .with(reservation)));
+    }
+
+    /**
+     * Records that an approved borrow request was declined or deleted.
+     * Applied once the current transaction commits.
+     *
+     * @param request The borrow request that no longer reserves its instance
+     */
+    public void reservationReleased(BorrowRequest request) {
+        if (request.getGameInstance() == null) {
+            return;
+        }
+        int instanceId = request.getGameInstance().getId();
+        int requestId = request.getId();
+        afterCommit(() -> calendars.computeIfPresent(instanceId, (id, index) -> index.without(requestId)));
+    }
+
+    /**
+     * Forgets the calendars of deleted game instances. Applied once the current transaction commits.
+     *
+     * @param gameInstanceIds IDs of the deleted game instances
+     */
+    public void instancesRemoved(Collection<Integer> gameInstanceIds) {
+        List<Integer> ids = new ArrayList<>(gameInstanceIds);
+        afterCommit(() -> ids.forEach(calendars::remove));
+    }
+
+    private IntervalIndex calendarFor(int gameInstanceId, long startMillis) {
+        if (startMillis >= coveredFrom) {
+            return calendars.getOrDefault(gameInstanceId, IntervalIndex.EMPTY);
+        }
+        // Cold start, or a period the warm calendar does not cover
+        return IntervalIndex.of(borrowRequestRepository
+                .findApprovedReservationsForInstanceEndingFrom(gameInstanceId, new Date(startMillis)));
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable apply = () -> {
+            synchronized (this) {
+                change.run();
+                if (changesDuringWarmUp != null) {
+                    changesDuringWarmUp.add(change);
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Immutable interval index over the reservations of one game instance.
+     * Intervals are sorted by start date and carry a running maximum of end dates, so an
+     * overlap check is a binary search followed by a scan that stops as soon as no earlier
+     * interval can reach the queried period. Updates copy the arrays, which keeps reads
+     * lock-free; reservations per instance are few and change far less often than they are read.
+     */
+    static final class IntervalIndex {
+
+        static final IntervalIndex EMPTY = new IntervalIndex(new int[0], new long[0], new long[0]);
+
+        private final int[] requestIds;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+
+        private IntervalIndex(int[] requestIds, long[] starts, long[] ends) {
+            this.requestIds = requestIds;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+
+        static IntervalIndex of(Collection<ReservationDto> reservations) {
+            if (reservations.isEmpty()) {
+                return EMPTY;
+            }
+            ReservationDto[] sorted = reservations.toArray(new ReservationDto[0]);
+            Arrays.sort(sorted, (a, b) -> a.getStartDate().compareTo(b.getStartDate()));
+            int[] ids = new int[sorted.length];
+            long[] starts = new long[sorted.length];
+            long[] ends = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ids[i] = sorted[i].getBorrowRequestId();
+                starts[i] = sorted[i].getStartDate().getTime();
+                ends[i] = sorted[i].getEndDate().getTime();
+            }
+            return new IntervalIndex(ids, starts, ends);
+        }
+
+        boolean overlaps(long from, long to, int excludeRequestId) {
+            for (int i = lastStartingAtOrBefore(to); i >= 0 && maxEnds[i] >= from; i--) {
+                if (ends[i] >= from && requestIds[i] != excludeRequestId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<AvailabilityWindowDto> freeWindows(long from, long to) {
+            List<AvailabilityWindowDto> windows = new ArrayList<>();
+            long cursor = from;
+            int last = lastStartingAtOrBefore(to);
+            for (int i = 0; i <= last && cursor <= to; i++) {
+                if (ends[i] < cursor) {
+                    continue;
+                }
+                if (starts[i] > cursor) {
+                    windows.add(new AvailabilityWindowDto(new Date(cursor), new Date(starts[i] - 1)));
+                }
+                cursor = ends[i] == Long.MAX_VALUE ? Long.MAX_VALUE : ends[i] + 1;
+            }
+            if (cursor <= to) {
+                windows.add(new AvailabilityWindowDto(new Date(cursor), new Date(to)));
+            }
+            return windows;
+        }
+
+        IntervalIndex with(ReservationDto reservation) {
+            IntervalIndex base = without(reservation.getBorrowRequestId());
+            long start = reservation.getStartDate().getTime();
+            int at = base.lastStartingAtOrBefore(start) + 1;
+            int n = base.starts.length;
+            int[] ids = new int[n + 1];
+            long[] newStarts = new long[n + 1];
+            long[] newEnds = new long[n + 1];
+            System.arraycopy(base.requestIds, 0, ids, 0, at);
+            System.arraycopy(base.starts, 0, newStarts, 0, at);
+            System.arraycopy(base.ends, 0, newEnds, 0, at);
+            ids[at] = reservation.getBorrowRequestId();
+            newStarts[at] = start;
+            newEnds[at] = reservation.getEndDate().getTime();
+            System.arraycopy(base.requestIds, at, ids, at + 1, n - at);
+            System.arraycopy(base.starts, at, newStarts, at + 1, n - at);
+            System.arraycopy(base.ends, at, newEnds, at + 1, n - at);
+            return new IntervalIndex(ids, newStarts, newEnds);
+        }
+
+        // Drops the intervals that ended before the given time
+        IntervalIndex endingFrom(long time) {
+            int kept = 0;
+            for (long end : ends) {
+                if (end >= time) {
+                    kept++;
+                }
+            }
+            if (kept == ends.length) {
+                return this;
+            }
+            int[] ids = new int[kept];
+            long[] newStarts = new long[kept];
+            long[] newEnds = new long[kept];
+            for (int i = 0, j = 0; i < ends.length; i++) {
+                if (ends[i] >= time) {
+                    ids[j] = requestIds[i];
+                    newStarts[j] = starts[i];
+                    newEnds[j] = ends[i];
+                    j++;
+                }
+            }
+            return kept == 0 ? EMPTY : new IntervalIndex(ids, newStarts, newEnds);
+        }
+
+        IntervalIndex without(int requestId) {
+            int at = -1;
+            for (int i = 0; i < requestIds.length; i++) {
+                if (requestIds[i] == requestId) {
+                    at = i;
+                    break;
+                }
+            }
+            if (at < 0) {
+                return this;
+            }
+            int n = requestIds.length - 1;
+            int[] ids = new int[n];
+            long[] newStarts = new long[n];
+            long[] newEnds = new long[n];
+            System.arraycopy(requestIds, 0, ids, 0, at);
+            System.arraycopy(starts, 0, newStarts, 0, at);
+            System.arraycopy(ends, 0, newEnds, 0, at);
+            System.arraycopy(requestIds, at + 1, ids, at, n - at);
+            System.arraycopy(starts, at + 1, newStarts, at, n - at);
+            System.arraycopy(ends, at + 1, newEnds, at, n - at);
+            return n == 0 ? EMPTY : new IntervalIndex(ids, newStarts, newEnds);
+        }
+
+        // Index of the last interval starting at or before the given time, or -1
+        private int lastStartingAtOrBefore(long time) {
+            int low = 0;
+            int high = starts.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= time) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+    }
+}
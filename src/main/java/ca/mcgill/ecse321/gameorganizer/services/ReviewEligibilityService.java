@@ -0,0 +1,111 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+
+/**
+ * Decides whether an account may review a game: only borrowers who returned the game,
+ * i.e. who have a closed lending record for it, can review it.
+ * Answers are cached per account and game for a short time, since a game page asks on every
+ * view, in a bounded Caffeine cache. Services that change the status of a lending record must
+ * call {@link #invalidate(int)} for its borrower.
+ */
+@Service
+public class ReviewEligibilityService {
+
+    private final LendingRecordRepository lendingRecordRepository;
+
+    // Null when the cache is turned off
+    private final Cache<Key, Boolean> answers;
+
+    // Bumped on every invalidation; a lookup that raced with one is not kept
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record Key(int accountId, int gameId) {
+    }
+
+    @Autowired
+    public ReviewEligibilityService(LendingRecordRepository lendingRecordRepository,
+                                    @Value("${review.eligibility-cache.max-entries:100000}") long maxEntries,
+                                    @Value("${review.eligibility-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.lendingRecordRepository = lendingRecordRepository;
+        this.answers = maxEntries > 0 && ttlSeconds > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxEntries)
+                        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                        .build()
+                : null;
+    }
+
+    /**
+     * Checks whether an account has borrowed and returned a game.
+     *
+     * @param accountId The ID of the account
+     * @param gameId The ID of the game
+     * @return true if the account has a closed lending record for the game
+     */
+    @Transactional(readOnly = true)
+    public boolean canReview(int accountId, int gameId) {
+        if (answers == null) {
+            return hasReturnedGame(accountId, gameId);
+        }
+        Key key = new Key(accountId, gameId);
+        Boolean cached = answers.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long invalidationsBeforeLoad = invalidations.get();
+        boolean eligible = hasReturnedGame(accountId, gameId);
+        answers.put(key, eligible);
+        if (invalidations.get() != invalidationsBeforeLoad) {
+            // The answer may predate the invalidation
+            answers.invalidate(key);
+        }
+        return eligible;
+    }
+
+    /**
+     * Drops the cached answers for an account. When called inside a transaction the answers are
+     * dropped again after commit, so a lookup made before the commit is not kept.
+     *
+     * @param accountId The ID of the account whose lending records changed
+     */
+    public void invalidate(int accountId) {
+        if (answers == null) {
+            return;
+        }
+        evict(accountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(accountId);
+                }
+            });
+        }
+    }
+
+    private boolean hasReturnedGame(int accountId, int gameId) {
+        return lendingRecordRepository.existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(
+                accountId, gameId, LendingStatus.CLOSED);
+    }
+
+    // Scans the cache; lending record status changes are rare next to lookups
+    private void evict(int accountId) {
+        invalidations.incrementAndGet();
+        answers.asMap().keySet().removeIf(key -> key.accountId() == accountId);
+    }
+}
@@ -0,0 +1,157 @@
+package ca.mcgill.ecse321.gameorganizer.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ca.mcgill.ecse321.gameorganizer.dto.request.BorrowRequestDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.LendingRecordResponseDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.SyncResponseDto;
+import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
+import ca.mcgill.ecse321.gameorganizer.models.ChangeVersions;
+import ca.mcgill.ecse321.gameorganizer.models.SyncTombstone;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.SyncTombstoneRepository;
+
+/**
+ * Delta sync of the borrow requests and lending records a user takes part in.
+ * Both are stamped with a change version whenever they are saved, and deleting one leaves a
+ * tombstone, so a client that synced up to a cursor only queries and transfers what changed since.
+ *
+ * Versions are stamped when a transaction flushes but only become visible when it commits, so the
+ * returned cursor trails the clock by a settle window: rows stamped within it are sent again on
+ * the next sync rather than missed. Tombstones are purged after a retention period; a cursor older
+ * than that gets a full sync.
+ *
+ * Versions come from the clock of the application instance that saved the row
+ * ({@link ChangeVersions}), not from the database. This is safe on a single instance. With several,
+ * their clocks must stay within the settle window of each other: a row stamped by an instance whose
+ * clock lags by more than that can fall behind a cursor already handed out, and is then never synced.
+ */
+@Service
+public class SyncService implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(60);
+
+    private final BorrowRequestService borrowRequestService;
+    private final LendingRecordService lendingRecordService;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final AccountRepository accountRepository;
+
+    private final long settleMillis;
+    private final long retentionMillis;
+
+    @Autowired
+    public SyncService(BorrowRequestService borrowRequestService,
+                       LendingRecordService lendingRecordService,
+                       SyncTombstoneRepository syncTombstoneRepository,
+                       AccountRepository accountRepository,
+                       // Must also cover the clock skew between instances, see the class comment
+                       @Value("${sync.settle-seconds:5}") long settleSeconds,
+                       @Value("${sync.tombstone-retention-days:30}") long retentionDays) {
+        if (settleSeconds < 0 || retentionDays < 1) {
+            throw new IllegalArgumentException("Invalid sync settle window or tombstone retention");
+        }
+        this.borrowRequestService = borrowRequestService;
+        this.lendingRecordService = lendingRecordService;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.accountRepository = accountRepository;
+        this.settleMillis = settleSeconds * 1000;
+        this.retentionMillis = retentionDays * 24 * 60 * 60 * 1000;
+    }
+
+    /**
+     * Returns the borrow requests and lending records of the current user that changed since a
+     * cursor. Administrators sync every request and record.
+     *
+     * @param since Cursor returned by the previous sync, or null for a full sync
+     * @return The changes, or everything when the cursor is missing or too old
+     * @throws UnauthedException if there is no authenticated user
+     */
+    @Transactional(readOnly = true)
+    public SyncResponseDto getChanges(Long since) {
+        Integer accountId = currentAccountIdOrAll();
+        long now = System.currentTimeMillis();
+        long settled = ChangeVersions.at(now - settleMillis);
+        boolean reset = since == null || since < ChangeVersions.at(now - retentionMillis);
+        Long from = reset ? null : since;
+
+        List<BorrowRequestDto> borrowRequests = borrowRequestService.getBorrowRequestsChangedAfter(from, accountId);
+        List<LendingRecordResponseDto> lendingRecords =
+                lendingRecordService.getLendingRecordDtosChangedAfter(from, accountId);
+        List<Integer> deletedBorrowRequestIds = new ArrayList<>();
+        List<Integer> deletedLendingRecordIds = new ArrayList<>();
+        if (!reset) {
+            for (SyncTombstone tombstone : syncTombstoneRepository.findChangedAfter(since, accountId)) {
+                if (tombstone.getEntityType() == SyncTombstone.EntityType.BORROW_REQUEST) {
+                    deletedBorrowRequestIds.add(tombstone.getEntityId());
+                } else {
+                    deletedLendingRecordIds.add(tombstone.getEntityId());
+                }
+            }
+        }
+        long cursor = reset ? settled : Math.max(since, settled);
+        return new SyncResponseDto(cursor, reset, borrowRequests, lendingRecords,
+                deletedBorrowRequestIds, deletedLendingRecordIds);
+    }
+
+    /**
+     * Purges expired tombstones every hour on the shared scheduler.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::purgeSafely, PURGE_INTERVAL, PURGE_INTERVAL));
+    }
+
+    /**
+     * Deletes the tombstones older than the retention period.
+     *
+     * @return Number of tombstones deleted
+     */
+    public int purgeExpiredTombstones() {
+        return syncTombstoneRepository.deleteOlderThan(
+                ChangeVersions.at(System.currentTimeMillis() - retentionMillis));
+    }
+
+    private void purgeSafely() {
+        try {
+            int purged = purgeExpiredTombstones();
+            if (purged > 0) {
+                log.info("Purged {} expired sync tombstones", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Purging sync tombstones failed: {}", e.getMessage());
+        }
+    }
+
+    // Null for administrators, who see every request and record
+    private Integer currentAccountIdOrAll() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            throw new UnauthedException("Authentication required to sync borrow requests and lending records.");
+        }
+        boolean isAdmin = auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (isAdmin) {
+            return null;
+        }
+        return accountRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new UnauthedException("Invalid user credentials."))
+                .getId();
+    }
+}
@@ -1,6 +1,7 @@
 package ca.mcgill.ecse321.gameorganizer.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -9,7 +10,6 @@ import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -21,6 +21,12 @@ import java.util.stream.Collectors;
 @Service
 public class UserSearchService {
 
+    /** Number of users returned by a search when no page size is given */
+    public static final int DEFAULT_SEARCH_RESULTS = 50;
+
+    /** Largest page of users a search can return */
+    public static final int MAX_SEARCH_RESULTS = 100;
+
     private final AccountRepository accountRepository;
 
     @Autowired
@@ -74,6 +80,7 @@ public class UserSearchService {
 
     /**
      * Search for users by either name or email containing the provided string.
+     * Returns the first {@value #DEFAULT_SEARCH_RESULTS} matches, sorted by name.
      *
      * @param searchTerm The term to search for in both name and email fields
      * @param gameOwnerOnly Whether to only return game owners
@@ -81,27 +88,34 @@ public class UserSearchService {
      */
     @Transactional(readOnly = true)
     public List<UserSummaryDto> searchUsers(String searchTerm, boolean gameOwnerOnly) {
-        List<Account> nameMatches = accountRepository.findByNameContainingIgnoreCase(searchTerm);
-        List<Account> emailMatches = accountRepository.findByEmailContainingIgnoreCase(searchTerm);
-        
-        // Combine results, ensuring no duplicates
-        List<Account> combinedResults = new ArrayList<>(nameMatches);
-        for (Account account : emailMatches) {
-            if (!combinedResults.contains(account)) {
-                combinedResults.add(account);
-            }
+        return searchUsers(searchTerm, gameOwnerOnly, 0, DEFAULT_SEARCH_RESULTS);
+    }
+
+    /**
+     * Search for users by either name or email containing the provided string, one page at a time.
+     * The match on either field, the deduplication and the game owner restriction are all done
+     * by a single query.
+     *
+     * @param searchTerm The term to search for in both name and email fields
+     * @param gameOwnerOnly Whether to only return game owners
+     * @param page The page number (0-based)
+     * @param size The page size (1-{@value #MAX_SEARCH_RESULTS})
+     * @return List of UserSummaryDto objects for matching users, sorted by name
+     * @throws IllegalArgumentException if the page or size is out of range
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummaryDto> searchUsers(String searchTerm, boolean gameOwnerOnly, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
         }
-        
-        // Filter by game owner if requested
-        if (gameOwnerOnly) {
-            combinedResults = combinedResults.stream()
-                    .filter(account -> account instanceof GameOwner)
-                    .collect(Collectors.toList());
+        if (size < 1 || size > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_SEARCH_RESULTS);
         }
-        
-        return combinedResults.stream()
-                .map(this::convertToUserSummaryDto)
-                .collect(Collectors.toList());
+        String pattern = "%" + searchTerm.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return accountRepository.searchSummaries(pattern, gameOwnerOnly, PageRequest.of(page, size));
     }
 
     /**
@@ -18,6 +18,7 @@ import org.junit.jupiter.api.TestInstance;
 import org.springframework.http.MediaType; // Added for ContentType
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc; // Import MockMvc
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders; // Import builders
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*; // Import matchers
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.*; // Import security post processors
@@ -321,8 +322,10 @@ public class EventIntegrationTests {
         mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL)
                 .with(user(TEST_HOST_EMAIL).password(TEST_PASSWORD).roles("USER"))) // Add authentication
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$").isArray()) // Check if response is an array
-            .andExpect(jsonPath("$[0].title").value("Test Event")); // Check first element
+            .andExpect(jsonPath("$.events").isArray())
+            .andExpect(jsonPath("$.events[0].title").value("Test Event")) // Check first element
+            .andExpect(jsonPath("$.currentPage").value(0))
+            .andExpect(jsonPath("$.hasNext").value(false));
     }
 
     @Test
@@ -377,8 +380,8 @@ public class EventIntegrationTests {
          mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL)
                 .with(user(TEST_HOST_EMAIL).password(TEST_PASSWORD).roles("USER")))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$").isArray())
-            .andExpect(jsonPath("$[0].featuredGame.id").value(testGame.getId()));
+            .andExpect(jsonPath("$.events").isArray())
+            .andExpect(jsonPath("$.events[0].featuredGame.id").value(testGame.getId()));
     }
 
     @Test
@@ -436,4 +439,85 @@ public class EventIntegrationTests {
             .andExpect(status().isForbidden());
     }
 
-}
\ No newline at end of file
+    // ----- Event feed -----
+
+    @Test
+    @Order(23)
+    public void testEventFeedOffsetPage() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "/feed")
+                .with(user(TEST_HOST_EMAIL).password(TEST_PASSWORD).roles("USER"))
+                .param("window", "PAST")
+                .param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalItems").value(1))
+            .andExpect(jsonPath("$.currentPage").value(0))
+            .andExpect(jsonPath("$.hasNext").value(false))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist())
+            .andExpect(jsonPath("$.events[0].title").value("Test Event"));
+    }
+
+    @Test
+    @Order(24)
+    public void testEventFeedKeysetPages() throws Exception {
+        eventRepository.save(new Event("Earlier Event", Date.valueOf("2023-03-17"), "Test Location",
+                "Test Description", 10, testGame, testHost));
+
+        // Past events are listed most recent first
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "/feed")
+                .with(user(TEST_HOST_EMAIL).password(TEST_PASSWORD).roles("USER"))
+                .param("window", "PAST")
+                .param("keyset", "true")
+                .param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalItems").doesNotExist())
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andExpect(jsonPath("$.events[0].title").value("Test Event"))
+            .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "/feed")
+                .with(user(TEST_HOST_EMAIL).password(TEST_PASSWORD).roles("USER"))
+                .param("window", "PAST")
+                .param("cursor", cursor)
+                .param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hasNext").value(false))
+            .andExpect(jsonPath("$.events[0].title").value("Earlier Event"));
+    }
+
+    @Test
+    @Order(25)
+    public void testEventFeedMalformedCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "/feed")
+                .with(user(TEST_HOST_EMAIL).password(TEST_PASSWORD).roles("USER"))
+                .param("window", "PAST")
+                .param("cursor", "1679097600000:not-a-uuid"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(26)
+    public void testExportEventFeed() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "/feed/export")
+                .with(user(TEST_HOST_EMAIL).password(TEST_PASSWORD).roles("USER"))
+                .param("window", "PAST"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].title").value("Test Event"));
+    }
+
+    @Test
+    @Order(27)
+    public void testExportEventFeedUnauthenticated() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "/feed/export")
+                .with(anonymous())
+                .param("window", "PAST"))
+            .andExpect(status().isUnauthorized());
+    }
+
+}
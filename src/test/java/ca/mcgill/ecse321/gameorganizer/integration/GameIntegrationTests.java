@@ -40,6 +40,7 @@ import ca.mcgill.ecse321.gameorganizer.repositories.ReviewRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.services.GameService;
 // Removed TestConfig and SecurityConfig imports as they are auto-detected with @SpringBootTest
 
 import org.junit.jupiter.api.BeforeAll;
@@ -89,6 +90,9 @@ public class GameIntegrationTests {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private GameService gameService;
+
     private GameOwner testOwner;
     private Game testGame;
     private static final String BASE_URL = "/api/games"; // Base URL for game endpoints
@@ -451,6 +455,8 @@ public class GameIntegrationTests {
         review.setGameReviewed(testGame);
         review.setReviewer(testOwner);
         reviewRepository.save(review);
+        // Review was saved directly, so refresh the stored rating aggregate
+        gameService.rebuildRatingAggregate(testGame.getId());
 
         mockMvc.perform(MockMvcRequestBuilders.get(BASE_URL + "/" + testGame.getId() + "/rating")
                 .with(user(VALID_EMAIL).password(VALID_PASSWORD).roles("USER", "GAME_OWNER"))) // Add authentication
@@ -0,0 +1,140 @@
+package ca.mcgill.ecse321.gameorganizer.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.Event;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
+import ca.mcgill.ecse321.gameorganizer.services.RegistrationService;
+
+/**
+ * Stress test for event registration: thousands of attendees sign up for an event with far
+ * fewer seats at the same time, and the event must end up exactly full.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@ContextConfiguration(initializers = TestJwtConfig.Initializer.class)
+public class RegistrationConcurrencyIntegrationTests {
+
+    private static final int ATTENDEES = 2000;
+    private static final int SEATS = 50;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private RegistrationService registrationService;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Event event;
+    private List<Account> attendees;
+
+    @BeforeEach
+    public void setup() {
+        registrationRepository.deleteAll();
+        eventRepository.deleteAll();
+        gameRepository.deleteAll();
+        accountRepository.deleteAll();
+
+        GameOwner host = accountRepository.save(new GameOwner("host", "host@stress.com", "password"));
+        Game game = new Game("Stress Game", 2, 4, "stress.jpg", new Date());
+        game.setOwner(host);
+        game = gameRepository.save(game);
+        event = eventRepository.save(new Event("Launch Party", new Date(System.currentTimeMillis() + 86400000L),
+                "Hall", "Popular event", SEATS, game, host));
+
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ATTENDEES; i++) {
+            accounts.add(new Account("attendee" + i, "attendee" + i + "@stress.com", "password"));
+        }
+        attendees = accountRepository.saveAll(accounts);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        registrationRepository.deleteAll();
+        eventRepository.deleteAll();
+        gameRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    public void testParallelRegistrationsNeverOverbook() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        for (Account attendee : attendees) {
+            pool.execute(() -> {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        attendee.getEmail(), null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))));
+                try {
+                    start.await();
+                    Event target = eventRepository.findEventById(event.getId()).orElseThrow();
+                    registrationService.createRegistration(new Date(), target);
+                    registered.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    if ("Event is already at full capacity.".equals(e.getMessage())) {
+                        full.incrementAndGet();
+                    } else {
+                        unexpected.add(e);
+                    }
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "Registrations did not finish in time");
+
+        assertTrue(unexpected.isEmpty(), "Unexpected failures: " + unexpected);
+        assertEquals(SEATS, registered.get());
+        assertEquals(ATTENDEES - SEATS, full.get());
+        Event reloaded = eventRepository.findEventById(event.getId()).orElseThrow();
+        assertEquals(SEATS, reloaded.getCurrentNumberParticipants());
+        assertEquals(SEATS, registrationRepository.findByEventRegisteredFor(reloaded).size());
+    }
+}
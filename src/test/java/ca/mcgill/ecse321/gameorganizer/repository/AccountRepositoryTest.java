@@ -1,5 +1,6 @@
 package ca.mcgill.ecse321.gameorganizer.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.AfterEach;
@@ -11,7 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
+import ca.mcgill.ecse321.gameorganizer.dto.response.UserSummaryDto;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
@@ -97,4 +100,47 @@ public class AccountRepositoryTest {
         Optional<Account> account = accountRepository.findByEmail("nonexistent@example.com");
         assertFalse(account.isPresent(), "No account should be found for non-existent email");
     }
+
+    @Test
+    public void testSearchSummaries() {
+        entityManager.persist(new Account("Anna", "anna@example.com", "pass"));
+        entityManager.persist(new GameOwner("Bob", "bob.anna@example.com", "pass"));
+        entityManager.persist(new Account("Carl", "carl@example.com", "pass"));
+        entityManager.persist(new GameOwner("Dana_Owner", "dana@example.com", "pass"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Name and email matches of the same account come back once
+        List<UserSummaryDto> matches = accountRepository.searchSummaries("%anna%", false, PageRequest.of(0, 10));
+        assertEquals(List.of("Anna", "Bob"), matches.stream().map(UserSummaryDto::getName).toList());
+        assertFalse(matches.get(0).isGameOwner());
+        assertTrue(matches.get(1).isGameOwner());
+
+        List<UserSummaryDto> owners = accountRepository.searchSummaries("%a%", true, PageRequest.of(0, 10));
+        assertEquals(List.of("Bob", "Dana_Owner"), owners.stream().map(UserSummaryDto::getName).toList());
+
+        List<UserSummaryDto> secondPage = accountRepository.searchSummaries("%a%", false, PageRequest.of(1, 3));
+        assertEquals(List.of("Dana_Owner"), secondPage.stream().map(UserSummaryDto::getName).toList());
+
+        // Underscore is matched literally when escaped
+        assertEquals(1, accountRepository.searchSummaries("%a\\_o%", false, PageRequest.of(0, 10)).size());
+        assertEquals(0, accountRepository.searchSummaries("%a\\_b%", false, PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    public void testPromoteToGameOwner() {
+        Account account = entityManager.persistAndFlush(new Account("Eve", "eve@example.com", "pass"));
+
+        assertEquals(1, accountRepository.promoteToGameOwner(account.getId()));
+
+        // Same row, now loaded as a game owner
+        Account promoted = accountRepository.findByEmail("eve@example.com").orElseThrow();
+        assertTrue(promoted instanceof GameOwner, "The account should now be a GameOwner");
+        assertEquals(account.getId(), promoted.getId());
+        assertEquals(1, accountRepository.count());
+
+        // Promoting again, or an account that does not exist, changes nothing
+        assertEquals(0, accountRepository.promoteToGameOwner(account.getId()));
+        assertEquals(0, accountRepository.promoteToGameOwner(account.getId() + 1000));
+    }
 }
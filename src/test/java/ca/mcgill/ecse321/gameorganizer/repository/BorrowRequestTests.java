@@ -13,14 +13,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
+import ca.mcgill.ecse321.gameorganizer.dto.response.ReservationDto;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestSpecifications;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 
 @DataJpaTest
@@ -175,27 +181,86 @@ public class BorrowRequestTests {
     }
 
     @Test
-    public void testFindOverlappingRequests() {
-        // Create and save an approved request
-        BorrowRequest request1 = new BorrowRequest();
-        request1.setRequestedGame(testGame);
-        request1.setRequester(testRequester);
-        request1.setStartDate(testStartDate);
-        request1.setEndDate(testEndDate);
-        request1.setStatus(BorrowRequestStatus.APPROVED);
-        request1.setRequestDate(new Date());
-        request1 = entityManager.persistAndFlush(request1);
+    public void testFindApprovedReservations() {
+        GameInstance instance = new GameInstance(testGame, testOwner, "Good", "Shelf", "Copy 1");
+        instance = entityManager.persist(instance);
+
+        // Approved request on the instance
+        BorrowRequest approved = new BorrowRequest(testStartDate, testEndDate, BorrowRequestStatus.APPROVED,
+                new Date(), testGame, instance);
+        approved.setRequester(testRequester);
+        approved = entityManager.persist(approved);
+
+        // Pending request on the instance is not a reservation
+        BorrowRequest pending = new BorrowRequest(testStartDate, testEndDate, BorrowRequestStatus.PENDING,
+                new Date(), testGame, instance);
+        pending.setRequester(testRequester);
+        entityManager.persist(pending);
+        entityManager.flush();
         entityManager.clear();
 
-        // Find overlapping approved requests
-        List<BorrowRequest> overlapping = borrowRequestRepository.findOverlappingApprovedRequests(
-            testGame.getId(),
-            testStartDate,
-            testEndDate
-        );
+        List<ReservationDto> all = borrowRequestRepository.findApprovedReservationsEndingFrom(testStartDate);
+        assertEquals(1, all.size());
+        assertEquals(approved.getId(), all.get(0).getBorrowRequestId());
+        assertEquals(instance.getId(), all.get(0).getGameInstanceId());
+
+        List<ReservationDto> forInstance = borrowRequestRepository
+                .findApprovedReservationsForInstanceEndingFrom(instance.getId(), testStartDate);
+        assertEquals(1, forInstance.size());
+
+        // Reservations that ended before the date are skipped
+        Date afterEnd = new Date(testEndDate.getTime() + 1000);
+        assertTrue(borrowRequestRepository.findApprovedReservationsEndingFrom(afterEnd).isEmpty());
+        assertTrue(borrowRequestRepository
+                .findApprovedReservationsForInstanceEndingFrom(instance.getId(), afterEnd).isEmpty());
+
+        // Only the approved request conflicts, unless it is the one being checked
+        assertTrue(borrowRequestRepository.existsApprovedOverlapping(instance.getId(), testEndDate, afterEnd, -1));
+        assertFalse(borrowRequestRepository.existsApprovedOverlapping(instance.getId(), testEndDate, afterEnd,
+                approved.getId()));
+        assertFalse(borrowRequestRepository.existsApprovedOverlapping(instance.getId(), afterEnd, afterEnd, -1));
+    }
+
+    @Test
+    public void testScopedPagedQueries() {
+        GameInstance instance = new GameInstance(testGame, testOwner, "Good", "Shelf", "Copy 1");
+        instance = entityManager.persist(instance);
+        Account stranger = entityManager.persist(new Account("stranger", "stranger@test.com", "password"));
+
+        BorrowRequest pending = new BorrowRequest(testStartDate, testEndDate, BorrowRequestStatus.PENDING,
+                new Date(), testGame, instance);
+        pending.setRequester(testRequester);
+        entityManager.persist(pending);
+        BorrowRequest approved = new BorrowRequest(testStartDate, testEndDate, BorrowRequestStatus.APPROVED,
+                new Date(), testGame, instance);
+        approved.setRequester(testRequester);
+        entityManager.persist(approved);
+        entityManager.flush();
+        entityManager.clear();
 
-        assertEquals(1, overlapping.size());
-        assertEquals(request1.getId(), overlapping.get(0).getId());
+        PageRequest firstPage = PageRequest.of(0, 1, Sort.by("id"));
+
+        // The requester and the instance owner both see the requests, a stranger does not
+        Page<BorrowRequest> requesterView = borrowRequestRepository
+                .findAll(BorrowRequestSpecifications.visibleTo(testRequester.getId()), firstPage);
+        assertEquals(2, requesterView.getTotalElements());
+        assertEquals(1, requesterView.getContent().size());
+        assertEquals(2, borrowRequestRepository
+                .findAll(BorrowRequestSpecifications.visibleTo(testOwner.getId()), firstPage).getTotalElements());
+        assertEquals(0, borrowRequestRepository
+                .findAll(BorrowRequestSpecifications.visibleTo(stranger.getId()), firstPage).getTotalElements());
+
+        Page<BorrowRequest> ownerApproved = borrowRequestRepository.findAll(
+                BorrowRequestSpecifications.instanceOwnedBy(testOwner.getId())
+                        .and(BorrowRequestSpecifications.hasStatus(BorrowRequestStatus.APPROVED)),
+                firstPage);
+        assertEquals(1, ownerApproved.getTotalElements());
+        assertEquals(approved.getId(), ownerApproved.getContent().get(0).getId());
+
+        assertEquals(2, borrowRequestRepository.findAll(
+                BorrowRequestSpecifications.forGameInstance(instance.getId())
+                        .and(BorrowRequestSpecifications.requestedBy(testRequester.getId())),
+                firstPage).getTotalElements());
     }
 
     @Test
@@ -14,11 +14,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.Event;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventSpecifications;
 
 @DataJpaTest
 public class EventRepositoryTests {
@@ -333,4 +337,45 @@ public class EventRepositoryTests {
         final String expectedHostName = host2.getName();
         events.forEach(e -> assertEquals(expectedHostName, e.getHost().getName()));
     }
+
+    @Test
+    public void testFeedSpecificationsAndKeyset() {
+        final Account host = entityManager.persist(new Account("Host", "host@test.com", "password"));
+        Game game = entityManager.persist(new Game("Feed Game", 2, 4, "feed.jpg", new Date()));
+        long now = System.currentTimeMillis();
+        long day = 24L * 60 * 60 * 1000;
+
+        for (int i = -2; i <= 3; i++) {
+            Event event = new Event("Event " + i, new Date(now + i * day), i % 2 == 0 ? "Trottier" : "McConnell",
+                    "Description", 10, game);
+            event.setHost(host);
+            entityManager.persist(event);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Date nowDate = new Date(now);
+        Sort ascending = Sort.by("dateTime").and(Sort.by("id"));
+
+        // Upcoming page with host and game fetched in the same query
+        Page<Event> upcoming = eventRepository.findAll(EventSpecifications.startingFrom(nowDate)
+                .and(EventSpecifications.hostedBy(host.getId()))
+                .and(EventSpecifications.featuringGame(game.getId())), PageRequest.of(0, 2, ascending));
+        assertEquals(4, upcoming.getTotalElements());
+        assertEquals("Event 0", upcoming.getContent().get(0).getTitle());
+        assertEquals("Host", upcoming.getContent().get(0).getHost().getName());
+
+        List<Event> past = eventRepository.findAll(EventSpecifications.startingBefore(nowDate), ascending);
+        assertEquals(2, past.size());
+
+        List<Event> trottier = eventRepository.findAll(EventSpecifications.locationContains("trott"), ascending);
+        assertEquals(3, trottier.size());
+
+        // Seeking after the second upcoming event returns the last two
+        Event last = upcoming.getContent().get(1);
+        List<Event> next = eventRepository.findAll(EventSpecifications.startingFrom(nowDate)
+                .and(EventSpecifications.afterDateTime(last.getDateTime(), last.getId(), true)), ascending);
+        assertEquals(2, next.size());
+        assertEquals("Event 2", next.get(0).getTitle());
+    }
 }
@@ -7,15 +7,37 @@ import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameAvailabilityDto;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.Event;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
+import ca.mcgill.ecse321.gameorganizer.models.Registration;
+import ca.mcgill.ecse321.gameorganizer.models.Review;
+import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameSpecifications;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.ReviewRepository;
 
 @DataJpaTest
 public class GameRepositoryTests {
@@ -25,8 +47,31 @@ public class GameRepositoryTests {
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private GameInstanceRepository gameInstanceRepository;
+
+    @Autowired
+    private BorrowRequestRepository borrowRequestRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private LendingRecordRepository lendingRecordRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
     @AfterEach
     public void clearDatabase() {
+        registrationRepository.deleteAll();
+        eventRepository.deleteAll();
+        lendingRecordRepository.deleteAll();
+        borrowRequestRepository.deleteAll();
+        gameInstanceRepository.deleteAll();
         gameRepository.deleteAll();
         entityManager.flush();
     }
@@ -269,4 +314,234 @@ public class GameRepositoryTests {
         assertTrue(ownerMonopolyGames.stream()
                 .allMatch(g -> g.getName().contains(searchTerm) && g.getOwner().getId() == owner.getId()));
     }
+
+    @Test
+    public void testSearchSpecificationsWithPaging() {
+        final GameOwner owner = new GameOwner("SpecOwner", "spec@owner.com", "password");
+        entityManager.persist(owner);
+
+        Game game1 = new Game("Catan", 3, 4, "c1.jpg", new Date());
+        Game game2 = new Game("Catan Junior", 2, 4, "c2.jpg", new Date());
+        Game game3 = new Game("Carcassonne", 2, 5, "c3.jpg", new Date());
+        game1.setCategory("Strategy");
+        game2.setCategory("strategy");
+        game3.setCategory("Strategy");
+        game1.setOwner(owner);
+        game2.setOwner(owner);
+        game3.setOwner(owner);
+
+        entityManager.persist(game1);
+        entityManager.persist(game2);
+        entityManager.persist(game3);
+        entityManager.persist(new GameInstance(game1, owner, "Good", "Home", null));
+        entityManager.persist(new GameInstance(game2, owner, "Good", "Home", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        Specification<Game> spec = Specification.allOf(List.of(
+                GameSpecifications.nameContainsIgnoreCase("catan"),
+                GameSpecifications.categoryEqualsIgnoreCase("STRATEGY"),
+                GameSpecifications.maxPlayersAtMost(4),
+                GameSpecifications.ownedBy(owner.getId()),
+                GameSpecifications.availableAt(true, new Date())));
+
+        Page<Game> firstPage = gameRepository.findAll(spec, PageRequest.of(0, 1, Sort.by("name")));
+
+        assertEquals(2, firstPage.getTotalElements());
+        assertEquals(1, firstPage.getContent().size());
+        assertEquals("Catan", firstPage.getContent().get(0).getName());
+    }
+
+    @Test
+    public void testSearchSpecificationsByAverageRating() {
+        Game rated = new Game("Rated", 2, 4, "r.jpg", new Date());
+        Game unrated = new Game("Unrated", 2, 4, "u.jpg", new Date());
+        entityManager.persist(rated);
+        entityManager.persist(unrated);
+
+        Review review1 = new Review(4, "Good", new Date());
+        Review review2 = new Review(5, "Great", new Date());
+        review1.setGameReviewed(rated);
+        review2.setGameReviewed(rated);
+        entityManager.persist(review1);
+        entityManager.persist(review2);
+        entityManager.flush();
+
+        gameRepository.rebuildRatingAggregates();
+        entityManager.clear();
+
+        List<Game> highlyRated = gameRepository.findAll(GameSpecifications.averageRatingAtLeast(4.5));
+        List<Game> byRating = gameRepository.findAll(Sort.by(Sort.Direction.DESC, "averageRating"));
+
+        assertEquals(1, highlyRated.size());
+        assertEquals("Rated", highlyRated.get(0).getName());
+        assertEquals(2, highlyRated.get(0).getRatingCount());
+        assertEquals(9, highlyRated.get(0).getRatingSum());
+        assertEquals(2, byRating.size());
+        assertEquals("Rated", byRating.get(0).getName());
+    }
+
+    @Test
+    public void testIncrementalRatingAggregate() {
+        Game game = new Game("Aggregated", 2, 4, "a.jpg", new Date());
+        entityManager.persist(game);
+        entityManager.flush();
+
+        gameRepository.addRating(game.getId(), 4);
+        gameRepository.addRating(game.getId(), 2);
+        gameRepository.changeRating(game.getId(), 2);
+        gameRepository.removeRating(game.getId(), 4);
+        entityManager.clear();
+
+        Game gameFromDb = gameRepository.findGameById(game.getId());
+
+        assertEquals(1, gameFromDb.getRatingCount());
+        assertEquals(4, gameFromDb.getRatingSum());
+        assertEquals(4.0, gameFromDb.getAverageRating(), 0.0001);
+    }
+
+    @Test
+    public void testSavingGameKeepsRatingAggregate() {
+        Game game = new Game("Aggregated", 2, 4, "a.jpg", new Date());
+        entityManager.persist(game);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Loaded before the review is counted, as an edit running alongside a review would be
+        Game loaded = gameRepository.findGameById(game.getId());
+        Review review = new Review(5, "Great", new Date());
+        review.setGameReviewed(loaded);
+        entityManager.persist(review);
+        gameRepository.addRating(game.getId(), 5);
+        assertEquals(0, loaded.getRatingCount());
+
+        loaded.setName("Aggregated: Second Edition");
+        gameRepository.save(loaded);
+        entityManager.flush();
+        entityManager.clear();
+
+        Game gameFromDb = gameRepository.findGameById(game.getId());
+        assertEquals("Aggregated: Second Edition", gameFromDb.getName());
+        assertEquals(1, gameFromDb.getRatingCount());
+        assertEquals(5, gameFromDb.getRatingSum());
+        assertEquals(5.0, gameFromDb.getAverageRating(), 0.0001);
+    }
+
+    @Test
+    public void testFindAvailabilityByGameIds() {
+        final GameOwner owner = new GameOwner("AvailOwner", "avail@owner.com", "password");
+        final Account borrower = new Account("Borrower", "borrower@test.com", "password");
+        entityManager.persist(owner);
+        entityManager.persist(borrower);
+
+        Game game1 = new Game("Azul", 2, 4, "a.jpg", new Date());
+        Game game2 = new Game("Patchwork", 2, 2, "p.jpg", new Date());
+        Game game3 = new Game("No Copies", 2, 2, "n.jpg", new Date());
+        entityManager.persist(game1);
+        entityManager.persist(game2);
+        entityManager.persist(game3);
+
+        GameInstance lent = new GameInstance(game1, owner, "Good", "Home", null);
+        GameInstance free = new GameInstance(game1, owner, "Good", "Home", null);
+        GameInstance onlyCopy = new GameInstance(game2, owner, "Good", "Home", null);
+        entityManager.persist(lent);
+        entityManager.persist(free);
+        entityManager.persist(onlyCopy);
+
+        Date now = new Date();
+        Date start = new Date(now.getTime() - 86400000L);
+        Date end = new Date(now.getTime() + 86400000L);
+        BorrowRequest approved1 = new BorrowRequest(start, end, BorrowRequestStatus.APPROVED, start, game1, lent);
+        BorrowRequest approved2 = new BorrowRequest(start, end, BorrowRequestStatus.APPROVED, start, game2, onlyCopy);
+        approved1.setRequester(borrower);
+        approved2.setRequester(borrower);
+        entityManager.persist(approved1);
+        entityManager.persist(approved2);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<GameAvailabilityDto> availability = gameInstanceRepository.findAvailabilityByGameIds(
+                List.of(game1.getId(), game2.getId(), game3.getId()), now, now);
+
+        assertEquals(2, availability.size());
+        GameAvailabilityDto game1Availability = availability.stream()
+                .filter(a -> a.getGameId() == game1.getId()).findFirst().orElseThrow();
+        GameAvailabilityDto game2Availability = availability.stream()
+                .filter(a -> a.getGameId() == game2.getId()).findFirst().orElseThrow();
+        assertEquals(2, game1Availability.getTotalInstances());
+        assertEquals(1, game1Availability.getAvailableInstances());
+        assertTrue(game1Availability.isAvailable());
+        assertEquals(1, game2Availability.getTotalInstances());
+        assertEquals(0, game2Availability.getAvailableInstances());
+    }
+
+    @Test
+    public void testBulkDeleteOfGameDependents() {
+        GameOwner owner = entityManager.persist(new GameOwner("BulkOwner", "bulk@owner.com", "password"));
+        Account player = entityManager.persist(new Account("BulkPlayer", "bulk@player.com", "password"));
+        Game game = entityManager.persist(new Game("Deleted", 2, 4, "d.jpg", new Date()));
+        Game other = entityManager.persist(new Game("Kept", 2, 4, "k.jpg", new Date()));
+        GameInstance copy = entityManager.persist(new GameInstance(game, owner, "Good", "Shelf", "Copy"));
+        GameInstance otherCopy = entityManager.persist(new GameInstance(other, owner, "Good", "Shelf", "Other copy"));
+
+        Event event = entityManager.persist(new Event("Deleted night", new Date(), "Hall", "", 10, game, owner));
+        Registration registration = new Registration(new Date());
+        registration.setAttendee(player);
+        registration.setEventRegisteredFor(event);
+        entityManager.persist(registration);
+        // An event for another game that borrowed a copy of the deleted game
+        Event otherEvent = new Event("Kept night", new Date(), "Hall", "", 10, other, owner);
+        otherEvent.setGameInstance(copy);
+        otherEvent = entityManager.persist(otherEvent);
+
+        Date start = new Date();
+        Date end = new Date(start.getTime() + 86400000L);
+        BorrowRequest request = entityManager.persist(
+                new BorrowRequest(start, end, BorrowRequestStatus.APPROVED, new Date(), game, copy));
+        request.setRequester(player);
+        entityManager.persist(new LendingRecord(start, end, LendingRecord.LendingStatus.ACTIVE, request, owner));
+        BorrowRequest keptRequest = entityManager.persist(
+                new BorrowRequest(start, end, BorrowRequestStatus.PENDING, new Date(), other, otherCopy));
+        Review review = new Review(5, "Great", new Date());
+        review.setGameReviewed(game);
+        review.setReviewer(player);
+        entityManager.persist(review);
+        entityManager.flush();
+
+        assertEquals(1, registrationRepository.findIdsByFeaturedGameId(game.getId(), PageRequest.of(0, 10)).size());
+        assertEquals(1, lendingRecordRepository.findIdsByGameId(game.getId(), PageRequest.of(0, 10)).size());
+        assertEquals(List.of(request.getId()), borrowRequestRepository.findIdsByGameId(game.getId(), PageRequest.of(0, 10)));
+
+        // Dependency order, one statement each
+        assertEquals(1, registrationRepository.deleteByFeaturedGameId(game.getId()));
+        assertEquals(1, eventRepository.unlinkInstancesOfGame(game.getId()));
+        assertEquals(1, eventRepository.deleteByFeaturedGameId(game.getId()));
+        assertEquals(1, lendingRecordRepository.deleteByGameId(game.getId()));
+        assertEquals(1, borrowRequestRepository.deleteByGameId(game.getId()));
+        assertEquals(1, reviewRepository.deleteByGameId(game.getId()));
+        assertEquals(1, gameInstanceRepository.deleteByGameId(game.getId()));
+        entityManager.clear();
+        gameRepository.deleteById(game.getId());
+        entityManager.flush();
+
+        assertTrue(gameRepository.findById(game.getId()).isEmpty());
+        assertTrue(gameRepository.findById(other.getId()).isPresent());
+        assertTrue(gameInstanceRepository.findById(otherCopy.getId()).isPresent());
+        assertTrue(borrowRequestRepository.findById(keptRequest.getId()).isPresent());
+        Event keptEvent = eventRepository.findById(otherEvent.getId()).orElseThrow();
+        assertNull(keptEvent.getGameInstance());
+    }
+
+    @Test
+    public void testGameMarkedAsDeletingRejectsNewDependents() {
+        Game game = entityManager.persist(new Game("Deleting", 2, 4, "d.jpg", new Date()));
+        entityManager.flush();
+
+        // A game not being deleted can take new dependents
+        gameRepository.lockAgainstDeletion(game.getId());
+
+        assertEquals(1, gameRepository.markDeleting(game.getId()));
+        assertThrows(IllegalArgumentException.class, () -> gameRepository.lockAgainstDeletion(game.getId()));
+        assertThrows(IllegalArgumentException.class, () -> gameRepository.lockAgainstDeletion(game.getId() + 1000));
+    }
 }
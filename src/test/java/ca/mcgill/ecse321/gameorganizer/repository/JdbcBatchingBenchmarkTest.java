@@ -0,0 +1,133 @@
+package ca.mcgill.ecse321.gameorganizer.repository;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.Session;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
+import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+
+/**
+ * Compares the JDBC round trips of bulk writes with batching turned off (one statement per row,
+ * as before sequence IDs and hibernate.jdbc.batch_size) and with the configured batching.
+ * Counts are logged so runs can be compared.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session.events.auto="
+        + "ca.mcgill.ecse321.gameorganizer.repository.JdbcRoundTripCounter")
+public class JdbcBatchingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcBatchingBenchmarkTest.class);
+
+    private static final int ROWS = 200;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BorrowRequestRepository borrowRequestRepository;
+
+    @Autowired
+    private LendingRecordRepository lendingRecordRepository;
+
+    private GameOwner owner;
+    private Game game;
+    private Account borrower;
+
+    @BeforeEach
+    public void setup() {
+        owner = entityManager.persist(new GameOwner("Owner", "owner@test.com", "password123"));
+        game = new Game("Catan", 3, 4, "catan.jpg", new Date());
+        game.setOwner(owner);
+        game = entityManager.persist(game);
+        borrower = entityManager.persist(new Account("Borrower", "borrower@test.com", "password123"));
+        entityManager.flush();
+    }
+
+    @Test
+    public void testBulkInsertsAreBatched() {
+        long unbatched = measure(1, this::insertLendings);
+        long batched = measure(null, this::insertLendings);
+
+        log.info("Inserting {} borrow requests and lending records: {} round trips unbatched, {} batched",
+                ROWS, unbatched, batched);
+        assertEquals(4 * ROWS, lendingRecordRepository.count() + borrowRequestRepository.count());
+        // At least one statement per row without batching, one batch per 50 rows with it
+        assertTrue(unbatched >= 2 * ROWS);
+        assertTrue(batched * 10 < unbatched, "Expected far fewer round trips with batching: " + batched);
+    }
+
+    @Test
+    public void testBulkUpdatesAreBatched() {
+        insertLendings();
+        Account other = entityManager.persistAndFlush(new Account("Other", "other@test.com", "password123"));
+
+        long unbatched = measure(1, () -> reassign(other));
+        long batched = measure(null, () -> reassign(borrower));
+
+        log.info("Updating {} borrow requests: {} round trips unbatched, {} batched", ROWS, unbatched, batched);
+        assertTrue(unbatched >= ROWS);
+        assertTrue(batched * 10 < unbatched, "Expected far fewer round trips with batching: " + batched);
+    }
+
+    // Runs the work and flushes it with the given batch size (null for the configured one)
+    private long measure(Integer batchSize, Runnable work) {
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        JdbcRoundTripCounter.reset();
+        work.run();
+        entityManager.flush();
+        long roundTrips = JdbcRoundTripCounter.statements() + JdbcRoundTripCounter.batches();
+        session.setJdbcBatchSize(null);
+        entityManager.clear();
+        return roundTrips;
+    }
+
+    private void insertLendings() {
+        Game attachedGame = entityManager.merge(game);
+        Account attachedBorrower = entityManager.merge(borrower);
+        GameOwner attachedOwner = entityManager.merge(owner);
+        JdbcRoundTripCounter.reset();
+
+        List<BorrowRequest> requests = new ArrayList<>();
+        List<LendingRecord> records = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Date start = new Date(System.currentTimeMillis() + (i + 1) * 86400000L);
+            Date end = new Date(start.getTime() + 86400000L);
+            BorrowRequest request = new BorrowRequest(start, end, BorrowRequestStatus.APPROVED, new Date(),
+                    attachedGame, null);
+            request.setRequester(attachedBorrower);
+            requests.add(request);
+            records.add(new LendingRecord(start, end, LendingRecord.LendingStatus.ACTIVE, request, attachedOwner));
+        }
+        borrowRequestRepository.saveAll(requests);
+        lendingRecordRepository.saveAll(records);
+    }
+
+    private void reassign(Account requester) {
+        Account attachedRequester = entityManager.find(Account.class, requester.getId());
+        List<BorrowRequest> requests = borrowRequestRepository.findAll();
+        JdbcRoundTripCounter.reset();
+
+        for (BorrowRequest request : requests) {
+            request.setRequester(attachedRequester);
+        }
+        borrowRequestRepository.saveAll(requests);
+    }
+}
@@ -0,0 +1,39 @@
+package ca.mcgill.ecse321.gameorganizer.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Counts the JDBC round trips made by Hibernate sessions: single statements (including sequence
+ * calls) and executed batches. Registered through hibernate.session.events.auto, which creates
+ * one listener per session, so the counts are kept in shared counters.
+ */
+public class JdbcRoundTripCounter extends BaseSessionEventListener {
+
+    private static final AtomicLong statements = new AtomicLong();
+    private static final AtomicLong batches = new AtomicLong();
+
+    public static void reset() {
+        statements.set(0);
+        batches.set(0);
+    }
+
+    public static long statements() {
+        return statements.get();
+    }
+
+    public static long batches() {
+        return batches.get();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statements.incrementAndGet();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batches.incrementAndGet();
+    }
+}
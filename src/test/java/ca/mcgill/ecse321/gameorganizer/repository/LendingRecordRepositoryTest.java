@@ -13,7 +13,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import ca.mcgill.ecse321.gameorganizer.dto.response.LendingRecordResponseDto;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
@@ -21,6 +26,7 @@ import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
 import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
 import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordSpecifications;
 
 @DataJpaTest
 public class LendingRecordRepositoryTest {
@@ -134,6 +140,98 @@ public class LendingRecordRepositoryTest {
             .anyMatch(r -> r.getEndDate().before(new Date()) && r.getStatus() == LendingRecord.LendingStatus.ACTIVE));
     }
 
+    @Test
+    public void testMarkOverdue() {
+        Date pastStart = new Date(System.currentTimeMillis() - 14 * 24 * 60 * 60 * 1000); // 14 days ago
+        Date pastEnd = new Date(System.currentTimeMillis() - 7 * 24 * 60 * 60 * 1000); // 7 days ago
+        BorrowRequest expiredRequest = new BorrowRequest(pastStart, pastEnd, BorrowRequestStatus.APPROVED, new Date(), game, null);
+        expiredRequest.setRequester(borrower);
+        expiredRequest = entityManager.persist(expiredRequest);
+        LendingRecord expired = entityManager.persistAndFlush(
+                new LendingRecord(pastStart, pastEnd, LendingRecord.LendingStatus.ACTIVE, expiredRequest, owner));
+        entityManager.clear();
+
+        // Still active, but already reported as overdue
+        Date now = new Date();
+        assertEquals(1, lendingRecordRepository.findOverdueResponseDtos(now, owner.getId()).size());
+
+        List<Integer> ids = lendingRecordRepository.findIdsOfExpiredActive(now, PageRequest.of(0, 10));
+        assertEquals(List.of(expired.getId()), ids);
+        assertEquals(1, lendingRecordRepository.markOverdue(ids, now, "Overdue", 42L, LendingRecord.LendingStatus.OVERDUE));
+        // Marking again changes nothing
+        assertEquals(0, lendingRecordRepository.markOverdue(ids, now, "Overdue", 43L, LendingRecord.LendingStatus.OVERDUE));
+
+        LendingRecord marked = lendingRecordRepository.findLendingRecordById(expired.getId()).orElseThrow();
+        assertEquals(LendingRecord.LendingStatus.OVERDUE, marked.getStatus());
+        assertEquals("Overdue", marked.getStatusChangeReason());
+        assertEquals(42L, marked.getChangeVersion());
+        assertTrue(lendingRecordRepository.findIdsOfExpiredActive(now, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(1, lendingRecordRepository.findOverdue(now).size());
+        assertEquals(1, lendingRecordRepository.findOverdueResponseDtos(now, null).size());
+    }
+
+    @Test
+    public void testKeysetAndSlicePaging() {
+        // Two more records sharing a start date so the ID breaks the tie
+        Date laterStart = new Date(startDate.getTime() + 86400000);
+        for (int i = 0; i < 2; i++) {
+            BorrowRequest extraRequest = new BorrowRequest(laterStart, endDate, BorrowRequestStatus.APPROVED, new Date(), game, null);
+            extraRequest.setRequester(borrower);
+            extraRequest = entityManager.persist(extraRequest);
+            entityManager.persist(new LendingRecord(laterStart, endDate, LendingRecord.LendingStatus.ACTIVE, extraRequest, owner));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Sort sort = Sort.by("startDate").and(Sort.by("id"));
+        List<LendingRecord> all = lendingRecordRepository.findAll(sort);
+        assertEquals(3, all.size());
+
+        // Slice of the first two records without a count query
+        Slice<LendingRecord> firstPage = lendingRecordRepository.findAllBy(PageRequest.of(0, 2, sort));
+        assertEquals(2, firstPage.getNumberOfElements());
+        assertTrue(firstPage.hasNext());
+
+        // Seeking after the second record returns only the third
+        LendingRecord last = firstPage.getContent().get(1);
+        List<LendingRecord> next = lendingRecordRepository.findAll(
+                LendingRecordSpecifications.afterDate("startDate", last.getStartDate(), last.getId(), true), sort);
+        assertEquals(1, next.size());
+        assertEquals(all.get(2).getId(), next.get(0).getId());
+
+        List<LendingRecord> afterFirstId = lendingRecordRepository.findAll(
+                LendingRecordSpecifications.afterId(all.get(0).getId(), true), Sort.by("id"));
+        assertEquals(2, afterFirstId.size());
+    }
+
+    @Test
+    public void testResponseDtoProjections() {
+        List<LendingRecordResponseDto> ownerDtos = lendingRecordRepository.findResponseDtosByOwner(owner.getId(), null);
+        assertEquals(1, ownerDtos.size());
+        LendingRecordResponseDto dto = ownerDtos.get(0);
+        assertEquals(record.getId(), dto.getId());
+        assertEquals("ACTIVE", dto.getStatus());
+        assertEquals(7, dto.getDurationInDays());
+        assertEquals(game.getId(), dto.getGame().getId());
+        assertEquals("Test Game", dto.getGame().getName());
+        assertEquals(borrower.getId(), dto.getBorrower().getId());
+        assertEquals("borrower@test.com", dto.getBorrower().getEmail());
+        assertEquals(owner.getId(), dto.getOwner().getId());
+        assertFalse(dto.isDamaged());
+
+        assertTrue(lendingRecordRepository.findResponseDtosByOwner(owner.getId(), LendingRecord.LendingStatus.CLOSED).isEmpty());
+        assertEquals(1, lendingRecordRepository.findResponseDtosByBorrower(borrower.getId(), LendingRecord.LendingStatus.ACTIVE).size());
+        assertEquals(1, lendingRecordRepository.findResponseDtosByOwnerAndStartDateBetween(
+                owner.getId(), new Date(startDate.getTime() - 86400000), endDate).size());
+        // The record starts tomorrow, so it is not overdue
+        assertTrue(lendingRecordRepository.findOverdueResponseDtos(new Date(), owner.getId()).isEmpty());
+
+        Page<LendingRecordResponseDto> filtered = lendingRecordRepository.filterResponseDtos(
+                null, null, LendingRecord.LendingStatus.ACTIVE, borrower.getId(), game.getId(), PageRequest.of(0, 10, Sort.by("id")));
+        assertEquals(1, filtered.getTotalElements());
+        assertEquals(record.getId(), filtered.getContent().get(0).getId());
+    }
+
     @Test
     public void testFindByBorrower() {
         List<LendingRecord> borrowerRecords = lendingRecordRepository.findByRequest_Requester(borrower);
@@ -0,0 +1,114 @@
+package ca.mcgill.ecse321.gameorganizer.repository;
+
+import java.util.Date;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import ca.mcgill.ecse321.gameorganizer.config.CatalogCache;
+import ca.mcgill.ecse321.gameorganizer.config.SecondLevelCacheConfig;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+
+@DataJpaTest(properties = "catalog.cache.enabled=true")
+@Import({SecondLevelCacheConfig.class, CatalogCache.class})
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    private Statistics statistics;
+    private Game game;
+
+    @BeforeEach
+    public void setup() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        GameOwner owner = entityManager.persist(new GameOwner("Owner", "owner@test.com", "password123"));
+        game = new Game("Catan", 3, 4, "catan.jpg", new Date());
+        game.setOwner(owner);
+        game.setCategory("Strategy");
+        game = entityManager.persistAndFlush(game);
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    public void testGameIsServedFromCacheById() {
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.GAME_REGION);
+
+        assertEquals("Catan", gameRepository.findGameById(game.getId()).getName());
+        entityManager.clear();
+        assertEquals("Catan", gameRepository.findGameById(game.getId()).getName());
+
+        assertEquals(1, region.getMissCount());
+        assertEquals(1, region.getHitCount());
+    }
+
+    @Test
+    public void testUpdateReplacesCachedGame() {
+        gameRepository.findGameById(game.getId());
+        entityManager.clear();
+
+        Game loaded = gameRepository.findGameById(game.getId());
+        loaded.setName("Catan: Seafarers");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals("Catan: Seafarers", gameRepository.findGameById(game.getId()).getName());
+    }
+
+    @Test
+    public void testCategoryQueryIsCachedUntilAGameChanges() {
+        assertEquals(1, gameRepository.findByCategory("Strategy").size());
+        entityManager.clear();
+        assertEquals(1, gameRepository.findByCategory("Strategy").size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        Game other = new Game("Chess", 2, 2, "chess.jpg", new Date());
+        other.setCategory("Strategy");
+        entityManager.persistAndFlush(other);
+        entityManager.clear();
+
+        // The insert made the cached result stale, so the query runs again and sees the new game
+        assertEquals(2, gameRepository.findByCategory("Strategy").size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertTrue(statistics.getQueryCacheMissCount() >= 2);
+    }
+
+    @Test
+    public void testRatingUpdateEvictsOnlyTheRatedGame() {
+        Game other = entityManager.persistAndFlush(new Game("Chess", 2, 2, "chess.jpg", new Date()));
+        gameRepository.findGameById(game.getId());
+        gameRepository.findGameById(other.getId());
+        entityManager.clear();
+        statistics.clear();
+
+        gameRepository.addRating(game.getId(), 4);
+        catalogCache.evictGame(game.getId());
+        entityManager.clear();
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.GAME_REGION);
+        assertEquals(1, gameRepository.findGameById(game.getId()).getRatingCount());
+        assertEquals("Chess", gameRepository.findGameById(other.getId()).getName());
+        assertEquals(1, region.getMissCount());
+        assertEquals(1, region.getHitCount());
+    }
+}
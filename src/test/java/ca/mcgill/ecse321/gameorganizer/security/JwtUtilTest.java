@@ -0,0 +1,107 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+public class JwtUtilTest {
+
+    private static final String SECRET = "tG8qcqi6M2XZ1s73QTdIHHGhBEzZARBOlDvcxkp4iAoCPU5f8OeYXFmNOkjr9XgJ";
+    private static final String EMAIL = "user@test.com";
+
+    private JwtUtil jwtUtil;
+    private SecretKeySpec key;
+    private UserDetails userDetails;
+    private Account account;
+
+    @BeforeEach
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 16);
+        key = new SecretKeySpec(Base64.getDecoder().decode(SECRET), SignatureAlgorithm.HS256.getJcaName());
+        jwtUtil.setSigningKey(key);
+
+        userDetails = new User(EMAIL, "hash", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        account = new Account("user", EMAIL, "hash");
+        account.setId(42);
+    }
+
+    @Test
+    public void testParseTokenExtractsClaimsOnce() {
+        String token = jwtUtil.generateToken(userDetails, account);
+
+        ValidatedToken validated = jwtUtil.parseToken(token);
+
+        assertNotNull(validated);
+        assertEquals(EMAIL, validated.subject());
+        assertEquals(List.of("ROLE_USER"), validated.roles());
+        assertEquals(42, validated.userId());
+        assertFalse(validated.isExpired());
+        // Recently verified tokens are served from the cache
+        assertSame(validated, jwtUtil.parseToken("Bearer " + token));
+        assertTrue(jwtUtil.validateToken(token, EMAIL));
+        assertFalse(jwtUtil.validateToken(token, "other@test.com"));
+        // Other claims are read from the same verified token
+        assertEquals(EMAIL, jwtUtil.extractClaim(token, Claims::getSubject));
+        assertEquals(42, jwtUtil.extractClaim(token, claims -> claims.get("userId", Integer.class)));
+    }
+
+    @Test
+    public void testTamperedTokenIsRejected() {
+        String token = jwtUtil.generateToken(userDetails, account);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertNull(jwtUtil.parseToken(tampered));
+        assertNull(jwtUtil.parseToken("not-a-token"));
+        assertFalse(jwtUtil.validateToken(tampered, EMAIL));
+    }
+
+    @Test
+    public void testExpiredTokenIsReportedExpired() {
+        String token = Jwts.builder()
+                .setSubject(EMAIL)
+                .setIssuedAt(new Date(System.currentTimeMillis() - 7200000))
+                .setExpiration(new Date(System.currentTimeMillis() - 3600000))
+                .signWith(key)
+                .compact();
+
+        ValidatedToken validated = jwtUtil.parseToken(token);
+
+        assertNotNull(validated);
+        assertTrue(validated.isExpired());
+        assertFalse(jwtUtil.validateToken(token, EMAIL));
+    }
+
+    @Test
+    public void testRefreshTokenKeepsUserId() {
+        ValidatedToken current = jwtUtil.parseToken(jwtUtil.generateToken(userDetails, account));
+
+        ValidatedToken refreshed = jwtUtil.parseToken(jwtUtil.refreshToken(current, userDetails));
+
+        assertNotNull(refreshed);
+        assertEquals(EMAIL, refreshed.subject());
+        assertEquals(42, refreshed.userId());
+    }
+}
@@ -0,0 +1,69 @@
+package ca.mcgill.ecse321.gameorganizer.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public class PrincipalCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, UserDetails> loader = email -> {
+        loads.incrementAndGet();
+        return new User(email, "hash", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    };
+
+    @Test
+    public void testCachedPrincipalSkipsLoader() {
+        PrincipalCache cache = new PrincipalCache(10, 60);
+
+        UserDetails first = cache.get("user@test.com", loader);
+        UserDetails second = cache.get("user@test.com", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testInvalidateForcesReload() {
+        PrincipalCache cache = new PrincipalCache(10, 60);
+
+        cache.get("user@test.com", loader);
+        cache.invalidate("user@test.com");
+        cache.get("user@test.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        PrincipalCache cache = new PrincipalCache(2, 60);
+
+        cache.get("a@test.com", loader);
+        cache.get("b@test.com", loader);
+        cache.get("a@test.com", loader);
+        cache.get("c@test.com", loader); // evicts b
+        cache.get("a@test.com", loader);
+        cache.get("b@test.com", loader);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void testZeroTtlDisablesCache() {
+        PrincipalCache cache = new PrincipalCache(10, 0);
+
+        cache.get("user@test.com", loader);
+        cache.get("user@test.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -43,6 +43,7 @@ public class TestJwtUtil extends JwtUtil {
         try {
             byte[] secretBytes = Base64.getDecoder().decode(TEST_JWT_SECRET);
             key = new SecretKeySpec(secretBytes, SignatureAlgorithm.HS256.getJcaName());
+            setSigningKey(key); // Shared parser used by parseToken
             logger.info("TEST JWT signing key initialized successfully for tests");
         } catch (Exception e) {
             logger.error("Failed to initialize TEST JWT key: {}", e.getMessage(), e);
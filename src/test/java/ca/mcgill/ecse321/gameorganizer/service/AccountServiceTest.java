@@ -12,13 +12,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder; // Import PasswordEncoder
 // Imports for Security Context Mocking
@@ -36,14 +39,10 @@ import ca.mcgill.ecse321.gameorganizer.dto.response.AccountResponse;
 import ca.mcgill.ecse321.gameorganizer.dto.request.CreateAccountRequest;
 import ca.mcgill.ecse321.gameorganizer.dto.request.UpdateAccountRequest;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
-import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
-import ca.mcgill.ecse321.gameorganizer.models.Registration;
-import ca.mcgill.ecse321.gameorganizer.models.Review;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
-import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
-import ca.mcgill.ecse321.gameorganizer.repositories.ReviewRepository;
+import ca.mcgill.ecse321.gameorganizer.security.PrincipalCache;
 import ca.mcgill.ecse321.gameorganizer.services.AccountService;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,10 +58,7 @@ public class AccountServiceTest {
     private RegistrationRepository registrationRepository;
 
     @Mock
-    private ReviewRepository reviewRepository;
-
-    @Mock
-    private BorrowRequestRepository borrowRequestRepository;
+    private PrincipalCache principalCache;
 
     @InjectMocks
     private AccountService accountService;
@@ -374,6 +370,7 @@ public class AccountServiceTest {
 
         assertEquals("Account with email " + VALID_EMAIL + " has been deleted", response.getBody());
         verify(accountRepository).delete(testAccount);
+        verify(principalCache).invalidate(VALID_EMAIL);
     }
 
     @Test
@@ -411,54 +408,48 @@ public class AccountServiceTest {
     @Test
     public void testUpgradeSuccess() {
         when(accountRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(testAccount));
-        // Use lenient() for these mocks as they're not always used by all test paths
-        org.mockito.Mockito.lenient().when(registrationRepository.findRegistrationByAttendeeName(VALID_USERNAME)).thenReturn(new ArrayList<>());
-        org.mockito.Mockito.lenient().when(borrowRequestRepository.findBorrowRequestsByRequesterName(VALID_USERNAME)).thenReturn(new ArrayList<>());
-        org.mockito.Mockito.lenient().when(reviewRepository.findReviewsByReviewerName(VALID_USERNAME)).thenReturn(new ArrayList<>());
+        when(accountRepository.promoteToGameOwner(testAccount.getId())).thenReturn(1);
 
         ResponseEntity<String> response = accountService.upgradeUserToGameOwner(VALID_EMAIL);
 
         assertEquals("Account updated to GameOwner successfully", response.getBody());
-        verify(accountRepository).delete(testAccount);
-        verify(accountRepository).save(any(GameOwner.class));
+        verify(principalCache).invalidate(VALID_EMAIL);
+        verify(accountRepository, never()).delete(any(Account.class));
+        verify(accountRepository, never()).save(any(GameOwner.class));
     }
 
     @Test
-    public void testUpgradeSuccess2() {
-        List<Registration> registrations = new ArrayList<>();
-        registrations.add(new Registration());
+    public void testUpgradeLeavesReferencesAlone() {
+        when(accountRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.promoteToGameOwner(testAccount.getId())).thenReturn(1);
+
+        accountService.upgradeUserToGameOwner(VALID_EMAIL);
+
+        // The account keeps its ID, so registrations are neither loaded nor rewritten
+        verifyNoInteractions(registrationRepository);
+    }
 
+    @Test
+    public void testUpgradeFailConcurrentUpgrade() {
         when(accountRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(testAccount));
-        // Use lenient() for these mocks as they're not always used by all test paths
-        org.mockito.Mockito.lenient().when(registrationRepository.findRegistrationByAttendeeName(VALID_USERNAME)).thenReturn(registrations);
-        org.mockito.Mockito.lenient().when(borrowRequestRepository.findBorrowRequestsByRequesterName(VALID_USERNAME)).thenReturn(new ArrayList<>());
-        org.mockito.Mockito.lenient().when(reviewRepository.findReviewsByReviewerName(VALID_USERNAME)).thenReturn(new ArrayList<>());
+        when(accountRepository.promoteToGameOwner(testAccount.getId())).thenReturn(0);
 
         ResponseEntity<String> response = accountService.upgradeUserToGameOwner(VALID_EMAIL);
 
-        assertEquals("Account updated to GameOwner successfully", response.getBody());
-        verify(accountRepository).delete(testAccount);
-        verify(accountRepository).save(any(GameOwner.class));
+        assertEquals("Bad request: account already a game owner.", response.getBody());
+        verify(principalCache, never()).invalidate(VALID_EMAIL);
     }
 
     @Test
-    public void testUpgradeSuccess3() {
-        List<BorrowRequest> borrowRequests = new ArrayList<>();
-        borrowRequests.add(new BorrowRequest());
-        List<Review> reviews = new ArrayList<>();
-        reviews.add(new Review());
-
+    public void testUpgradeFailConcurrentInsert() {
         when(accountRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(testAccount));
-        // Use lenient() for these mocks as they're not always used by all test paths
-        org.mockito.Mockito.lenient().when(registrationRepository.findRegistrationByAttendeeName(VALID_USERNAME)).thenReturn(new ArrayList<>());
-        org.mockito.Mockito.lenient().when(borrowRequestRepository.findBorrowRequestsByRequesterName(VALID_USERNAME)).thenReturn(borrowRequests);
-        org.mockito.Mockito.lenient().when(reviewRepository.findReviewsByReviewerName(VALID_USERNAME)).thenReturn(reviews);
+        when(accountRepository.promoteToGameOwner(testAccount.getId()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
 
         ResponseEntity<String> response = accountService.upgradeUserToGameOwner(VALID_EMAIL);
 
-        assertEquals("Account updated to GameOwner successfully", response.getBody());
-        verify(accountRepository).delete(testAccount);
-        verify(accountRepository).save(any(GameOwner.class));
+        assertEquals("Bad request: account already a game owner.", response.getBody());
+        verify(principalCache, never()).invalidate(VALID_EMAIL);
     }
 
     @Test
@@ -468,8 +459,7 @@ public class AccountServiceTest {
         ResponseEntity<String> response = accountService.upgradeUserToGameOwner(VALID_EMAIL);
 
         assertEquals("Bad request: no such account exists.", response.getBody());
-        verify(accountRepository, never()).delete(any(Account.class));
-        verify(accountRepository, never()).save(any(GameOwner.class));
+        verify(accountRepository, never()).promoteToGameOwner(anyInt());
     }
 
     @Test
@@ -479,8 +469,7 @@ public class AccountServiceTest {
         ResponseEntity<String> response = accountService.upgradeUserToGameOwner(VALID_EMAIL);
 
         assertEquals("Bad request: account already a game owner.", response.getBody());
-        verify(accountRepository, never()).delete(any(Account.class));
-        verify(accountRepository, never()).save(any(GameOwner.class));
+        verify(accountRepository, never()).promoteToGameOwner(anyInt());
     }
 
     // -- getAccountInfoByEmail -- //
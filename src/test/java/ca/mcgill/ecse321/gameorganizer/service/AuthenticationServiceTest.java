@@ -31,10 +31,12 @@ import ca.mcgill.ecse321.gameorganizer.exceptions.InvalidCredentialsException;
 import ca.mcgill.ecse321.gameorganizer.exceptions.InvalidPasswordException;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.security.PrincipalCache;
 import ca.mcgill.ecse321.gameorganizer.services.AuthenticationService;
 import jakarta.servlet.http.HttpSession;
 import ca.mcgill.ecse321.gameorganizer.services.EmailService;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import jakarta.mail.MessagingException;
 
@@ -54,6 +56,9 @@ public class AuthenticationServiceTest {
     @Mock // Added mock
     private EmailService emailService;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -184,6 +189,22 @@ public class AuthenticationServiceTest {
         assertEquals(expectedExpiry.getMinute(), actualExpiry.getMinute(), "Expiry minute should be close to 30 minutes from now");
     }
 
+    @Test
+    public void testRequestPasswordResetQueueFailurePropagates() {
+        // Setup
+        PasswordResetRequestDto requestDto = new PasswordResetRequestDto();
+        requestDto.setEmail(VALID_EMAIL);
+        Account account = new Account();
+        account.setEmail(VALID_EMAIL);
+        account.setName("Test User");
+        when(accountRepository.findByEmail(VALID_EMAIL)).thenReturn(Optional.of(account));
+        doThrow(new IllegalStateException("Outbox unavailable"))
+                .when(emailService).sendPasswordResetEmail(anyString(), anyString(), anyString());
+
+        // Test & Verify: the failure reaches the caller so the whole transaction rolls back
+        assertThrows(IllegalStateException.class, () -> authenticationService.requestPasswordReset(requestDto));
+    }
+
     @Test
     public void testRequestPasswordResetEmailNotFound() {
         // Setup
@@ -264,6 +285,7 @@ public class AuthenticationServiceTest {
         assertEquals(ENCODED_NEW_PASSWORD, savedAccount.getPassword());
         assertNull(savedAccount.getResetPasswordToken()); // Token should be cleared
         assertNull(savedAccount.getResetPasswordTokenExpiry()); // Expiry should be cleared
+        verify(principalCache).invalidate(VALID_EMAIL);
     }
 
     @Test
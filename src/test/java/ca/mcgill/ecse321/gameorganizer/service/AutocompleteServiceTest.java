@@ -0,0 +1,158 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.SuggestionDto;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.search.AutocompleteService;
+import ca.mcgill.ecse321.gameorganizer.search.AutocompleteService.SuggestionType;
+
+@ExtendWith(MockitoExtension.class)
+public class AutocompleteServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private AutocompleteService autocompleteService;
+
+    @BeforeEach
+    public void setup() {
+        autocompleteService = new AutocompleteService(gameRepository, accountRepository, false);
+    }
+
+    private static Game game(int id, String name, String category) {
+        Game game = new Game(name, 2, 4, "game.jpg", new Date());
+        game.setId(id);
+        game.setCategory(category);
+        return game;
+    }
+
+    private static List<String> texts(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::getText).toList();
+    }
+
+    @Test
+    public void testSuggestsNamesAndWordsInNames() {
+        autocompleteService.index(game(1, "Ticket to Ride", "Family"));
+        autocompleteService.index(game(2, "Riders of Rohan", "Adventure"));
+        autocompleteService.index(game(3, "Río Grande", "Strategy"));
+
+        // Names starting with the text come first, shorter names before longer ones
+        assertEquals(List.of("Río Grande", "Riders of Rohan", "Ticket to Ride"),
+                texts(autocompleteService.suggest("ri", SuggestionType.GAME, 10)));
+        assertEquals(List.of("Ticket to Ride"), texts(autocompleteService.suggest("TICKET  to", null, 10)));
+        assertEquals(List.of("Río Grande", "Riders of Rohan"),
+                texts(autocompleteService.suggest("ri", SuggestionType.GAME, 2)));
+        assertTrue(autocompleteService.suggest("!!", null, 10).isEmpty());
+    }
+
+    @Test
+    public void testRanksEveryMatchNotOnlyTheFirstKeys() {
+        // Many matches that sort before the best one in key order
+        for (int i = 1; i <= 1500; i++) {
+            autocompleteService.index(game(i, String.format("Aa %04d", i), "Family"));
+        }
+        autocompleteService.index(game(2000, "Ab", "Family"));
+
+        assertEquals(List.of("Ab"), texts(autocompleteService.suggest("a", SuggestionType.GAME, 1)));
+        assertEquals(List.of("Ab", "Aa 0001", "Aa 0002"),
+                texts(autocompleteService.suggest("a", SuggestionType.GAME, 3)));
+    }
+
+    @Test
+    public void testShortPrefixesFollowChanges() {
+        autocompleteService.index(game(1, "Ticket to Ride", "Family"));
+        assertEquals(List.of("Ticket to Ride"), texts(autocompleteService.suggest("ri", SuggestionType.GAME, 10)));
+
+        // Kept answers of "ri" and "rid" are dropped when a name or one of its words starts with them
+        autocompleteService.index(game(2, "Ride the Rails", "Family"));
+        assertEquals(List.of("Ride the Rails", "Ticket to Ride"),
+                texts(autocompleteService.suggest("ri", SuggestionType.GAME, 10)));
+        assertEquals(List.of("Ride the Rails"), texts(autocompleteService.suggest("ri", SuggestionType.GAME, 1)));
+
+        autocompleteService.remove(game(1, "Ticket to Ride", "Family"));
+        assertEquals(List.of("Ride the Rails"), texts(autocompleteService.suggest("rid", null, 10)));
+        assertEquals(List.of("Ride the Rails"), texts(autocompleteService.suggest("ri", SuggestionType.GAME, 10)));
+    }
+
+    @Test
+    public void testCategoriesFollowTheirGames() {
+        Game catan = game(1, "Catan", "Strategy");
+        autocompleteService.index(catan);
+        autocompleteService.index(game(2, "Chess", "Strategy"));
+
+        List<SuggestionDto> categories = autocompleteService.suggest("str", SuggestionType.CATEGORY, 10);
+        assertEquals(1, categories.size());
+        assertEquals("Strategy", categories.get(0).getText());
+        assertNull(categories.get(0).getId());
+
+        catan.setCategory("Family");
+        autocompleteService.index(catan);
+        assertEquals(1, autocompleteService.suggest("str", SuggestionType.CATEGORY, 10).size());
+        assertEquals(1, autocompleteService.suggest("fam", SuggestionType.CATEGORY, 10).size());
+
+        autocompleteService.remove(game(2, "Chess", "Strategy"));
+        assertTrue(autocompleteService.suggest("str", SuggestionType.CATEGORY, 10).isEmpty());
+        assertTrue(autocompleteService.suggest("chess", null, 10).isEmpty());
+    }
+
+    @Test
+    public void testAccountsAndRename() {
+        Account account = new Account("Alice Smith", "alice@mail.com", "password");
+        account.setId(5);
+        autocompleteService.index(account);
+
+        List<SuggestionDto> users = autocompleteService.suggest("smi", SuggestionType.USER, 10);
+        assertEquals(1, users.size());
+        assertEquals("5", users.get(0).getId());
+        assertEquals("USER", users.get(0).getType());
+
+        account.setName("Alicia Jones");
+        autocompleteService.index(account);
+        assertTrue(autocompleteService.suggest("smi", null, 10).isEmpty());
+        assertEquals(List.of("Alicia Jones"), texts(autocompleteService.suggest("jon", null, 10)));
+    }
+
+    @Test
+    public void testRebuildReplacesSuggestions() {
+        autocompleteService.index(game(9, "Stale Game", "Old"));
+        when(gameRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(game(1, "Catan", "Strategy"))));
+        when(accountRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(new Account("Carl", "carl@mail.com", "password"))));
+
+        assertEquals(2, autocompleteService.rebuild());
+
+        assertTrue(autocompleteService.suggest("stale", null, 10).isEmpty());
+        assertEquals(List.of("Carl", "Catan"), texts(autocompleteService.suggest("ca", null, 10)));
+    }
+
+    @Test
+    public void testInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> autocompleteService.suggest("ca", null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> autocompleteService.suggest("ca", null, AutocompleteService.MAX_LIMIT + 1));
+    }
+}
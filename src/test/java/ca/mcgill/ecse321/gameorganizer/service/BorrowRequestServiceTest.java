@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -21,6 +22,13 @@ import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.times;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity; // Import ResponseEntity
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 // Imports for Security Context Mocking
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -43,12 +51,16 @@ import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
 import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
 import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.models.SyncTombstone;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.SyncTombstoneRepository;
 import ca.mcgill.ecse321.gameorganizer.services.LendingRecordService; // Import LendingRecordService
 import ca.mcgill.ecse321.gameorganizer.services.BorrowRequestService;
+import ca.mcgill.ecse321.gameorganizer.services.NotificationService;
+import ca.mcgill.ecse321.gameorganizer.services.ReservationCalendarService;
 import org.springframework.test.context.ContextConfiguration;
 import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
 import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
@@ -73,6 +85,15 @@ public class BorrowRequestServiceTest {
     @Mock
     private GameInstanceRepository gameInstanceRepository;
 
+    @Mock
+    private ReservationCalendarService reservationCalendar;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
     @Spy
     @InjectMocks
     private BorrowRequestService borrowRequestService;
@@ -133,8 +154,6 @@ public class BorrowRequestServiceTest {
             when(accountRepository.findByEmail(requester.getEmail())).thenReturn(Optional.of(requester));
             when(gameRepository.findById(VALID_GAME_ID)).thenReturn(Optional.of(game));
             when(gameInstanceRepository.findById(VALID_GAME_INSTANCE_ID)).thenReturn(Optional.of(gameInstance));
-            when(borrowRequestRepository.findOverlappingApprovedRequestsForGameInstance(VALID_GAME_INSTANCE_ID, startDate, endDate))
-                    .thenReturn(new ArrayList<>());
             when(borrowRequestRepository.save(any(BorrowRequest.class))).thenReturn(savedRequest);
 
             // Test
@@ -150,6 +169,115 @@ public class BorrowRequestServiceTest {
             verify(borrowRequestRepository).save(any(BorrowRequest.class));
             verify(accountRepository).findByEmail(requester.getEmail());
             verify(gameInstanceRepository).findById(VALID_GAME_INSTANCE_ID);
+            // The calendar is confirmed against the database while the copy is locked
+            verify(gameInstanceRepository).lockById(VALID_GAME_INSTANCE_ID);
+            verify(borrowRequestRepository).existsApprovedOverlapping(VALID_GAME_INSTANCE_ID, startDate, endDate, -1);
+            // The owner is told about the new request
+            verify(eventPublisher).publishEvent(new NotificationService.Notification(List.of(owner.getId()),
+                    NotificationService.Type.BORROW_REQUEST_CREATED, VALID_REQUEST_ID, null, VALID_GAME_ID,
+                    "Test Game", "PENDING"));
+        } finally {
+            SecurityContextHolder.clearContext(); // Clean up security context
+        }
+    }
+
+    @Test
+    public void testCreateBorrowRequestInstanceAlreadyReserved() {
+        // Setup
+        Date startDate = new Date();
+        Date endDate = new Date(startDate.getTime() + 86400000);
+        CreateBorrowRequestDto requestDto = new CreateBorrowRequestDto(
+            VALID_REQUESTER_ID,
+            VALID_GAME_ID,
+            VALID_GAME_INSTANCE_ID,
+            startDate,
+            endDate
+        );
+
+        GameOwner owner = new GameOwner("Owner", "owner@test.com", "password");
+        Game game = new Game("Test Game", 2, 4, "test.jpg", new Date());
+        game.setId(VALID_GAME_ID);
+        game.setOwner(owner);
+
+        GameInstance gameInstance = new GameInstance();
+        gameInstance.setId(VALID_GAME_INSTANCE_ID);
+        gameInstance.setGame(game);
+        gameInstance.setOwner(owner);
+        gameInstance.setAvailable(true);
+
+        Account requester = new Account("Requester", "requester@test.com", "password");
+        requester.setId(VALID_REQUESTER_ID);
+
+        // Mock authentication
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn(requester.getEmail());
+        when(authentication.isAuthenticated()).thenReturn(true);
+        SecurityContextHolder.setContext(securityContext);
+
+        try {
+            when(accountRepository.findByEmail(requester.getEmail())).thenReturn(Optional.of(requester));
+            when(gameRepository.findById(VALID_GAME_ID)).thenReturn(Optional.of(game));
+            when(gameInstanceRepository.findById(VALID_GAME_INSTANCE_ID)).thenReturn(Optional.of(gameInstance));
+            when(borrowRequestRepository.existsApprovedOverlapping(VALID_GAME_INSTANCE_ID, startDate, endDate, -1))
+                .thenReturn(true);
+
+            // Test & Verify
+            assertThrows(IllegalArgumentException.class, () -> borrowRequestService.createBorrowRequest(requestDto));
+            verify(borrowRequestRepository, never()).save(any(BorrowRequest.class));
+        } finally {
+            SecurityContextHolder.clearContext(); // Clean up security context
+        }
+    }
+
+    @Test
+    public void testCreateBorrowRequestReservedOnAnotherNode() {
+        // Setup
+        Date startDate = new Date();
+        Date endDate = new Date(startDate.getTime() + 86400000);
+        CreateBorrowRequestDto requestDto = new CreateBorrowRequestDto(
+            VALID_REQUESTER_ID,
+            VALID_GAME_ID,
+            VALID_GAME_INSTANCE_ID,
+            startDate,
+            endDate
+        );
+
+        GameOwner owner = new GameOwner("Owner", "owner@test.com", "password");
+        Game game = new Game("Test Game", 2, 4, "test.jpg", new Date());
+        game.setId(VALID_GAME_ID);
+        game.setOwner(owner);
+
+        GameInstance gameInstance = new GameInstance();
+        gameInstance.setId(VALID_GAME_INSTANCE_ID);
+        gameInstance.setGame(game);
+        gameInstance.setOwner(owner);
+        gameInstance.setAvailable(true);
+
+        Account requester = new Account("Requester", "requester@test.com", "password");
+        requester.setId(VALID_REQUESTER_ID);
+
+        // Mock authentication
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getName()).thenReturn(requester.getEmail());
+        when(authentication.isAuthenticated()).thenReturn(true);
+        SecurityContextHolder.setContext(securityContext);
+
+        try {
+            when(accountRepository.findByEmail(requester.getEmail())).thenReturn(Optional.of(requester));
+            when(gameRepository.findById(VALID_GAME_ID)).thenReturn(Optional.of(game));
+            when(gameInstanceRepository.findById(VALID_GAME_INSTANCE_ID)).thenReturn(Optional.of(gameInstance));
+            // Approved on another node: only the database knows, the local calendar does not
+            when(borrowRequestRepository.existsApprovedOverlapping(VALID_GAME_INSTANCE_ID, startDate, endDate, -1))
+                .thenReturn(true);
+
+            // Test & Verify
+            assertThrows(IllegalArgumentException.class, () -> borrowRequestService.createBorrowRequest(requestDto));
+            verify(gameInstanceRepository).lockById(VALID_GAME_INSTANCE_ID);
+            verify(borrowRequestRepository, never()).save(any(BorrowRequest.class));
         } finally {
             SecurityContextHolder.clearContext(); // Clean up security context
         }
@@ -348,12 +476,9 @@ public class BorrowRequestServiceTest {
         securityContext.setAuthentication(authentication);
         SecurityContextHolder.setContext(securityContext);
 
-        Account adminAccount = new Account("Admin", "admin@test.com", "password");
-        adminAccount.setId(100);
-        
         try {
-            when(borrowRequestRepository.findAll()).thenReturn(requests);
-            when(accountRepository.findByEmail("admin@test.com")).thenReturn(Optional.of(adminAccount));
+            when(borrowRequestRepository.findAll(any(Specification.class), any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(requests));
             
             // Test
             List<BorrowRequestDto> resultDtos = borrowRequestService.getAllBorrowRequests();
@@ -364,12 +489,53 @@ public class BorrowRequestServiceTest {
             assertEquals(VALID_REQUEST_ID, resultDtos.get(0).getId());
             assertEquals(VALID_GAME_ID, resultDtos.get(0).getRequestedGameId());
             assertEquals(VALID_REQUESTER_ID, resultDtos.get(0).getRequesterId());
-            verify(borrowRequestRepository).findAll();
+            // Capped to the most recent page
+            verify(borrowRequestRepository).findAll(any(Specification.class), argThat((Pageable pageable) ->
+                    pageable.getPageSize() == BorrowRequestService.MAX_PAGE_SIZE
+                            && pageable.getSort().equals(Sort.by(Sort.Direction.DESC, "id"))));
+            // Admins are not restricted, so the current account is never looked up
+            verify(accountRepository, never()).findByEmail("admin@test.com");
         } finally {
             SecurityContextHolder.clearContext(); // Clean up security context
         }
     }
 
+    @Test
+    public void testFindBorrowRequestsScopesToCurrentUser() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            "requester@test.com",
+            "password",
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+        );
+        SecurityContext securityContext = new SecurityContextImpl();
+        securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        Account requester = new Account("Requester", "requester@test.com", "password");
+        requester.setId(VALID_REQUESTER_ID);
+
+        try {
+            when(accountRepository.findByEmail("requester@test.com")).thenReturn(Optional.of(requester));
+            when(borrowRequestRepository.findAll(any(Specification.class), any(Pageable.class)))
+                    .thenReturn(Page.empty());
+
+            Page<BorrowRequestDto> result = borrowRequestService.findBorrowRequests(
+                    BorrowRequestStatus.PENDING, null, null, null, PageRequest.of(0, 20, Sort.by("requestDate")));
+
+            assertEquals(0, result.getTotalElements());
+            verify(accountRepository).findByEmail("requester@test.com");
+
+            // Oversized pages and unknown sort properties are rejected before querying
+            assertThrows(IllegalArgumentException.class, () -> borrowRequestService.findBorrowRequests(
+                    null, null, null, null, PageRequest.of(0, BorrowRequestService.MAX_PAGE_SIZE + 1)));
+            assertThrows(IllegalArgumentException.class, () -> borrowRequestService.findBorrowRequests(
+                    null, null, null, null, PageRequest.of(0, 20, Sort.by("requester.password"))));
+            verify(borrowRequestRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
     @Test
     public void testUpdateBorrowRequestStatusSuccess() {
         // Setup Owner and Security Context (Owner approves/rejects)
@@ -421,8 +587,6 @@ public class BorrowRequestServiceTest {
             when(gameInstanceRepository.findByGame(game)).thenReturn(gameInstances);
             
             // Use lenient() for stubs that might not be used in all execution paths
-            lenient().when(borrowRequestRepository.findOverlappingApprovedRequestsForGameInstance(
-                VALID_GAME_INSTANCE_ID, request.getStartDate(), request.getEndDate())).thenReturn(new ArrayList<>());
             when(borrowRequestRepository.save(any(BorrowRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Use lenient() for the lending record creation stub
@@ -438,6 +602,11 @@ public class BorrowRequestServiceTest {
             verify(borrowRequestRepository).findBorrowRequestById(VALID_REQUEST_ID);
             verify(borrowRequestRepository).save(any(BorrowRequest.class));
             verify(lendingRecordService).createLendingRecord(any(Date.class), any(Date.class), any(BorrowRequest.class), any(GameOwner.class));
+            verify(reservationCalendar).reservationApproved(request);
+            // The requester is told about the decision
+            verify(eventPublisher).publishEvent(new NotificationService.Notification(List.of(VALID_REQUESTER_ID),
+                    NotificationService.Type.BORROW_REQUEST_UPDATED, VALID_REQUEST_ID, null, VALID_GAME_ID,
+                    "Test Game", "APPROVED"));
         } finally {
             SecurityContextHolder.clearContext(); // Clean up security context
         }
@@ -513,6 +682,8 @@ public class BorrowRequestServiceTest {
             // Verify
             verify(borrowRequestRepository).findBorrowRequestById(VALID_REQUEST_ID);
             verify(borrowRequestRepository).delete(any(BorrowRequest.class));
+            // Clients syncing borrow requests learn about the deletion
+            verify(syncTombstoneRepository).save(any(SyncTombstone.class));
         } finally {
             SecurityContextHolder.clearContext();
         }
@@ -0,0 +1,93 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import ca.mcgill.ecse321.gameorganizer.models.EmailOutboxMessage;
+import ca.mcgill.ecse321.gameorganizer.services.EmailOutboxDispatcher;
+import ca.mcgill.ecse321.gameorganizer.services.EmailOutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxDispatcherTest {
+
+    // Local SMTP sink standing in for the real mail server
+    @RegisterExtension
+    static GreenMailExtension smtpSink = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private EmailOutboxService emailOutbox;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmailOutboxDispatcher dispatcherFor(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        Properties properties = new Properties();
+        properties.put("mail.smtp.connectiontimeout", "2000");
+        properties.put("mail.smtp.timeout", "2000");
+        mailSender.setJavaMailProperties(properties);
+        return new EmailOutboxDispatcher(emailOutbox, mailSender, meterRegistry, new SyncTaskExecutor(),
+                "noreply@test.com", false, 2, 20, 5000, 24);
+    }
+
+    private EmailOutboxMessage queued(int id, String recipient) {
+        EmailOutboxMessage message = new EmailOutboxMessage(recipient, "Subject " + id, "<p>Body " + id + "</p>");
+        message.setId(id);
+        message.setAttempts(1);
+        return message;
+    }
+
+    @Test
+    public void testDeliverBatchToSmtpSink() throws Exception {
+        EmailOutboxDispatcher dispatcher = dispatcherFor(ServerSetupTest.SMTP.getPort());
+
+        dispatcher.deliver(List.of(queued(1, "first@test.com"), queued(2, "second@test.com")));
+
+        assertTrue(smtpSink.waitForIncomingEmail(5000, 2));
+        MimeMessage[] received = smtpSink.getReceivedMessages();
+        assertEquals(2, received.length);
+        verify(emailOutbox).markSent(eq(List.of(1, 2)), any(Date.class));
+        verify(emailOutbox, never()).markAttemptFailed(any(EmailOutboxMessage.class), anyString());
+        assertEquals(2.0, meterRegistry.get("email.outbox.sent").counter().count());
+        assertEquals(2, meterRegistry.get("email.outbox.delivery.latency").timer().count());
+    }
+
+    @Test
+    public void testUnreachableServerSchedulesRetry() {
+        // Nothing listens on the port right after the sink's
+        EmailOutboxDispatcher dispatcher = dispatcherFor(ServerSetupTest.SMTP.getPort() + 1);
+        EmailOutboxMessage message = queued(3, "third@test.com");
+        when(emailOutbox.markAttemptFailed(eq(message), anyString())).thenReturn(true);
+
+        dispatcher.deliver(List.of(message));
+
+        verify(emailOutbox).markAttemptFailed(eq(message), anyString());
+        verify(emailOutbox).markSent(eq(List.of()), any(Date.class));
+        assertEquals(0, smtpSink.getReceivedMessages().length);
+        assertEquals(1.0, meterRegistry.get("email.outbox.retried").counter().count());
+    }
+}
@@ -0,0 +1,100 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import ca.mcgill.ecse321.gameorganizer.models.EmailOutboxMessage;
+import ca.mcgill.ecse321.gameorganizer.repositories.EmailOutboxRepository;
+import ca.mcgill.ecse321.gameorganizer.services.EmailOutboxService;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxServiceTest {
+
+    private static final long BACKOFF_MILLIS = 30_000;
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private EmailOutboxService emailOutbox;
+
+    @BeforeEach
+    public void setUp() {
+        emailOutbox = new EmailOutboxService(emailOutboxRepository, eventPublisher, 3, 30, 3600, 120);
+    }
+
+    private EmailOutboxMessage message(int id, int attempts) {
+        EmailOutboxMessage message = new EmailOutboxMessage("user@test.com", "Subject", "<p>Body</p>");
+        message.setId(id);
+        message.setAttempts(attempts);
+        return message;
+    }
+
+    @Test
+    public void testEnqueueSavesAndPublishes() {
+        when(emailOutboxRepository.save(any(EmailOutboxMessage.class))).thenAnswer(invocation -> {
+            EmailOutboxMessage saved = invocation.getArgument(0);
+            saved.setId(5);
+            return saved;
+        });
+
+        EmailOutboxMessage queued = emailOutbox.enqueue("user@test.com", "Subject", "<p>Body</p>");
+
+        assertEquals(EmailOutboxMessage.DeliveryStatus.PENDING, queued.getStatus());
+        assertEquals(0, queued.getAttempts());
+        verify(eventPublisher).publishEvent(new EmailOutboxService.MessageQueued(5));
+        assertThrows(IllegalArgumentException.class, () -> emailOutbox.enqueue(" ", "Subject", "<p>Body</p>"));
+    }
+
+    @Test
+    public void testClaimDueSkipsMessagesClaimedElsewhere() {
+        when(emailOutboxRepository.findDue(any(Date.class), any(Pageable.class)))
+                .thenReturn(List.of(message(1, 0), message(2, 0)));
+        when(emailOutboxRepository.claim(eq(1), any(Date.class), any(Date.class))).thenReturn(1);
+        when(emailOutboxRepository.claim(eq(2), any(Date.class), any(Date.class))).thenReturn(0);
+
+        List<EmailOutboxMessage> claimed = emailOutbox.claimDue(10);
+
+        assertEquals(1, claimed.size());
+        assertEquals(1, claimed.get(0).getId());
+        assertEquals(1, claimed.get(0).getAttempts());
+    }
+
+    @Test
+    public void testFailedAttemptsBackOffExponentiallyThenGiveUp() {
+        ArgumentCaptor<Date> nextAttempt = ArgumentCaptor.forClass(Date.class);
+        long before = System.currentTimeMillis();
+
+        assertTrue(emailOutbox.markAttemptFailed(message(1, 2), "Connection refused"));
+        verify(emailOutboxRepository).scheduleRetry(eq(1), nextAttempt.capture(), eq("Connection refused"));
+        // Second attempt failed: the delay has doubled once
+        long delay = nextAttempt.getValue().getTime() - before;
+        assertTrue(delay >= 2 * BACKOFF_MILLIS && delay < 2 * BACKOFF_MILLIS + 5_000);
+
+        assertFalse(emailOutbox.markAttemptFailed(message(2, 3), "Connection refused"));
+        verify(emailOutboxRepository).markFailed(2, "Connection refused");
+        verify(emailOutboxRepository, never()).scheduleRetry(eq(2), any(Date.class), anyString());
+    }
+}
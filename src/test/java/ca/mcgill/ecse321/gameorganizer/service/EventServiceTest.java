@@ -19,6 +19,14 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
@@ -32,6 +40,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.ContextConfiguration;
 import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
 import ca.mcgill.ecse321.gameorganizer.dto.request.CreateEventRequest;
+import ca.mcgill.ecse321.gameorganizer.dto.request.EventFeedFilterDto;
 import ca.mcgill.ecse321.gameorganizer.models.Account;
 import ca.mcgill.ecse321.gameorganizer.models.Event;
 import ca.mcgill.ecse321.gameorganizer.models.Game;
@@ -274,16 +283,112 @@ public class EventServiceTest {
         host.setId(VALID_HOST_ID);
         events.add(new Event(VALID_TITLE, new Date(System.currentTimeMillis()), VALID_LOCATION,
             VALID_DESCRIPTION, VALID_MAX_PARTICIPANTS, new Game(), host)); // Use host
-        when(eventRepository.findAll()).thenReturn(events);
+        when(eventRepository.findAllBy(any(Pageable.class))).thenReturn(new SliceImpl<>(events));
 
         // Test
-        List<Event> result = eventService.getAllEvents();
+        Slice<Event> result = eventService.getAllEvents(0, EventService.MAX_PAGE_SIZE);
 
         // Verify
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(VALID_TITLE, result.get(0).getTitle());
-        verify(eventRepository).findAll();
+        assertEquals(1, result.getContent().size());
+        assertEquals(VALID_TITLE, result.getContent().get(0).getTitle());
+        verify(eventRepository).findAllBy(PageRequest.of(0, EventService.MAX_PAGE_SIZE,
+            Sort.by(Sort.Direction.DESC, "dateTime").and(Sort.by(Sort.Direction.DESC, "id"))));
+    }
+
+    @Test
+    public void testGetAllEventsRejectsOversizedPage() {
+        assertThrows(IllegalArgumentException.class,
+            () -> eventService.getAllEvents(0, EventService.MAX_PAGE_SIZE + 1));
+        verify(eventRepository, never()).findAllBy(any(Pageable.class));
+    }
+
+    // --- Event feed ---
+
+    private List<Event> feedEvents(int count) {
+        Account host = new Account("Host", VALID_HOST_EMAIL, "password");
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = new Event(VALID_TITLE + " " + i, new Date(1_700_000_000_000L + i * 60_000L), VALID_LOCATION,
+                VALID_DESCRIPTION, VALID_MAX_PARTICIPANTS, new Game(), host);
+            event.setId(UUID.randomUUID());
+            events.add(event);
+        }
+        return events;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEventFeedOffsetPage() {
+        EventFeedFilterDto filter = new EventFeedFilterDto();
+        when(eventRepository.findAll(any(Specification.class), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(feedEvents(2), PageRequest.of(1, 2), 5));
+
+        Page<Event> result = eventService.getEventFeed(filter, 1, 2);
+
+        assertEquals(2, result.getNumberOfElements());
+        assertEquals(5, result.getTotalElements());
+        // Upcoming events are listed soonest first, with the ID breaking ties
+        verify(eventRepository).findAll(any(Specification.class), eq(PageRequest.of(1, 2,
+            Sort.by(Sort.Direction.ASC, "dateTime").and(Sort.by(Sort.Direction.ASC, "id")))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetEventFeedAfterCursor() {
+        EventFeedFilterDto filter = new EventFeedFilterDto();
+        // One row more than the page size means another page follows
+        List<Event> rows = feedEvents(3);
+        doReturn(rows).when(eventRepository).findBy(any(Specification.class), any());
+
+        Slice<Event> result = eventService.getEventFeedAfter(filter, eventService.nextCursor(rows.get(0)), 2);
+
+        assertEquals(2, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+        assertEquals(rows.get(1).getDateTime().getTime() + ":" + rows.get(1).getId(),
+            eventService.nextCursor(result.getContent().get(1)));
+    }
+
+    @Test
+    public void testGetEventFeedAfterMalformedCursor() {
+        EventFeedFilterDto filter = new EventFeedFilterDto();
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.getEventFeedAfter(filter, "garbage", 10));
+        assertThrows(IllegalArgumentException.class, () -> eventService.getEventFeedAfter(filter, "abc:" + UUID.randomUUID(), 10));
+        assertThrows(IllegalArgumentException.class, () -> eventService.getEventFeedAfter(filter, "1700000000000:not-a-uuid", 10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExportEventFeedReadsAllChunks() {
+        EventFeedFilterDto filter = new EventFeedFilterDto();
+        filter.setWindow(EventFeedFilterDto.Window.PAST);
+        // A full chunk plus its look-ahead row, then a partial last chunk
+        doReturn(feedEvents(501), feedEvents(3)).when(eventRepository).findBy(any(Specification.class), any());
+
+        List<Event> exported = new ArrayList<>();
+        eventService.exportEventFeed(filter, exported::add);
+
+        assertEquals(503, exported.size());
+        verify(eventRepository, times(2)).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testValidateEventFeedExportRejectsLargeWindow() {
+        EventFeedFilterDto filter = new EventFeedFilterDto();
+        when(eventRepository.count(any(Specification.class))).thenReturn((long) EventService.MAX_EXPORT_SIZE + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.validateEventFeedExport(filter));
+    }
+
+    @Test
+    public void testValidateEventFeedExportRejectsIncompleteWindow() {
+        EventFeedFilterDto filter = new EventFeedFilterDto();
+        filter.setWindow(EventFeedFilterDto.Window.BETWEEN);
+        filter.setFrom(new Date());
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.validateEventFeedExport(filter));
     }
 
     @Test
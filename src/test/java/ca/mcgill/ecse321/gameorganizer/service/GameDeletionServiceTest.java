@@ -0,0 +1,197 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.GameDeletionProgressDto;
+import ca.mcgill.ecse321.gameorganizer.exceptions.ForbiddenException;
+import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.SyncTombstone;
+import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.ReviewRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.SyncTombstoneRepository;
+import ca.mcgill.ecse321.gameorganizer.search.SearchService;
+import ca.mcgill.ecse321.gameorganizer.search.SearchService.EntityType;
+import ca.mcgill.ecse321.gameorganizer.services.GameDeletionService;
+import ca.mcgill.ecse321.gameorganizer.services.ReservationCalendarService;
+
+@ExtendWith(MockitoExtension.class)
+public class GameDeletionServiceTest {
+
+    private static final int GAME_ID = 3;
+
+    private static final String OWNER = "owner@test.com";
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private GameInstanceRepository gameInstanceRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private RegistrationRepository registrationRepository;
+
+    @Mock
+    private BorrowRequestRepository borrowRequestRepository;
+
+    @Mock
+    private LendingRecordRepository lendingRecordRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private ReservationCalendarService reservationCalendar;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GameDeletionService gameDeletionService;
+
+    @BeforeEach
+    public void setup() {
+        gameDeletionService = new GameDeletionService(gameRepository, gameInstanceRepository, eventRepository,
+                registrationRepository, borrowRequestRepository, lendingRecordRepository, reviewRepository,
+                reservationCalendar, searchService, syncTombstoneRepository, transactionManager,
+                new SimpleAsyncTaskExecutor("game-deletion-test-"), 2);
+    }
+
+    private GameDeletionProgressDto awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        GameDeletionProgressDto progress = gameDeletionService.getProgress(UUID.fromString(jobId), OWNER);
+        while ("RUNNING".equals(progress.getState()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            progress = gameDeletionService.getProgress(UUID.fromString(jobId), OWNER);
+        }
+        return progress;
+    }
+
+    @Test
+    public void testDeleteDependentsInDependencyOrder() {
+        UUID eventId = UUID.randomUUID();
+        when(registrationRepository.deleteByFeaturedGameId(GAME_ID)).thenReturn(4);
+        when(eventRepository.findIdsByFeaturedGameId(eq(GAME_ID), any(Pageable.class))).thenReturn(List.of(eventId));
+        when(eventRepository.deleteByFeaturedGameId(GAME_ID)).thenReturn(1);
+        when(gameInstanceRepository.findIdsByGameId(eq(GAME_ID), any(Pageable.class))).thenReturn(List.of(7, 8));
+        when(gameInstanceRepository.deleteByGameId(GAME_ID)).thenReturn(2);
+        List<SyncTombstone> recordTombstones = List.of(new SyncTombstone("LENDING_RECORD", 5, 1, 2));
+        List<SyncTombstone> requestTombstones = List.of(new SyncTombstone("BORROW_REQUEST", 6, 1, 2));
+        when(lendingRecordRepository.findTombstonesByGameId(GAME_ID)).thenReturn(recordTombstones);
+        when(borrowRequestRepository.findTombstonesByGameId(GAME_ID)).thenReturn(requestTombstones);
+
+        Map<String, Integer> deleted = gameDeletionService.deleteDependents(GAME_ID);
+
+        assertEquals(List.of(GameDeletionService.REGISTRATIONS, GameDeletionService.EVENTS,
+                GameDeletionService.LENDING_RECORDS, GameDeletionService.BORROW_REQUESTS,
+                GameDeletionService.REVIEWS, GameDeletionService.INSTANCES), List.copyOf(deleted.keySet()));
+        assertEquals(4, deleted.get(GameDeletionService.REGISTRATIONS));
+        assertEquals(2, deleted.get(GameDeletionService.INSTANCES));
+
+        InOrder inOrder = inOrder(gameRepository, registrationRepository, eventRepository, lendingRecordRepository,
+                borrowRequestRepository, reviewRepository, gameInstanceRepository, syncTombstoneRepository);
+        // The game is marked first so no new dependents can be created while they are removed
+        inOrder.verify(gameRepository).markDeleting(GAME_ID);
+        inOrder.verify(registrationRepository).deleteByFeaturedGameId(GAME_ID);
+        inOrder.verify(eventRepository).unlinkInstancesOfGame(GAME_ID);
+        inOrder.verify(eventRepository).deleteByFeaturedGameId(GAME_ID);
+        // Tombstones are written while the deleted rows can still be read
+        inOrder.verify(syncTombstoneRepository).saveAll(recordTombstones);
+        inOrder.verify(lendingRecordRepository).deleteByGameId(GAME_ID);
+        inOrder.verify(syncTombstoneRepository).saveAll(requestTombstones);
+        inOrder.verify(borrowRequestRepository).deleteByGameId(GAME_ID);
+        inOrder.verify(reviewRepository).deleteByGameId(GAME_ID);
+        inOrder.verify(gameInstanceRepository).deleteByGameId(GAME_ID);
+        verify(searchService).remove(EntityType.EVENT, List.of(eventId.toString()));
+        verify(reservationCalendar).instancesRemoved(List.of(7, 8));
+    }
+
+    @Test
+    public void testBackgroundDeletionInChunks() throws InterruptedException {
+        UUID eventId = UUID.randomUUID();
+        Game game = new Game("Popular", 2, 4, "p.jpg", new Date());
+        when(registrationRepository.findIdsByFeaturedGameId(eq(GAME_ID), any(Pageable.class)))
+                .thenReturn(List.of(1, 2), List.of(3));
+        when(eventRepository.findIdsByFeaturedGameId(eq(GAME_ID), any(Pageable.class)))
+                .thenReturn(List.of(eventId), List.of());
+        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+
+        GameDeletionProgressDto started = gameDeletionService.startDeletion(GAME_ID, OWNER);
+        assertNotNull(started.getJobId());
+        verify(gameRepository).markDeleting(GAME_ID);
+        GameDeletionProgressDto finished = awaitFinished(started.getJobId());
+
+        assertEquals("COMPLETED", finished.getState());
+        assertEquals(3L, finished.getDeleted().get(GameDeletionService.REGISTRATIONS));
+        assertEquals(1L, finished.getDeleted().get(GameDeletionService.EVENTS));
+        assertEquals(1L, finished.getDeleted().get(GameDeletionService.GAME));
+        assertNotNull(finished.getFinishedAt());
+        verify(registrationRepository).deleteAllByIdInBatch(List.of(1, 2));
+        verify(registrationRepository).deleteAllByIdInBatch(List.of(3));
+        verify(eventRepository).deleteAllByIdInBatch(List.of(eventId));
+        verify(searchService).remove(EntityType.EVENT, List.of(eventId.toString()));
+        verify(gameRepository).delete(game);
+    }
+
+    @Test
+    public void testBackgroundDeletionFailure() throws InterruptedException {
+        when(gameRepository.findById(GAME_ID)).thenThrow(new IllegalStateException("Lock timeout"));
+
+        GameDeletionProgressDto finished = awaitFinished(gameDeletionService.startDeletion(GAME_ID, OWNER).getJobId());
+
+        assertEquals("FAILED", finished.getState());
+        assertEquals(GameDeletionService.GAME, finished.getCurrentStep());
+        assertEquals("Lock timeout", finished.getError());
+    }
+
+    @Test
+    public void testUnknownJob() {
+        assertThrows(ResourceNotFoundException.class, () -> gameDeletionService.getProgress(UUID.randomUUID(), OWNER));
+    }
+
+    @Test
+    public void testProgressOnlyVisibleToRequester() throws InterruptedException {
+        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(new Game("Popular", 2, 4, "p.jpg", new Date())));
+        String jobId = gameDeletionService.startDeletion(GAME_ID, OWNER).getJobId();
+        awaitFinished(jobId);
+
+        assertThrows(ForbiddenException.class,
+                () -> gameDeletionService.getProgress(UUID.fromString(jobId), "other@test.com"));
+    }
+}
@@ -18,8 +18,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,6 +38,7 @@ import java.util.Collections;
 import org.springframework.test.context.ContextConfiguration;
 
 import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
+import ca.mcgill.ecse321.gameorganizer.config.CatalogCache;
 import ca.mcgill.ecse321.gameorganizer.dto.request.GameCreationDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.GameResponseDto;
 import ca.mcgill.ecse321.gameorganizer.dto.response.GameInstanceResponseDto;
@@ -53,10 +56,10 @@ import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.services.GameDeletionService;
 import ca.mcgill.ecse321.gameorganizer.services.GameService;
-import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
-import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
-import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.services.ReservationCalendarService;
+import ca.mcgill.ecse321.gameorganizer.services.ReviewEligibilityService;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 
@@ -85,6 +88,18 @@ public class GameServiceTest {
     @Mock
     private LendingRecordRepository lendingRecordRepository;
 
+    @Mock
+    private ReservationCalendarService reservationCalendar;
+
+    @Mock
+    private ReviewEligibilityService reviewEligibilityService;
+
+    @Mock
+    private GameDeletionService gameDeletionService;
+
+    @Mock
+    private CatalogCache catalogCache;
+
     @InjectMocks
     private GameService gameService;
 
@@ -312,20 +327,16 @@ public class GameServiceTest {
             Game game = new Game(VALID_GAME_NAME, VALID_MIN_PLAYERS, VALID_MAX_PLAYERS, VALID_IMAGE, new Date());
             game.setOwner(owner); // Set the owner
             when(gameRepository.findGameById(VALID_GAME_ID)).thenReturn(game);
-            when(eventRepository.findEventByFeaturedGameId(VALID_GAME_ID)).thenReturn(Collections.emptyList());
-            
-            // Mock borrowRequestRepository - Add this to fix the test
-            when(borrowRequestRepository.findByRequestedGame(game)).thenReturn(Collections.emptyList());
-            // Mock the instances required for deletion
-            when(gameInstanceRepository.findByGame(game)).thenReturn(Collections.emptyList());
 
             // Test
             ResponseEntity<String> response = gameService.deleteGame(VALID_GAME_ID);
 
-            // Verify
+            // Verify dependents are deleted before the game
             assertEquals(200, response.getStatusCodeValue());
             verify(gameRepository).findGameById(VALID_GAME_ID);
-            verify(gameRepository).delete(game);
+            InOrder inOrder = inOrder(gameDeletionService, gameRepository);
+            inOrder.verify(gameDeletionService).deleteDependents(VALID_GAME_ID);
+            inOrder.verify(gameRepository).delete(game);
         } finally {
             SecurityContextHolder.clearContext();
         }
@@ -341,6 +352,7 @@ public class GameServiceTest {
             () -> gameService.deleteGame(VALID_GAME_ID));
         verify(gameRepository).findGameById(VALID_GAME_ID);
         verify(gameRepository, never()).delete(any());
+        verify(gameDeletionService, never()).deleteDependents(anyInt());
     }
 
     @Test
@@ -367,23 +379,11 @@ public class GameServiceTest {
             savedReview.setGameReviewed(game);
             savedReview.setReviewer(reviewer);
 
-            // Create mock lending record to show user has borrowed and returned this game
-            LendingRecord closedRecord = new LendingRecord();
-            closedRecord.setStatus(LendingStatus.CLOSED);
-            
-            BorrowRequest request = new BorrowRequest();
-            request.setRequester(reviewer);
-            request.setRequestedGame(game);
-            closedRecord.setRequest(request);
-            
-            List<LendingRecord> lendingRecords = new ArrayList<>();
-            lendingRecords.add(closedRecord);
-
             // Setup mocks
             when(accountRepository.findByEmail(VALID_OWNER_EMAIL)).thenReturn(Optional.of(reviewer));
             when(gameRepository.findGameById(VALID_GAME_ID)).thenReturn(game);
             when(reviewRepository.save(any(Review.class))).thenReturn(savedReview);
-            when(lendingRecordRepository.findByRequest_Requester(reviewer)).thenReturn(lendingRecords);
+            when(reviewEligibilityService.canReview(reviewer.getId(), VALID_GAME_ID)).thenReturn(true);
 
             // Test
             ReviewResponseDto result = gameService.submitReview(reviewDto);
@@ -395,6 +395,9 @@ public class GameServiceTest {
             verify(accountRepository).findByEmail(VALID_OWNER_EMAIL);
             verify(gameRepository).findGameById(VALID_GAME_ID);
             verify(reviewRepository).save(any(Review.class));
+            verify(gameRepository).addRating(VALID_GAME_ID, 5);
+            // Only the reviewed game leaves the second-level cache
+            verify(catalogCache).evictGame(VALID_GAME_ID);
         } finally {
             SecurityContextHolder.clearContext();
         }
@@ -586,12 +589,6 @@ public class GameServiceTest {
             game.setOwner(owner); // Set the owner
             game.setId(VALID_GAME_ID); // Assume a valid ID for the test game
             when(gameRepository.findGameById(VALID_GAME_ID)).thenReturn(game); // Mock finding game by ID
-            when(eventRepository.findEventByFeaturedGameId(VALID_GAME_ID)).thenReturn(Collections.emptyList()); // Added mock for eventRepo find
-            
-            // Mock borrowRequestRepository - Add this to fix the test
-            when(borrowRequestRepository.findByRequestedGame(game)).thenReturn(Collections.emptyList());
-            // Mock the instances required for deletion
-            when(gameInstanceRepository.findByGame(game)).thenReturn(Collections.emptyList());
 
             // Test
             ResponseEntity<String> response = gameService.deleteGame(VALID_GAME_ID);
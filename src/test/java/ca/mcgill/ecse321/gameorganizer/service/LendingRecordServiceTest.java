@@ -31,6 +31,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -60,8 +61,11 @@ import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
 import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.GameInstanceRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.SyncTombstoneRepository;
 import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
 import ca.mcgill.ecse321.gameorganizer.services.LendingRecordService;
+import ca.mcgill.ecse321.gameorganizer.services.ReviewEligibilityService;
 import org.springframework.test.context.ContextConfiguration;
 import ca.mcgill.ecse321.gameorganizer.TestJwtConfig;
 
@@ -81,6 +85,18 @@ public class LendingRecordServiceTest {
     @Mock
     private GameInstanceRepository gameInstanceRepository;
 
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private ReviewEligibilityService reviewEligibilityService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
     @Spy
     @InjectMocks
     private LendingRecordService lendingRecordService;
@@ -382,6 +398,30 @@ public class LendingRecordServiceTest {
         }
     }
 
+    @Test
+    public void testMarkReturnedKeepsStatus() {
+        Authentication auth = new UsernamePasswordAuthenticationToken(owner.getEmail(), "password", Collections.singletonList(new SimpleGrantedAuthority("ROLE_GAME_OWNER")));
+        SecurityContext securityContext = new SecurityContextImpl();
+        securityContext.setAuthentication(auth);
+        SecurityContextHolder.setContext(securityContext);
+
+        try {
+            record.setStatus(LendingStatus.OVERDUE);
+            when(accountRepository.findByEmail(owner.getEmail())).thenReturn(Optional.of(owner));
+            when(lendingRecordRepository.findLendingRecordById(VALID_RECORD_ID)).thenReturn(Optional.of(record));
+
+            ResponseEntity<String> response = lendingRecordService.markReturned(VALID_RECORD_ID, "Returned");
+
+            // Still overdue, but now flagged as returned rather than confused with it
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(LendingStatus.OVERDUE, record.getStatus());
+            assertTrue(record.isAwaitingReturnConfirmation());
+            verify(lendingRecordRepository).save(record);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
     @Test
     public void testUpdateStatusInvalidTransition() {
         // Setup without extensive mocking
@@ -486,8 +526,7 @@ public class LendingRecordServiceTest {
         // Setup
         List<LendingRecord> records = new ArrayList<>();
         records.add(record);
-        when(lendingRecordRepository.findByEndDateBeforeAndStatus(any(Date.class), any(LendingStatus.class)))
-            .thenReturn(records);
+        when(lendingRecordRepository.findOverdue(any(Date.class))).thenReturn(records);
 
         // Test
         List<LendingRecord> result = lendingRecordService.findOverdueRecords();
@@ -496,7 +535,7 @@ public class LendingRecordServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(VALID_RECORD_ID, result.get(0).getId());
-        verify(lendingRecordRepository).findByEndDateBeforeAndStatus(any(Date.class), any(LendingStatus.class));
+        verify(lendingRecordRepository).findOverdue(any(Date.class));
     }
 
     @Test
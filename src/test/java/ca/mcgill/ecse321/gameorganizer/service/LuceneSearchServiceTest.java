@@ -0,0 +1,140 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.SearchResultDto;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.Event;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
+import ca.mcgill.ecse321.gameorganizer.search.LuceneSearchService;
+import ca.mcgill.ecse321.gameorganizer.search.SearchService.EntityType;
+
+@ExtendWith(MockitoExtension.class)
+public class LuceneSearchServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private LuceneSearchService searchService;
+
+    @BeforeEach
+    public void setup() {
+        searchService = new LuceneSearchService(gameRepository, eventRepository, accountRepository, false, 0);
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        searchService.close();
+    }
+
+    private static Game game(int id, String name, String category, String description) {
+        Game game = new Game(name, 2, 4, "game.jpg", new Date());
+        game.setId(id);
+        game.setCategory(category);
+        game.setDescription(description);
+        return game;
+    }
+
+    @Test
+    public void testPrefixSearchRanksTitleMatchesFirst() {
+        searchService.index(game(1, "Catan", "Strategy", "Trade and build settlements"));
+        searchService.index(game(2, "Ticket to Ride", "Family", "A game about building a catan-like railway"));
+        searchService.index(new Account("Cathy", "cathy@mail.com", "password"));
+
+        List<SearchResultDto> results = searchService.search("cata", null, 10);
+
+        assertEquals(2, results.size());
+        assertEquals("1", results.get(0).getId());
+        assertEquals("Catan", results.get(0).getTitle());
+        assertEquals("Strategy", results.get(0).getSubtitle());
+        assertEquals("2", results.get(1).getId());
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+    }
+
+    @Test
+    public void testAccountsAreFoundByNameOnly() {
+        searchService.index(new Account("Cathy", "secret.address@mail.com", "password"));
+
+        assertEquals(1, searchService.search("cathy", EntityType.USER, 10).size());
+        assertTrue(searchService.search("secret", null, 10).isEmpty());
+        assertTrue(searchService.search("secret.address@mail.com", null, 10).isEmpty());
+    }
+
+    @Test
+    public void testEveryWordMustMatchAndTypeFilter() {
+        searchService.index(game(1, "Catan", "Strategy", "Trade and build settlements"));
+        Event event = new Event("Catan Night", new Date(), "Trottier Building", "Bring snacks", 10, null);
+        event.setId(UUID.randomUUID());
+        searchService.index(event);
+
+        assertEquals(1, searchService.search("catan trottier", null, 10).size());
+        List<SearchResultDto> events = searchService.search("catan", EntityType.EVENT, 10);
+        assertEquals(1, events.size());
+        assertEquals("EVENT", events.get(0).getType());
+        assertEquals(event.getId().toString(), events.get(0).getId());
+        assertTrue(searchService.search("  ", null, 10).isEmpty());
+    }
+
+    @Test
+    public void testRemoveAndReindex() {
+        Game game = game(1, "Catan", "Strategy", null);
+        searchService.index(game);
+        game.setName("Carcassonne");
+        searchService.index(game);
+
+        assertTrue(searchService.search("catan", null, 10).isEmpty());
+        assertEquals(1, searchService.search("carc", null, 10).size());
+
+        searchService.remove(game);
+        assertTrue(searchService.search("carc", null, 10).isEmpty());
+    }
+
+    @Test
+    public void testRebuildReplacesIndex() {
+        searchService.index(game(9, "Stale Game", null, null));
+        when(gameRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(game(1, "Catan", "Strategy", null))));
+        when(eventRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(accountRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(new Account("Alice", "alice@mail.com", "password"))));
+
+        assertEquals(2, searchService.rebuild());
+
+        assertTrue(searchService.search("stale", null, 10).isEmpty());
+        assertEquals(1, searchService.search("catan", EntityType.GAME, 10).size());
+        assertEquals(1, searchService.search("alice", EntityType.USER, 10).size());
+    }
+
+    @Test
+    public void testInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("catan", null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> searchService.search("catan", null, LuceneSearchService.MAX_LIMIT + 1));
+    }
+}
@@ -0,0 +1,99 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.NotificationDto;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.services.NotificationService;
+import ca.mcgill.ecse321.gameorganizer.services.NotificationService.Notification;
+import ca.mcgill.ecse321.gameorganizer.services.NotificationService.Type;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationServiceTest {
+
+    private static final int OWNER_ID = 1;
+    private static final int BORROWER_ID = 2;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private NotificationService notificationService;
+
+    @BeforeEach
+    public void setup() {
+        notificationService = new NotificationService(accountRepository, 3, 100, 2, 30, 25);
+    }
+
+    @AfterEach
+    public void teardown() {
+        notificationService.closeAll();
+    }
+
+    @Test
+    public void testNotificationGoesToEachRecipient() {
+        notificationService.onNotification(new Notification(List.of(OWNER_ID, BORROWER_ID),
+                Type.LENDING_RECORD_UPDATED, 10, 20, 30, "Catan", "CLOSED"));
+
+        List<NotificationDto> owner = notificationService.getRecentNotifications(OWNER_ID, null);
+        List<NotificationDto> borrower = notificationService.getRecentNotifications(BORROWER_ID, null);
+        assertEquals(1, owner.size());
+        assertEquals(1, borrower.size());
+        assertEquals("LENDING_RECORD_UPDATED", owner.get(0).getType());
+        assertEquals(20, owner.get(0).getLendingRecordId());
+        assertEquals("CLOSED", borrower.get(0).getStatus());
+        assertTrue(notificationService.getRecentNotifications(3, null).isEmpty());
+    }
+
+    @Test
+    public void testRecentNotificationsAfterCursor() {
+        notify(BORROWER_ID, "APPROVED");
+        notify(BORROWER_ID, "DECLINED");
+        List<NotificationDto> all = notificationService.getRecentNotifications(BORROWER_ID, null);
+        assertEquals(2, all.size());
+        assertTrue(all.get(1).getId() > all.get(0).getId());
+
+        List<NotificationDto> missed = notificationService.getRecentNotifications(BORROWER_ID, all.get(0).getId());
+        assertEquals(1, missed.size());
+        assertEquals("DECLINED", missed.get(0).getStatus());
+        assertTrue(notificationService.getRecentNotifications(BORROWER_ID, all.get(1).getId()).isEmpty());
+    }
+
+    @Test
+    public void testOnlyLatestNotificationsAreKept() {
+        for (int i = 0; i < 5; i++) {
+            notify(BORROWER_ID, "STATUS_" + i);
+        }
+
+        List<NotificationDto> recent = notificationService.getRecentNotifications(BORROWER_ID, null);
+        assertEquals(3, recent.size());
+        assertEquals("STATUS_2", recent.get(0).getStatus());
+        assertEquals("STATUS_4", recent.get(2).getStatus());
+    }
+
+    @Test
+    public void testOldestStreamIsClosedWhenTooManyAreOpen() {
+        notificationService.subscribe(OWNER_ID, null);
+        notificationService.subscribe(OWNER_ID, null);
+        notificationService.subscribe(OWNER_ID, null);
+
+        assertEquals(2, notificationService.getOpenStreamCount(OWNER_ID));
+        assertEquals(0, notificationService.getOpenStreamCount(BORROWER_ID));
+
+        notificationService.closeAll();
+        assertEquals(0, notificationService.getOpenStreamCount(OWNER_ID));
+    }
+
+    private void notify(int recipientId, String status) {
+        notificationService.onNotification(new Notification(List.of(recipientId),
+                Type.BORROW_REQUEST_UPDATED, 10, null, 30, "Catan", status));
+    }
+}
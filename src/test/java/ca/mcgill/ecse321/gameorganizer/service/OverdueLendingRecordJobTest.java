@@ -0,0 +1,147 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.LendingRecordResponseDto;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.Game;
+import ca.mcgill.ecse321.gameorganizer.models.GameOwner;
+import ca.mcgill.ecse321.gameorganizer.models.JobLease;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord;
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+import ca.mcgill.ecse321.gameorganizer.repositories.JobLeaseRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.services.OverdueLendingRecordJob;
+
+@DataJpaTest(properties = {"lending.overdue-job.enabled=false", "lending.overdue-job.chunk-size=2"})
+@Import(OverdueLendingRecordJob.class)
+public class OverdueLendingRecordJobTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OverdueLendingRecordJob overdueJob;
+
+    @Autowired
+    private LendingRecordRepository lendingRecordRepository;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    private GameOwner owner;
+    private Game game;
+    private Account borrower;
+
+    @BeforeEach
+    public void setup() {
+        owner = entityManager.persist(new GameOwner("Owner", "owner@test.com", "password123"));
+        game = new Game("Catan", 3, 4, "catan.jpg", new Date());
+        game.setOwner(owner);
+        game = entityManager.persist(game);
+        borrower = entityManager.persist(new Account("Borrower", "borrower@test.com", "password123"));
+    }
+
+    @Test
+    public void testExpiredRecordsAreMarkedInChunks() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            persistRecord(new Date(now - 10 * DAY), new Date(now - DAY));
+        }
+        LendingRecord current = persistRecord(new Date(now - DAY), new Date(now + DAY));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(3, overdueJob.runOnce());
+        assertEquals(3, lendingRecordRepository.findByStatus(LendingStatus.OVERDUE).size());
+        assertEquals(LendingStatus.ACTIVE,
+                lendingRecordRepository.findLendingRecordById(current.getId()).orElseThrow().getStatus());
+
+        // Nothing left to mark, and the lease was given up
+        assertEquals(0, overdueJob.runOnce());
+        assertNull(jobLeaseRepository.findById(OverdueLendingRecordJob.LEASE_NAME).orElseThrow().getLeaseUntil());
+    }
+
+    @Test
+    public void testJobIsSkippedWhileAnotherNodeHoldsTheLease() {
+        long now = System.currentTimeMillis();
+        persistRecord(new Date(now - 10 * DAY), new Date(now - DAY));
+        entityManager.persistAndFlush(new JobLease(OverdueLendingRecordJob.LEASE_NAME, "other-node",
+                new Date(now + 60_000)));
+        entityManager.clear();
+
+        assertEquals(-1, overdueJob.runOnce());
+        assertEquals(0, lendingRecordRepository.findByStatus(LendingStatus.OVERDUE).size());
+
+        // Once the other node's lease expires the job runs here
+        JobLease lease = jobLeaseRepository.findById(OverdueLendingRecordJob.LEASE_NAME).orElseThrow();
+        lease.setLeaseUntil(new Date(now - 1000));
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(1, overdueJob.runOnce());
+    }
+
+    @Test
+    public void testReturnedRecordsStayDistinctFromOverdueOnes() {
+        long now = System.currentTimeMillis();
+        LendingRecord returned = persistRecord(new Date(now - 10 * DAY), new Date(now - DAY));
+        returned.setAwaitingReturnConfirmation(true);
+        LendingRecord overdue = persistRecord(new Date(now - 10 * DAY), new Date(now - DAY));
+        entityManager.flush();
+        entityManager.clear();
+
+        // A game reported returned is not overdue while the owner has yet to confirm it
+        assertEquals(1, overdueJob.runOnce());
+        LendingRecord returnedFromDb = lendingRecordRepository.findLendingRecordById(returned.getId()).orElseThrow();
+        assertEquals(LendingStatus.ACTIVE, returnedFromDb.getStatus());
+        assertTrue(returnedFromDb.isAwaitingReturnConfirmation());
+        LendingRecord overdueFromDb = lendingRecordRepository.findLendingRecordById(overdue.getId()).orElseThrow();
+        assertEquals(LendingStatus.OVERDUE, overdueFromDb.getStatus());
+        assertFalse(overdueFromDb.isAwaitingReturnConfirmation());
+
+        Date date = new Date();
+        assertEquals(List.of(overdue.getId()), ids(lendingRecordRepository.findOverdueResponseDtos(date, null)));
+        // The borrower still has the overdue game, but not the returned one
+        assertEquals(List.of(overdue.getId()),
+                ids(lendingRecordRepository.findBorrowedResponseDtosByBorrower(borrower.getId())));
+
+        // Returning the overdue game takes it off the overdue list without losing its status
+        overdueFromDb.setAwaitingReturnConfirmation(true);
+        entityManager.flush();
+        entityManager.clear();
+        assertTrue(lendingRecordRepository.findOverdueResponseDtos(date, null).isEmpty());
+        assertTrue(lendingRecordRepository.findBorrowedResponseDtosByBorrower(borrower.getId()).isEmpty());
+        List<LendingRecordResponseDto> all = lendingRecordRepository.findResponseDtosByBorrower(borrower.getId(), null);
+        assertEquals(2, all.size());
+        assertTrue(all.stream().allMatch(LendingRecordResponseDto::isAwaitingReturnConfirmation));
+        assertEquals(LendingStatus.OVERDUE,
+                lendingRecordRepository.findLendingRecordById(overdue.getId()).orElseThrow().getStatus());
+    }
+
+    private static List<Integer> ids(List<LendingRecordResponseDto> records) {
+        return records.stream().map(LendingRecordResponseDto::getId).toList();
+    }
+
+    private LendingRecord persistRecord(Date start, Date end) {
+        BorrowRequest request = new BorrowRequest(start, end, BorrowRequestStatus.APPROVED, new Date(), game, null);
+        request.setRequester(borrower);
+        request = entityManager.persist(request);
+        return entityManager.persist(new LendingRecord(start, end, LendingStatus.ACTIVE, request, owner));
+    }
+}
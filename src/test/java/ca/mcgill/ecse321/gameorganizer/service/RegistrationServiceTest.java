@@ -16,6 +16,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times; // Keep one import
 import static org.mockito.Mockito.never;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -23,6 +24,7 @@ import java.util.Optional;
 import java.util.Collections; // Keep one import
 import java.util.UUID; // Added import
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -31,6 +33,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
 
 // Imports for Security Context Mocking
 import org.springframework.security.core.Authentication;
@@ -47,6 +50,7 @@ import ca.mcgill.ecse321.gameorganizer.models.Registration;
 import ca.mcgill.ecse321.gameorganizer.repositories.RegistrationRepository;
 import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository; // Keep one import
 import ca.mcgill.ecse321.gameorganizer.repositories.EventRepository; // Add EventRepository mock
+import ca.mcgill.ecse321.gameorganizer.repositories.GameRepository;
 import ca.mcgill.ecse321.gameorganizer.services.RegistrationService;
 import ca.mcgill.ecse321.gameorganizer.exceptions.ResourceNotFoundException;
 
@@ -69,6 +73,9 @@ public class RegistrationServiceTest {
     @Mock
     private EventRepository eventRepository; // Add EventRepository mock
 
+    @Mock
+    private GameRepository gameRepository;
+
     @InjectMocks
     private RegistrationService registrationService;
 
@@ -110,7 +117,8 @@ public class RegistrationServiceTest {
 
         try {
             // Setup mocks
-            when(registrationRepository.save(any(Registration.class))).thenReturn(registration);
+            when(registrationRepository.saveAndFlush(any(Registration.class))).thenReturn(registration);
+            when(eventRepository.reserveSeat(eventId)).thenReturn(1);
             when(accountRepository.findByEmail(attendee.getEmail())).thenReturn(Optional.of(attendee));
             when(eventRepository.findEventById(any(UUID.class))).thenReturn(Optional.of(event));
             // Add mock for exists check
@@ -124,12 +132,85 @@ public class RegistrationServiceTest {
             assertEquals(VALID_REGISTRATION_ID, result.getId());
             assertEquals(attendee, result.getAttendee());
             assertEquals(event, result.getEventRegisteredFor());
-            verify(registrationRepository).save(any(Registration.class));
+            assertEquals(6, event.getCurrentNumberParticipants());
+            verify(eventRepository).reserveSeat(eventId);
+            verify(registrationRepository).saveAndFlush(any(Registration.class));
         } finally {
             SecurityContextHolder.clearContext(); // Clear context after test
         }
     }
 
+    @Test
+    public void testCreateRegistrationEventFull() {
+        Account attendee = new Account("Attendee", "attendee@test.com", "password");
+        Account host = new Account("Host", "host@test.com", "password");
+        Game game = new Game("Test Game", 2, 4, "test.jpg", new Date());
+        Event event = new Event("Game Night", new Date(), "Location", "Description", 10, game, host);
+        UUID eventId = UUID.randomUUID();
+        event.setId(eventId);
+
+        Authentication auth = mock(Authentication.class);
+        when(auth.getName()).thenReturn(attendee.getEmail());
+        SecurityContext securityContext = new SecurityContextImpl();
+        securityContext.setAuthentication(auth);
+        SecurityContextHolder.setContext(securityContext);
+
+        try {
+            when(accountRepository.findByEmail(attendee.getEmail())).thenReturn(Optional.of(attendee));
+            when(registrationRepository.existsByAttendeeAndEventRegisteredFor(attendee, event)).thenReturn(false);
+            // The conditional update found no free seat
+            when(eventRepository.reserveSeat(eventId)).thenReturn(0);
+
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> registrationService.createRegistration(new Date(), event));
+
+            assertEquals("Event is already at full capacity.", e.getMessage());
+            verify(registrationRepository, never()).saveAndFlush(any(Registration.class));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    public void testCreateRegistrationReportsOnlyTheUniqueKeyAsDuplicate() {
+        Account attendee = new Account("Attendee", "attendee@test.com", "password");
+        Account host = new Account("Host", "host@test.com", "password");
+        Game game = new Game("Test Game", 2, 4, "test.jpg", new Date());
+        Event event = new Event("Game Night", new Date(), "Location", "Description", 10, game, host);
+        UUID eventId = UUID.randomUUID();
+        event.setId(eventId);
+
+        Authentication auth = mock(Authentication.class);
+        when(auth.getName()).thenReturn(attendee.getEmail());
+        SecurityContext securityContext = new SecurityContextImpl();
+        securityContext.setAuthentication(auth);
+        SecurityContextHolder.setContext(securityContext);
+
+        // H2 reports the unique key in upper case with a schema prefix and index suffix
+        DataIntegrityViolationException duplicate = new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(),
+                        "PUBLIC.UK_REGISTRATION_ATTENDEE_EVENT_INDEX_A"));
+        DataIntegrityViolationException missingAttendee = new DataIntegrityViolationException("foreign key",
+                new ConstraintViolationException("foreign key", new SQLException(), "fk_registration_attendee"));
+        try {
+            when(accountRepository.findByEmail(attendee.getEmail())).thenReturn(Optional.of(attendee));
+            when(registrationRepository.existsByAttendeeAndEventRegisteredFor(attendee, event)).thenReturn(false);
+            when(eventRepository.reserveSeat(eventId)).thenReturn(1);
+            when(registrationRepository.saveAndFlush(any(Registration.class)))
+                    .thenThrow(duplicate, missingAttendee);
+
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> registrationService.createRegistration(new Date(), event));
+            assertEquals("Registration already exists for this account and event.", e.getMessage());
+
+            RuntimeException other = assertThrows(RuntimeException.class,
+                    () -> registrationService.createRegistration(new Date(), event));
+            assertEquals(missingAttendee, other.getCause());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
     @Test
     public void testGetRegistrationByIdSuccess() {
         // Setup
@@ -266,15 +347,15 @@ public class RegistrationServiceTest {
             when(accountRepository.findByEmail(attendee.getEmail())).thenReturn(Optional.of(attendee)); // Mock finding authenticated user
             when(registrationRepository.findRegistrationById(VALID_REGISTRATION_ID))
                 .thenReturn(Optional.of(registration));
-            // Add event repository mock
-            when(eventRepository.save(any(Event.class))).thenReturn(event);
+            // The conditional update released a seat
+            when(eventRepository.releaseSeat(event.getId())).thenReturn(1);
 
             // Test
             registrationService.deleteRegistration(VALID_REGISTRATION_ID);
 
             // Verify
             verify(registrationRepository).deleteById(VALID_REGISTRATION_ID);
-            verify(eventRepository).save(event); // Verify event was saved
+            verify(eventRepository).releaseSeat(event.getId()); // Verify the seat was released in the database
             assertEquals(4, event.getCurrentNumberParticipants()); // Verify participant count decreased
         } finally {
             SecurityContextHolder.clearContext();
@@ -0,0 +1,144 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.AvailabilityWindowDto;
+import ca.mcgill.ecse321.gameorganizer.dto.response.ReservationDto;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequest;
+import ca.mcgill.ecse321.gameorganizer.models.BorrowRequestStatus;
+import ca.mcgill.ecse321.gameorganizer.models.GameInstance;
+import ca.mcgill.ecse321.gameorganizer.repositories.BorrowRequestRepository;
+import ca.mcgill.ecse321.gameorganizer.services.ReservationCalendarService;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationCalendarServiceTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final int INSTANCE_ID = 7;
+
+    @Mock
+    private BorrowRequestRepository borrowRequestRepository;
+
+    private ReservationCalendarService reservationCalendar;
+
+    @BeforeEach
+    public void setup() {
+        reservationCalendar = new ReservationCalendarService(borrowRequestRepository, 5);
+    }
+
+    private Date daysFromNow(int days) {
+        return new Date(System.currentTimeMillis() + days * DAY);
+    }
+
+    private BorrowRequest approvedRequest(int id, Date start, Date end) {
+        GameInstance instance = new GameInstance();
+        instance.setId(INSTANCE_ID);
+        BorrowRequest request = new BorrowRequest(start, end, BorrowRequestStatus.APPROVED, new Date(), null, instance);
+        request.setId(id);
+        return request;
+    }
+
+    @Test
+    public void testColdCalendarFallsBackToDatabase() {
+        Date start = daysFromNow(2);
+        Date end = daysFromNow(4);
+        when(borrowRequestRepository.findApprovedReservationsForInstanceEndingFrom(eq(INSTANCE_ID), any(Date.class)))
+                .thenReturn(List.of(new ReservationDto(1, INSTANCE_ID, start, end)));
+
+        assertFalse(reservationCalendar.isFree(INSTANCE_ID, daysFromNow(3), daysFromNow(5)));
+        assertTrue(reservationCalendar.isFree(INSTANCE_ID, daysFromNow(5), daysFromNow(6)));
+    }
+
+    @Test
+    public void testWarmCalendarAnswersFromMemory() {
+        List<ReservationDto> reservations = new ArrayList<>();
+        reservations.add(new ReservationDto(1, INSTANCE_ID, daysFromNow(10), daysFromNow(12)));
+        reservations.add(new ReservationDto(2, INSTANCE_ID, daysFromNow(2), daysFromNow(4)));
+        when(borrowRequestRepository.findApprovedReservationsEndingFrom(any(Date.class))).thenReturn(reservations);
+
+        reservationCalendar.warmUp();
+
+        assertFalse(reservationCalendar.isFree(INSTANCE_ID, daysFromNow(3), daysFromNow(3)));
+        assertFalse(reservationCalendar.isFree(INSTANCE_ID, daysFromNow(5), daysFromNow(11)));
+        assertTrue(reservationCalendar.isFree(INSTANCE_ID, daysFromNow(5), daysFromNow(9)));
+        assertTrue(reservationCalendar.isFree(INSTANCE_ID + 1, daysFromNow(3), daysFromNow(3)));
+        // Ignoring the overlapping request frees the period
+        assertTrue(reservationCalendar.isFree(INSTANCE_ID, daysFromNow(3), daysFromNow(3), 2));
+        verify(borrowRequestRepository, never()).findApprovedReservationsForInstanceEndingFrom(anyInt(), any(Date.class));
+    }
+
+    @Test
+    public void testApprovalAndReleaseUpdateCalendar() {
+        when(borrowRequestRepository.findApprovedReservationsEndingFrom(any(Date.class))).thenReturn(new ArrayList<>());
+        reservationCalendar.warmUp();
+        BorrowRequest request = approvedRequest(3, daysFromNow(2), daysFromNow(4));
+
+        reservationCalendar.reservationApproved(request);
+        assertFalse(reservationCalendar.isFree(INSTANCE_ID, daysFromNow(3), daysFromNow(3)));
+
+        reservationCalendar.reservationReleased(request);
+        assertTrue(reservationCalendar.isFree(INSTANCE_ID, daysFromNow(3), daysFromNow(3)));
+    }
+
+    @Test
+    public void testRefreshPicksUpChangesMadeElsewhere() {
+        List<ReservationDto> reservations = new ArrayList<>();
+        reservations.add(new ReservationDto(1, INSTANCE_ID, daysFromNow(2), daysFromNow(4)));
+        when(borrowRequestRepository.findApprovedReservationsEndingFrom(any(Date.class)))
+                .thenReturn(reservations)
+                .thenReturn(new ArrayList<>());
+        reservationCalendar.warmUp();
+        assertFalse(reservationCalendar.isFree(INSTANCE_ID, daysFromNow(3), daysFromNow(3)));
+
+        // Declined on another node, so only the next refresh from the database frees the period
+        reservationCalendar.warmUp();
+        assertTrue(reservationCalendar.isFree(INSTANCE_ID, daysFromNow(3), daysFromNow(3)));
+    }
+
+    @Test
+    public void testFindFreeWindows() {
+        Date firstStart = daysFromNow(2);
+        Date firstEnd = daysFromNow(4);
+        Date secondStart = daysFromNow(3);
+        Date secondEnd = daysFromNow(6);
+        List<ReservationDto> reservations = new ArrayList<>();
+        reservations.add(new ReservationDto(1, INSTANCE_ID, firstStart, firstEnd));
+        reservations.add(new ReservationDto(2, INSTANCE_ID, secondStart, secondEnd));
+        reservations.add(new ReservationDto(3, INSTANCE_ID, daysFromNow(20), daysFromNow(25)));
+        when(borrowRequestRepository.findApprovedReservationsEndingFrom(any(Date.class))).thenReturn(reservations);
+        reservationCalendar.warmUp();
+
+        List<AvailabilityWindowDto> windows = reservationCalendar.findFreeWindows(INSTANCE_ID, 10);
+
+        // Overlapping reservations merge into one busy period
+        assertEquals(2, windows.size());
+        assertEquals(firstStart.getTime() - 1, windows.get(0).getEndDate().getTime());
+        assertEquals(secondEnd.getTime() + 1, windows.get(1).getStartDate().getTime());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reservationCalendar.isFree(INSTANCE_ID, daysFromNow(3), daysFromNow(2)));
+        assertThrows(IllegalArgumentException.class, () -> reservationCalendar.findFreeWindows(INSTANCE_ID, 0));
+    }
+}
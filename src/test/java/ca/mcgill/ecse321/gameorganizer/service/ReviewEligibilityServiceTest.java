@@ -0,0 +1,92 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ca.mcgill.ecse321.gameorganizer.models.LendingRecord.LendingStatus;
+import ca.mcgill.ecse321.gameorganizer.repositories.LendingRecordRepository;
+import ca.mcgill.ecse321.gameorganizer.services.ReviewEligibilityService;
+
+@ExtendWith(MockitoExtension.class)
+public class ReviewEligibilityServiceTest {
+
+    private static final int ACCOUNT_ID = 7;
+    private static final int GAME_ID = 42;
+
+    @Mock
+    private LendingRecordRepository lendingRecordRepository;
+
+    private ReviewEligibilityService reviewEligibilityService;
+
+    @BeforeEach
+    public void setup() {
+        reviewEligibilityService = new ReviewEligibilityService(lendingRecordRepository, 100, 60);
+    }
+
+    @Test
+    public void testCanReviewIsCachedPerAccount() {
+        when(lendingRecordRepository.existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(
+                ACCOUNT_ID, GAME_ID, LendingStatus.CLOSED)).thenReturn(true);
+
+        assertTrue(reviewEligibilityService.canReview(ACCOUNT_ID, GAME_ID));
+        assertTrue(reviewEligibilityService.canReview(ACCOUNT_ID, GAME_ID));
+
+        verify(lendingRecordRepository, times(1)).existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(
+                ACCOUNT_ID, GAME_ID, LendingStatus.CLOSED);
+    }
+
+    @Test
+    public void testInvalidateReloadsEligibility() {
+        when(lendingRecordRepository.existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(
+                ACCOUNT_ID, GAME_ID, LendingStatus.CLOSED)).thenReturn(false, true);
+
+        assertFalse(reviewEligibilityService.canReview(ACCOUNT_ID, GAME_ID));
+        // The borrower returns the game
+        reviewEligibilityService.invalidate(ACCOUNT_ID);
+        assertTrue(reviewEligibilityService.canReview(ACCOUNT_ID, GAME_ID));
+
+        verify(lendingRecordRepository, times(2)).existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(
+                ACCOUNT_ID, GAME_ID, LendingStatus.CLOSED);
+    }
+
+    @Test
+    public void testInvalidateKeepsOtherAccounts() {
+        when(lendingRecordRepository.existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(
+                anyInt(), eq(GAME_ID), eq(LendingStatus.CLOSED))).thenReturn(true);
+
+        reviewEligibilityService.canReview(ACCOUNT_ID, GAME_ID);
+        reviewEligibilityService.canReview(ACCOUNT_ID + 1, GAME_ID);
+        reviewEligibilityService.invalidate(ACCOUNT_ID);
+        reviewEligibilityService.canReview(ACCOUNT_ID, GAME_ID);
+        reviewEligibilityService.canReview(ACCOUNT_ID + 1, GAME_ID);
+
+        verify(lendingRecordRepository, times(2)).existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(
+                ACCOUNT_ID, GAME_ID, LendingStatus.CLOSED);
+        verify(lendingRecordRepository, times(1)).existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(
+                ACCOUNT_ID + 1, GAME_ID, LendingStatus.CLOSED);
+    }
+
+    @Test
+    public void testCacheDisabled() {
+        reviewEligibilityService = new ReviewEligibilityService(lendingRecordRepository, 0, 60);
+        when(lendingRecordRepository.existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(
+                ACCOUNT_ID, GAME_ID, LendingStatus.CLOSED)).thenReturn(true);
+
+        reviewEligibilityService.canReview(ACCOUNT_ID, GAME_ID);
+        reviewEligibilityService.canReview(ACCOUNT_ID, GAME_ID);
+
+        verify(lendingRecordRepository, times(2)).existsByRequest_Requester_IdAndRequest_RequestedGame_IdAndStatus(
+                ACCOUNT_ID, GAME_ID, LendingStatus.CLOSED);
+    }
+}
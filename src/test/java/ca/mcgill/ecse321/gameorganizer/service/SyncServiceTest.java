@@ -0,0 +1,138 @@
+package ca.mcgill.ecse321.gameorganizer.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import ca.mcgill.ecse321.gameorganizer.dto.response.SyncResponseDto;
+import ca.mcgill.ecse321.gameorganizer.exceptions.UnauthedException;
+import ca.mcgill.ecse321.gameorganizer.models.Account;
+import ca.mcgill.ecse321.gameorganizer.models.ChangeVersions;
+import ca.mcgill.ecse321.gameorganizer.models.SyncTombstone;
+import ca.mcgill.ecse321.gameorganizer.repositories.AccountRepository;
+import ca.mcgill.ecse321.gameorganizer.repositories.SyncTombstoneRepository;
+import ca.mcgill.ecse321.gameorganizer.services.BorrowRequestService;
+import ca.mcgill.ecse321.gameorganizer.services.LendingRecordService;
+import ca.mcgill.ecse321.gameorganizer.services.SyncService;
+
+@ExtendWith(MockitoExtension.class)
+public class SyncServiceTest {
+
+    private static final int ACCOUNT_ID = 7;
+    private static final String EMAIL = "user@test.com";
+
+    @Mock
+    private BorrowRequestService borrowRequestService;
+
+    @Mock
+    private LendingRecordService lendingRecordService;
+
+    @Mock
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private SyncService syncService;
+
+    @BeforeEach
+    public void setup() {
+        syncService = new SyncService(borrowRequestService, lendingRecordService, syncTombstoneRepository,
+                accountRepository, 5, 30);
+    }
+
+    @AfterEach
+    public void teardown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testFirstSyncIsFull() {
+        authenticate("ROLE_USER");
+        when(borrowRequestService.getBorrowRequestsChangedAfter(null, ACCOUNT_ID)).thenReturn(List.of());
+        when(lendingRecordService.getLendingRecordDtosChangedAfter(null, ACCOUNT_ID)).thenReturn(List.of());
+
+        long before = ChangeVersions.at(System.currentTimeMillis());
+        SyncResponseDto response = syncService.getChanges(null);
+
+        assertTrue(response.isReset());
+        // The cursor trails the clock by the settle window
+        assertTrue(response.getCursor() < before);
+        verify(syncTombstoneRepository, never()).findChangedAfter(anyLong(), any());
+    }
+
+    @Test
+    public void testIncrementalSyncSplitsTombstonesByType() {
+        authenticate("ROLE_USER");
+        long since = ChangeVersions.at(System.currentTimeMillis() - 60_000);
+        when(borrowRequestService.getBorrowRequestsChangedAfter(since, ACCOUNT_ID)).thenReturn(List.of());
+        when(lendingRecordService.getLendingRecordDtosChangedAfter(since, ACCOUNT_ID)).thenReturn(List.of());
+        when(syncTombstoneRepository.findChangedAfter(since, ACCOUNT_ID)).thenReturn(List.of(
+                new SyncTombstone("BORROW_REQUEST", 3, ACCOUNT_ID, 1),
+                new SyncTombstone("LENDING_RECORD", 4, ACCOUNT_ID, 1)));
+
+        SyncResponseDto response = syncService.getChanges(since);
+
+        assertFalse(response.isReset());
+        assertEquals(List.of(3), response.getDeletedBorrowRequestIds());
+        assertEquals(List.of(4), response.getDeletedLendingRecordIds());
+        assertTrue(response.getCursor() > since);
+    }
+
+    @Test
+    public void testCursorOlderThanRetentionGetsFullSync() {
+        authenticate("ROLE_USER");
+        long since = ChangeVersions.at(System.currentTimeMillis() - 31L * 24 * 60 * 60 * 1000);
+        when(borrowRequestService.getBorrowRequestsChangedAfter(null, ACCOUNT_ID)).thenReturn(List.of());
+        when(lendingRecordService.getLendingRecordDtosChangedAfter(null, ACCOUNT_ID)).thenReturn(List.of());
+
+        SyncResponseDto response = syncService.getChanges(since);
+
+        assertTrue(response.isReset());
+        assertTrue(response.getDeletedBorrowRequestIds().isEmpty());
+    }
+
+    @Test
+    public void testAdminSyncsEverything() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@test.com", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        when(borrowRequestService.getBorrowRequestsChangedAfter(isNull(), isNull())).thenReturn(List.of());
+        when(lendingRecordService.getLendingRecordDtosChangedAfter(isNull(), isNull())).thenReturn(List.of());
+
+        syncService.getChanges(null);
+
+        verify(accountRepository, never()).findByEmail("admin@test.com");
+    }
+
+    @Test
+    public void testSyncRequiresAuthentication() {
+        assertThrows(UnauthedException.class, () -> syncService.getChanges(null));
+    }
+
+    private void authenticate(String role) {
+        Account account = new Account("User", EMAIL, "password123");
+        account.setId(ACCOUNT_ID);
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(account));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                EMAIL, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+}